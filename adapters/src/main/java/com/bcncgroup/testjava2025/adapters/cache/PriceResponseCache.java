@@ -0,0 +1,190 @@
+package com.bcncgroup.testjava2025.adapters.cache;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.springframework.context.event.EventListener;
+
+import com.bcncgroup.testjava2025.domain.event.PriceCatalogChangedEvent;
+import com.bcncgroup.testjava2025.domain.event.PriceIndexPublishedEvent;
+import com.bcncgroup.testjava2025.domain.model.Brand;
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.model.PriceLookup;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+/**
+ * Cache of serialized price responses.
+ * This class keeps, per brand, product and price segment, the final UTF-8 JSON of the lookup response and its ETag,
+ * so a hit skips the DTO mapping and the Jackson serialization and the bytes are written as they are.
+ * An entry keeps the bytes with a 64-bit stamp of the lookup they were written from, not the lookup itself, and is
+ * only used while the lookup of the segment has the same stamp: a lookup rebuilt with the same prices reuses the bytes
+ * and a changed one writes them again, so they never outlive the prices.
+ * The cache is bounded by the total size of what its entries hold.
+ */
+public class PriceResponseCache {
+
+	/**
+	 * Rough size of what an entry holds besides the JSON: the key with its boxed identifiers and date, the entry with
+	 * its stamp, the ETag string and the cache node around them.
+	 */
+	static final int ENTRY_OVERHEAD = 320;
+
+	private static final String DIGEST_ALGORITHM = "SHA-256";
+
+	private final Cache<SegmentKey, CachedResponse> cache;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	public PriceResponseCache(long maximumBytes) {
+		this.cache = Caffeine.newBuilder()
+				.maximumWeight(maximumBytes)
+				.weigher((SegmentKey key, CachedResponse response) -> response.body().length + ENTRY_OVERHEAD)
+				.executor(Runnable::run)
+				.removalListener((SegmentKey key, CachedResponse response, RemovalCause cause) -> {
+					if (cause.wasEvicted()) {
+						evictions.increment();
+					}
+				})
+				.build();
+	}
+
+	/**
+	 * Gets the serialized response of a lookup, serializing and caching it when it is not known yet.
+	 *
+	 * @param brandId the brand identifier
+	 * @param productId the product identifier
+	 * @param lookup the lookup to answer, as returned by the lookup cache
+	 * @param serializer the function that writes the JSON of the lookup
+	 * @return the JSON bytes and their ETag
+	 */
+	public CachedResponse get(Long brandId, Long productId, PriceLookup lookup, Function<PriceLookup, byte[]> serializer) {
+		SegmentKey key = new SegmentKey(brandId, productId, lookup.validFrom());
+		long stamp = stamp(lookup);
+		CachedResponse response = cache.getIfPresent(key);
+		if (response != null && response.stamp() == stamp) {
+			hits.increment();
+			return response;
+		}
+
+		misses.increment();
+		byte[] body = serializer.apply(lookup);
+		response = new CachedResponse(stamp, body, etag(body));
+		cache.put(key, response);
+		return response;
+	}
+
+	/**
+	 * Drops every cached response.
+	 * This method also runs when the price catalog changes and when a rebuilt index is published.
+	 */
+	@EventListener({ PriceCatalogChangedEvent.class, PriceIndexPublishedEvent.class })
+	public void invalidateAll() {
+		cache.invalidateAll();
+	}
+
+	/**
+	 * Gets a snapshot of the cache counters.
+	 *
+	 * @return hits, misses, evictions, entries and cached bytes
+	 */
+	public Stats stats() {
+		long bytes = cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L);
+		return new Stats(hits.sum(), misses.sum(), evictions.sum(), cache.estimatedSize(), bytes);
+	}
+
+	/**
+	 * Builds the stamp of a lookup from everything its JSON is written from: the validity interval and every field
+	 * of its prices and their brands.
+	 * Numbers and dates are mixed in whole, strings by their hash code.
+	 *
+	 * @param lookup the lookup
+	 * @return the 64-bit stamp
+	 */
+	static long stamp(PriceLookup lookup) {
+		long hash = mix(0, lookup.prices().size());
+		hash = mix(hash, lookup.validFrom());
+		hash = mix(hash, lookup.validUntil());
+		for (Price price : lookup.prices()) {
+			hash = mix(hash, price.id() == null ? -1 : price.id());
+			hash = mix(hash, price.productId());
+			hash = mix(hash, price.priceList());
+			hash = mix(hash, price.priority());
+			hash = mix(hash, price.startDate());
+			hash = mix(hash, price.endDate());
+			hash = mix(hash, price.price().unscaledValue().longValue());
+			hash = mix(hash, price.price().scale());
+			hash = mix(hash, Objects.hashCode(price.currency()));
+			Brand brand = price.brand();
+			if (brand != null) {
+				hash = mix(hash, brand.id() == null ? -1 : brand.id());
+				hash = mix(hash, Objects.hashCode(brand.name()));
+				hash = mix(hash, Objects.hashCode(brand.description()));
+			}
+		}
+		return hash;
+	}
+
+	private static long mix(long hash, LocalDateTime date) {
+		return mix(mix(hash, date.toEpochSecond(ZoneOffset.UTC)), date.getNano());
+	}
+
+	/**
+	 * Folds a value into the hash with the 64-bit finalizer of MurmurHash3.
+	 */
+	private static long mix(long hash, long value) {
+		long h = (hash ^ value) * 0x9E3779B97F4A7C15L;
+		h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+		h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+		return h ^ (h >>> 33);
+	}
+
+	/**
+	 * Builds the strong ETag of a response body: the first 128 bits of its SHA-256 digest.
+	 *
+	 * @param body the response bytes
+	 * @return the quoted ETag
+	 */
+	public static String etag(byte[] body) {
+		try {
+			byte[] digest = MessageDigest.getInstance(DIGEST_ALGORITHM).digest(body);
+			return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(DIGEST_ALGORITHM, e);
+		}
+	}
+
+	/**
+	 * Serialized response of a lookup, with the stamp of the lookup it was written from.
+	 */
+	public record CachedResponse(long stamp, byte[] body, String etag) {
+	}
+
+	/**
+	 * Counters of the cache.
+	 */
+	public record Stats(long hits, long misses, long evictions, long size, long bytes) {
+
+		/**
+		 * Gets the ratio of responses answered from the cache.
+		 *
+		 * @return the hit ratio between 0 and 1
+		 */
+		public double hitRatio() {
+			long total = hits + misses;
+			return total == 0 ? 0 : (double) hits / total;
+		}
+	}
+
+	private record SegmentKey(Long brandId, Long productId, LocalDateTime validFrom) {
+	}
+}
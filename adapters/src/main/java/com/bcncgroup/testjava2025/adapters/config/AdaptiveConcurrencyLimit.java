@@ -0,0 +1,128 @@
+package com.bcncgroup.testjava2025.adapters.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that adapts to the measured latency, after the gradient algorithm of Netflix concurrency-limits.
+ * A long-term average of the response time is the latency of an idle server; when the latest response times grow
+ * above it (requests queue in the pool or in the database) the limit shrinks by their ratio, otherwise it grows by
+ * the square root of the limit. The limit only grows while at least half of it is in use, so an idle partition
+ * does not drift to the maximum.
+ * Acquiring a slot is a CAS on the in-flight counter; the limit is recomputed under a lock once per finished request.
+ */
+public class AdaptiveConcurrencyLimit {
+
+	/**
+	 * Response times up to this factor of the long-term average are not taken as queueing.
+	 */
+	private static final double TOLERANCE = 1.5;
+	private static final double SMOOTHING = 0.2;
+	private static final double BACKOFF = 0.9;
+	private static final int LONG_WINDOW = 600;
+	private static final int WARMUP = 10;
+
+	private final String name;
+	private final int minLimit;
+	private final int maxLimit;
+	private final AtomicInteger inFlight = new AtomicInteger();
+	// a lock rather than synchronized, so virtual threads are not pinned while the limit is recomputed
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private volatile double limit;
+	// guarded by lock
+	private double longRtt;
+	private long samples;
+
+	public AdaptiveConcurrencyLimit(String name, int initialLimit, int minLimit, int maxLimit) {
+		if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+			throw new IllegalArgumentException(name + ": expected 1 <= min-limit <= initial-limit <= max-limit");
+		}
+		this.name = name;
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.limit = initialLimit;
+	}
+
+	/**
+	 * Takes a slot if fewer requests than the limit are in flight.
+	 *
+	 * @return true if the request may run, false if it must be rejected
+	 */
+	public boolean tryAcquire() {
+		int current;
+		do {
+			current = inFlight.get();
+			if (current >= (int) limit) {
+				return false;
+			}
+		} while (!inFlight.compareAndSet(current, current + 1));
+		return true;
+	}
+
+	/**
+	 * Releases the slot of a finished request and feeds its response time to the limit.
+	 *
+	 * @param rttNanos the response time of the request
+	 */
+	public void onSuccess(long rttNanos) {
+		int before = inFlight.getAndDecrement();
+		update(rttNanos, before);
+	}
+
+	/**
+	 * Releases the slot of a request that failed or was shed further down, and backs the limit off.
+	 */
+	public void onDropped() {
+		inFlight.decrementAndGet();
+		lock.lock();
+		try {
+			limit = Math.max(minLimit, limit * BACKOFF);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void update(long rttNanos, int inFlightAtEnd) {
+		lock.lock();
+		try {
+			adjust(rttNanos, inFlightAtEnd);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void adjust(long rttNanos, int inFlightAtEnd) {
+		double rtt = Math.max(1, rttNanos);
+		samples++;
+		if (samples <= WARMUP) {
+			// plain average while there are too few samples for the exponential one
+			longRtt += (rtt - longRtt) / samples;
+			return;
+		}
+		longRtt += (rtt - longRtt) * 2 / (LONG_WINDOW + 1);
+		if (longRtt / rtt > 2) {
+			// the server got faster (warm caches, less load): let the baseline follow
+			longRtt *= 0.95;
+		}
+		if (inFlightAtEnd < limit / 2) {
+			return;
+		}
+		double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / rtt));
+		double target = limit * gradient + Math.sqrt(limit);
+		double next = limit * (1 - SMOOTHING) + target * SMOOTHING;
+		limit = Math.max(minLimit, Math.min(maxLimit, next));
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getLimit() {
+		return (int) limit;
+	}
+
+	public int getInFlight() {
+		return inFlight.get();
+	}
+}
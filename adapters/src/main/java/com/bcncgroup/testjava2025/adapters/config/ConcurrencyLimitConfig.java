@@ -0,0 +1,102 @@
+package com.bcncgroup.testjava2025.adapters.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Concurrency limit configuration class.
+ * This class gives {@code /price/**}, {@code /auth/login} and the bulk price endpoints (export, import and snapshot)
+ * separate adaptive limits, so a login storm or a long export cannot use the slots of the price lookups and the other
+ * way round. Bulk requests last seconds, they are kept out of the price partition so their response times do not
+ * shrink its limit. Requests over a limit get a 503 with Retry-After.
+ */
+@Configuration
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+
+	static final String LIMIT_GAUGE = "http.concurrency.limit";
+	static final String IN_FLIGHT_GAUGE = "http.concurrency.inflight";
+	static final String REJECTED_COUNTER = "http.concurrency.rejected";
+
+	static final String[] BULK_PATHS = { "/price/export", "/price/import", "/price/snapshot" };
+
+	private final AdaptiveConcurrencyLimit priceConcurrencyLimit;
+	private final AdaptiveConcurrencyLimit loginConcurrencyLimit;
+	private final AdaptiveConcurrencyLimit bulkConcurrencyLimit;
+	private final MeterRegistry registry;
+
+	public ConcurrencyLimitConfig(@Value("${limiter.price.initial-limit:20}") int priceInitial,
+			@Value("${limiter.price.min-limit:4}") int priceMin,
+			@Value("${limiter.price.max-limit:200}") int priceMax,
+			@Value("${limiter.login.initial-limit:4}") int loginInitial,
+			@Value("${limiter.login.min-limit:1}") int loginMin,
+			@Value("${limiter.login.max-limit:40}") int loginMax,
+			@Value("${limiter.bulk.initial-limit:2}") int bulkInitial,
+			@Value("${limiter.bulk.min-limit:1}") int bulkMin,
+			@Value("${limiter.bulk.max-limit:4}") int bulkMax,
+			MeterRegistry registry) {
+		this.priceConcurrencyLimit = new AdaptiveConcurrencyLimit("price", priceInitial, priceMin, priceMax);
+		this.loginConcurrencyLimit = new AdaptiveConcurrencyLimit("login", loginInitial, loginMin, loginMax);
+		this.bulkConcurrencyLimit = new AdaptiveConcurrencyLimit("bulk", bulkInitial, bulkMin, bulkMax);
+		this.registry = registry;
+	}
+
+	/**
+     * Gets the limit of the price lookups.
+     *
+     * @return the limit of {@code /price/**}
+     */
+	@Bean
+	public AdaptiveConcurrencyLimit priceConcurrencyLimit() {
+		return priceConcurrencyLimit;
+	}
+
+	/**
+     * Gets the limit of the logins.
+     *
+     * @return the limit of {@code /auth/login}
+     */
+	@Bean
+	public AdaptiveConcurrencyLimit loginConcurrencyLimit() {
+		return loginConcurrencyLimit;
+	}
+
+	/**
+     * Gets the limit of the bulk price endpoints.
+     *
+     * @return the limit of the export, import and snapshot endpoints
+     */
+	@Bean
+	public AdaptiveConcurrencyLimit bulkConcurrencyLimit() {
+		return bulkConcurrencyLimit;
+	}
+
+	/**
+     * Registers one interceptor per partition, with its limit, in-flight and rejection metrics.
+     *
+     * @param interceptors the interceptor registry of Spring MVC
+     */
+	@Override
+	public void addInterceptors(InterceptorRegistry interceptors) {
+		interceptors.addInterceptor(interceptor(priceConcurrencyLimit)).addPathPatterns("/price/**")
+				.excludePathPatterns(BULK_PATHS);
+		interceptors.addInterceptor(interceptor(bulkConcurrencyLimit)).addPathPatterns(BULK_PATHS);
+		interceptors.addInterceptor(interceptor(loginConcurrencyLimit)).addPathPatterns("/auth/login");
+	}
+
+	private ConcurrencyLimitInterceptor interceptor(AdaptiveConcurrencyLimit limit) {
+		Gauge.builder(LIMIT_GAUGE, limit, AdaptiveConcurrencyLimit::getLimit)
+				.tag("partition", limit.getName()).register(registry);
+		Gauge.builder(IN_FLIGHT_GAUGE, limit, AdaptiveConcurrencyLimit::getInFlight)
+				.tag("partition", limit.getName()).register(registry);
+		Counter rejected = Counter.builder(REJECTED_COUNTER)
+				.tag("partition", limit.getName()).register(registry);
+		return new ConcurrencyLimitInterceptor(limit, rejected);
+	}
+}
@@ -0,0 +1,68 @@
+package com.bcncgroup.testjava2025.adapters.config;
+
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import com.bcncgroup.testjava2025.domain.contant.MessageConstant;
+import com.bcncgroup.testjava2025.domain.exception.LogicException;
+
+import io.micrometer.core.instrument.Counter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Interceptor that admits requests through an adaptive concurrency limit.
+ * A request over the limit is rejected before the controller runs, with a 503 built by the controller advice,
+ * instead of waiting for a pool connection or a bulkhead thread.
+ * The slot is held across the async dispatch of controllers that return a future, and released when the
+ * response is complete.
+ */
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+	private final AdaptiveConcurrencyLimit limit;
+	private final Counter rejected;
+	private final String startAttribute;
+
+	public ConcurrencyLimitInterceptor(AdaptiveConcurrencyLimit limit, Counter rejected) {
+		this.limit = limit;
+		this.rejected = rejected;
+		this.startAttribute = ConcurrencyLimitInterceptor.class.getName() + "." + limit.getName();
+	}
+
+	/**
+	 * Takes a slot of the limit for the request.
+	 * This method does nothing on the async dispatch, the slot was taken by the first one.
+	 *
+	 * @throws LogicException if the limit is reached (503)
+	 */
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		if (request.getAttribute(startAttribute) != null) {
+			return true;
+		}
+		if (!limit.tryAcquire()) {
+			rejected.increment();
+			throw new LogicException(MessageConstant.SERVER_OVERLOADED, 503);
+		}
+		request.setAttribute(startAttribute, System.nanoTime());
+		return true;
+	}
+
+	/**
+	 * Releases the slot of the request and reports its outcome to the limit.
+	 * Server errors, including 503s from further down, count as drops and back the limit off.
+	 */
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+		Object start = request.getAttribute(startAttribute);
+		if (start == null) {
+			return;
+		}
+		request.removeAttribute(startAttribute);
+		if (ex != null || response.getStatus() >= 500) {
+			limit.onDropped();
+		} else {
+			limit.onSuccess(System.nanoTime() - (Long) start);
+		}
+	}
+}
@@ -1,7 +1,9 @@
 package com.bcncgroup.testjava2025.adapters.config;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -10,6 +12,10 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,21 +24,40 @@ import jakarta.servlet.http.HttpServletResponse;
 /**
  * JWT request filter that processes authentication tokens.
  * This filter checks for JWT tokens in incoming requests and validates them.
+ * With {@code jwt.authentication=claims} the user is built from the token claims, without loading it;
+ * with {@code lookup} it is loaded through the UserDetailsService on every request.
+ * Tokens in the revocation list are rejected in both modes.
  */
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
 
+	static final String TIMER = "security.jwt.filter";
+
 	private final UserDetailsService userDetailsService;
     private final JwtUtil jwtUtil;
+    private final TokenRevocationList revocationList;
+    private final boolean claimsAuthentication;
+    
+    // one timer per outcome, built once: the filter runs on every request
+    private final Timer anonymousTimer;
+    private final Timer authenticatedTimer;
+    private final Timer rejectedTimer;
 
-    public JwtRequestFilter(UserDetailsService userDetailsService, JwtUtil jwtUtil) {
+    public JwtRequestFilter(UserDetailsService userDetailsService, JwtUtil jwtUtil, TokenRevocationList revocationList,
+    		MeterRegistry registry, @Value("${jwt.authentication:claims}") String authentication) {
         this.userDetailsService = userDetailsService;
         this.jwtUtil = jwtUtil;
+        this.revocationList = revocationList;
+        this.claimsAuthentication = "claims".equalsIgnoreCase(authentication);
+        this.anonymousTimer = Timer.builder(TIMER).tag("outcome", "anonymous").register(registry);
+        this.authenticatedTimer = Timer.builder(TIMER).tag("outcome", "authenticated").register(registry);
+        this.rejectedTimer = Timer.builder(TIMER).tag("outcome", "rejected").register(registry);
     }
 
     /**
      * Processes each request to check for valid JWT tokens.
      * This method extracts and validates JWT tokens from request headers.
+     * Only the token handling is timed, the rest of the chain is not.
      * 
      * @param request the HTTP request
      * @param response the HTTP response
@@ -42,27 +67,34 @@ public class JwtRequestFilter extends OncePerRequestFilter {
      */
 	@Override
 	public void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+		long start = System.nanoTime();
 		final String requestTokenHeader = request.getHeader("Authorization");
 
 		String username = null;
 		String jwtToken = null;
+		Claims claims = null;
 
 		// JWT Token está en el formato "Bearer token"
 		if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
 			jwtToken = requestTokenHeader.substring(7);
 			try {
-				username = jwtUtil.extractUsername(jwtToken);
+				// verified once here, the claims are reused below
+				claims = jwtUtil.verifyToken(jwtToken);
+				username = claims.getSubject();
 			} catch (Exception e) {
 				logger.error("No se puede obtener el username del JWT Token", e);
 			}
 		}
 
+		Timer timer = jwtToken == null ? anonymousTimer : rejectedTimer;
+
 		// Validar el token
 		if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-			UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+			UserDetails userDetails = claimsAuthentication ? jwtUtil.toUserDetails(claims)
+					: this.userDetailsService.loadUserByUsername(username);
 
-			if (jwtUtil.validateToken(jwtToken, userDetails)) {
+			if (jwtUtil.validateClaims(claims, userDetails) && !revocationList.isRevoked(claims)) {
 
 				UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(
 						userDetails, null, userDetails.getAuthorities());
@@ -70,8 +102,10 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 						.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
 				SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
+				timer = authenticatedTimer;
 			}
 		}
+		timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 		chain.doFilter(request, response);
 	}
 }
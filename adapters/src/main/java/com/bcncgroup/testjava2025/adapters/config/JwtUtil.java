@@ -1,41 +1,100 @@
 package com.bcncgroup.testjava2025.adapters.config;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
 import javax.crypto.SecretKey;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 
 /**
  * Utility class for JWT token operations.
  * This class handles creating, validating and extracting data from JWT tokens.
+ * The signing key and the parser are built once. Verified tokens are kept in a bounded cache keyed by
+ * the SHA-256 digest of the token until their expiration, so repeated calls with the same token skip
+ * the signature check and the payload parsing.
  */
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+	private static final String DIGEST_ALGORITHM = "SHA-256";
+
+	// MessageDigest is not thread-safe; one instance per thread instead of a provider lookup per request
+	private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(JwtUtil::newDigest);
+	
+	/**
+	 * Claim with the authority names of the user, set at login.
+	 */
+	static final String AUTHORITIES_CLAIM = "authorities";
+
+	/**
+	 * Claim with the issue time in milliseconds; the standard iat claim has second precision.
+	 */
+	static final String ISSUED_AT_MILLIS_CLAIM = "iat_ms";
 
-    @Value("${jwt.expiration:86400}")
-    private Long expiration;
+    private final Long expiration;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final Cache<TokenDigest, Claims> verifiedTokens;
+    private final boolean cacheEnabled;
+
+    public JwtUtil(@Value("${jwt.secret}") String secret, @Value("${jwt.expiration:86400}") Long expiration,
+    		@Value("${jwt.cache.maximum-size:10000}") long cacheMaximumSize) {
+        this.expiration = expiration;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+        		.maximumSize(cacheMaximumSize)
+        		.expireAfter(Expiry.creating((TokenDigest digest, Claims claims) -> timeToExpiration(claims)))
+        		.recordStats()
+        		.build();
+        this.cacheEnabled = cacheMaximumSize > 0;
+    }
 
     /**
-     * Gets the signing key for JWT operations.
-     * This method creates a secret key from the configured secret string.
-     * 
-     * @return the secret key for signing JWTs
+     * Verifies a JWT token and returns its claims.
+     * This method checks the signature and the expiration only the first time a token is seen,
+     * later calls with the same token are answered from the verified-token cache. With the cache disabled
+     * every call checks the token and no digest is computed.
+     *
+     * @param token the JWT token
+     * @return the claims of the token
+     * @throws JwtException if the token is malformed, not signed with our key or expired
      */
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    public Claims verifyToken(String token) {
+        if (!cacheEnabled) {
+            return parser.parseSignedClaims(token).getPayload();
+        }
+        TokenDigest digest = TokenDigest.of(token);
+        Claims claims = verifiedTokens.getIfPresent(digest);
+        if (claims == null) {
+            claims = parser.parseSignedClaims(token).getPayload();
+            verifiedTokens.put(digest, claims);
+        }
+        return claims;
     }
 
     /**
@@ -67,33 +126,18 @@ public class JwtUtil {
      * @return the extracted claim value
      */
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = verifyToken(token);
         return claimsResolver.apply(claims);
     }
 
     /**
-     * Extracts all claims from a JWT token.
-     * This method parses the token and returns all contained claims.
+     * Checks if the claims of a verified token have expired.
      * 
-     * @param token the JWT token
-     * @return all claims from the token
-     */
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    /**
-     * Checks if a JWT token has expired.
-     * 
-     * @param token the JWT token to check
+     * @param claims the claims of the token
      * @return true if the token is expired, false otherwise
      */
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private Boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
     /**
@@ -108,6 +152,33 @@ public class JwtUtil {
         return createToken(claims, username);
     }
 
+    /**
+     * Generates a new JWT token for a user, embedding its authorities.
+     * The authorities are read back by {@link #toUserDetails(Claims)}, so requests do not need to load the user.
+     *
+     * @param userDetails the authenticated user
+     * @return the generated JWT token string
+     */
+    public String generateToken(UserDetails userDetails) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(AUTHORITIES_CLAIM, userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        return createToken(claims, userDetails.getUsername());
+    }
+
+    /**
+     * Builds the user of a verified token from its claims alone.
+     * Tokens issued without the authorities claim get no authorities.
+     *
+     * @param claims the claims returned by {@link #verifyToken(String)}
+     * @return the user details, without password
+     */
+    public UserDetails toUserDetails(Claims claims) {
+        List<?> names = claims.get(AUTHORITIES_CLAIM, List.class);
+        List<GrantedAuthority> authorities = names == null ? List.of()
+                : names.stream().<GrantedAuthority>map(name -> new SimpleGrantedAuthority(name.toString())).toList();
+        return new User(claims.getSubject(), "", authorities);
+    }
+
     /**
      * Creates a JWT token with specific claims and subject.
      * This method builds the actual token with expiration and signing.
@@ -117,25 +188,90 @@ public class JwtUtil {
      * @return the created JWT token string
      */
     private String createToken(Map<String, Object> claims, String subject) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
                 .claims(claims)
+                .claim(ISSUED_AT_MILLIS_CLAIM, now)
                 .subject(subject)
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + expiration * 1000))
-                .signWith(getSigningKey())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expiration * 1000))
+                .signWith(signingKey)
                 .compact();
     }
 
     /**
      * Validates a JWT token against user details.
-     * This method checks if the token is valid and not expired.
+     * This method checks if the token is valid and not expired, parsing it at most once.
      * 
      * @param token the JWT token to validate
      * @param userDetails the user details to validate against
      * @return true if the token is valid, false otherwise
      */
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateClaims(verifyToken(token), userDetails);
+    }
+
+    /**
+     * Validates the claims of an already verified token against user details.
+     *
+     * @param claims the claims returned by {@link #verifyToken(String)}
+     * @param userDetails the user details to validate against
+     * @return true if the claims belong to the user and are not expired, false otherwise
+     */
+    public Boolean validateClaims(Claims claims, UserDetails userDetails) {
+        return (claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims));
+    }
+
+    /**
+     * Gets the verified-token cache, for metrics.
+     *
+     * @return the cache of verified tokens
+     */
+    Cache<TokenDigest, Claims> verifiedTokens() {
+        return verifiedTokens;
+    }
+
+    /**
+     * Gets the issue time of a verified token in milliseconds.
+     * Tokens issued without the millisecond claim fall back to the iat claim.
+     *
+     * @param claims the claims returned by {@link #verifyToken(String)}
+     * @return the issue time in epoch milliseconds, or -1 when the token has none
+     */
+    static long issuedAtMillis(Claims claims) {
+        Long millis = claims.get(ISSUED_AT_MILLIS_CLAIM, Long.class);
+        if (millis != null) {
+            return millis;
+        }
+        Date issuedAt = claims.getIssuedAt();
+        return issuedAt == null ? -1 : issuedAt.getTime();
+    }
+
+    private static Duration timeToExpiration(Claims claims) {
+        Date exp = claims.getExpiration();
+        if (exp == null) {
+            return Duration.ZERO;
+        }
+        return Duration.ofMillis(Math.max(0, exp.getTime() - System.currentTimeMillis()));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(DIGEST_ALGORITHM, e);
+        }
+    }
+
+    /**
+     * SHA-256 digest of a token, so the cache does not keep bearer tokens as keys.
+     */
+    record TokenDigest(long h0, long h1, long h2, long h3) {
+
+        static TokenDigest of(String token) {
+            // digest() resets the instance, so the next call on this thread starts clean
+            ByteBuffer hash = ByteBuffer.wrap(DIGEST.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+            return new TokenDigest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+        }
     }
-}
\ No newline at end of file
+}
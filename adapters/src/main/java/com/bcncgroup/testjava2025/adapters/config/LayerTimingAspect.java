@@ -0,0 +1,77 @@
+package com.bcncgroup.testjava2025.adapters.config;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Aspect that times the use case and repository layers of a price lookup.
+ * Domain and infrastructure classes stay free of metrics code, the timers are added around their beans.
+ * Timers are built once per method, so a call only pays two clock reads and a map read.
+ */
+@Aspect
+@Component
+public class LayerTimingAspect {
+
+	static final String SERVICE_TIMER = "price.service";
+	static final String REPOSITORY_TIMER = "price.repository";
+
+	private final MeterRegistry registry;
+	private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+	public LayerTimingAspect(MeterRegistry registry) {
+		this.registry = registry;
+	}
+
+	/**
+	 * Times every public method of the price service.
+	 * Cache hits are answered before the service, so this timer only sees cache misses.
+	 *
+	 * @param joinPoint the intercepted call
+	 * @return the result of the call
+	 * @throws Throwable whatever the call throws
+	 */
+	@Around("execution(public * com.bcncgroup.testjava2025.domain.application.PriceService.*(..))")
+	public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+		return time(joinPoint, SERVICE_TIMER, "service", "price");
+	}
+
+	/**
+	 * Times every public method of the JPA price adapter.
+	 *
+	 * @param joinPoint the intercepted call
+	 * @return the result of the call
+	 * @throws Throwable whatever the call throws
+	 */
+	@Around("execution(public * com.bcncgroup.testjava2025.infrastructure.adapter.JpaPriceRepositoryAdapter.*(..))")
+	public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+		return time(joinPoint, REPOSITORY_TIMER, "adapter", "jpa");
+	}
+
+	private Object time(ProceedingJoinPoint joinPoint, String name, String key, String value) throws Throwable {
+		Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+		Timer timer = timers.get(method);
+		if (timer == null) {
+			timer = timers.computeIfAbsent(method, m -> Timer.builder(name)
+					.tag(key, value)
+					.tag("method", m.getName())
+					.register(registry));
+		}
+		long start = System.nanoTime();
+		try {
+			return joinPoint.proceed();
+		} finally {
+			timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+}
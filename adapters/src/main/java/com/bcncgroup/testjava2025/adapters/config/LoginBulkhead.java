@@ -0,0 +1,84 @@
+package com.bcncgroup.testjava2025.adapters.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.bcncgroup.testjava2025.domain.contant.MessageConstant;
+import com.bcncgroup.testjava2025.domain.exception.LogicException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Bulkhead that runs logins on their own small thread pool.
+ * Password hashing is deliberately slow, so logins are kept off the request threads that serve prices:
+ * at most {@code auth.login.threads} logins run at once and {@code auth.login.queue-capacity} wait,
+ * any other login is rejected at once with a 503.
+ * The pool is not exposed as an Executor bean, so it does not replace the application task executor.
+ */
+@Component
+public class LoginBulkhead {
+
+	private final ThreadPoolExecutor executor;
+	private final Counter rejected;
+
+	public LoginBulkhead(@Value("${auth.login.threads:2}") int threads,
+			@Value("${auth.login.queue-capacity:32}") int queueCapacity, MeterRegistry registry) {
+		this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), new LoginThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+		this.rejected = Counter.builder("auth.login.rejected").register(registry);
+		Gauge.builder("auth.login.active", executor, ThreadPoolExecutor::getActiveCount).register(registry);
+		Gauge.builder("auth.login.queued", executor, e -> e.getQueue().size()).register(registry);
+	}
+
+	/**
+	 * Runs a login on the bulkhead threads.
+	 *
+	 * @param login the login work
+	 * @return the future result of the login
+	 * @throws LogicException if every thread is busy and the queue is full (503)
+	 */
+	public <T> CompletableFuture<T> submit(Supplier<T> login) {
+		try {
+			return CompletableFuture.supplyAsync(login, executor);
+		} catch (RejectedExecutionException ex) {
+			rejected.increment();
+			throw new LogicException(MessageConstant.LOGIN_OVERLOADED, 503);
+		}
+	}
+
+	/**
+	 * Stops accepting logins and lets the queued ones finish.
+	 */
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	/**
+	 * Names the login threads, so they are easy to tell apart in thread dumps.
+	 */
+	private static final class LoginThreadFactory implements ThreadFactory {
+
+		private final AtomicInteger created = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable task) {
+			Thread thread = new Thread(task, "login-" + created.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
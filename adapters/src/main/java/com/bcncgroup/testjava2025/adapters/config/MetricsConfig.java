@@ -0,0 +1,252 @@
+package com.bcncgroup.testjava2025.adapters.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.bcncgroup.testjava2025.adapters.cache.PriceResponseCache;
+import com.bcncgroup.testjava2025.domain.application.CachingFindPriceUseCase;
+import com.bcncgroup.testjava2025.domain.application.EffectivePriceService;
+import com.bcncgroup.testjava2025.domain.application.PriceChangePoller;
+import com.bcncgroup.testjava2025.domain.application.PriceKeyFilter;
+import com.bcncgroup.testjava2025.domain.model.PriceDataVersion;
+import com.bcncgroup.testjava2025.domain.ports.out.PriceRepository;
+import com.bcncgroup.testjava2025.infrastructure.adapter.BatchingPriceRepository;
+import com.bcncgroup.testjava2025.infrastructure.adapter.CoalescingPriceRepository;
+import com.bcncgroup.testjava2025.infrastructure.adapter.FilePriceSnapshotAdapter;
+import com.bcncgroup.testjava2025.infrastructure.adapter.InMemoryPriceRepositoryAdapter;
+import com.bcncgroup.testjava2025.infrastructure.adapter.OffHeapPriceRepositoryAdapter;
+import com.bcncgroup.testjava2025.infrastructure.adapter.PriceRepositoryDecorator;
+import com.bcncgroup.testjava2025.infrastructure.cache.BrandDictionary;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Metrics configuration class.
+ * This class registers the gauges of the application caches, the verified-token cache, the request coalescing
+ * and batching, the price key filter, the off-heap price index and the version of the in-memory price index.
+ * Gauges are read on scrape only, the request path does not update them.
+ * Pool, JVM, HTTP and Hibernate metrics come from Spring Boot auto-configuration.
+ */
+@Configuration
+public class MetricsConfig {
+
+	/**
+     * Registers size gauges of the brand dictionary, the effective price timelines and, when enabled, the lookup
+     * and response caches; the response cache also reports the bytes it holds.
+     *
+     * @param lookupCache the lookup cache, absent when {@code price.cache.enabled} is false
+     * @param responseCache the serialized response cache, absent when the lookup cache or itself is disabled
+     * @param effectivePriceService the service that keeps the effective price timelines
+     * @param brandDictionary the in-memory brand dictionary
+     * @return the binder of the cache metrics
+     */
+    @Bean
+    public MeterBinder priceCacheMetrics(ObjectProvider<CachingFindPriceUseCase> lookupCache,
+    		ObjectProvider<PriceResponseCache> responseCache,
+    		EffectivePriceService effectivePriceService, BrandDictionary brandDictionary) {
+        return registry -> {
+        	Gauge.builder("price.cache.size", brandDictionary, BrandDictionary::size)
+        			.tag("cache", "brand").register(registry);
+        	Gauge.builder("price.cache.size", effectivePriceService, EffectivePriceService::size)
+        			.tag("cache", "timeline").register(registry);
+        	lookupCache.ifAvailable(cache -> {
+        		Gauge.builder("price.cache.size", cache, c -> c.stats().size())
+        				.tag("cache", "lookup").register(registry);
+        		FunctionCounter.builder("price.cache.requests", cache, c -> c.stats().hits())
+        				.tag("cache", "lookup").tag("result", "hit").register(registry);
+        		FunctionCounter.builder("price.cache.requests", cache, c -> c.stats().misses())
+        				.tag("cache", "lookup").tag("result", "miss").register(registry);
+        		FunctionCounter.builder("price.cache.evictions", cache, c -> c.stats().evictions())
+        				.tag("cache", "lookup").register(registry);
+        	});
+        	responseCache.ifAvailable(cache -> {
+        		Gauge.builder("price.cache.size", cache, c -> c.stats().size())
+        				.tag("cache", "response").register(registry);
+        		Gauge.builder("price.cache.bytes", cache, c -> c.stats().bytes())
+        				.tag("cache", "response").baseUnit("bytes").register(registry);
+        		FunctionCounter.builder("price.cache.requests", cache, c -> c.stats().hits())
+        				.tag("cache", "response").tag("result", "hit").register(registry);
+        		FunctionCounter.builder("price.cache.requests", cache, c -> c.stats().misses())
+        				.tag("cache", "response").tag("result", "miss").register(registry);
+        		FunctionCounter.builder("price.cache.evictions", cache, c -> c.stats().evictions())
+        				.tag("cache", "response").register(registry);
+        	});
+        };
+    }
+
+    /**
+     * Registers size, hit and miss metrics of the verified-token cache.
+     *
+     * @param jwtUtil the JWT utility that owns the cache
+     * @return the binder of the token cache metrics
+     */
+    @Bean
+    public MeterBinder verifiedTokenCacheMetrics(JwtUtil jwtUtil) {
+        return registry -> CaffeineCacheMetrics.monitor(registry, jwtUtil.verifiedTokens(), "jwt.verified");
+    }
+
+    /**
+     * Registers the counters of the request coalescing in front of the price repository, when enabled.
+     * The coalesce ratio is {@code follower / (leader + follower)}.
+     *
+     * @param priceRepository the price repository bean
+     * @return the binder of the coalescing metrics
+     */
+    @Bean
+    public MeterBinder priceCoalescingMetrics(PriceRepository priceRepository) {
+        return registry -> {
+        	PriceRepositoryDecorator.find(priceRepository, CoalescingPriceRepository.class).ifPresent(coalescing -> {
+        		FunctionCounter.builder("price.repository.coalesce", coalescing, c -> c.stats().leaders())
+        				.tag("result", "leader").register(registry);
+        		FunctionCounter.builder("price.repository.coalesce", coalescing, c -> c.stats().followers())
+        				.tag("result", "follower").register(registry);
+        		FunctionCounter.builder("price.repository.coalesce", coalescing, c -> c.stats().timeouts())
+        				.tag("result", "timeout").register(registry);
+        		Gauge.builder("price.repository.inflight", coalescing, c -> c.stats().inFlight())
+        				.register(registry);
+        	});
+        };
+    }
+
+    /**
+     * Registers the counters of the micro-batching in front of the JPA price repository, when enabled.
+     * The mean batch size is {@code lookups / batches}.
+     *
+     * @param priceRepository the price repository bean, possibly decorated
+     * @return the binder of the batching metrics
+     */
+    @Bean
+    public MeterBinder priceBatchingMetrics(PriceRepository priceRepository) {
+        return registry -> {
+        	PriceRepositoryDecorator.find(priceRepository, BatchingPriceRepository.class).ifPresent(batching -> {
+        		FunctionCounter.builder("price.repository.batch.queries", batching, b -> b.stats().batches())
+        				.register(registry);
+        		FunctionCounter.builder("price.repository.batch.lookups", batching, b -> b.stats().lookups())
+        				.register(registry);
+        		Gauge.builder("price.repository.batch.queued", batching, b -> b.stats().queued())
+        				.register(registry);
+        	});
+        };
+    }
+
+    /**
+     * Registers the answers and the false-positive rate of the price key filter, when enabled.
+     * The expected rate comes from the filled bits of the filter; the observed one is
+     * {@code false positives / (negatives + false positives)}, where a false positive is a pair let through that
+     * had no price windows at all.
+     *
+     * @param priceKeyFilter the price key filter, absent when {@code price.key-filter.enabled} is false
+     * @return the binder of the filter metrics
+     */
+    @Bean
+    public MeterBinder priceKeyFilterMetrics(ObjectProvider<PriceKeyFilter> priceKeyFilter) {
+        return registry -> priceKeyFilter.ifAvailable(filter -> {
+        	FunctionCounter.builder("price.key.filter.requests", filter, f -> f.stats().negatives())
+        			.tag("result", "negative").register(registry);
+        	FunctionCounter.builder("price.key.filter.requests", filter, f -> f.stats().positives())
+        			.tag("result", "positive").register(registry);
+        	FunctionCounter.builder("price.key.filter.false.positives", filter, f -> f.stats().falsePositives())
+        			.register(registry);
+        	Gauge.builder("price.key.filter.false.positive.rate", filter, f -> f.stats().expectedFalsePositiveRate())
+        			.tag("kind", "expected").register(registry);
+        	Gauge.builder("price.key.filter.false.positive.rate", filter, f -> f.stats().observedFalsePositiveRate())
+        			.tag("kind", "observed").register(registry);
+        	Gauge.builder("price.key.filter.bytes", filter, f -> f.stats().bytes())
+        			.baseUnit("bytes").register(registry);
+        });
+    }
+
+    /**
+     * Registers the size of the off-heap price index, when {@code price.repository.type} is offheap.
+     *
+     * @param priceRepository the price repository bean, possibly decorated
+     * @return the binder of the index metrics
+     */
+    @Bean
+    public MeterBinder priceOffHeapIndexMetrics(PriceRepository priceRepository) {
+        return registry -> {
+        	PriceRepositoryDecorator.find(priceRepository, OffHeapPriceRepositoryAdapter.class).ifPresent(offHeap -> {
+        		Gauge.builder("price.index.rows", offHeap, o -> o.currentIndex().size())
+        				.register(registry);
+        		Gauge.builder("price.index.bytes", offHeap, o -> o.currentIndex().offHeapBytes())
+        				.tag("storage", "offheap").baseUnit("bytes").register(registry);
+        	});
+        };
+    }
+
+    /**
+     * Registers the writes of the price snapshot file and the mapped files found corrupt, when
+     * {@code price.snapshot.enabled} is true.
+     *
+     * @param snapshotAdapter the snapshot adapter, absent when disabled
+     * @return the binder of the snapshot metrics
+     */
+    @Bean
+    public MeterBinder priceSnapshotMetrics(ObjectProvider<FilePriceSnapshotAdapter> snapshotAdapter) {
+        return registry -> snapshotAdapter.ifAvailable(snapshot -> {
+        	FunctionCounter.builder("price.snapshot.writes", snapshot, s -> s.stats().writes())
+        			.tag("result", "ok").register(registry);
+        	FunctionCounter.builder("price.snapshot.writes", snapshot, s -> s.stats().failures())
+        			.tag("result", "failed").register(registry);
+        	FunctionCounter.builder("price.snapshot.corrupt", snapshot, s -> s.stats().corrupt())
+        			.register(registry);
+        });
+    }
+
+    /**
+     * Registers the epoch and content version of the price index, when prices are served from memory.
+     * Every node serving the same prices reports the same version; the epoch counts the rebuilds of each node.
+     * Both are NaN until the first index is published.
+     *
+     * @param priceRepository the price repository bean, possibly decorated
+     * @return the binder of the index version metrics
+     */
+    @Bean
+    public MeterBinder priceIndexVersionMetrics(PriceRepository priceRepository) {
+        return registry -> {
+        	if (PriceRepositoryDecorator.find(priceRepository, InMemoryPriceRepositoryAdapter.class).isPresent()
+        			|| PriceRepositoryDecorator.find(priceRepository, OffHeapPriceRepositoryAdapter.class).isPresent()) {
+        		Gauge.builder("price.index.epoch", priceRepository,
+        				r -> r.dataVersion().map(PriceDataVersion::epoch).map(Long::doubleValue).orElse(Double.NaN))
+        				.register(registry);
+        		Gauge.builder("price.index.version", priceRepository,
+        				r -> r.dataVersion().map(PriceDataVersion::version).map(Long::doubleValue).orElse(Double.NaN))
+        				.register(registry);
+        	}
+        };
+    }
+
+    /**
+     * Registers the progress of the price change poller, when {@code price.changes.enabled} is true.
+     * The lag is the time since the poller last read every committed change, so it bounds how old a change not yet
+     * applied can be; the delay is the age of the oldest change of the last applied batch when it was applied.
+     *
+     * @param priceChangePoller the price change poller, absent when disabled
+     * @return the binder of the change capture metrics
+     */
+    @Bean
+    public MeterBinder priceChangeMetrics(ObjectProvider<PriceChangePoller> priceChangePoller) {
+        return registry -> priceChangePoller.ifAvailable(poller -> {
+        	Gauge.builder("price.changes.lag", poller, p -> p.stats().lagMillis() / 1000.0)
+        			.baseUnit("seconds").register(registry);
+        	Gauge.builder("price.changes.delay", poller, p -> p.stats().delayMillis() / 1000.0)
+        			.baseUnit("seconds").register(registry);
+        	Gauge.builder("price.changes.version", poller, p -> p.stats().version())
+        			.register(registry);
+        	Gauge.builder("price.changes.watched.versions", poller, p -> p.stats().watchedVersions())
+        			.register(registry);
+        	FunctionCounter.builder("price.changes.polls", poller, p -> p.stats().polls())
+        			.register(registry);
+        	FunctionCounter.builder("price.changes.applied", poller, p -> p.stats().changes())
+        			.register(registry);
+        	FunctionCounter.builder("price.changes.reloads", poller, p -> p.stats().reloads())
+        			.register(registry);
+        	FunctionCounter.builder("price.changes.late", poller, p -> p.stats().lateChanges())
+        			.register(registry);
+        });
+    }
+}
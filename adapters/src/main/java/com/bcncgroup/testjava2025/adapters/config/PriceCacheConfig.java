@@ -0,0 +1,47 @@
+package com.bcncgroup.testjava2025.adapters.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import com.bcncgroup.testjava2025.adapters.cache.PriceResponseCache;
+import com.bcncgroup.testjava2025.domain.application.CachingFindPriceUseCase;
+import com.bcncgroup.testjava2025.domain.application.PriceService;
+
+/**
+ * Price cache configuration class.
+ * This class wraps the find price use case with a boundary-aware cache when {@code price.cache.enabled} is true,
+ * and keeps the serialized responses of the cached lookups when {@code price.response-cache.enabled} is true too.
+ */
+@Configuration
+@ConditionalOnProperty(name = "price.cache.enabled", havingValue = "true")
+public class PriceCacheConfig {
+
+	/**
+     * Creates the caching decorator used by the controllers instead of the plain service.
+     * 
+     * @param priceService the service that finds a missed entry and its boundaries
+     * @param maximumSize the maximum number of brand and product pairs kept
+     * @return the caching use case
+     */
+    @Bean
+    @Primary
+    public CachingFindPriceUseCase cachingFindPriceUseCase(PriceService priceService,
+    		@Value("${price.cache.maximum-size:10000}") long maximumSize) {
+        return new CachingFindPriceUseCase(priceService, maximumSize);
+    }
+
+    /**
+     * Creates the cache of serialized lookup responses, used by the controller on top of the lookup cache.
+     * 
+     * @param maximumBytes the maximum size of the cached responses, in bytes
+     * @return the response cache
+     */
+    @Bean
+    @ConditionalOnProperty(name = "price.response-cache.enabled", havingValue = "true", matchIfMissing = true)
+    public PriceResponseCache priceResponseCache(@Value("${price.response-cache.maximum-bytes:67108864}") long maximumBytes) {
+        return new PriceResponseCache(maximumBytes);
+    }
+}
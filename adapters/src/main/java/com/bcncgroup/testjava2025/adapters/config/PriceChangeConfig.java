@@ -0,0 +1,45 @@
+package com.bcncgroup.testjava2025.adapters.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.bcncgroup.testjava2025.domain.application.PriceChangePoller;
+import com.bcncgroup.testjava2025.domain.ports.out.PriceChangeRepository;
+import com.bcncgroup.testjava2025.domain.ports.out.PriceRepository;
+
+/**
+ * Price change capture configuration class.
+ * This class creates the poller of the PRICE_CHANGES log when {@code price.changes.enabled} is true (the default);
+ * the caches, the key filter and the in-memory index then follow single-row inserts, updates and deletes without a
+ * full reload.
+ */
+@Configuration
+@ConditionalOnProperty(name = "price.changes.enabled", havingValue = "true", matchIfMissing = true)
+public class PriceChangeConfig {
+
+	/**
+     * Creates the poller, started once the application is ready.
+     * 
+     * @param priceChangeRepository the repository that reads the changed rows
+     * @param priceRepository the price repository that receives the changes, possibly decorated
+     * @param eventPublisher the publisher of the change events
+     * @param pollInterval the milliseconds between polls, 0 to poll only on demand
+     * @param batchSize the most rows read per poll
+     * @param gapTimeout the milliseconds a missing change version holds the poll back
+     * @param gapRetention the milliseconds a skipped change version is read again, in case its write commits late
+     * @return the price change poller
+     */
+    @Bean
+    public PriceChangePoller priceChangePoller(PriceChangeRepository priceChangeRepository, PriceRepository priceRepository,
+    		ApplicationEventPublisher eventPublisher,
+    		@Value("${price.changes.poll-interval:1000}") long pollInterval,
+    		@Value("${price.changes.batch-size:10000}") int batchSize,
+    		@Value("${price.changes.gap-timeout:5000}") long gapTimeout,
+    		@Value("${price.changes.gap-retention:3600000}") long gapRetention) {
+        return new PriceChangePoller(priceChangeRepository, priceRepository, eventPublisher, pollInterval, batchSize,
+        		gapTimeout, gapRetention);
+    }
+}
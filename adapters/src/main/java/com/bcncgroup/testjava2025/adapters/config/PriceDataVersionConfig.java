@@ -0,0 +1,32 @@
+package com.bcncgroup.testjava2025.adapters.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.bcncgroup.testjava2025.domain.ports.in.FindPriceDataVersionUseCase;
+
+/**
+ * Price data version configuration class.
+ * This class adds the version of the in-memory price index to the responses of {@code /price/**}, so that the
+ * nodes behind a balancer can be checked to have converged after a catalog update.
+ */
+@Configuration
+public class PriceDataVersionConfig implements WebMvcConfigurer {
+
+	private final FindPriceDataVersionUseCase findPriceDataVersionUseCase;
+
+	public PriceDataVersionConfig(FindPriceDataVersionUseCase findPriceDataVersionUseCase) {
+		this.findPriceDataVersionUseCase = findPriceDataVersionUseCase;
+	}
+
+	/**
+     * Registers the version interceptor on the price endpoints.
+     *
+     * @param interceptors the interceptor registry of Spring MVC
+     */
+	@Override
+	public void addInterceptors(InterceptorRegistry interceptors) {
+		interceptors.addInterceptor(new PriceDataVersionInterceptor(findPriceDataVersionUseCase)).addPathPatterns("/price/**");
+	}
+}
@@ -0,0 +1,38 @@
+package com.bcncgroup.testjava2025.adapters.config;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.bcncgroup.testjava2025.domain.ports.in.FindPriceDataVersionUseCase;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Interceptor that reports the version of the in-memory price index in the response headers.
+ * The headers carry the index published when the request started: the epoch counts the rebuilds of this node and
+ * the version is a digest of the loaded prices, equal on every node that serves the same prices. Nothing is added
+ * when prices are read from the database.
+ */
+public class PriceDataVersionInterceptor implements HandlerInterceptor {
+
+	static final String EPOCH_HEADER = "X-Price-Index-Epoch";
+	static final String VERSION_HEADER = "X-Price-Index-Version";
+
+	private final FindPriceDataVersionUseCase findPriceDataVersionUseCase;
+
+	public PriceDataVersionInterceptor(FindPriceDataVersionUseCase findPriceDataVersionUseCase) {
+		this.findPriceDataVersionUseCase = findPriceDataVersionUseCase;
+	}
+
+	/**
+	 * Adds the epoch and version headers, before the controller writes the body.
+	 */
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		findPriceDataVersionUseCase.findDataVersion().ifPresent(version -> {
+			response.setHeader(EPOCH_HEADER, Long.toString(version.epoch()));
+			response.setHeader(VERSION_HEADER, Long.toString(version.version()));
+		});
+		return true;
+	}
+}
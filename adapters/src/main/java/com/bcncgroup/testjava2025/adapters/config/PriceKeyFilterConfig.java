@@ -0,0 +1,33 @@
+package com.bcncgroup.testjava2025.adapters.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.bcncgroup.testjava2025.domain.application.PriceKeyFilter;
+import com.bcncgroup.testjava2025.domain.ports.out.PriceKeyRepository;
+
+/**
+ * Price key filter configuration class.
+ * This class creates the Bloom filter of the brand and product pairs that have prices when
+ * {@code price.key-filter.enabled} is true (the default); the price service then answers unknown pairs
+ * without reaching the repository.
+ */
+@Configuration
+@ConditionalOnProperty(name = "price.key-filter.enabled", havingValue = "true", matchIfMissing = true)
+public class PriceKeyFilterConfig {
+
+	/**
+     * Creates the filter, built once the application is ready.
+     * 
+     * @param priceKeyRepository the repository that reads the known pairs
+     * @param falsePositiveRate the share of unknown pairs that may still reach the repository
+     * @return the price key filter
+     */
+    @Bean
+    public PriceKeyFilter priceKeyFilter(PriceKeyRepository priceKeyRepository,
+    		@Value("${price.key-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        return new PriceKeyFilter(priceKeyRepository, falsePositiveRate);
+    }
+}
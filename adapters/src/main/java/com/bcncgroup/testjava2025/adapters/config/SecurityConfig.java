@@ -1,5 +1,8 @@
 package com.bcncgroup.testjava2025.adapters.config;
 
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -7,12 +10,16 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 import com.bcncgroup.testjava2025.domain.manager.PasswordMamanger;
 
+import jakarta.servlet.DispatcherType;
+
 /**
  * Security configuration class for the application.
  * This class configures Spring Security with JWT authentication.
@@ -21,6 +28,9 @@ import com.bcncgroup.testjava2025.domain.manager.PasswordMamanger;
 @EnableWebSecurity
 public class SecurityConfig {
     
+    static final String BCRYPT_ID = "bcrypt";
+    static final String SHA256_ID = "sha256";
+    
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final JwtRequestFilter jwtRequestFilter;
 
@@ -41,6 +51,8 @@ public class SecurityConfig {
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http.csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(authz -> authz
+                // the request was already authorized before a streamed response went async
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/auth/**").permitAll()
                 .requestMatchers("/health", "/actuator/**").permitAll()
                 // swagger routes
@@ -60,13 +72,21 @@ public class SecurityConfig {
 
     /**
      * Provides the password encoder bean.
-     * This method creates a password encoder for the application.
+     * This method creates a delegating encoder: new hashes use bcrypt with the configured strength, stored
+     * hashes without an {id} prefix are the legacy salted SHA-256 ones and are still accepted.
+     * After a successful login with a legacy or weaker hash the stored hash is upgraded through
+     * the UserDetailsPasswordService.
      * 
+     * @param bcryptStrength the log2 rounds of bcrypt, raising it upgrades existing bcrypt hashes on login
      * @return the password encoder instance
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new PasswordMamanger();
+    public PasswordEncoder passwordEncoder(@Value("${auth.password.bcrypt-strength:10}") int bcryptStrength) {
+        PasswordMamanger legacy = new PasswordMamanger();
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT_ID,
+                Map.of(BCRYPT_ID, new BCryptPasswordEncoder(bcryptStrength), SHA256_ID, legacy));
+        encoder.setDefaultPasswordEncoderForMatches(legacy);
+        return encoder;
     }
 
     /**
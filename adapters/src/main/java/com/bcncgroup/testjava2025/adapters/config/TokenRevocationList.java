@@ -0,0 +1,61 @@
+package com.bcncgroup.testjava2025.adapters.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * In-memory revocation list of JWT tokens.
+ * This class keeps, per username, the millisecond before which issued tokens are rejected, so a logout or a
+ * lockout takes effect without asking the database on every request.
+ * An entry is dropped once every token it covers has expired. It is local to the instance.
+ */
+@Component
+public class TokenRevocationList {
+
+	private final boolean enabled;
+	private final Cache<String, Long> revokedBefore;
+
+	public TokenRevocationList(@Value("${jwt.revocation.enabled:true}") boolean enabled,
+			@Value("${jwt.expiration:86400}") long expiration) {
+		this.enabled = enabled;
+		this.revokedBefore = Caffeine.newBuilder()
+				.expireAfterWrite(Duration.ofSeconds(expiration + 1))
+				.build();
+	}
+
+	/**
+	 * Revokes every token of a user issued before now.
+	 * Tokens carry their issue time in milliseconds, so a login right after the logout gets a valid token.
+	 *
+	 * @param username the user whose tokens are revoked
+	 */
+	public void revokeUser(String username) {
+		if (enabled) {
+			revokedBefore.put(username, System.currentTimeMillis());
+		}
+	}
+
+	/**
+	 * Checks if the claims of a verified token belong to a revoked token.
+	 *
+	 * @param claims the claims of the token
+	 * @return true if the token was revoked, false otherwise
+	 */
+	public boolean isRevoked(Claims claims) {
+		if (!enabled) {
+			return false;
+		}
+		Long before = revokedBefore.getIfPresent(claims.getSubject());
+		if (before == null) {
+			return false;
+		}
+		return JwtUtil.issuedAtMillis(claims) < before;
+	}
+}
@@ -5,6 +5,7 @@ import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -14,9 +15,10 @@ import com.bcncgroup.testjava2025.infrastructure.adapter.JpaUserRepositoryAdapte
 /**
  * Implementation of Spring Security's UserDetailsService.
  * This class loads user details for authentication using the JPA adapter directly.
+ * It also stores the upgraded hash when a login succeeds with a legacy or weaker password hash.
  */
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 	
 	private final JpaUserRepositoryAdapter userRepositoryAdapter;
 	
@@ -43,4 +45,18 @@ public class UserDetailsServiceImpl implements UserDetailsService {
             throw new UsernameNotFoundException("user.not.found");
         }
     }
+
+	/**
+     * Stores the new password hash of a user after a successful login.
+     * This method is called by the authentication provider when the stored hash needs an upgrade.
+     * 
+     * @param user the authenticated user
+     * @param newPassword the password encoded with the current scheme
+     * @return the user details with the new password
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepositoryAdapter.updatePassword(user.getUsername(), newPassword);
+        return new User(user.getUsername(), newPassword, user.getAuthorities());
+    }
 }
@@ -1,22 +1,27 @@
 package com.bcncgroup.testjava2025.adapters.controller;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.bcncgroup.testjava2025.adapters.config.JwtUtil;
+import com.bcncgroup.testjava2025.adapters.config.LoginBulkhead;
+import com.bcncgroup.testjava2025.adapters.config.TokenRevocationList;
 import com.bcncgroup.testjava2025.adapters.dto.GeneralErrorResponseDTO;
 import com.bcncgroup.testjava2025.adapters.dto.in.LoginInDTO;
 import com.bcncgroup.testjava2025.adapters.dto.out.LoginOutDTO;
 import com.bcncgroup.testjava2025.domain.contant.MessageConstant;
+import com.bcncgroup.testjava2025.domain.exception.LogicException;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -35,23 +40,27 @@ public class AuthController {
 
 	private final AuthenticationManager authenticationManager;
 	private final JwtUtil jwtUtil;
-	private final UserDetailsService userDetailsService;
+	private final TokenRevocationList revocationList;
+	private final LoginBulkhead loginBulkhead;
 
 	@Autowired
 	public AuthController(AuthenticationManager authenticationManager, JwtUtil jwtUtil,
-			UserDetailsService userDetailsService) {
+			TokenRevocationList revocationList, LoginBulkhead loginBulkhead) {
 		this.authenticationManager = authenticationManager;
 		this.jwtUtil = jwtUtil;
-		this.userDetailsService = userDetailsService;
+		this.revocationList = revocationList;
+		this.loginBulkhead = loginBulkhead;
 	}
 
 	/**
      * Authenticates a user and returns a JWT token.
      * This method uses use cases for authentication.
+     * The authorities of the user travel in the token, so later requests do not load the user again.
+     * The login runs on the login bulkhead and the user is loaded once, by the authentication manager.
      * 
      * @param arg the login credentials
-     * @return response with JWT token or error message
-     * @throws Exception if there is an authentication error
+     * @return future response with JWT token or error message
+     * @throws LogicException if too many logins are already running or waiting (503)
      */
 	@PostMapping("/login")
     @Operation(summary = "start new session", description = "authenticate an user and return a session token")
@@ -59,14 +68,20 @@ public class AuthController {
             @ApiResponse(responseCode = "200", description = "login succesfull"),
             @ApiResponse(responseCode = "401", description = "invalid credentials"),
             @ApiResponse(responseCode = "400", description = "invalid data"),
-            @ApiResponse(responseCode = "500", description = "internal server error")
+            @ApiResponse(responseCode = "500", description = "internal server error"),
+            @ApiResponse(responseCode = "503", description = "too many logins in progress")
     })
-	public ResponseEntity<?> login(@Valid @RequestBody LoginInDTO arg) throws Exception {
+	public CompletableFuture<ResponseEntity<?>> login(@Valid @RequestBody LoginInDTO arg) {
+        return loginBulkhead.submit(() -> authenticate(arg));
+    }
+	
+	private ResponseEntity<?> authenticate(LoginInDTO arg) {
         try {
-            authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(arg.username(), arg.password()));
+            Authentication authentication = authenticationManager
+            		.authenticate(new UsernamePasswordAuthenticationToken(arg.username(), arg.password()));
 
-            final UserDetails userDetails = userDetailsService.loadUserByUsername(arg.username());
-            final String jwt = jwtUtil.generateToken(userDetails.getUsername());
+            final UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+            final String jwt = jwtUtil.generateToken(userDetails);
 
             LoginOutDTO dto = new LoginOutDTO(jwt, userDetails.getUsername());
             
@@ -75,4 +90,25 @@ public class AuthController {
             return ResponseEntity.status(401).body(new GeneralErrorResponseDTO(MessageConstant.INVALID_CREDENTIALS, 401));
         }
     }
+
+	/**
+     * Ends the sessions of the authenticated user.
+     * This method revokes every token issued to the user up to now, including the one of the request.
+     * 
+     * @param authentication the authentication built from the request token, null without a valid token
+     * @return empty response, or error message when the request is not authenticated
+     */
+	@PostMapping("/logout")
+    @Operation(summary = "end session", description = "revoke every token issued to the authenticated user")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "tokens revoked"),
+            @ApiResponse(responseCode = "401", description = "not authenticated")
+    })
+	public ResponseEntity<?> logout(Authentication authentication) {
+        if (authentication == null) {
+            return ResponseEntity.status(401).body(new GeneralErrorResponseDTO(MessageConstant.NOT_AUTHENTICATED, 401));
+        }
+        revocationList.revokeUser(authentication.getName());
+        return ResponseEntity.noContent().build();
+    }
 }
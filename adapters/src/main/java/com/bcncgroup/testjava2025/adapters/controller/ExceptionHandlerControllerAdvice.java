@@ -2,10 +2,13 @@ package com.bcncgroup.testjava2025.adapters.controller;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -17,15 +20,32 @@ import com.bcncgroup.testjava2025.adapters.dto.ValidationErrorResponseDTO;
 import com.bcncgroup.testjava2025.domain.contant.MessageConstant;
 import com.bcncgroup.testjava2025.domain.exception.LogicException;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * Global exception handler for REST controllers.
  * This class handles exceptions.
+ * The LogicException counters are built once per code and message key, so a shed request under overload only pays a
+ * map read and an increment.
  */
 @RestControllerAdvice
 public class ExceptionHandlerControllerAdvice {
 	
 	static final Logger LOG = LoggerFactory.getLogger(ExceptionHandlerControllerAdvice.class);
 	
+	static final String LOGIC_EXCEPTIONS = "logic.exceptions";
+	
+	private final MeterRegistry registry;
+	private final String retryAfter;
+	private final Map<CounterKey, Counter> counters = new ConcurrentHashMap<>();
+	
+	public ExceptionHandlerControllerAdvice(MeterRegistry registry,
+			@Value("${limiter.retry-after:1}") long retryAfterSeconds) {
+		this.registry = registry;
+		this.retryAfter = String.valueOf(retryAfterSeconds);
+	}
+	
 	/**
      * Handles generic exceptions that are not specifically handled.
      * 
@@ -60,13 +80,40 @@ public class ExceptionHandlerControllerAdvice {
     /**
      * Handles logic layer exceptions.
      * This method only knows about LogicException and uses its error code.
+     * It also counts the exception by code and message key.
+     * A 503 means the request was shed, so the response tells the client when to retry.
      * 
      * @param ex the logic exception
      * @return error response with appropriate status and message
      */
     @ExceptionHandler(LogicException.class)
     public ResponseEntity<GeneralErrorResponseDTO> handleLogicException(LogicException ex) {
-    	LOG.error(MessageConstant.LOGIC_ERROR, ex);
+    	if (ex.getCode() == 503) {
+    		// load shedding is expected under pressure and already counted, logging every rejection would add to it
+    		LOG.debug(MessageConstant.LOGIC_ERROR + " {}", ex.getMessage());
+    	} else {
+    		LOG.error(MessageConstant.LOGIC_ERROR, ex);
+    	}
+    	counter(ex).increment();
+    	if (ex.getCode() == 503) {
+    		return ResponseEntity.status(ex.getCode()).header(HttpHeaders.RETRY_AFTER, retryAfter)
+    				.body(new GeneralErrorResponseDTO(ex.getMessage(), ex.getCode()));
+    	}
         return ResponseEntity.status(ex.getCode()).body(new GeneralErrorResponseDTO(ex.getMessage(), ex.getCode()));
     }
+    
+    private Counter counter(LogicException ex) {
+    	CounterKey key = new CounterKey(ex.getCode(), String.valueOf(ex.getMessage()));
+    	Counter counter = counters.get(key);
+    	if (counter == null) {
+    		counter = counters.computeIfAbsent(key, k -> Counter.builder(LOGIC_EXCEPTIONS)
+    				.tag("code", String.valueOf(k.code()))
+    				.tag("message", k.message())
+    				.register(registry));
+    	}
+    	return counter;
+    }
+    
+    private record CounterKey(int code, String message) {
+    }
 }
@@ -1,23 +1,44 @@
 package com.bcncgroup.testjava2025.adapters.controller;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.bcncgroup.testjava2025.adapters.cache.PriceResponseCache;
+import com.bcncgroup.testjava2025.adapters.cache.PriceResponseCache.CachedResponse;
+import com.bcncgroup.testjava2025.adapters.dto.in.PriceBatchFindInDTO;
 import com.bcncgroup.testjava2025.adapters.dto.in.PriceFindInDTO;
 import com.bcncgroup.testjava2025.adapters.dto.out.PriceFindOutDTO;
 import com.bcncgroup.testjava2025.adapters.mapper.PriceFindInDTOMapper;
 import com.bcncgroup.testjava2025.adapters.mapper.PriceFindOutDTOMapper;
+import com.bcncgroup.testjava2025.domain.contant.MessageConstant;
+import com.bcncgroup.testjava2025.domain.exception.LogicException;
 import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.model.PriceLookup;
+import com.bcncgroup.testjava2025.domain.ports.in.FindEffectivePriceUseCase;
+import com.bcncgroup.testjava2025.domain.ports.in.FindPriceLookupUseCase;
 import com.bcncgroup.testjava2025.domain.ports.in.FindPriceUseCase;
 import com.bcncgroup.testjava2025.domain.ports.in.query.FindPriceQuery;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
@@ -32,18 +53,37 @@ public class PriceController {
 	
 	private final FindPriceUseCase findPriceUseCase;
 	
+	private final FindEffectivePriceUseCase findEffectivePriceUseCase;
+	
+	private final FindPriceLookupUseCase findPriceLookupUseCase;
+	
 	private final PriceFindOutDTOMapper priceFindOutDTOMapper;
+	
+	private final PriceResponseCache priceResponseCache;
+	
+	private final ObjectMapper objectMapper;
+	
+	private final long maxAgeLimit;
 
 	@Autowired
-	public PriceController(FindPriceUseCase findPriceUseCase, PriceFindInDTOMapper priceDTOMapper, PriceFindOutDTOMapper priceFindOutDTOMapper) {
+	public PriceController(FindPriceUseCase findPriceUseCase, FindEffectivePriceUseCase findEffectivePriceUseCase,
+			FindPriceLookupUseCase findPriceLookupUseCase, PriceFindInDTOMapper priceDTOMapper,
+			PriceFindOutDTOMapper priceFindOutDTOMapper, Optional<PriceResponseCache> priceResponseCache,
+			ObjectMapper objectMapper, @Value("${price.http.max-age-limit:3600}") long maxAgeLimit) {
 		super();
 		this.findPriceUseCase = findPriceUseCase;
+		this.findEffectivePriceUseCase = findEffectivePriceUseCase;
+		this.findPriceLookupUseCase = findPriceLookupUseCase;
 		this.priceFindOutDTOMapper = priceFindOutDTOMapper;
+		this.priceResponseCache = priceResponseCache.orElse(null);
+		this.objectMapper = objectMapper;
+		this.maxAgeLimit = maxAgeLimit;
 	}
 	
 	/**
      * Finds prices by date, product identifier and brand.
      * This method uses for price search.
+     * When the response cache is enabled, the JSON of a cached lookup is written as it was serialized the first time.
      * 
      * @param arg the search criteria containing date, product ID and brand ID
      * @return list of prices that match the criteria
@@ -51,17 +91,138 @@ public class PriceController {
 	@PostMapping("/findByDateProductIdentifierBrand")
     @Operation(summary = "find prices", description = "filter product prices according to the given data")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "filter succesfull"),
+            @ApiResponse(responseCode = "200", description = "filter succesfull",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = PriceFindOutDTO.class)))),
             @ApiResponse(responseCode = "400", description = "invalid data"),
             @ApiResponse(responseCode = "500", description = "internal server error")
     })
-    public ResponseEntity<List<PriceFindOutDTO>> findByDateProductIdentifierBrand(@Valid @RequestBody PriceFindInDTO arg) {
+    public ResponseEntity<?> findByDateProductIdentifierBrand(@Valid @RequestBody PriceFindInDTO arg) {
         FindPriceQuery query = new FindPriceQuery(arg.startDate(), arg.productId(), arg.brandId());
         
+        if (priceResponseCache != null) {
+            PriceLookup lookup = findPriceLookupUseCase.findLookup(query);
+            byte[] body = priceResponseCache.get(arg.brandId(), arg.productId(), lookup, this::toJson).body();
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+        }
+        
         List<Price> prices = findPriceUseCase.findByDateProductAndBrand(query);
         
         List<PriceFindOutDTO> response = prices.stream().map(priceFindOutDTOMapper::toDto).toList();
         
         return ResponseEntity.ok(response);
     }
+	
+	/**
+     * Finds prices by date, product identifier and brand given as query parameters, so the response can be cached.
+     * The response carries a strong ETag, the digest of its JSON bytes, and a request whose If-None-Match
+     * holds it gets a 304 without body. It may be cached until the next START_DATE/END_DATE boundary of the
+     * product after the requested date, at most {@code price.http.max-age-limit} seconds so catalog changes show up.
+     * 
+     * @param arg the search criteria containing date, product ID and brand ID
+     * @return list of prices that match the criteria
+     */
+	@GetMapping("/findByDateProductIdentifierBrand")
+    @Operation(summary = "find prices (cacheable)", description = "filter product prices according to the given query parameters")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "filter succesfull",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = PriceFindOutDTO.class)))),
+            @ApiResponse(responseCode = "304", description = "not modified since the given ETag"),
+            @ApiResponse(responseCode = "400", description = "invalid data"),
+            @ApiResponse(responseCode = "500", description = "internal server error")
+    })
+    public ResponseEntity<byte[]> findByDateProductIdentifierBrandCacheable(@Valid PriceFindInDTO arg) {
+        FindPriceQuery query = new FindPriceQuery(arg.startDate(), arg.productId(), arg.brandId());
+        
+        PriceLookup lookup = findPriceLookupUseCase.findLookup(query);
+        
+        byte[] body;
+        String etag;
+        if (priceResponseCache != null) {
+            CachedResponse cached = priceResponseCache.get(arg.brandId(), arg.productId(), lookup, this::toJson);
+            body = cached.body();
+            etag = cached.etag();
+        } else {
+            body = toJson(lookup);
+            etag = PriceResponseCache.etag(body);
+        }
+        
+        // a 304 is sent by Spring when If-None-Match holds this ETag
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(CacheControl.maxAge(maxAge(arg.startDate(), lookup.validUntil()), TimeUnit.SECONDS).cachePublic())
+                .body(body);
+    }
+	
+	/**
+     * Finds the single price that applies by date, product identifier and brand.
+     * When several prices overlap, the one with the highest priority is returned.
+     * 
+     * @param arg the search criteria containing date, product ID and brand ID
+     * @return the price that applies
+     */
+	@PostMapping("/findEffectiveByDateProductIdentifierBrand")
+    @Operation(summary = "find effective price", description = "return the single price that applies according to the given data")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "price found"),
+            @ApiResponse(responseCode = "400", description = "invalid data"),
+            @ApiResponse(responseCode = "404", description = "no price applies"),
+            @ApiResponse(responseCode = "500", description = "internal server error")
+    })
+    public ResponseEntity<PriceFindOutDTO> findEffectiveByDateProductIdentifierBrand(@Valid @RequestBody PriceFindInDTO arg) {
+        FindPriceQuery query = new FindPriceQuery(arg.startDate(), arg.productId(), arg.brandId());
+        
+        Price price = findEffectivePriceUseCase.findEffectivePrice(query);
+        
+        return ResponseEntity.ok(priceFindOutDTOMapper.toDto(price));
+    }
+	
+	/**
+     * Finds prices for several date, product identifier and brand tuples in a single request.
+     * Each tuple gets its own list of prices, in request order; a tuple without match gets an empty list.
+     * 
+     * @param arg the list of search criteria
+     * @return one list of prices per search criteria
+     */
+	@PostMapping("/findBatchByDateProductIdentifierBrand")
+    @Operation(summary = "find prices in batch", description = "filter product prices for every given data in a single call")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "filter succesfull"),
+            @ApiResponse(responseCode = "400", description = "invalid data"),
+            @ApiResponse(responseCode = "500", description = "internal server error")
+    })
+    public ResponseEntity<List<List<PriceFindOutDTO>>> findBatchByDateProductIdentifierBrand(@Valid @RequestBody PriceBatchFindInDTO arg) {
+        List<FindPriceQuery> queries = arg.queries().stream()
+                .map(item -> new FindPriceQuery(item.startDate(), item.productId(), item.brandId()))
+                .toList();
+        
+        List<List<Price>> prices = findPriceUseCase.findAllByDateProductAndBrand(queries);
+        
+        List<List<PriceFindOutDTO>> response = prices.stream()
+                .map(list -> list.stream().map(priceFindOutDTOMapper::toDto).toList())
+                .toList();
+        
+        return ResponseEntity.ok(response);
+    }
+	
+	/**
+     * Seconds from the requested date until the next boundary, within [0, max-age-limit].
+     */
+	private long maxAge(LocalDateTime date, LocalDateTime validUntil) {
+		if (validUntil.equals(LocalDateTime.MAX)) {
+			return maxAgeLimit;
+		}
+		return Math.max(0, Math.min(maxAgeLimit, Duration.between(date, validUntil).toSeconds()));
+	}
+	
+	/**
+     * Serializes the prices of a lookup as the response of the find endpoints.
+     */
+	private byte[] toJson(PriceLookup lookup) {
+		try {
+			return objectMapper.writeValueAsBytes(lookup.prices().stream().map(priceFindOutDTOMapper::toDto).toList());
+		} catch (JsonProcessingException ex) {
+			throw new LogicException(MessageConstant.GENERAL_ERROR, 500);
+		}
+	}
 }
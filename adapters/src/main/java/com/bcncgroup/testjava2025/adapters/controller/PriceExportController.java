@@ -0,0 +1,169 @@
+package com.bcncgroup.testjava2025.adapters.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.bcncgroup.testjava2025.adapters.dto.out.PriceFindOutDTO;
+import com.bcncgroup.testjava2025.adapters.mapper.PriceFindOutDTOMapper;
+import com.bcncgroup.testjava2025.domain.ports.in.ExportPriceUseCase;
+import com.bcncgroup.testjava2025.domain.ports.in.query.ExportPriceQuery;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+
+/**
+ * REST controller for price catalog exports.
+ * This controller streams the prices of a brand as newline-delimited JSON.
+ */
+@RestController
+@RequestMapping("/price")
+public class PriceExportController {
+	
+	static final Logger LOG = LoggerFactory.getLogger(PriceExportController.class);
+	
+	static final String NDJSON = "application/x-ndjson";
+	
+	private final ExportPriceUseCase exportPriceUseCase;
+	
+	private final PriceFindOutDTOMapper priceFindOutDTOMapper;
+	
+	private final ObjectWriter writer;
+	
+	private final ObjectMapper objectMapper;
+
+	@Autowired
+	public PriceExportController(ExportPriceUseCase exportPriceUseCase, PriceFindOutDTOMapper priceFindOutDTOMapper, ObjectMapper objectMapper) {
+		this.exportPriceUseCase = exportPriceUseCase;
+		this.priceFindOutDTOMapper = priceFindOutDTOMapper;
+		this.objectMapper = objectMapper;
+		// the generator is flushed once at the end, not after every row
+		this.writer = objectMapper.writerFor(PriceFindOutDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+	}
+	
+	/**
+     * Exports every price of a brand, one JSON document per line.
+     * Rows are written to the response as they are read from the database; the body is gzip
+     * compressed when the client accepts it.
+     * 
+     * @param brandId the brand identifier
+     * @param fromDate the optional start of the date window
+     * @param toDate the optional end of the date window
+     * @param acceptEncoding the encodings accepted by the client
+     * @return the streamed NDJSON body
+     */
+	@GetMapping(value = "/export", produces = NDJSON)
+    @Operation(summary = "export prices", description = "stream every price of a brand as NDJSON, optionally limited to a date window")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "export started"),
+            @ApiResponse(responseCode = "400", description = "invalid data"),
+            @ApiResponse(responseCode = "500", description = "internal server error")
+    })
+	public ResponseEntity<StreamingResponseBody> export(
+			@RequestParam Long brandId,
+			@RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime fromDate,
+			@RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime toDate,
+			@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+		
+		ExportPriceQuery query = new ExportPriceQuery(brandId, fromDate, toDate);
+		// checked before the 200 is committed; the export checks again when it runs
+		exportPriceUseCase.validate(query);
+		boolean gzip = acceptsGzip(acceptEncoding);
+		
+		StreamingResponseBody body = out -> {
+			// the servlet stream is closed by the container; closing these releases the deflater even on a client abort
+			OutputStream target = gzip ? new GzipBody(StreamUtils.nonClosing(out)) : StreamUtils.nonClosing(out);
+			try (target; JsonGenerator generator = objectMapper.getFactory().createGenerator(target)) {
+				generator.setRootValueSeparator(null);
+				
+				long exported = exportPriceUseCase.exportByBrand(query, price -> {
+					try {
+						writer.writeValue(generator, priceFindOutDTOMapper.toDto(price));
+						generator.writeRaw('\n');
+					} catch (IOException ex) {
+						throw new UncheckedIOException(ex);
+					}
+				});
+				LOG.info("price export of brand {} finished: {} rows", brandId, exported);
+			}
+		};
+		
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+		if (gzip) {
+			response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+		}
+		return response.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING).body(body);
+	}
+	
+	/**
+     * Checks if an Accept-Encoding header accepts gzip, honouring its quality values.
+     * 
+     * @param acceptEncoding the header value, or null when absent
+     * @return true when gzip (or x-gzip) is listed with a quality above zero
+     */
+	static boolean acceptsGzip(String acceptEncoding) {
+		if (acceptEncoding == null) {
+			return false;
+		}
+		for (String coding : acceptEncoding.split(",")) {
+			String[] parts = coding.split(";");
+			String name = parts[0].trim();
+			if (!name.equalsIgnoreCase("gzip") && !name.equalsIgnoreCase("x-gzip")) {
+				continue;
+			}
+			double quality = 1;
+			for (int i = 1; i < parts.length; i++) {
+				String parameter = parts[i].trim();
+				if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+					try {
+						quality = Double.parseDouble(parameter.substring(2).trim());
+					} catch (NumberFormatException ex) {
+						quality = 0;
+					}
+				}
+			}
+			return quality > 0;
+		}
+		return false;
+	}
+	
+	/**
+	 * Gzip stream that releases its deflater on close even when writing the trailer fails.
+	 */
+	private static final class GzipBody extends GZIPOutputStream {
+		
+		GzipBody(OutputStream out) throws IOException {
+			super(out, 64 * 1024);
+		}
+		
+		@Override
+		public void close() throws IOException {
+			try {
+				super.close();
+			} finally {
+				def.end();
+			}
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package com.bcncgroup.testjava2025.adapters.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.bcncgroup.testjava2025.adapters.dto.out.PriceImportOutDTO;
+import com.bcncgroup.testjava2025.adapters.importer.PriceFileFormat;
+import com.bcncgroup.testjava2025.adapters.importer.PriceFileReader;
+import com.bcncgroup.testjava2025.domain.contant.MessageConstant;
+import com.bcncgroup.testjava2025.domain.exception.LogicException;
+import com.bcncgroup.testjava2025.domain.model.ImportPriceResult;
+import com.bcncgroup.testjava2025.domain.ports.in.ImportPriceUseCase;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+
+/**
+ * REST controller for bulk price imports.
+ * This controller reads a CSV or NDJSON request body as a stream and hands its rows to the import use case.
+ */
+@RestController
+@RequestMapping("/price")
+public class PriceImportController {
+	
+	private final ImportPriceUseCase importPriceUseCase;
+	
+	private final PriceFileReader priceFileReader;
+
+	@Autowired
+	public PriceImportController(ImportPriceUseCase importPriceUseCase, PriceFileReader priceFileReader) {
+		this.importPriceUseCase = importPriceUseCase;
+		this.priceFileReader = priceFileReader;
+	}
+	
+	/**
+     * Imports the prices of the request body.
+     * The body is read while rows are stored, so it is never held in memory; it may be gzip compressed.
+     * 
+     * @param contentType text/csv or application/x-ndjson
+     * @param contentEncoding gzip when the body is compressed
+     * @param body the request body
+     * @return the import counters
+     * @throws IOException if the body cannot be opened
+     */
+	@PostMapping("/import")
+    @Operation(summary = "import prices", description = "bulk load prices from a CSV (text/csv) or NDJSON (application/x-ndjson) body")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "import finished, see the rejected counter"),
+            @ApiResponse(responseCode = "415", description = "format not supported"),
+            @ApiResponse(responseCode = "500", description = "internal server error")
+    })
+	public ResponseEntity<PriceImportOutDTO> importPrices(
+			@RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+			@RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+			InputStream body) throws IOException {
+		
+		PriceFileFormat format = PriceFileFormat.fromContentType(contentType);
+		if (format == null) {
+			throw new LogicException(MessageConstant.IMPORT_FORMAT_NOT_SUPPORTED, 415);
+		}
+		InputStream input = "gzip".equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(body, 64 * 1024) : body;
+		
+		ImportPriceResult result = importPriceUseCase.importPrices(priceFileReader.read(input, format));
+		return ResponseEntity.ok(toDto(result));
+	}
+	
+	static PriceImportOutDTO toDto(ImportPriceResult result) {
+		return new PriceImportOutDTO(result.read(), result.imported(), result.rejected(), result.elapsedMillis(),
+				result.rowsPerSecond(), result.errors());
+	}
+}
@@ -0,0 +1,48 @@
+package com.bcncgroup.testjava2025.adapters.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.bcncgroup.testjava2025.adapters.dto.out.PriceSnapshotOutDTO;
+import com.bcncgroup.testjava2025.domain.model.PriceSnapshotResult;
+import com.bcncgroup.testjava2025.domain.ports.in.WritePriceSnapshotUseCase;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+
+/**
+ * REST controller for the price snapshot.
+ * This controller writes the price index to its snapshot file on demand, besides the scheduled writes.
+ */
+@RestController
+@RequestMapping("/price")
+public class PriceSnapshotController {
+	
+	private final WritePriceSnapshotUseCase writePriceSnapshotUseCase;
+
+	@Autowired
+	public PriceSnapshotController(WritePriceSnapshotUseCase writePriceSnapshotUseCase) {
+		this.writePriceSnapshotUseCase = writePriceSnapshotUseCase;
+	}
+	
+	/**
+     * Writes the price index to the snapshot file.
+     * 
+     * @return the size of the written snapshot
+     */
+	@PostMapping("/snapshot")
+    @Operation(summary = "write price snapshot", description = "write the off-heap price index to the snapshot file read at startup")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "snapshot written"),
+            @ApiResponse(responseCode = "409", description = "snapshots disabled or no index loaded yet"),
+            @ApiResponse(responseCode = "500", description = "internal server error")
+    })
+	public ResponseEntity<PriceSnapshotOutDTO> writeSnapshot() {
+		PriceSnapshotResult result = writePriceSnapshotUseCase.writeSnapshot();
+		return ResponseEntity.ok(new PriceSnapshotOutDTO(result.rows(), result.bytes(), result.elapsedMillis()));
+	}
+}
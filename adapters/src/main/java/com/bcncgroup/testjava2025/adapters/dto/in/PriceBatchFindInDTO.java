@@ -0,0 +1,24 @@
+package com.bcncgroup.testjava2025.adapters.dto.in;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Input DTO for batch price search requests.
+ * This record contains several criteria that are resolved in a single call.
+ */
+public record PriceBatchFindInDTO(
+		
+		@ArraySchema(schema = @Schema(implementation = PriceFindInDTO.class), maxItems = PriceBatchFindInDTO.MAX_QUERIES)
+		@NotEmpty(message = "price.batch.empty")
+		@Size(max = PriceBatchFindInDTO.MAX_QUERIES, message = "price.batch.size")
+		List<@Valid PriceFindInDTO> queries) {
+	
+	public static final int MAX_QUERIES = 1000;
+
+}
@@ -2,6 +2,8 @@ package com.bcncgroup.testjava2025.adapters.dto.in;
 
 import java.time.LocalDateTime;
 
+import org.springframework.format.annotation.DateTimeFormat;
+
 import com.fasterxml.jackson.annotation.JsonFormat;
 
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -17,6 +19,7 @@ public record PriceFindInDTO(
 		
 		@Schema(description = "application date", example = "2020-06-14 18:00:00")
 		@JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+		@DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss")
 		@NotNull(message = "price.startDate.null")
 	    @PastOrPresent(message = "price.startDate.startdate.future")
 		LocalDateTime startDate,
@@ -0,0 +1,32 @@
+package com.bcncgroup.testjava2025.adapters.dto.out;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Output DTO for price import responses.
+ * This record contains the import counters and throughput.
+ */
+public record PriceImportOutDTO(
+    
+    @Schema(description = "rows read from the file", example = "10000")
+    long read,
+    
+    @Schema(description = "rows stored", example = "9998")
+    long imported,
+    
+    @Schema(description = "rows rejected by validation", example = "2")
+    long rejected,
+    
+    @Schema(description = "elapsed time in milliseconds", example = "850")
+    long elapsedMillis,
+    
+    @Schema(description = "rows read per second", example = "11764")
+    long rowsPerSecond,
+    
+    @Schema(description = "first rejection reasons with their line number", example = "[\"line 3: negative price\"]")
+    List<String> errors
+    
+) {
+}
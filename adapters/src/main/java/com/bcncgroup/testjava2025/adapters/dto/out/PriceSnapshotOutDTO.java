@@ -0,0 +1,21 @@
+package com.bcncgroup.testjava2025.adapters.dto.out;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Output DTO for price snapshot responses.
+ * This record contains the size of the written snapshot and the time it took.
+ */
+public record PriceSnapshotOutDTO(
+    
+    @Schema(description = "prices written", example = "1000000")
+    long rows,
+    
+    @Schema(description = "file size in bytes", example = "66000048")
+    long bytes,
+    
+    @Schema(description = "elapsed time in milliseconds", example = "420")
+    long elapsedMillis
+    
+) {
+}
@@ -0,0 +1,73 @@
+package com.bcncgroup.testjava2025.adapters.importer;
+
+import java.util.Locale;
+
+/**
+ * Formats accepted by the price import.
+ */
+public enum PriceFileFormat {
+	
+	/**
+	 * Comma separated values, with an optional header row naming the PRICES columns.
+	 */
+	CSV("text/csv"),
+	
+	/**
+	 * One JSON object per line.
+	 */
+	NDJSON("application/x-ndjson");
+	
+	private final String mediaType;
+	
+	PriceFileFormat(String mediaType) {
+		this.mediaType = mediaType;
+	}
+	
+	/**
+	 * Gets the media type of this format.
+	 * 
+	 * @return the media type
+	 */
+	public String mediaType() {
+		return mediaType;
+	}
+	
+	/**
+	 * Finds the format of a request content type.
+	 * 
+	 * @param contentType the content type, parameters such as charset are ignored
+	 * @return the format, or null when it is not supported
+	 */
+	public static PriceFileFormat fromContentType(String contentType) {
+		if (contentType == null) {
+			return null;
+		}
+		String mediaType = contentType.split(";")[0].trim().toLowerCase(Locale.ROOT);
+		for (PriceFileFormat format : values()) {
+			if (format.mediaType.equals(mediaType)) {
+				return format;
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Finds the format of a file from its extension, ignoring a trailing .gz.
+	 * 
+	 * @param fileName the file name
+	 * @return the format, or null when it is not supported
+	 */
+	public static PriceFileFormat fromFileName(String fileName) {
+		String name = fileName.toLowerCase(Locale.ROOT);
+		if (name.endsWith(".gz")) {
+			name = name.substring(0, name.length() - 3);
+		}
+		if (name.endsWith(".csv")) {
+			return CSV;
+		}
+		if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+			return NDJSON;
+		}
+		return null;
+	}
+}
@@ -0,0 +1,194 @@
+package com.bcncgroup.testjava2025.adapters.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.bcncgroup.testjava2025.domain.ports.in.command.ImportPriceRow;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Streaming reader of price import files.
+ * This class turns a CSV or NDJSON stream into raw rows one line at a time, so the whole file is
+ * never held in memory. Values are not validated here; a line that cannot be parsed becomes a row
+ * without values, which the import use case rejects with its line number.
+ */
+@Component
+public class PriceFileReader {
+	
+	static final int BUFFER_SIZE = 64 * 1024;
+	
+	/**
+	 * Column order used when a CSV file has no header, the same as the PRICES table.
+	 */
+	static final String[] DEFAULT_COLUMNS = {"brandid", "startdate", "enddate", "pricelist", "productid", "priority", "price", "curr"};
+	
+	static final Map<String, String> ALIASES = Map.of("currency", "curr");
+	
+	private final ObjectReader jsonReader;
+	
+	@Autowired
+	public PriceFileReader(ObjectMapper objectMapper) {
+		this.jsonReader = objectMapper.reader().with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+	}
+	
+	/**
+	 * Reads the rows of a price file.
+	 * The returned iterator reads the stream lazily and throws UncheckedIOException on read errors.
+	 * 
+	 * @param input the file content, already decompressed
+	 * @param format the file format
+	 * @return the rows, in file order
+	 */
+	public Iterator<ImportPriceRow> read(InputStream input, PriceFileFormat format) {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), BUFFER_SIZE);
+		return new RowIterator(reader, format);
+	}
+	
+	static String normalize(String name) {
+		String normalized = name.trim().replace("\"", "").replace("_", "").replace(" ", "").toLowerCase(Locale.ROOT);
+		return ALIASES.getOrDefault(normalized, normalized);
+	}
+	
+	/**
+	 * Lazy iterator over the non blank lines of the file.
+	 */
+	private final class RowIterator implements Iterator<ImportPriceRow> {
+		
+		private final BufferedReader reader;
+		private final PriceFileFormat format;
+		private int[] csvIndexes;
+		private ImportPriceRow next;
+		private long line;
+		
+		RowIterator(BufferedReader reader, PriceFileFormat format) {
+			this.reader = reader;
+			this.format = format;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (next == null) {
+				next = advance();
+			}
+			return next != null;
+		}
+
+		@Override
+		public ImportPriceRow next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			ImportPriceRow current = next;
+			next = null;
+			return current;
+		}
+		
+		private ImportPriceRow advance() {
+			try {
+				String text;
+				while ((text = reader.readLine()) != null) {
+					line++;
+					if (text.isBlank()) {
+						continue;
+					}
+					if (format == PriceFileFormat.NDJSON) {
+						return json(text);
+					}
+					if (csvIndexes == null) {
+						csvIndexes = header(text);
+						if (csvIndexes != null) {
+							continue;
+						}
+						csvIndexes = indexesOf(DEFAULT_COLUMNS);
+					}
+					return csv(text);
+				}
+				reader.close();
+				return null;
+			} catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		}
+		
+		/**
+		 * Returns the column positions of a header row, or null when the first row is already data.
+		 */
+		private int[] header(String text) {
+			char first = text.trim().charAt(0);
+			if (Character.isDigit(first) || first == '-') {
+				return null;
+			}
+			return indexesOf(text.split(",", -1));
+		}
+		
+		private int[] indexesOf(String[] columns) {
+			int[] indexes = new int[DEFAULT_COLUMNS.length];
+			for (int i = 0; i < DEFAULT_COLUMNS.length; i++) {
+				indexes[i] = -1;
+				for (int j = 0; j < columns.length; j++) {
+					if (DEFAULT_COLUMNS[i].equals(normalize(columns[j]))) {
+						indexes[i] = j;
+					}
+				}
+			}
+			return indexes;
+		}
+		
+		private ImportPriceRow csv(String text) {
+			String[] values = text.split(",", -1);
+			String[] row = new String[DEFAULT_COLUMNS.length];
+			for (int i = 0; i < row.length; i++) {
+				int index = csvIndexes[i];
+				row[i] = index >= 0 && index < values.length ? unquote(values[index]) : null;
+			}
+			return toRow(row);
+		}
+		
+		private ImportPriceRow json(String text) {
+			String[] row = new String[DEFAULT_COLUMNS.length];
+			try {
+				JsonNode node = jsonReader.readTree(text);
+				if (node != null && node.isObject()) {
+					for (Map.Entry<String, JsonNode> field : node.properties()) {
+						String name = normalize(field.getKey());
+						for (int i = 0; i < DEFAULT_COLUMNS.length; i++) {
+							if (DEFAULT_COLUMNS[i].equals(name) && !field.getValue().isNull()) {
+								row[i] = field.getValue().asText();
+							}
+						}
+					}
+				}
+			} catch (JsonProcessingException ex) {
+				// left without values, the row is rejected as missing fields
+			}
+			return toRow(row);
+		}
+		
+		private ImportPriceRow toRow(String[] row) {
+			return new ImportPriceRow(line, row[0], row[1], row[2], row[3], row[4], row[5], row[6], row[7]);
+		}
+		
+		private String unquote(String value) {
+			String trimmed = value.trim();
+			if (trimmed.length() >= 2 && trimmed.startsWith("\"") && trimmed.endsWith("\"")) {
+				return trimmed.substring(1, trimmed.length() - 1);
+			}
+			return trimmed;
+		}
+	}
+}
@@ -0,0 +1,70 @@
+package com.bcncgroup.testjava2025.adapters.importer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.bcncgroup.testjava2025.domain.contant.MessageConstant;
+import com.bcncgroup.testjava2025.domain.exception.LogicException;
+import com.bcncgroup.testjava2025.domain.model.ImportPriceResult;
+import com.bcncgroup.testjava2025.domain.ports.in.ImportPriceUseCase;
+
+/**
+ * Command line runner that imports a price file at startup.
+ * It is enabled with {@code --price.import.file=/path/prices.csv}; .csv, .ndjson and .jsonl files
+ * are accepted, optionally gzip compressed (.gz).
+ */
+@Component
+@ConditionalOnProperty(name = "price.import.file")
+public class PriceImportRunner implements CommandLineRunner {
+	
+	static final Logger LOG = LoggerFactory.getLogger(PriceImportRunner.class);
+	
+	private final ImportPriceUseCase importPriceUseCase;
+	
+	private final PriceFileReader priceFileReader;
+	
+	private final Path file;
+
+	@Autowired
+	public PriceImportRunner(ImportPriceUseCase importPriceUseCase, PriceFileReader priceFileReader,
+			@Value("${price.import.file}") String file) {
+		this.importPriceUseCase = importPriceUseCase;
+		this.priceFileReader = priceFileReader;
+		this.file = Path.of(file);
+	}
+
+	/**
+	 * Imports the configured file.
+	 * 
+	 * @param args the command line arguments, not used
+	 * @throws LogicException if the file format is not supported (415) or the file cannot be read (500)
+	 */
+	@Override
+	public void run(String... args) {
+		PriceFileFormat format = PriceFileFormat.fromFileName(file.getFileName().toString());
+		if (format == null) {
+			throw new LogicException(MessageConstant.IMPORT_FORMAT_NOT_SUPPORTED, 415);
+		}
+		
+		LOG.info("importing prices from {}", file);
+		try (InputStream raw = Files.newInputStream(file);
+				InputStream input = file.toString().endsWith(".gz") ? new GZIPInputStream(raw, 64 * 1024) : raw) {
+			ImportPriceResult result = importPriceUseCase.importPrices(priceFileReader.read(input, format));
+			result.errors().forEach(error -> LOG.warn("price import rejected {}", error));
+		} catch (IOException ex) {
+			LOG.error(MessageConstant.IMPORT_PRICES_ERROR, ex);
+			throw new LogicException(MessageConstant.IMPORT_PRICES_ERROR, 500);
+		}
+	}
+}
@@ -1,6 +1,11 @@
+DROP TABLE IF EXISTS PRICE_CHANGES;
 DROP TABLE IF EXISTS PRICES;
 DROP TABLE IF EXISTS BRANDS;
 DROP TABLE IF EXISTS USERS;
+DROP SEQUENCE IF EXISTS PRICE_CHANGE_SEQ;
+DROP SEQUENCE IF EXISTS PRICE_CHANGE_LOG_SEQ;
+
+CREATE SEQUENCE PRICE_CHANGE_LOG_SEQ;
 
 CREATE TABLE USERS (
     USERNAME VARCHAR(32) NOT NULL PRIMARY KEY,
@@ -25,7 +30,8 @@ CREATE TABLE PRICES (
     PRODUCT_ID BIGINT NOT NULL,
     PRIORITY INTEGER NOT NULL,
     PRICE DECIMAL(10,2) NOT NULL,
-    CURR VARCHAR(3) NOT NULL
+    CURR VARCHAR(3) NOT NULL,
+    UPDATED_AT TIMESTAMP DEFAULT LOCALTIMESTAMP ON UPDATE LOCALTIMESTAMP NOT NULL
 );
 
 ALTER TABLE PRICES ADD CONSTRAINT fk_prices_brand 
@@ -37,6 +43,18 @@ CREATE INDEX idx_prices_date_range ON PRICES (START_DATE, END_DATE);
 CREATE INDEX idx_prices_product ON PRICES (PRODUCT_ID);
 CREATE INDEX idx_prices_brand ON PRICES (BRAND_ID);
 
+CREATE TABLE PRICE_CHANGES (
+    CHANGE_VERSION BIGINT DEFAULT NEXT VALUE FOR PRICE_CHANGE_LOG_SEQ NOT NULL PRIMARY KEY,
+    PRICE_ID BIGINT NOT NULL,
+    OPERATION CHAR(1) NOT NULL,
+    BRAND_ID BIGINT,
+    PRODUCT_ID BIGINT,
+    CHANGED_AT TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL
+);
+
+CREATE TRIGGER trg_prices_change_log AFTER INSERT, UPDATE, DELETE ON PRICES FOR EACH ROW
+    CALL 'com.bcncgroup.testjava2025.infrastructure.trigger.PriceChangeLogTrigger';
+
 COMMENT ON TABLE PRICES IS 'Table that stores final prices (RRP) and applicable rates for products by brand chain within date ranges';
 COMMENT ON COLUMN PRICES.BRAND_ID IS 'Foreign key of the group chain (1 = ZARA)';
 COMMENT ON COLUMN PRICES.START_DATE IS 'Start date and time for price application';
@@ -46,6 +64,12 @@ COMMENT ON COLUMN PRICES.PRODUCT_ID IS 'Product code identifier';
 COMMENT ON COLUMN PRICES.PRIORITY IS 'Price application disambiguator. Higher value = higher priority';
 COMMENT ON COLUMN PRICES.PRICE IS 'Final selling price';
 COMMENT ON COLUMN PRICES.CURR IS 'ISO currency code (3 characters)';
+COMMENT ON COLUMN PRICES.UPDATED_AT IS 'Date and time of the last insert or update of the row';
+COMMENT ON TABLE PRICE_CHANGES IS 'Log of every insert, update and delete of PRICES, written by trg_prices_change_log and read by the change poller and the price snapshot check';
+COMMENT ON COLUMN PRICE_CHANGES.CHANGE_VERSION IS 'Value of PRICE_CHANGE_LOG_SEQ taken by the change';
+COMMENT ON COLUMN PRICE_CHANGES.OPERATION IS 'I = insert, U = update, D = delete';
+COMMENT ON COLUMN PRICE_CHANGES.BRAND_ID IS 'Brand of the row before the change, null for an insert';
+COMMENT ON COLUMN PRICE_CHANGES.PRODUCT_ID IS 'Product of the row before the change, null for an insert';
 
 -- Addtional constraints for data validation
 ALTER TABLE PRICES ADD CONSTRAINT chk_dates CHECK (START_DATE <= END_DATE);
@@ -0,0 +1,151 @@
+package com.bcncgroup.testjava2025.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.bcncgroup.testjava2025.domain.exception.LogicException;
+import com.bcncgroup.testjava2025.domain.model.Brand;
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.ports.in.query.FindPriceQuery;
+import com.bcncgroup.testjava2025.domain.ports.out.PriceRepository;
+import com.bcncgroup.testjava2025.infrastructure.adapter.BatchingPriceRepository;
+
+/**
+ * Tests of the micro-batching price repository decorator
+ * Checks that concurrent lookups are answered by shared multi-key queries, each caller with its own result,
+ * run on the thread of one of the callers
+ */
+@DisplayName("BatchingPriceRepository Tests")
+class BatchingPriceRepositoryTest {
+
+    private static final int THREADS = 32;
+    private static final LocalDateTime DATE = LocalDateTime.of(2020, 6, 14, 16, 0, 0);
+    private static final Brand ZARA = new Brand(1L, "ZARA", "Marca de moda española");
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger largestBatch = new AtomicInteger();
+    private BatchingPriceRepository repository;
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should answer concurrent lookups with fewer queries and give every caller its own prices")
+    void findByDateProductAndBrand_OK_SplitResults() throws Exception {
+        repository = new BatchingPriceRepository(echoDelegate(null), 20_000, 8, 5_000);
+
+        List<Future<List<Price>>> results = new ArrayList<>();
+        for (long product = 0; product < THREADS; product++) {
+            long id = product;
+            results.add(pool.submit(() -> repository.findByDateProductAndBrand(DATE, id, 1L)));
+        }
+
+        for (int product = 0; product < THREADS; product++) {
+            List<Price> prices = results.get(product).get(5, TimeUnit.SECONDS);
+            assertEquals(1, prices.size());
+            assertEquals((long) product, prices.get(0).productId());
+        }
+        assertTrue(calls.get() < THREADS, "queries " + calls.get());
+        assertTrue(largestBatch.get() <= 8, "largest batch " + largestBatch.get());
+        assertEquals(THREADS, repository.stats().lookups());
+        assertEquals(calls.get(), repository.stats().batches());
+    }
+
+    @Test
+    @DisplayName("Should give every lookup of a failed batch the same error")
+    void findByDateProductAndBrand_KO_ErrorFanOut() throws Exception {
+        LogicException failure = new LogicException("find.prices.error", 500);
+        repository = new BatchingPriceRepository(echoDelegate(failure), 20_000, THREADS, 5_000);
+
+        List<Future<List<Price>>> results = new ArrayList<>();
+        for (long product = 0; product < 4; product++) {
+            long id = product;
+            results.add(pool.submit(() -> repository.findByDateProductAndBrand(DATE, id, 1L)));
+        }
+
+        for (Future<List<Price>> result : results) {
+            Exception ex = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(failure, ex.getCause());
+        }
+    }
+
+    @Test
+    @DisplayName("Should let a follower give up with 503 when the batch of the leader takes longer than the wait timeout")
+    void findByDateProductAndBrand_KO_Timeout() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        PriceRepository delegate = mock(PriceRepository.class);
+        when(delegate.findAllByDateProductAndBrand(anyList())).thenAnswer(invocation -> {
+            running.countDown();
+            Thread.sleep(500);
+            return List.of(List.of());
+        });
+        repository = new BatchingPriceRepository(delegate, 0, 1, 50);
+
+        Future<List<Price>> leader = pool.submit(() -> repository.findByDateProductAndBrand(DATE, 1L, 1L));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        LogicException timeout = assertThrows(LogicException.class, () -> repository.findByDateProductAndBrand(DATE, 2L, 1L));
+
+        assertEquals(503, timeout.getCode());
+        assertEquals(List.of(), leader.get(5, TimeUnit.SECONDS));
+        assertEquals(1, repository.stats().batches());
+    }
+
+    @Test
+    @DisplayName("Should run the batch on the thread of one of the callers, for boxed and primitive lookups")
+    void findByDateProductAndBrand_OK_CallerRunsBatch() throws Exception {
+        List<Thread> runners = new ArrayList<>();
+        PriceRepository delegate = mock(PriceRepository.class);
+        when(delegate.findAllByDateProductAndBrand(anyList())).thenAnswer(invocation -> {
+            runners.add(Thread.currentThread());
+            return List.of(List.of());
+        });
+        repository = new BatchingPriceRepository(delegate, 0, 8, 5_000);
+
+        assertEquals(List.of(), repository.findByDateProductAndBrand(DATE, 1L, 1L));
+        assertEquals(List.of(), repository.findByDateProductAndBrand(DATE.toEpochSecond(ZoneOffset.UTC), 2L, 1L));
+
+        assertEquals(List.of(Thread.currentThread(), Thread.currentThread()), runners);
+        assertEquals(2, repository.stats().lookups());
+    }
+
+    private PriceRepository echoDelegate(RuntimeException failure) {
+        PriceRepository delegate = mock(PriceRepository.class);
+        when(delegate.findAllByDateProductAndBrand(anyList())).thenAnswer(invocation -> {
+            List<FindPriceQuery> queries = invocation.getArgument(0);
+            calls.incrementAndGet();
+            largestBatch.accumulateAndGet(queries.size(), Math::max);
+            if (failure != null) {
+                throw failure;
+            }
+            return queries.stream()
+                    .map(query -> List.of(new Price(query.productId(), ZARA, DATE.minusHours(1), DATE.plusHours(1), 1,
+                            query.productId(), 0, BigDecimal.ONE, "EUR")))
+                    .toList();
+        });
+        return delegate;
+    }
+}
@@ -0,0 +1,73 @@
+package com.bcncgroup.testjava2025.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.bcncgroup.testjava2025.adapters.TestApplication;
+import com.bcncgroup.testjava2025.domain.application.PriceService;
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.ports.in.query.FindPriceQuery;
+import com.bcncgroup.testjava2025.domain.ports.out.PriceRepository;
+import com.bcncgroup.testjava2025.infrastructure.adapter.BatchingPriceRepository;
+import com.bcncgroup.testjava2025.infrastructure.adapter.PriceRepositoryDecorator;
+
+/**
+ * Checks that batched lookups made through the transactional PriceService do not need more connections than the
+ * callers already hold: with every connection of the pool taken by a caller, the batches still run
+ */
+@SpringBootTest(classes = TestApplication.class, webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = { "price.repository.batching.enabled=true", "price.repository.batching.window-micros=20000",
+                "spring.datasource.hikari.maximum-pool-size=2", "spring.datasource.hikari.connection-timeout=500",
+                "logging.level.root=WARN" })
+@DisplayName("Batching through PriceService Tests")
+class BatchingPriceServiceTest {
+
+    private static final int CALLERS = 8;
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(CALLERS);
+
+    @Autowired
+    private PriceService priceService;
+
+    @Autowired
+    private PriceRepository priceRepository;
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should answer every caller when the callers hold every connection of the pool")
+    void findByDateProductAndBrand_OK_PoolExhaustedByCallers() throws Exception {
+        BatchingPriceRepository batching = PriceRepositoryDecorator.find(priceRepository, BatchingPriceRepository.class)
+                .orElseThrow();
+
+        List<Future<List<Price>>> results = new ArrayList<>();
+        for (int caller = 0; caller < CALLERS; caller++) {
+            // a different date per caller, so the lookups are batched instead of coalesced
+            FindPriceQuery query = new FindPriceQuery(LocalDateTime.of(2020, 6, 14, 10, caller, 0), 35455L, 1L);
+            results.add(pool.submit(() -> priceService.findByDateProductAndBrand(query)));
+        }
+
+        for (Future<List<Price>> result : results) {
+            assertEquals(1, result.get(10, TimeUnit.SECONDS).size());
+        }
+        assertEquals(CALLERS, batching.stats().lookups());
+        assertTrue(batching.stats().batches() < CALLERS, "batches " + batching.stats().batches());
+    }
+}
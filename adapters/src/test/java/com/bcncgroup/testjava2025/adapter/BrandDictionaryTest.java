@@ -0,0 +1,56 @@
+package com.bcncgroup.testjava2025.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.bcncgroup.testjava2025.domain.model.Brand;
+import com.bcncgroup.testjava2025.infrastructure.cache.BrandDictionary;
+import com.bcncgroup.testjava2025.infrastructure.entity.BrandEntity;
+import com.bcncgroup.testjava2025.infrastructure.mapper.BrandMapperImpl;
+import com.bcncgroup.testjava2025.infrastructure.repository.BrandJpaRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BrandDictionary Tests")
+class BrandDictionaryTest {
+
+    @Mock
+    private BrandJpaRepository brandRepository;
+
+    private BrandDictionary dictionary;
+
+    @BeforeEach
+    void setUp() {
+        BrandEntity zara = new BrandEntity();
+        zara.setId(1L);
+        zara.setName("ZARA");
+        when(brandRepository.findAll()).thenReturn(List.of(zara));
+        dictionary = new BrandDictionary(brandRepository, new BrandMapperImpl());
+        dictionary.refresh();
+    }
+
+    @Test
+    @DisplayName("Should reload at most once for a burst of unknown identifiers")
+    void toBrand_OK_UnknownIdentifiersReloadOnce() {
+        for (long brandId = 100; brandId < 1100; brandId++) {
+            Brand brand = dictionary.toBrand(brandId % 10 + 100);
+            assertEquals(brandId % 10 + 100, brand.id());
+            assertNull(brand.name());
+        }
+
+        // the startup load and a single reload for the first unknown identifier
+        verify(brandRepository, times(2)).findAll();
+        assertEquals("ZARA", dictionary.toBrand(1L).name());
+    }
+}
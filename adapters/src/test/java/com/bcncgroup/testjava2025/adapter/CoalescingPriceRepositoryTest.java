@@ -0,0 +1,235 @@
+package com.bcncgroup.testjava2025.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.bcncgroup.testjava2025.domain.exception.LogicException;
+import com.bcncgroup.testjava2025.domain.model.Brand;
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.ports.out.PriceRepository;
+import com.bcncgroup.testjava2025.infrastructure.adapter.CoalescingPriceRepository;
+import com.bcncgroup.testjava2025.infrastructure.adapter.InMemoryPriceRepositoryAdapter;
+import com.bcncgroup.testjava2025.infrastructure.adapter.JdbcPriceRepositoryAdapter;
+import com.bcncgroup.testjava2025.infrastructure.adapter.OffHeapPriceRepositoryAdapter;
+import com.bcncgroup.testjava2025.infrastructure.adapter.PriceRepositoryDecorator;
+import com.bcncgroup.testjava2025.infrastructure.conf.PriceCoalescingConf;
+
+/**
+ * Stress test of the single-flight price repository decorator
+ * Checks that identical concurrent lookups share one call, its result and its error, and that no waiter is left behind,
+ * and that only the database-backed repositories are wrapped
+ */
+@DisplayName("CoalescingPriceRepository Tests")
+class CoalescingPriceRepositoryTest {
+
+    private static final int THREADS = 64;
+    private static final LocalDateTime DATE = LocalDateTime.of(2020, 6, 14, 16, 0, 0);
+    private static final Price PROMO = new Price(2L, new Brand(1L, "ZARA", "Marca de moda española"), DATE.minusHours(1), DATE.plusHours(2), 2, 35455L, 1, new BigDecimal("25.45"), "EUR");
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should run one query for identical concurrent lookups and give every caller its result")
+    void findByDateProductAndBrand_OK_SharedCall() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CoalescingPriceRepository repository = new CoalescingPriceRepository(blockingDelegate(release, null), 5_000);
+
+        List<Future<List<Price>>> results = submitAll(() -> repository.findByDateProductAndBrand(DATE, 35455L, 1L));
+        awaitFollowers(repository, THREADS - 1);
+        release.countDown();
+
+        List<Price> first = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<List<Price>> result : results) {
+            assertSame(first, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+        assertEquals(1, repository.stats().leaders());
+        assertEquals((double) (THREADS - 1) / THREADS, repository.stats().coalesceRatio());
+        assertEquals(0, repository.stats().inFlight());
+    }
+
+    @Test
+    @DisplayName("Should share one primitive call of the delegate between primitive and boxed lookups")
+    void findByDateProductAndBrand_OK_PrimitiveShared() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        long epochSecond = DATE.toEpochSecond(ZoneOffset.UTC);
+        PriceRepository delegate = mock(PriceRepository.class);
+        when(delegate.findByDateProductAndBrand(epochSecond, 35455L, 1L)).thenAnswer(invocation -> {
+            calls.incrementAndGet();
+            release.await();
+            return List.of(PROMO);
+        });
+        CoalescingPriceRepository repository = new CoalescingPriceRepository(delegate, 5_000);
+
+        Future<List<Price>> leader = pool.submit(() -> repository.findByDateProductAndBrand(epochSecond, 35455L, 1L));
+        while (calls.get() == 0) {
+            Thread.sleep(1);
+        }
+        Future<List<Price>> follower = pool.submit(() -> repository.findByDateProductAndBrand(DATE, 35455L, 1L));
+        awaitFollowers(repository, 1);
+        release.countDown();
+
+        assertEquals(List.of(PROMO), leader.get(5, TimeUnit.SECONDS));
+        assertSame(leader.get(), follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("Should give every caller of a failed query the same error")
+    void findByDateProductAndBrand_KO_ErrorFanOut() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        LogicException failure = new LogicException("find.prices.error", 500);
+        CoalescingPriceRepository repository = new CoalescingPriceRepository(blockingDelegate(release, failure), 5_000);
+
+        List<Future<List<Price>>> results = submitAll(() -> repository.findByDateProductAndBrand(DATE, 35455L, 1L));
+        awaitFollowers(repository, THREADS - 1);
+        release.countDown();
+
+        for (Future<List<Price>> result : results) {
+            Exception ex = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(failure, ex.getCause());
+        }
+        assertEquals(1, calls.get());
+        assertEquals(0, repository.stats().inFlight());
+    }
+
+    @Test
+    @DisplayName("Should let a follower give up with 503 and leave nothing behind")
+    void findByDateProductAndBrand_KO_FollowerTimeout() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CoalescingPriceRepository repository = new CoalescingPriceRepository(blockingDelegate(release, null), 50);
+
+        Future<List<Price>> leader = pool.submit(() -> repository.findByDateProductAndBrand(DATE, 35455L, 1L));
+        while (calls.get() == 0) {
+            Thread.onSpinWait();
+        }
+        LogicException timeout = assertThrows(LogicException.class, () -> repository.findByDateProductAndBrand(DATE, 35455L, 1L));
+        release.countDown();
+
+        assertEquals(503, timeout.getCode());
+        assertEquals(List.of(PROMO), leader.get(5, TimeUnit.SECONDS));
+        assertEquals(1, repository.stats().timeouts());
+        assertEquals(0, repository.stats().inFlight());
+        // the next lookup leads its own query
+        assertEquals(List.of(PROMO), repository.findByDateProductAndBrand(DATE, 35455L, 1L));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    @DisplayName("Should keep results apart for different lookups under sustained load")
+    void findByDateProductAndBrand_OK_Stress() throws Exception {
+        PriceRepository delegate = mock(PriceRepository.class);
+        List<List<Price>> byProduct = new ArrayList<>();
+        for (long product = 0; product < 4; product++) {
+            long id = product;
+            List<Price> prices = List.of(new Price(id, PROMO.brand(), PROMO.startDate(), PROMO.endDate(), 1, id, 0, BigDecimal.ONE, "EUR"));
+            byProduct.add(prices);
+            when(delegate.findByDateProductAndBrand(DATE, id, 1L)).thenAnswer(invocation -> {
+                calls.incrementAndGet();
+                Thread.sleep(1);
+                return prices;
+            });
+        }
+        CoalescingPriceRepository repository = new CoalescingPriceRepository(delegate, 5_000);
+        int lookupsPerThread = 200;
+
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int seed = t;
+            results.add(pool.submit(() -> {
+                int mismatches = 0;
+                for (int i = 0; i < lookupsPerThread; i++) {
+                    long product = (seed + i) % 4;
+                    if (repository.findByDateProductAndBrand(DATE, product, 1L) != byProduct.get((int) product)) {
+                        mismatches++;
+                    }
+                }
+                return mismatches;
+            }));
+        }
+        for (Future<Integer> result : results) {
+            assertEquals(0, result.get(60, TimeUnit.SECONDS));
+        }
+
+        CoalescingPriceRepository.Stats stats = repository.stats();
+        assertEquals(THREADS * lookupsPerThread, stats.leaders() + stats.followers());
+        assertEquals(calls.get(), stats.leaders());
+        assertTrue(stats.coalesceRatio() > 0.5, "coalesce ratio " + stats.coalesceRatio());
+        assertEquals(0, stats.inFlight());
+    }
+
+    private PriceRepository blockingDelegate(CountDownLatch release, RuntimeException failure) {
+        PriceRepository delegate = mock(PriceRepository.class);
+        when(delegate.findByDateProductAndBrand(DATE, 35455L, 1L)).thenAnswer(invocation -> {
+            calls.incrementAndGet();
+            release.await();
+            if (failure != null) {
+                throw failure;
+            }
+            return List.of(PROMO);
+        });
+        return delegate;
+    }
+
+    @Test
+    @DisplayName("Should wrap only the repositories that reach the database and be found behind other decorators")
+    void postProcessor_OK_DatabaseBackedOnly() {
+        BeanPostProcessor postProcessor = PriceCoalescingConf.coalescingPriceRepositoryPostProcessor(new MockEnvironment());
+        InMemoryPriceRepositoryAdapter memory = mock(InMemoryPriceRepositoryAdapter.class);
+        OffHeapPriceRepositoryAdapter offHeap = mock(OffHeapPriceRepositoryAdapter.class);
+        JdbcPriceRepositoryAdapter jdbc = mock(JdbcPriceRepositoryAdapter.class);
+
+        assertSame(memory, postProcessor.postProcessAfterInitialization(memory, "priceRepository"));
+        assertSame(offHeap, postProcessor.postProcessAfterInitialization(offHeap, "priceRepository"));
+        PriceRepository wrapped = (PriceRepository) postProcessor.postProcessAfterInitialization(jdbc, "priceRepository");
+
+        assertInstanceOf(CoalescingPriceRepository.class, wrapped);
+        assertSame(jdbc, PriceRepositoryDecorator.find(wrapped, JdbcPriceRepositoryAdapter.class).orElseThrow());
+        assertTrue(PriceRepositoryDecorator.find(wrapped, InMemoryPriceRepositoryAdapter.class).isEmpty());
+    }
+
+    private List<Future<List<Price>>> submitAll(Callable<List<Price>> lookup) {
+        List<Future<List<Price>>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            results.add(pool.submit(lookup));
+        }
+        return results;
+    }
+
+    private static void awaitFollowers(CoalescingPriceRepository repository, int followers) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (repository.stats().followers() < followers && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+}
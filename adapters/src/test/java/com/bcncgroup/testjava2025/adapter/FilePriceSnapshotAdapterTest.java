@@ -0,0 +1,237 @@
+package com.bcncgroup.testjava2025.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+
+import com.bcncgroup.testjava2025.adapters.TestApplication;
+import com.bcncgroup.testjava2025.domain.application.PriceSnapshotService;
+import com.bcncgroup.testjava2025.domain.exception.LogicException;
+import com.bcncgroup.testjava2025.domain.model.PriceSnapshotResult;
+import com.bcncgroup.testjava2025.infrastructure.adapter.FilePriceSnapshotAdapter;
+import com.bcncgroup.testjava2025.infrastructure.adapter.JpaPriceRepositoryAdapter;
+import com.bcncgroup.testjava2025.infrastructure.adapter.OffHeapPriceRepositoryAdapter;
+import com.bcncgroup.testjava2025.infrastructure.cache.BrandDictionary;
+import com.bcncgroup.testjava2025.infrastructure.conf.PersistenceConf;
+import com.bcncgroup.testjava2025.infrastructure.index.ColumnarPriceIndex;
+import com.bcncgroup.testjava2025.infrastructure.index.PriceIndexSnapshot;
+import com.bcncgroup.testjava2025.infrastructure.mapper.BrandMapperImpl;
+import com.bcncgroup.testjava2025.infrastructure.mapper.PriceMapper;
+import com.bcncgroup.testjava2025.infrastructure.mapper.PriceMapperImpl;
+import com.bcncgroup.testjava2025.infrastructure.repository.PriceJpaRepository;
+
+/**
+ * Checks that the off-heap index is written to a snapshot file and mapped back only when the file is intact
+ * and matches the PRICES table
+ * Uses H2 in-memory database with pre-loaded data
+ */
+@DataJpaTest
+@ContextConfiguration(classes = { TestApplication.class, PersistenceConf.class })
+@Import({ PriceMapperImpl.class, BrandMapperImpl.class, BrandDictionary.class })
+@DisplayName("FilePriceSnapshotAdapter Tests")
+class FilePriceSnapshotAdapterTest {
+
+    @Autowired
+    private PriceJpaRepository jpaRepository;
+
+    @Autowired
+    private PriceMapper mapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BrandDictionary brandDictionary;
+
+    @TempDir
+    private Path directory;
+
+    private Path file;
+
+    // counted down when the verification of a mapped snapshot finds a corrupt chunk
+    private CountDownLatch corruptionReported;
+
+    @BeforeEach
+    void setUp() {
+        file = directory.resolve("price-index.snapshot");
+        corruptionReported = new CountDownLatch(1);
+    }
+
+    @Test
+    @DisplayName("Should map a written snapshot and answer as the JPA adapter")
+    void load_OK_WrittenSnapshot() {
+        FilePriceSnapshotAdapter writer = snapshotAdapter();
+        new OffHeapPriceRepositoryAdapter(jdbcTemplate, brandDictionary, Optional.of(writer)).refresh();
+        PriceSnapshotResult result = new PriceSnapshotService(Optional.of(writer)).writeSnapshot();
+
+        FilePriceSnapshotAdapter reader = snapshotAdapter();
+        ColumnarPriceIndex mapped = load(reader);
+
+        assertEquals(4, result.rows());
+        assertNotNull(mapped);
+        assertEquals(4, mapped.size());
+        JpaPriceRepositoryAdapter jpaAdapter = new JpaPriceRepositoryAdapter(jpaRepository, mapper);
+        for (int hour = 0; hour < 48; hour += 3) {
+            LocalDateTime date = LocalDateTime.of(2020, 6, 14, 0, 0, 0).plusHours(hour);
+            assertEquals(jpaAdapter.findByDateProductAndBrand(date, 35455L, 1L), mapped.findCovering(date, 35455L, 1L));
+        }
+    }
+
+    @Test
+    @DisplayName("Should rebuild from the database when the table changed after the snapshot")
+    void refresh_OK_StaleSnapshot() {
+        FilePriceSnapshotAdapter writer = snapshotAdapter();
+        new OffHeapPriceRepositoryAdapter(jdbcTemplate, brandDictionary, Optional.of(writer)).refresh();
+        writer.write();
+        jdbcTemplate.update("INSERT INTO PRICES (BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR) "
+                + "VALUES (1, '2020-01-01 00:00:00', '2020-02-01 00:00:00', 5, 35456, 0, 12.00, 'EUR')");
+
+        FilePriceSnapshotAdapter reader = snapshotAdapter();
+        OffHeapPriceRepositoryAdapter restarted = new OffHeapPriceRepositoryAdapter(jdbcTemplate, brandDictionary, Optional.of(reader));
+
+        assertNull(load(reader));
+        restarted.refresh();
+        assertEquals(5, restarted.currentIndex().size());
+    }
+
+    @Test
+    @DisplayName("Should see a write that commits after a newer one, below the highest change version")
+    void refresh_OK_LateCommitStale() {
+        // the late write took its version before the insert, and logs it only when it commits
+        Long lateVersion = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR PRICE_CHANGE_LOG_SEQ", Long.class);
+        jdbcTemplate.update("INSERT INTO PRICES (BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR) "
+                + "VALUES (1, '2020-01-01 00:00:00', '2020-02-01 00:00:00', 5, 35456, 0, 12.00, 'EUR')");
+        FilePriceSnapshotAdapter writer = snapshotAdapter();
+        new OffHeapPriceRepositoryAdapter(jdbcTemplate, brandDictionary, Optional.of(writer)).refresh();
+        writer.write();
+        long fingerprint = writer.fingerprint();
+        jdbcTemplate.update("INSERT INTO PRICE_CHANGES (CHANGE_VERSION, PRICE_ID, OPERATION, BRAND_ID, PRODUCT_ID) "
+                + "VALUES (?, 1, 'U', 1, 35455)", lateVersion);
+
+        FilePriceSnapshotAdapter reader = snapshotAdapter();
+
+        assertTrue(reader.fingerprint() != fingerprint);
+        assertNull(load(reader));
+    }
+
+    @Test
+    @DisplayName("Should rebuild from the database when a price was deleted after the snapshot")
+    void refresh_OK_DeleteStale() {
+        FilePriceSnapshotAdapter writer = snapshotAdapter();
+        new OffHeapPriceRepositoryAdapter(jdbcTemplate, brandDictionary, Optional.of(writer)).refresh();
+        writer.write();
+        jdbcTemplate.update("DELETE FROM PRICES WHERE ID = 2");
+
+        FilePriceSnapshotAdapter reader = snapshotAdapter();
+        OffHeapPriceRepositoryAdapter restarted = new OffHeapPriceRepositoryAdapter(jdbcTemplate, brandDictionary, Optional.of(reader));
+
+        assertNull(load(reader));
+        restarted.refresh();
+        assertEquals(3, restarted.currentIndex().size());
+    }
+
+    @Test
+    @DisplayName("Should answer 500 and count the failure when the snapshot file cannot be written")
+    void writeSnapshot_KO_WriteFails() throws IOException {
+        // a directory with content cannot be replaced by the written file
+        Files.createDirectories(file.resolve("taken"));
+        FilePriceSnapshotAdapter writer = snapshotAdapter();
+        new OffHeapPriceRepositoryAdapter(jdbcTemplate, brandDictionary, Optional.of(writer)).refresh();
+
+        LogicException exception = assertThrows(LogicException.class, new PriceSnapshotService(Optional.of(writer))::writeSnapshot);
+        writer.destroy();
+
+        assertEquals(500, exception.getCode());
+        assertEquals(new FilePriceSnapshotAdapter.Stats(0, 2, 0), writer.stats());
+    }
+
+    @Test
+    @DisplayName("Should reject a snapshot whose chunk checksums do not match the metadata checksum")
+    void load_KO_CorruptMetadata() throws IOException {
+        FilePriceSnapshotAdapter writer = snapshotAdapter();
+        new OffHeapPriceRepositoryAdapter(jdbcTemplate, brandDictionary, Optional.of(writer)).refresh();
+        writer.write();
+        // the checksum of the first chunk, right after the header
+        corrupt(56);
+
+        FilePriceSnapshotAdapter reader = snapshotAdapter();
+
+        IOException exception = assertThrows(IOException.class, () -> PriceIndexSnapshot.map(file, brandDictionary::toBrand));
+        assertTrue(exception.getMessage().contains("checksum"));
+        assertNull(load(reader));
+    }
+
+    @Test
+    @DisplayName("Should map a snapshot with a corrupt chunk, then report it and delete the file once verified")
+    void load_KO_CorruptChunk() throws IOException, InterruptedException {
+        FilePriceSnapshotAdapter writer = snapshotAdapter();
+        new OffHeapPriceRepositoryAdapter(jdbcTemplate, brandDictionary, Optional.of(writer)).refresh();
+        writer.write();
+        // the first identifier, after the header, the chunk checksums and the dictionary
+        PriceIndexSnapshot.Header header = PriceIndexSnapshot.readHeader(file);
+        corrupt(56 + header.chunks() * Long.BYTES + header.dictionaryBytes());
+
+        PriceIndexSnapshot.Mapped mapped = PriceIndexSnapshot.map(file, brandDictionary::toBrand);
+        IOException exception = assertThrows(IOException.class, () -> PriceIndexSnapshot.verify(mapped.index(), mapped.checksums()));
+        mapped.index().release();
+        FilePriceSnapshotAdapter reader = snapshotAdapter();
+
+        assertNotNull(load(reader));
+        assertTrue(corruptionReported.await(10, TimeUnit.SECONDS));
+        assertTrue(exception.getMessage().contains("checksum mismatch in column 0"));
+        assertEquals(new FilePriceSnapshotAdapter.Stats(0, 0, 1), reader.stats());
+        assertFalse(Files.exists(file));
+        assertTrue(reader.write().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should refuse an on-demand write before any index is loaded")
+    void writeSnapshot_KO_NoIndex() {
+        PriceSnapshotService service = new PriceSnapshotService(Optional.of(snapshotAdapter()));
+
+        LogicException exception = assertThrows(LogicException.class, service::writeSnapshot);
+
+        assertEquals("snapshot.not.available", exception.getMessage());
+        assertEquals(409, exception.getCode());
+    }
+
+    private ColumnarPriceIndex load(FilePriceSnapshotAdapter reader) {
+        return reader.load(reader.fingerprint(), brandDictionary::toBrand, corruptionReported::countDown);
+    }
+
+    private void corrupt(long position) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer bytes = ByteBuffer.allocate(1);
+            channel.read(bytes, position);
+            channel.write(ByteBuffer.wrap(new byte[] { (byte) ~bytes.get(0) }), position);
+        }
+    }
+
+    private FilePriceSnapshotAdapter snapshotAdapter() {
+        return new FilePriceSnapshotAdapter(jdbcTemplate, file.toString(), 0);
+    }
+}
@@ -0,0 +1,143 @@
+package com.bcncgroup.testjava2025.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+
+import com.bcncgroup.testjava2025.adapters.TestApplication;
+import com.bcncgroup.testjava2025.domain.exception.LogicException;
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.ports.in.query.FindPriceQuery;
+import com.bcncgroup.testjava2025.infrastructure.adapter.InMemoryPriceRepositoryAdapter;
+import com.bcncgroup.testjava2025.infrastructure.adapter.JpaPriceRepositoryAdapter;
+import com.bcncgroup.testjava2025.infrastructure.cache.BrandDictionary;
+import com.bcncgroup.testjava2025.infrastructure.conf.PersistenceConf;
+import com.bcncgroup.testjava2025.infrastructure.mapper.BrandMapperImpl;
+import com.bcncgroup.testjava2025.infrastructure.mapper.PriceMapper;
+import com.bcncgroup.testjava2025.infrastructure.mapper.PriceMapperImpl;
+import com.bcncgroup.testjava2025.infrastructure.repository.PriceJpaRepository;
+
+/**
+ * Checks that the in-memory adapter returns exactly what the JPA adapter returns
+ * Uses H2 in-memory database with pre-loaded data
+ */
+@DataJpaTest
+@ContextConfiguration(classes = { TestApplication.class, PersistenceConf.class })
+@Import({ PriceMapperImpl.class, BrandMapperImpl.class, BrandDictionary.class })
+@DisplayName("InMemoryPriceRepositoryAdapter Tests")
+class InMemoryPriceRepositoryAdapterTest {
+
+    @Autowired
+    private PriceJpaRepository jpaRepository;
+    
+    @Autowired
+    private PriceMapper mapper;
+    
+    private JpaPriceRepositoryAdapter jpaAdapter;
+    private InMemoryPriceRepositoryAdapter memoryAdapter;
+    
+    @BeforeEach
+    void setUp() {
+        jpaAdapter = new JpaPriceRepositoryAdapter(jpaRepository, mapper);
+        memoryAdapter = new InMemoryPriceRepositoryAdapter(jpaRepository, mapper);
+        memoryAdapter.refresh();
+    }
+    
+    @ParameterizedTest
+    @MethodSource("provideApplicationDates")
+    @DisplayName("Should return the same ordered prices as the JPA adapter")
+    void findByDateProductAndBrand_OK_SameAsJpa(LocalDateTime applicationDate) {
+        List<Price> expected = jpaAdapter.findByDateProductAndBrand(applicationDate, 35455L, 1L);
+        
+        List<Price> result = memoryAdapter.findByDateProductAndBrand(applicationDate, 35455L, 1L);
+        
+        assertEquals(expected, result);
+    }
+    
+    @Test
+    @DisplayName("Should resolve a batch in request order with the same result as single lookups")
+    void findAllByDateProductAndBrand_OK_SameAsSingleLookups() {
+        List<FindPriceQuery> queries = provideApplicationDates()
+                .flatMap(date -> Stream.of(new FindPriceQuery(date, 35455L, 1L), new FindPriceQuery(date, 99999L, 1L)))
+                .toList();
+        
+        List<List<Price>> jpaBatch = jpaAdapter.findAllByDateProductAndBrand(queries);
+        List<List<Price>> memoryBatch = memoryAdapter.findAllByDateProductAndBrand(queries);
+        
+        assertEquals(queries.size(), jpaBatch.size());
+        for (int i = 0; i < queries.size(); i++) {
+            FindPriceQuery query = queries.get(i);
+            List<Price> single = jpaAdapter.findByDateProductAndBrand(query.applicationDate(), query.productId(), query.brandId());
+            assertEquals(single, jpaBatch.get(i));
+            assertEquals(single, memoryBatch.get(i));
+        }
+    }
+    
+    @Test
+    @DisplayName("Should stream the same prices of a brand as the JPA adapter")
+    void forEachByBrand_OK_SameAsJpa() {
+        List<Price> fromJpa = new ArrayList<>();
+        List<Price> fromMemory = new ArrayList<>();
+        
+        jpaAdapter.forEachByBrand(1L, null, null, fromJpa::add);
+        memoryAdapter.forEachByBrand(1L, null, null, fromMemory::add);
+        
+        assertEquals(4, fromJpa.size());
+        assertEquals(fromJpa, fromMemory);
+        
+        List<Price> window = new ArrayList<>();
+        jpaAdapter.forEachByBrand(1L, LocalDateTime.of(2020, 6, 14, 19, 0, 0), LocalDateTime.of(2020, 6, 14, 23, 0, 0), window::add);
+        assertEquals(1, window.size());
+    }
+    
+    @Test
+    @DisplayName("Should return empty list for unknown product or brand")
+    void findByDateProductAndBrand_OK_UnknownKey() {
+        LocalDateTime applicationDate = LocalDateTime.of(2020, 6, 14, 10, 0, 0);
+        
+        assertTrue(memoryAdapter.findByDateProductAndBrand(applicationDate, 99999L, 1L).isEmpty());
+        assertTrue(memoryAdapter.findByDateProductAndBrand(applicationDate, 35455L, 999L).isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Should throw LogicException when date is null")
+    void findByDateProductAndBrand_KO_NullDate() {
+        LogicException exception = assertThrows(LogicException.class, () -> memoryAdapter.findByDateProductAndBrand(null, 35455L, 1L));
+        
+        assertEquals("find.prices.error", exception.getMessage());
+        assertEquals(500, exception.getCode());
+    }
+    
+    private static Stream<LocalDateTime> provideApplicationDates() {
+        return Stream.of(
+            LocalDateTime.of(2019, 6, 14, 10, 0, 0),
+            LocalDateTime.of(2020, 6, 14, 0, 0, 0),
+            LocalDateTime.of(2020, 6, 14, 10, 0, 0),
+            LocalDateTime.of(2020, 6, 14, 15, 0, 0),
+            LocalDateTime.of(2020, 6, 14, 16, 0, 0),
+            LocalDateTime.of(2020, 6, 14, 18, 30, 0),
+            LocalDateTime.of(2020, 6, 14, 18, 30, 1),
+            LocalDateTime.of(2020, 6, 14, 21, 0, 0),
+            LocalDateTime.of(2020, 6, 15, 10, 0, 0),
+            LocalDateTime.of(2020, 6, 15, 11, 0, 0),
+            LocalDateTime.of(2020, 6, 16, 21, 0, 0),
+            LocalDateTime.of(2020, 12, 31, 23, 59, 59),
+            LocalDateTime.of(2021, 1, 1, 0, 0, 0)
+        );
+    }
+}
@@ -0,0 +1,148 @@
+package com.bcncgroup.testjava2025.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+
+import com.bcncgroup.testjava2025.adapters.TestApplication;
+import com.bcncgroup.testjava2025.adapters.importer.PriceFileFormat;
+import com.bcncgroup.testjava2025.adapters.importer.PriceFileReader;
+import com.bcncgroup.testjava2025.domain.application.PriceImportService;
+import com.bcncgroup.testjava2025.domain.application.PriceKeyFilter;
+import com.bcncgroup.testjava2025.domain.event.PriceCatalogChangedEvent;
+import com.bcncgroup.testjava2025.domain.model.ImportPriceResult;
+import com.bcncgroup.testjava2025.infrastructure.adapter.JdbcPriceImportAdapter;
+import com.bcncgroup.testjava2025.infrastructure.adapter.JdbcPriceKeyAdapter;
+import com.bcncgroup.testjava2025.infrastructure.conf.PersistenceConf;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Imports CSV and NDJSON files through the JDBC adapter
+ * Uses H2 in-memory database with pre-loaded data
+ */
+@DataJpaTest
+@ContextConfiguration(classes = { TestApplication.class, PersistenceConf.class })
+@Import(JdbcPriceImportAdapter.class)
+@DisplayName("JdbcPriceImportAdapter Tests")
+class JdbcPriceImportAdapterTest {
+
+    @Autowired
+    private JdbcPriceImportAdapter importAdapter;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    private final PriceFileReader reader = new PriceFileReader(new ObjectMapper());
+    
+    private final List<Object> events = new ArrayList<>();
+    
+    private PriceImportService importService;
+    
+    @BeforeEach
+    void setUp() {
+        // chunks of two rows so every file is written in several transactions
+        importService = new PriceImportService(importAdapter, events::add, Optional.empty(), 2);
+    }
+    
+    @Test
+    @DisplayName("Should import valid CSV rows and reject the ones breaking PRICES constraints")
+    void importPrices_OK_Csv() {
+        String csv = """
+                BRAND_ID,START_DATE,END_DATE,PRICE_LIST,PRODUCT_ID,PRIORITY,PRICE,CURR
+                1,2021-01-01 00:00:00,2021-12-31 23:59:59,5,50001,0,19.99,EUR
+                1,2021-02-01T00:00:00,2021-02-28T23:59:59,6,50001,1,"9.50",EUR
+                
+                2,2021-01-01 00:00:00,2021-06-30 23:59:59,7,50002,0,12,USD
+                1,2021-12-31 00:00:00,2021-01-01 00:00:00,8,50003,0,10.00,EUR
+                1,2021-01-01 00:00:00,2021-12-31 23:59:59,9,50003,0,-1.00,EUR
+                1,2021-01-01 00:00:00,2021-12-31 23:59:59,10,50003,0,10.00,EURO
+                9,2021-01-01 00:00:00,2021-12-31 23:59:59,11,50003,0,10.00,EUR
+                1,2021-01-01 00:00:00,2021-12-31 23:59:59,12,50003,0,10.005,EUR
+                1,2021-01-01 00:00:00
+                """;
+        
+        ImportPriceResult result = importService.importPrices(reader.read(stream(csv), PriceFileFormat.CSV));
+        
+        assertEquals(9, result.read());
+        assertEquals(3, result.imported());
+        assertEquals(6, result.rejected());
+        assertEquals("line 6: start date after end date", result.errors().get(0));
+        assertTrue(result.errors().get(5).startsWith("line 11: missing fields"));
+        assertEquals(3, countProducts(50001L, 50003L));
+        assertEquals(new BigDecimal("9.50"), jdbcTemplate.queryForObject(
+                "SELECT PRICE FROM PRICES WHERE PRODUCT_ID = 50001 AND PRICE_LIST = 6", BigDecimal.class));
+        assertEquals(List.of(new PriceCatalogChangedEvent(3)), events);
+    }
+    
+    @Test
+    @DisplayName("Should import NDJSON rows, reading fields by name in any order")
+    void importPrices_OK_Ndjson() {
+        String ndjson = """
+                {"productId":60001,"brandId":1,"startDate":"2021-01-01 00:00:00","endDate":"2021-12-31 23:59:59","priceList":1,"priority":0,"price":35.50,"currency":"EUR"}
+                {"BRAND_ID":3,"START_DATE":"2021-01-01 00:00:00","END_DATE":"2021-01-31 23:59:59","PRICE_LIST":2,"PRODUCT_ID":60002,"PRIORITY":2,"PRICE":1.10,"CURR":"EUR"}
+                {not json
+                """;
+        
+        ImportPriceResult result = importService.importPrices(reader.read(stream(ndjson), PriceFileFormat.NDJSON));
+        
+        assertEquals(3, result.read());
+        assertEquals(2, result.imported());
+        assertEquals(List.of("line 3: missing fields"), result.errors());
+        assertEquals(2, countProducts(60001L, 60002L));
+    }
+    
+    @Test
+    @DisplayName("Should add the imported pairs to the key filter before announcing the change")
+    void importPrices_OK_KeyFilterBeforeEvent() {
+        PriceKeyFilter filter = new PriceKeyFilter(new JdbcPriceKeyAdapter(jdbcTemplate), 0.0001);
+        filter.rebuild();
+        assertFalse(filter.mightContain(1L, 70001L));
+        List<Boolean> knownAtEvent = new ArrayList<>();
+        PriceImportService filtered = new PriceImportService(importAdapter,
+                event -> knownAtEvent.add(filter.mightContain(1L, 70001L) && filter.mightContain(2L, 70002L)), Optional.of(filter), 2);
+        String csv = """
+                BRAND_ID,START_DATE,END_DATE,PRICE_LIST,PRODUCT_ID,PRIORITY,PRICE,CURR
+                1,2021-01-01 00:00:00,2021-12-31 23:59:59,5,70001,0,19.99,EUR
+                2,2021-01-01 00:00:00,2021-12-31 23:59:59,5,70002,0,19.99,EUR
+                1,2021-01-01 00:00:00,2021-12-31 23:59:59,6,70001,1,9.99,EUR
+                """;
+        
+        filtered.importPrices(reader.read(stream(csv), PriceFileFormat.CSV));
+        
+        assertEquals(List.of(true), knownAtEvent);
+    }
+    
+    @Test
+    @DisplayName("Should not publish a change event when nothing is imported")
+    void importPrices_OK_NothingImported() {
+        ImportPriceResult result = importService.importPrices(reader.read(stream(""), PriceFileFormat.CSV));
+        
+        assertEquals(0, result.read());
+        assertTrue(events.isEmpty());
+    }
+    
+    private int countProducts(long fromProduct, long toProduct) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM PRICES WHERE PRODUCT_ID BETWEEN ? AND ?", Integer.class,
+                fromProduct, toProduct);
+    }
+    
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,136 @@
+package com.bcncgroup.testjava2025.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+
+import com.bcncgroup.testjava2025.adapters.TestApplication;
+import com.bcncgroup.testjava2025.domain.exception.LogicException;
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.ports.in.query.FindPriceQuery;
+import com.bcncgroup.testjava2025.infrastructure.adapter.JdbcPriceRepositoryAdapter;
+import com.bcncgroup.testjava2025.infrastructure.adapter.JpaPriceRepositoryAdapter;
+import com.bcncgroup.testjava2025.infrastructure.cache.BrandDictionary;
+import com.bcncgroup.testjava2025.infrastructure.conf.PersistenceConf;
+import com.bcncgroup.testjava2025.infrastructure.mapper.BrandMapperImpl;
+import com.bcncgroup.testjava2025.infrastructure.mapper.PriceMapper;
+import com.bcncgroup.testjava2025.infrastructure.mapper.PriceMapperImpl;
+import com.bcncgroup.testjava2025.infrastructure.repository.PriceJpaRepository;
+
+/**
+ * Checks that the plain JDBC adapter returns exactly what the JPA adapter returns
+ * Uses H2 in-memory database with pre-loaded data
+ */
+@DataJpaTest
+@ContextConfiguration(classes = { TestApplication.class, PersistenceConf.class })
+@Import({ PriceMapperImpl.class, BrandMapperImpl.class, BrandDictionary.class })
+@DisplayName("JdbcPriceRepositoryAdapter Tests")
+class JdbcPriceRepositoryAdapterTest {
+
+    @Autowired
+    private PriceJpaRepository jpaRepository;
+    
+    @Autowired
+    private PriceMapper mapper;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private BrandDictionary brandDictionary;
+    
+    private JpaPriceRepositoryAdapter jpaAdapter;
+    private JdbcPriceRepositoryAdapter jdbcAdapter;
+    
+    @BeforeEach
+    void setUp() {
+        jpaAdapter = new JpaPriceRepositoryAdapter(jpaRepository, mapper);
+        jdbcAdapter = new JdbcPriceRepositoryAdapter(jdbcTemplate, brandDictionary);
+    }
+    
+    @ParameterizedTest
+    @MethodSource("provideApplicationDates")
+    @DisplayName("Should return the same ordered prices as the JPA adapter")
+    void findByDateProductAndBrand_OK_SameAsJpa(LocalDateTime applicationDate) {
+        List<Price> expected = jpaAdapter.findByDateProductAndBrand(applicationDate, 35455L, 1L);
+        
+        List<Price> result = jdbcAdapter.findByDateProductAndBrand(applicationDate, 35455L, 1L);
+        
+        assertEquals(expected, result);
+    }
+    
+    @Test
+    @DisplayName("Should return every window of a product as the JPA adapter")
+    void findByProductAndBrand_OK_SameAsJpa() {
+        List<Price> result = jdbcAdapter.findByProductAndBrand(35455L, 1L);
+        
+        assertEquals(4, result.size());
+        assertEquals(jpaAdapter.findByProductAndBrand(35455L, 1L), result);
+        assertTrue(jdbcAdapter.findByProductAndBrand(35455L, 999L).isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Should resolve a batch in request order with the same result as the JPA adapter")
+    void findAllByDateProductAndBrand_OK_SameAsJpa() {
+        List<FindPriceQuery> queries = provideApplicationDates()
+                .flatMap(date -> Stream.of(new FindPriceQuery(date, 35455L, 1L), new FindPriceQuery(date, 99999L, 1L),
+                        new FindPriceQuery(null, 35455L, 1L)))
+                .toList();
+        
+        assertEquals(jpaAdapter.findAllByDateProductAndBrand(queries), jdbcAdapter.findAllByDateProductAndBrand(queries));
+    }
+    
+    @Test
+    @DisplayName("Should stream the same prices of a brand as the JPA adapter")
+    void forEachByBrand_OK_SameAsJpa() {
+        List<Price> fromJpa = new ArrayList<>();
+        List<Price> fromJdbc = new ArrayList<>();
+        LocalDateTime fromDate = LocalDateTime.of(2020, 6, 14, 19, 0, 0);
+        
+        jpaAdapter.forEachByBrand(1L, fromDate, null, fromJpa::add);
+        jdbcAdapter.forEachByBrand(1L, fromDate, null, fromJdbc::add);
+        
+        assertEquals(3, fromJdbc.size());
+        assertEquals(fromJpa, fromJdbc);
+    }
+    
+    @Test
+    @DisplayName("Should wrap a failed stream in LogicException 500")
+    void forEachByBrand_KO_Wrapped() {
+        LogicException exception = assertThrows(LogicException.class,
+                () -> jdbcAdapter.forEachByBrand(1L, null, null, price -> {
+                    throw new IllegalStateException("sink failed");
+                }));
+        
+        assertEquals(500, exception.getCode());
+    }
+    
+    private static Stream<LocalDateTime> provideApplicationDates() {
+        return Stream.of(
+            LocalDateTime.of(2019, 6, 14, 10, 0, 0),
+            LocalDateTime.of(2020, 6, 14, 10, 0, 0),
+            LocalDateTime.of(2020, 6, 14, 16, 0, 0),
+            LocalDateTime.of(2020, 6, 14, 18, 30, 0),
+            LocalDateTime.of(2020, 6, 14, 21, 0, 0),
+            LocalDateTime.of(2020, 6, 15, 10, 0, 0),
+            LocalDateTime.of(2020, 6, 16, 21, 0, 0),
+            LocalDateTime.of(2020, 12, 31, 23, 59, 59)
+        );
+    }
+}
@@ -134,4 +134,25 @@ class JpaUserRepositoryAdapterTest {
         assertEquals("user.not.found", exception.getMessage());
         assertEquals(404, exception.getCode());
     }
+    
+    @Test
+    @DisplayName("Should update the password hash of an existing user")
+    void updatePassword_OK_UserUpdated() {
+        when(jpaRepository.updatePassword(testUsername, "{bcrypt}new_hash")).thenReturn(1);
+        
+        adapter.updatePassword(testUsername, "{bcrypt}new_hash");
+        
+        verify(jpaRepository).updatePassword(testUsername, "{bcrypt}new_hash");
+    }
+    
+    @Test
+    @DisplayName("Should throw LogicException when updating the password of an unknown user")
+    void updatePassword_KO_UserNotFound() {
+        when(jpaRepository.updatePassword(testUsername, "{bcrypt}new_hash")).thenReturn(0);
+        
+        LogicException exception = assertThrows(LogicException.class, () -> adapter.updatePassword(testUsername, "{bcrypt}new_hash"));
+        
+        assertEquals("user.not.found", exception.getMessage());
+        assertEquals(404, exception.getCode());
+    }
 }
@@ -0,0 +1,222 @@
+package com.bcncgroup.testjava2025.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+
+import com.bcncgroup.testjava2025.adapters.TestApplication;
+import com.bcncgroup.testjava2025.domain.event.PriceCatalogChangedEvent;
+import com.bcncgroup.testjava2025.domain.event.PriceIndexPublishedEvent;
+import com.bcncgroup.testjava2025.domain.exception.LogicException;
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.model.PriceDataVersion;
+import com.bcncgroup.testjava2025.domain.ports.in.query.FindPriceQuery;
+import com.bcncgroup.testjava2025.domain.ports.out.PriceRepository;
+import com.bcncgroup.testjava2025.infrastructure.adapter.CoalescingPriceRepository;
+import com.bcncgroup.testjava2025.infrastructure.adapter.OffHeapPriceRepositoryAdapter;
+import com.bcncgroup.testjava2025.infrastructure.adapter.JpaPriceRepositoryAdapter;
+import com.bcncgroup.testjava2025.infrastructure.adapter.PriceIndexRefresher;
+import com.bcncgroup.testjava2025.infrastructure.cache.BrandDictionary;
+import com.bcncgroup.testjava2025.infrastructure.conf.PersistenceConf;
+import com.bcncgroup.testjava2025.infrastructure.index.ColumnarPriceIndex;
+import com.bcncgroup.testjava2025.infrastructure.mapper.BrandMapperImpl;
+import com.bcncgroup.testjava2025.infrastructure.mapper.PriceMapper;
+import com.bcncgroup.testjava2025.infrastructure.mapper.PriceMapperImpl;
+import com.bcncgroup.testjava2025.infrastructure.repository.PriceJpaRepository;
+
+/**
+ * Checks that the off-heap columnar adapter returns exactly what the JPA adapter returns
+ * Uses H2 in-memory database with pre-loaded data
+ */
+@DataJpaTest
+@ContextConfiguration(classes = { TestApplication.class, PersistenceConf.class })
+@Import({ PriceMapperImpl.class, BrandMapperImpl.class, BrandDictionary.class })
+@DisplayName("OffHeapPriceRepositoryAdapter Tests")
+class OffHeapPriceRepositoryAdapterTest {
+
+    @Autowired
+    private PriceJpaRepository jpaRepository;
+    
+    @Autowired
+    private PriceMapper mapper;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private BrandDictionary brandDictionary;
+    
+    private JpaPriceRepositoryAdapter jpaAdapter;
+    private OffHeapPriceRepositoryAdapter offHeapAdapter;
+    
+    @BeforeEach
+    void setUp() {
+        jpaAdapter = new JpaPriceRepositoryAdapter(jpaRepository, mapper);
+        offHeapAdapter = new OffHeapPriceRepositoryAdapter(jdbcTemplate, brandDictionary, Optional.empty());
+        offHeapAdapter.refresh();
+    }
+    
+    @ParameterizedTest
+    @MethodSource("provideApplicationDates")
+    @DisplayName("Should return the same ordered prices as the JPA adapter")
+    void findByDateProductAndBrand_OK_SameAsJpa(LocalDateTime applicationDate) {
+        List<Price> expected = jpaAdapter.findByDateProductAndBrand(applicationDate, 35455L, 1L);
+        
+        List<Price> result = offHeapAdapter.findByDateProductAndBrand(applicationDate, 35455L, 1L);
+        
+        assertEquals(expected, result);
+    }
+    
+    @Test
+    @DisplayName("Should resolve a batch in request order with the same result as single lookups")
+    void findAllByDateProductAndBrand_OK_SameAsSingleLookups() {
+        List<FindPriceQuery> queries = provideApplicationDates()
+                .flatMap(date -> Stream.of(new FindPriceQuery(date, 35455L, 1L), new FindPriceQuery(date, 99999L, 1L)))
+                .toList();
+        
+        List<List<Price>> jpaBatch = jpaAdapter.findAllByDateProductAndBrand(queries);
+        List<List<Price>> offHeapBatch = offHeapAdapter.findAllByDateProductAndBrand(queries);
+        
+        assertEquals(queries.size(), jpaBatch.size());
+        for (int i = 0; i < queries.size(); i++) {
+            FindPriceQuery query = queries.get(i);
+            List<Price> single = jpaAdapter.findByDateProductAndBrand(query.applicationDate(), query.productId(), query.brandId());
+            assertEquals(single, jpaBatch.get(i));
+            assertEquals(single, offHeapBatch.get(i));
+        }
+    }
+    
+    @Test
+    @DisplayName("Should stream the same prices of a brand as the JPA adapter")
+    void forEachByBrand_OK_SameAsJpa() {
+        List<Price> fromJpa = new ArrayList<>();
+        List<Price> fromOffHeap = new ArrayList<>();
+        
+        jpaAdapter.forEachByBrand(1L, null, null, fromJpa::add);
+        offHeapAdapter.forEachByBrand(1L, null, null, fromOffHeap::add);
+        
+        assertEquals(4, fromJpa.size());
+        assertEquals(fromJpa, fromOffHeap);
+        
+        List<Price> window = new ArrayList<>();
+        jpaAdapter.forEachByBrand(1L, LocalDateTime.of(2020, 6, 14, 19, 0, 0), LocalDateTime.of(2020, 6, 14, 23, 0, 0), window::add);
+        assertEquals(1, window.size());
+    }
+    
+    @Test
+    @DisplayName("Should return empty list for unknown product or brand")
+    void findByDateProductAndBrand_OK_UnknownKey() {
+        LocalDateTime applicationDate = LocalDateTime.of(2020, 6, 14, 10, 0, 0);
+        
+        assertTrue(offHeapAdapter.findByDateProductAndBrand(applicationDate, 99999L, 1L).isEmpty());
+        assertTrue(offHeapAdapter.findByDateProductAndBrand(applicationDate, 35455L, 999L).isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Should keep every row in the primitive columns and reject rows out of index order")
+    void refresh_OK_ColumnarLayout() {
+        ColumnarPriceIndex index = offHeapAdapter.currentIndex();
+        
+        assertEquals(4, index.size());
+        assertTrue(index.offHeapBytes() >= (long) index.size() * ColumnarPriceIndex.BYTES_PER_ROW);
+        ColumnarPriceIndex.Builder builder = ColumnarPriceIndex.builder(2).add(1L, 1L, 35455L, 100L, 200L, 1, 0, 3550L, "EUR");
+        assertThrows(IllegalArgumentException.class, () -> builder.add(2L, 1L, 35454L, 100L, 200L, 1, 0, 3550L, "EUR"));
+    }
+    
+    @Test
+    @DisplayName("Should free the replaced index once its last reference is released")
+    void refresh_OK_FreesReplacedIndex() {
+        ColumnarPriceIndex replaced = offHeapAdapter.currentIndex();
+        
+        offHeapAdapter.refresh();
+        
+        assertFalse(replaced.retain());
+        assertEquals(4, offHeapAdapter.findByProductAndBrand(35455L, 1L).size());
+    }
+    
+    @Test
+    @DisplayName("Should keep a retained index readable until the reader releases it")
+    void retain_OK_ReaderOutlivesOwner() {
+        ColumnarPriceIndex index = ColumnarPriceIndex.builder(1).add(1L, 1L, 35455L, 100L, 200L, 1, 0, 3550L, "EUR")
+                .build(brandDictionary::toBrand);
+        
+        assertTrue(index.retain());
+        index.release();
+        
+        assertEquals(1, index.findCovering(150L, 35455L, 1L).size());
+        index.release();
+        assertFalse(index.retain());
+        assertThrows(IllegalStateException.class, index::release);
+    }
+    
+    @Test
+    @DisplayName("Should rebuild the index behind the coalescing decorator when the catalog changes")
+    void onPriceCatalogChanged_OK_ThroughDecorator() {
+        PriceRepository decorated = new CoalescingPriceRepository(offHeapAdapter, 1000);
+        List<Object> published = new ArrayList<>();
+        // rebuilds on the test thread, which sees the rows of the test transaction
+        PriceIndexRefresher refresher = new PriceIndexRefresher(
+                new StaticListableBeanFactory(Map.of("priceRepository", decorated)).getBeanProvider(PriceRepository.class),
+                published::add, Runnable::run);
+        long previousVersion = offHeapAdapter.currentIndex().contentVersion();
+        jdbcTemplate.update("INSERT INTO PRICES (BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR) "
+                + "VALUES (1, '2020-01-01 00:00:00', '2020-02-01 00:00:00', 5, 35456, 0, 12.00, 'EUR')");
+    
+        refresher.onPriceCatalogChanged(new PriceCatalogChangedEvent(1));
+    
+        assertEquals(5, offHeapAdapter.currentIndex().size());
+        assertEquals(1, decorated.findByProductAndBrand(35456L, 1L).size());
+        PriceDataVersion version = decorated.dataVersion().orElseThrow();
+        assertEquals(List.of(new PriceIndexPublishedEvent(version.epoch(), version.version())), published);
+        assertEquals(2, version.epoch());
+        assertNotEquals(previousVersion, version.version());
+    }
+    
+    @Test
+    @DisplayName("Should throw LogicException when date is null")
+    void findByDateProductAndBrand_KO_NullDate() {
+        LogicException exception = assertThrows(LogicException.class, () -> offHeapAdapter.findByDateProductAndBrand(null, 35455L, 1L));
+        
+        assertEquals("find.prices.error", exception.getMessage());
+        assertEquals(500, exception.getCode());
+    }
+    
+    private static Stream<LocalDateTime> provideApplicationDates() {
+        return Stream.of(
+            LocalDateTime.of(2019, 6, 14, 10, 0, 0),
+            LocalDateTime.of(2020, 6, 14, 0, 0, 0),
+            LocalDateTime.of(2020, 6, 14, 10, 0, 0),
+            LocalDateTime.of(2020, 6, 14, 15, 0, 0),
+            LocalDateTime.of(2020, 6, 14, 16, 0, 0),
+            LocalDateTime.of(2020, 6, 14, 18, 30, 0),
+            LocalDateTime.of(2020, 6, 14, 18, 30, 1),
+            LocalDateTime.of(2020, 6, 14, 21, 0, 0),
+            LocalDateTime.of(2020, 6, 15, 10, 0, 0),
+            LocalDateTime.of(2020, 6, 15, 11, 0, 0),
+            LocalDateTime.of(2020, 6, 16, 21, 0, 0),
+            LocalDateTime.of(2020, 12, 31, 23, 59, 59),
+            LocalDateTime.of(2021, 1, 1, 0, 0, 0)
+        );
+    }
+}
@@ -0,0 +1,327 @@
+package com.bcncgroup.testjava2025.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+
+import com.bcncgroup.testjava2025.adapters.TestApplication;
+import com.bcncgroup.testjava2025.domain.application.PriceChangePoller;
+import com.bcncgroup.testjava2025.domain.application.PriceKeyFilter;
+import com.bcncgroup.testjava2025.domain.event.PriceCatalogChangedEvent;
+import com.bcncgroup.testjava2025.domain.event.PriceChangesAppliedEvent;
+import com.bcncgroup.testjava2025.domain.model.Brand;
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.model.PriceDataVersion;
+import com.bcncgroup.testjava2025.domain.model.PriceRemoval;
+import com.bcncgroup.testjava2025.domain.ports.out.PriceRepository;
+import com.bcncgroup.testjava2025.infrastructure.adapter.InMemoryPriceRepositoryAdapter;
+import com.bcncgroup.testjava2025.infrastructure.adapter.JdbcPriceChangeAdapter;
+import com.bcncgroup.testjava2025.infrastructure.adapter.JdbcPriceKeyAdapter;
+import com.bcncgroup.testjava2025.infrastructure.adapter.OffHeapPriceRepositoryAdapter;
+import com.bcncgroup.testjava2025.infrastructure.cache.BrandDictionary;
+import com.bcncgroup.testjava2025.infrastructure.conf.PersistenceConf;
+import com.bcncgroup.testjava2025.infrastructure.index.PriceIntervalIndex;
+import com.bcncgroup.testjava2025.infrastructure.mapper.BrandMapperImpl;
+import com.bcncgroup.testjava2025.infrastructure.mapper.PriceMapper;
+import com.bcncgroup.testjava2025.infrastructure.mapper.PriceMapperImpl;
+import com.bcncgroup.testjava2025.infrastructure.repository.PriceJpaRepository;
+
+/**
+ * Checks that the change poller reads only the logged changes of PRICES and applies inserts, updates, deletes and
+ * moves to the in-memory index, that a skipped version committed late is still applied, and that bulk writes fall
+ * back to a full reload
+ * Uses H2 in-memory database with pre-loaded data
+ */
+@DataJpaTest
+@ContextConfiguration(classes = { TestApplication.class, PersistenceConf.class })
+@Import({ PriceMapperImpl.class, BrandMapperImpl.class, BrandDictionary.class })
+@DisplayName("PriceChangePoller Tests")
+class PriceChangePollerTest {
+
+    private static final LocalDateTime LOOKUP_DATE = LocalDateTime.of(2020, 6, 14, 10, 0, 0);
+    private static final String INSERT = "INSERT INTO PRICES (BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR) "
+            + "VALUES (?, '2020-06-01 00:00:00', '2020-06-30 23:59:59', 9, ?, 5, ?, 'EUR')";
+    private static final String DELETE_LIST_4 = "DELETE FROM PRICES WHERE PRODUCT_ID = 35455 AND PRICE_LIST = 4";
+    private static final String ID_OF_LIST_4 = "SELECT ID FROM PRICES WHERE PRODUCT_ID = 35455 AND PRICE_LIST = 4";
+    private static final long ONE_HOUR = 3_600_000;
+
+    @Autowired
+    private PriceJpaRepository jpaRepository;
+
+    @Autowired
+    private PriceMapper mapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BrandDictionary brandDictionary;
+
+    private final List<Object> published = new ArrayList<>();
+    private InMemoryPriceRepositoryAdapter memoryAdapter;
+    private PriceChangePoller poller;
+
+    @BeforeEach
+    void setUp() {
+        // versions taken by the rolled back writes of other tests would be gaps the poller skips at once
+        Long latest = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(CHANGE_VERSION), 0) FROM PRICE_CHANGES", Long.class);
+        jdbcTemplate.execute("ALTER SEQUENCE PRICE_CHANGE_LOG_SEQ RESTART WITH " + (latest + 1));
+        memoryAdapter = new InMemoryPriceRepositoryAdapter(jpaRepository, mapper);
+        memoryAdapter.refresh();
+        poller = new PriceChangePoller(new JdbcPriceChangeAdapter(jdbcTemplate, brandDictionary), memoryAdapter,
+                published::add, 0, 100, 0, ONE_HOUR);
+        poller.start();
+    }
+
+    @Test
+    @DisplayName("Should apply inserted and updated rows to the index without reloading it")
+    void poll_OK_InsertAndUpdate() {
+        PriceDataVersion before = memoryAdapter.dataVersion().orElseThrow();
+        jdbcTemplate.update(INSERT, 2L, 77777L, new BigDecimal("12.00"));
+        jdbcTemplate.update("UPDATE PRICES SET PRICE = 33.33 WHERE PRODUCT_ID = 35455 AND PRICE_LIST = 1");
+
+        assertEquals(2, poller.poll());
+
+        assertEquals(List.of(new BigDecimal("12.00")),
+                memoryAdapter.findByDateProductAndBrand(LOOKUP_DATE, 77777L, 2L).stream().map(Price::price).toList());
+        assertEquals(List.of(new BigDecimal("33.33")),
+                memoryAdapter.findByDateProductAndBrand(LOOKUP_DATE, 35455L, 1L).stream().map(Price::price).toList());
+        assertEquals(5, memoryAdapter.findByProductAndBrand(35455L, 1L).size() + memoryAdapter.findByProductAndBrand(77777L, 2L).size());
+
+        PriceDataVersion after = memoryAdapter.dataVersion().orElseThrow();
+        assertEquals(before.epoch() + 1, after.epoch());
+        assertNotEquals(before.version(), after.version());
+        // the changed index has the version of an index built from the same rows
+        assertEquals(after.version(), rebuiltVersion());
+
+        assertEquals(1, published.size());
+        PriceChangesAppliedEvent event = assertInstanceOf(PriceChangesAppliedEvent.class, published.get(0));
+        assertEquals(2, event.changed().size());
+        assertTrue(event.removed().isEmpty());
+
+        PriceChangePoller.Stats stats = poller.stats();
+        assertEquals(2, stats.changes());
+        assertEquals(0, stats.reloads());
+        assertEquals(0, poller.poll());
+        assertEquals(1, published.size());
+    }
+
+    @Test
+    @DisplayName("Should add the new brand and product pairs to the key filter")
+    void poll_OK_KeyFilterFollowsChanges() {
+        PriceKeyFilter filter = new PriceKeyFilter(new JdbcPriceKeyAdapter(jdbcTemplate), 0.0001);
+        filter.rebuild();
+        assertFalse(filter.mightContain(3L, 88888L));
+
+        jdbcTemplate.update(INSERT, 3L, 88888L, new BigDecimal("9.99"));
+        poller.poll();
+        filter.onPriceChangesApplied(assertInstanceOf(PriceChangesAppliedEvent.class, published.get(0)));
+
+        assertTrue(filter.mightContain(3L, 88888L));
+    }
+
+    @Test
+    @DisplayName("Should remove a deleted row from the index without reloading it, with an insert in the same poll")
+    void poll_OK_DeleteAndInsert() {
+        Long deletedId = jdbcTemplate.queryForObject(ID_OF_LIST_4, Long.class);
+        jdbcTemplate.update(DELETE_LIST_4);
+        jdbcTemplate.update(INSERT, 1L, 35455L, new BigDecimal("40.00"));
+
+        assertEquals(2, poller.poll());
+
+        List<Price> windows = memoryAdapter.findByProductAndBrand(35455L, 1L);
+        assertEquals(4, windows.size());
+        assertTrue(windows.stream().noneMatch(price -> price.id().equals(deletedId)));
+        assertEquals(rebuiltVersion(), memoryAdapter.dataVersion().orElseThrow().version());
+        PriceChangesAppliedEvent event = assertInstanceOf(PriceChangesAppliedEvent.class, published.get(0));
+        assertEquals(List.of(new PriceRemoval(deletedId, 1L, 35455L)), event.removed());
+        assertEquals(0, poller.stats().reloads());
+    }
+
+    @Test
+    @DisplayName("Should remove a deleted row with no other change, and only once")
+    void poll_OK_BareDelete() {
+        long epoch = memoryAdapter.dataVersion().orElseThrow().epoch();
+        jdbcTemplate.update(DELETE_LIST_4);
+
+        assertEquals(1, poller.poll());
+
+        assertEquals(3, memoryAdapter.findByProductAndBrand(35455L, 1L).size());
+        assertEquals(epoch + 1, memoryAdapter.dataVersion().orElseThrow().epoch());
+        assertEquals(0, poller.stats().reloads());
+        assertEquals(0, poller.poll());
+        assertEquals(1, published.size());
+    }
+
+    @Test
+    @DisplayName("Should announce a delete to the caches when the repository keeps no copy of the prices")
+    void poll_OK_BareDeleteWithoutCopy() {
+        // the default applyChanges of the database adapters
+        PriceRepository databaseRepository = mock(PriceRepository.class, CALLS_REAL_METHODS);
+        PriceChangePoller databasePoller = new PriceChangePoller(new JdbcPriceChangeAdapter(jdbcTemplate, brandDictionary),
+                databaseRepository, published::add, 0, 100, 0, ONE_HOUR);
+        databasePoller.start();
+        Long deletedId = jdbcTemplate.queryForObject(ID_OF_LIST_4, Long.class);
+
+        jdbcTemplate.update(DELETE_LIST_4);
+
+        assertEquals(1, databasePoller.poll());
+        PriceChangesAppliedEvent event = assertInstanceOf(PriceChangesAppliedEvent.class, published.get(0));
+        assertTrue(event.changed().isEmpty());
+        assertEquals(List.of(new PriceRemoval(deletedId, 1L, 35455L)), event.removed());
+        assertEquals(0, databasePoller.stats().reloads());
+    }
+
+    @Test
+    @DisplayName("Should take a row moved to another product out of the group it left")
+    void poll_OK_MovedRow() {
+        Long movedId = jdbcTemplate.queryForObject(ID_OF_LIST_4, Long.class);
+        jdbcTemplate.update("UPDATE PRICES SET PRODUCT_ID = 35456 WHERE ID = ?", movedId);
+
+        assertEquals(1, poller.poll());
+
+        assertEquals(3, memoryAdapter.findByProductAndBrand(35455L, 1L).size());
+        assertEquals(List.of(movedId), memoryAdapter.findByProductAndBrand(35456L, 1L).stream().map(Price::id).toList());
+        assertEquals(rebuiltVersion(), memoryAdapter.dataVersion().orElseThrow().version());
+        PriceChangesAppliedEvent event = assertInstanceOf(PriceChangesAppliedEvent.class, published.get(0));
+        assertEquals(List.of(new PriceRemoval(movedId, 1L, 35455L)), event.removed());
+        assertEquals(35456L, event.changed().get(0).productId());
+    }
+
+    @Test
+    @DisplayName("Should keep a row moved away and back in the same poll in its group")
+    void poll_OK_MovedBack() {
+        Long movedId = jdbcTemplate.queryForObject(ID_OF_LIST_4, Long.class);
+        jdbcTemplate.update("UPDATE PRICES SET PRODUCT_ID = 35456 WHERE ID = ?", movedId);
+        jdbcTemplate.update("UPDATE PRICES SET PRODUCT_ID = 35455 WHERE ID = ?", movedId);
+
+        assertEquals(2, poller.poll());
+
+        assertEquals(4, memoryAdapter.findByProductAndBrand(35455L, 1L).size());
+        assertTrue(memoryAdapter.findByProductAndBrand(35456L, 1L).isEmpty());
+        PriceChangesAppliedEvent event = assertInstanceOf(PriceChangesAppliedEvent.class, published.get(0));
+        assertEquals(List.of(new PriceRemoval(movedId, 1L, 35456L)), event.removed());
+    }
+
+    @Test
+    @DisplayName("Should skip a missing version after the gap timeout and apply it when it commits late")
+    void poll_OK_LateCommitAfterSkip() {
+        // a version taken by a write still open
+        Long open = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR PRICE_CHANGE_LOG_SEQ", Long.class);
+        jdbcTemplate.update(INSERT, 2L, 77777L, new BigDecimal("12.00"));
+
+        assertEquals(1, poller.poll());
+
+        PriceChangePoller.Stats stats = poller.stats();
+        assertEquals(0, stats.reloads());
+        assertEquals(1, stats.watchedVersions());
+        assertEquals(jdbcTemplate.queryForObject("SELECT MAX(CHANGE_VERSION) FROM PRICE_CHANGES", Long.class), stats.version());
+
+        // the open write commits: an update logged with the version it took before the insert
+        jdbcTemplate.update("UPDATE PRICES SET PRICE = 44.44 WHERE PRODUCT_ID = 35455 AND PRICE_LIST = 1");
+        jdbcTemplate.update("UPDATE PRICE_CHANGES SET CHANGE_VERSION = ? WHERE CHANGE_VERSION = (SELECT MAX(CHANGE_VERSION) FROM PRICE_CHANGES)",
+                open);
+
+        assertEquals(1, poller.poll());
+
+        assertEquals(List.of(new BigDecimal("44.44")),
+                memoryAdapter.findByDateProductAndBrand(LOOKUP_DATE, 35455L, 1L).stream().map(Price::price).toList());
+        stats = poller.stats();
+        assertEquals(1, stats.lateChanges());
+        assertEquals(0, stats.watchedVersions());
+        assertEquals(0, stats.reloads());
+        assertEquals(0, poller.poll());
+    }
+
+    @Test
+    @DisplayName("Should ask for a full reload instead of applying a bulk write row by row")
+    void poll_OK_BulkWriteReloads() {
+        PriceChangePoller smallBatches = new PriceChangePoller(new JdbcPriceChangeAdapter(jdbcTemplate, brandDictionary),
+                memoryAdapter, published::add, 0, 2, 0, ONE_HOUR);
+        smallBatches.start();
+        long epoch = memoryAdapter.dataVersion().orElseThrow().epoch();
+        for (long product = 1; product <= 3; product++) {
+            jdbcTemplate.update(INSERT, 1L, product, BigDecimal.ONE);
+        }
+
+        assertEquals(2, smallBatches.poll());
+        assertEquals(epoch, memoryAdapter.dataVersion().orElseThrow().epoch());
+        memoryAdapter.refresh();
+        assertEquals(0, smallBatches.poll());
+
+        assertEquals(1, published.size());
+        assertInstanceOf(PriceCatalogChangedEvent.class, published.get(0));
+        assertEquals(1, smallBatches.stats().reloads());
+    }
+
+    @Test
+    @DisplayName("Should answer as an index built from the same rows after many changes merged into the base")
+    void withChanges_OK_SameAsRebuilt() {
+        Brand zara = new Brand(1L, "ZARA", "Marca de moda española");
+        LocalDateTime start = LocalDateTime.of(2020, 1, 1, 0, 0, 0);
+        List<Price> prices = new ArrayList<>();
+        for (long product = 0; product < 3000; product++) {
+            prices.add(new Price(product, zara, start, start.plusDays(10), 1, product, 0, BigDecimal.ONE, "EUR"));
+        }
+        PriceIntervalIndex index = PriceIntervalIndex.of(prices);
+
+        for (int round = 0; round < 4; round++) {
+            List<Price> changed = new ArrayList<>();
+            for (long product = round * 500L; product < round * 500L + 700; product++) {
+                Price price = new Price(product, zara, start, start.plusDays(10), 1, product, 0, BigDecimal.valueOf(round + 2), "EUR");
+                changed.add(price);
+                prices.set((int) product, price);
+            }
+            // one new window in a new group
+            Price added = new Price(10_000L + round, zara, start, start.plusDays(1), 2, 5000L + round, 1, BigDecimal.TEN, "EUR");
+            changed.add(added);
+            prices.add(added);
+            // one deleted row, which empties its group, and one row moved to the group of another product
+            long deleted = 2600L + round;
+            long moved = 2700L + round;
+            List<PriceRemoval> removed = List.of(new PriceRemoval(deleted, 1L, deleted), new PriceRemoval(moved, 1L, moved));
+            Price movedPrice = new Price(moved, zara, start.plusDays(20), start.plusDays(30), 1, 2900L, 0, BigDecimal.ONE, "EUR");
+            changed.add(movedPrice);
+            prices.removeIf(price -> price.id() == deleted);
+            prices.replaceAll(price -> price.id() == moved ? movedPrice : price);
+            index = index.withChanges(changed, removed);
+
+            PriceIntervalIndex rebuilt = PriceIntervalIndex.of(prices);
+            assertEquals(rebuilt.size(), index.size());
+            assertEquals(rebuilt.groups(), index.groups());
+            assertEquals(rebuilt.contentVersion(), index.contentVersion());
+        }
+        for (Price price : prices) {
+            assertTrue(index.findAll(price.productId(), 1L).contains(price));
+        }
+        assertTrue(index.findAll(2600L, 1L).isEmpty());
+        assertEquals(List.of(2900L, 2700L, 2701L, 2702L, 2703L),
+                index.findAll(2900L, 1L).stream().map(Price::id).toList());
+        List<Price> streamed = new ArrayList<>();
+        index.forEachByBrand(1L, null, null, streamed::add);
+        assertEquals(prices.size(), streamed.size());
+    }
+
+    private long rebuiltVersion() {
+        return new OffHeapPriceRepositoryAdapter(jdbcTemplate, brandDictionary, Optional.empty()).refresh().version();
+    }
+}
@@ -0,0 +1,139 @@
+package com.bcncgroup.testjava2025.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.bcncgroup.testjava2025.domain.model.Brand;
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.infrastructure.index.ColumnarPriceIndex;
+import com.bcncgroup.testjava2025.infrastructure.index.PriceIntervalIndex;
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Checks that the primitive lookups of the price indexes allocate nothing but their result
+ * Counts the bytes allocated by the test thread with ThreadMXBean.getThreadAllocatedBytes after a warm up
+ */
+@DisplayName("Price index allocation Tests")
+class PriceIndexAllocationTest {
+
+    private static final int PRODUCTS = 10_000;
+    private static final int LOOKUPS = 100_000;
+    private static final long FIRST_PRODUCT = 1_000_000L;
+    private static final Brand ZARA = new Brand(1L, "ZARA", "Marca de moda española");
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(2020, 1, 1, 0, 0, 0);
+
+    private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static PriceIntervalIndex heapIndex;
+    private static ColumnarPriceIndex columnarIndex;
+    private static long[] products;
+    private static long[] instants;
+
+    // keeps the results alive so the lookups are not optimized away
+    private static long sink;
+
+    @BeforeAll
+    static void setUp() {
+        List<Price> prices = new ArrayList<>();
+        ColumnarPriceIndex.Builder builder = ColumnarPriceIndex.builder(PRODUCTS * 2);
+        for (long product = FIRST_PRODUCT; product < FIRST_PRODUCT + PRODUCTS; product++) {
+            // two windows that do not overlap: every instant of the first 60 days has exactly one price
+            Price first = price(product * 2, product, ORIGIN, ORIGIN.plusDays(30).minusSeconds(1));
+            Price second = price(product * 2 + 1, product, ORIGIN.plusDays(30), ORIGIN.plusDays(60));
+            prices.add(first);
+            prices.add(second);
+            builder.add(first).add(second);
+        }
+        heapIndex = PriceIntervalIndex.of(prices);
+        columnarIndex = builder.build(id -> ZARA);
+
+        products = new long[LOOKUPS];
+        instants = new long[LOOKUPS];
+        long origin = ORIGIN.toEpochSecond(ZoneOffset.UTC);
+        for (int i = 0; i < LOOKUPS; i++) {
+            products[i] = FIRST_PRODUCT + (i * 7919L) % PRODUCTS;
+            instants[i] = origin + (i * 104_729L) % (60L * 86_400);
+        }
+    }
+
+    @Test
+    @DisplayName("Should allocate only the single-element result list of the heap index")
+    void heapIndex_OK_AllocatesOnlyResult() {
+        assertEquals(1, heapIndex.findCovering(instants[0], products[0], 1L).size());
+
+        double hit = bytesPerLookup(() -> {
+            for (int i = 0; i < LOOKUPS; i++) {
+                sink += heapIndex.findCovering(instants[i], products[i], 1L).size();
+            }
+        });
+        double miss = bytesPerLookup(() -> {
+            for (int i = 0; i < LOOKUPS; i++) {
+                sink += heapIndex.findCovering(instants[i], products[i] + PRODUCTS, 1L).size();
+            }
+        });
+
+        // an immutable list of one element: 24 bytes with compressed pointers, 32 without
+        assertTrue(hit <= 32, "heap hit allocated " + hit + " bytes per lookup");
+        assertTrue(miss < 1, "heap miss allocated " + miss + " bytes per lookup");
+    }
+
+    @Test
+    @DisplayName("Should allocate nothing for a miss of the columnar index")
+    void columnarIndex_OK_MissAllocatesNothing() {
+        assertEquals(0, columnarIndex.findCovering(instants[0], products[0] + PRODUCTS, 1L).size());
+
+        double miss = bytesPerLookup(() -> {
+            for (int i = 0; i < LOOKUPS; i++) {
+                sink += columnarIndex.findCovering(instants[i], products[i] + PRODUCTS, 1L).size();
+                sink += columnarIndex.findCovering(instants[i] - 86_400L * 365, products[i], 1L).size();
+            }
+        });
+
+        assertTrue(miss < 1, "columnar miss allocated " + miss + " bytes per lookup");
+    }
+
+    @Test
+    @DisplayName("Should find groups whose identifiers do not fit in a packed key")
+    void heapIndex_OK_UnpackableKeys() {
+        long largeProduct = 1L << 45;
+        Brand largeBrand = new Brand(1L << 30, "LARGE", "Marca de identificador grande");
+        Price largeProductPrice = price(1L, largeProduct, ORIGIN, ORIGIN.plusDays(1));
+        Price largeBrandPrice = new Price(2L, largeBrand, ORIGIN, ORIGIN.plusDays(1), 1, 35455L, 0, new BigDecimal("35.50"), "EUR");
+        PriceIntervalIndex index = PriceIntervalIndex.of(List.of(largeProductPrice, largeBrandPrice, price(3L, 35455L, ORIGIN, ORIGIN.plusDays(1))));
+
+        assertEquals(List.of(largeProductPrice), index.findCovering(ORIGIN.plusHours(1), largeProduct, 1L));
+        assertEquals(List.of(largeBrandPrice), index.findCovering(ORIGIN.plusHours(1), 35455L, largeBrand.id()));
+        assertEquals(1, index.findCovering(ORIGIN.plusHours(1), 35455L, 1L).size());
+        assertEquals(3, index.groups());
+    }
+
+    /**
+     * Runs the lookups once to warm up, then measures the bytes allocated by a second run.
+     */
+    private static double bytesPerLookup(Runnable lookups) {
+        for (int i = 0; i < 20; i++) {
+            lookups.run();
+        }
+        long threadId = Thread.currentThread().getId();
+        THREADS.getThreadAllocatedBytes(threadId);
+        long before = THREADS.getThreadAllocatedBytes(threadId);
+        lookups.run();
+        long allocated = THREADS.getThreadAllocatedBytes(threadId) - before;
+        return (double) allocated / LOOKUPS;
+    }
+
+    private static Price price(long id, long productId, LocalDateTime start, LocalDateTime end) {
+        return new Price(id, ZARA, start, end, 1, productId, 0, new BigDecimal("35.50"), "EUR");
+    }
+}
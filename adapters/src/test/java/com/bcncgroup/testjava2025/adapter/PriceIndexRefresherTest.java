@@ -0,0 +1,104 @@
+package com.bcncgroup.testjava2025.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import com.bcncgroup.testjava2025.domain.event.PriceCatalogChangedEvent;
+import com.bcncgroup.testjava2025.domain.event.PriceIndexPublishedEvent;
+import com.bcncgroup.testjava2025.domain.model.PriceDataVersion;
+import com.bcncgroup.testjava2025.domain.ports.out.PriceRepository;
+import com.bcncgroup.testjava2025.infrastructure.adapter.CoalescingPriceRepository;
+import com.bcncgroup.testjava2025.infrastructure.adapter.InMemoryPriceRepositoryAdapter;
+import com.bcncgroup.testjava2025.infrastructure.adapter.PriceIndexRefresher;
+
+/**
+ * Checks that catalog changes are folded into as few index rebuilds as possible, run on the rebuild executor
+ * The executor only queues the rebuilds, so the test decides when each one runs
+ */
+@DisplayName("PriceIndexRefresher Tests")
+class PriceIndexRefresherTest {
+
+    private static final PriceCatalogChangedEvent CHANGE = new PriceCatalogChangedEvent(1);
+
+    private final List<Runnable> queued = new ArrayList<>();
+    private final List<Object> published = new ArrayList<>();
+    private final InMemoryPriceRepositoryAdapter memoryAdapter = mock(InMemoryPriceRepositoryAdapter.class);
+    private PriceIndexRefresher refresher;
+
+    @BeforeEach
+    void setUp() {
+        PriceRepository decorated = new CoalescingPriceRepository(memoryAdapter, 1000);
+        refresher = new PriceIndexRefresher(
+                new StaticListableBeanFactory(Map.of("priceRepository", decorated)).getBeanProvider(PriceRepository.class),
+                published::add, queued::add);
+    }
+
+    @Test
+    @DisplayName("Should fold the changes that arrive before a rebuild starts into that rebuild")
+    void onPriceCatalogChanged_OK_FoldedBeforeStart() {
+        when(memoryAdapter.refresh()).thenReturn(new PriceDataVersion(2, 42));
+
+        refresher.onPriceCatalogChanged(CHANGE);
+        refresher.onPriceCatalogChanged(CHANGE);
+        refresher.onPriceCatalogChanged(CHANGE);
+        assertEquals(1, queued.size());
+        verify(memoryAdapter, times(0)).refresh();
+
+        queued.remove(0).run();
+
+        verify(memoryAdapter, times(1)).refresh();
+        assertEquals(List.of(new PriceIndexPublishedEvent(2, 42)), published);
+        assertEquals(0, queued.size());
+    }
+
+    @Test
+    @DisplayName("Should fold the changes that arrive during a rebuild into one more rebuild")
+    void onPriceCatalogChanged_OK_FoldedDuringRebuild() {
+        when(memoryAdapter.refresh()).thenAnswer(invocation -> {
+            if (published.isEmpty()) {
+                // written while the first rebuild reads the rows, which may have missed them
+                refresher.onPriceCatalogChanged(CHANGE);
+                refresher.onPriceCatalogChanged(CHANGE);
+            }
+            return new PriceDataVersion(published.size() + 2, 42);
+        });
+
+        refresher.onPriceCatalogChanged(CHANGE);
+        queued.remove(0).run();
+        assertEquals(1, queued.size());
+        queued.remove(0).run();
+
+        verify(memoryAdapter, times(2)).refresh();
+        assertEquals(List.of(new PriceIndexPublishedEvent(2, 42), new PriceIndexPublishedEvent(3, 42)), published);
+        assertEquals(0, queued.size());
+    }
+
+    @Test
+    @DisplayName("Should keep the previous index after a failed rebuild and rebuild again on the next change")
+    void onPriceCatalogChanged_KO_RebuildFails() {
+        when(memoryAdapter.refresh()).thenThrow(new IllegalStateException("database down"))
+                .thenReturn(new PriceDataVersion(2, 42));
+
+        refresher.onPriceCatalogChanged(CHANGE);
+        queued.remove(0).run();
+        assertEquals(List.of(), published);
+
+        refresher.onPriceCatalogChanged(CHANGE);
+        assertEquals(1, queued.size());
+        queued.remove(0).run();
+
+        assertEquals(List.of(new PriceIndexPublishedEvent(2, 42)), published);
+    }
+}
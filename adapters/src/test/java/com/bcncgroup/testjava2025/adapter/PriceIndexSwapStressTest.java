@@ -0,0 +1,206 @@
+package com.bcncgroup.testjava2025.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+
+import com.bcncgroup.testjava2025.adapters.TestApplication;
+import com.bcncgroup.testjava2025.domain.model.Brand;
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.model.PriceDataVersion;
+import com.bcncgroup.testjava2025.infrastructure.adapter.InMemoryPriceRepositoryAdapter;
+import com.bcncgroup.testjava2025.infrastructure.adapter.JpaPriceRepositoryAdapter;
+import com.bcncgroup.testjava2025.infrastructure.adapter.OffHeapPriceRepositoryAdapter;
+import com.bcncgroup.testjava2025.infrastructure.cache.BrandDictionary;
+import com.bcncgroup.testjava2025.infrastructure.conf.PersistenceConf;
+import com.bcncgroup.testjava2025.infrastructure.index.IndexHolder;
+import com.bcncgroup.testjava2025.infrastructure.index.PriceIntervalIndex;
+import com.bcncgroup.testjava2025.infrastructure.mapper.BrandMapperImpl;
+import com.bcncgroup.testjava2025.infrastructure.mapper.PriceMapper;
+import com.bcncgroup.testjava2025.infrastructure.mapper.PriceMapperImpl;
+import com.bcncgroup.testjava2025.infrastructure.repository.PriceJpaRepository;
+
+/**
+ * Checks that lookups running while the price index is rebuilt and swapped always answer from one whole index,
+ * see the epochs grow and never wait for the rebuild
+ * Uses H2 in-memory database with pre-loaded data
+ */
+@DataJpaTest
+@ContextConfiguration(classes = { TestApplication.class, PersistenceConf.class })
+@Import({ PriceMapperImpl.class, BrandMapperImpl.class, BrandDictionary.class })
+@DisplayName("Price index swap stress Tests")
+class PriceIndexSwapStressTest {
+
+    private static final int READERS = 3;
+    private static final int PRODUCTS = 20_000;
+    private static final int GENERATIONS = 30;
+    private static final int REFRESHES = 20;
+    private static final long FIRST_PRODUCT = 1_000_000L;
+    private static final Brand ZARA = new Brand(1L, "ZARA", "Marca de moda española");
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(2020, 1, 1, 0, 0, 0);
+    private static final LocalDateTime LOOKUP_DATE = LocalDateTime.of(2020, 6, 14, 16, 0, 0);
+
+    @Autowired
+    private PriceJpaRepository jpaRepository;
+
+    @Autowired
+    private PriceMapper mapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BrandDictionary brandDictionary;
+
+    private final ExecutorService readers = Executors.newFixedThreadPool(READERS);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        readers.shutdownNow();
+        assertTrue(readers.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should answer every lookup from one whole generation while new generations are swapped in")
+    void publish_OK_ReadersSeeWholeIndexes() throws Exception {
+        IndexHolder<PriceIntervalIndex> holder = new IndexHolder<>();
+        Map<Long, Integer> generationOfVersion = new ConcurrentHashMap<>();
+        PriceIntervalIndex first = generation(0);
+        generationOfVersion.put(first.contentVersion(), 0);
+        holder.publish(first, first.contentVersion());
+
+        AtomicBoolean rebuilding = new AtomicBoolean();
+        AtomicBoolean done = new AtomicBoolean();
+        LongAdder lookupsDuringRebuild = new LongAdder();
+        CountDownLatch started = new CountDownLatch(READERS);
+        List<Future<Long>> lookups = new ArrayList<>();
+        for (int reader = 0; reader < READERS; reader++) {
+            Random random = new Random(reader);
+            lookups.add(readers.submit(() -> {
+                started.countDown();
+                long count = 0;
+                long lastEpoch = 0;
+                long instant = ORIGIN.plusDays(1).toEpochSecond(ZoneOffset.UTC);
+                while (!done.get()) {
+                    IndexHolder.Published<PriceIntervalIndex> published = holder.current();
+                    Integer generation = generationOfVersion.get(published.version());
+                    assertNotNull(generation, "unknown version " + published.version());
+                    assertEquals(generation + 1, published.epoch());
+                    assertTrue(published.epoch() >= lastEpoch, "epoch went back");
+                    lastEpoch = published.epoch();
+
+                    List<Price> prices = published.index().findCovering(instant, FIRST_PRODUCT + random.nextInt(PRODUCTS), 1L);
+                    assertEquals(1, prices.size());
+                    assertEquals(priceOf(generation), prices.get(0).price());
+                    count++;
+                    if (rebuilding.get()) {
+                        lookupsDuringRebuild.increment();
+                    }
+                }
+                return count;
+            }));
+        }
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        for (int generation = 1; generation <= GENERATIONS; generation++) {
+            rebuilding.set(true);
+            PriceIntervalIndex built = generation(generation);
+            rebuilding.set(false);
+            generationOfVersion.put(built.contentVersion(), generation);
+            IndexHolder.Published<PriceIntervalIndex> published = holder.publish(built, built.contentVersion());
+            assertEquals(generation + 1, published.epoch());
+        }
+        done.set(true);
+
+        for (Future<Long> reader : lookups) {
+            assertTrue(reader.get(10, TimeUnit.SECONDS) > 0);
+        }
+        assertEquals(GENERATIONS + 1, generationOfVersion.size());
+        assertTrue(lookupsDuringRebuild.sum() > 0, "no lookup ran while an index was being built");
+    }
+
+    @Test
+    @DisplayName("Should serve the same prices and version while the in-memory adapter is rebuilt from the database")
+    void refresh_OK_ConcurrentLookups() throws Exception {
+        List<Price> expected = new JpaPriceRepositoryAdapter(jpaRepository, mapper).findByDateProductAndBrand(LOOKUP_DATE, 35455L, 1L);
+        InMemoryPriceRepositoryAdapter memoryAdapter = new InMemoryPriceRepositoryAdapter(jpaRepository, mapper);
+        PriceDataVersion first = memoryAdapter.refresh();
+
+        AtomicBoolean done = new AtomicBoolean();
+        Set<Long> versions = ConcurrentHashMap.newKeySet();
+        CountDownLatch started = new CountDownLatch(READERS);
+        List<Future<Long>> lookups = new ArrayList<>();
+        for (int reader = 0; reader < READERS; reader++) {
+            lookups.add(readers.submit(() -> {
+                started.countDown();
+                long count = 0;
+                long lastEpoch = 0;
+                while (!done.get()) {
+                    PriceDataVersion version = memoryAdapter.dataVersion().orElseThrow();
+                    assertTrue(version.epoch() >= lastEpoch, "epoch went back");
+                    lastEpoch = version.epoch();
+                    versions.add(version.version());
+                    assertEquals(expected, memoryAdapter.findByDateProductAndBrand(LOOKUP_DATE, 35455L, 1L));
+                    count++;
+                }
+                return count;
+            }));
+        }
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        PriceDataVersion last = first;
+        for (int refresh = 0; refresh < REFRESHES; refresh++) {
+            last = memoryAdapter.refresh();
+        }
+        done.set(true);
+
+        for (Future<Long> reader : lookups) {
+            assertTrue(reader.get(10, TimeUnit.SECONDS) > 0);
+        }
+        assertEquals(first.epoch() + REFRESHES, last.epoch());
+        assertEquals(Set.of(first.version()), versions);
+
+        // the off-heap index of the same rows reports the same version
+        OffHeapPriceRepositoryAdapter offHeapAdapter = new OffHeapPriceRepositoryAdapter(jdbcTemplate, brandDictionary, Optional.empty());
+        assertEquals(first.version(), offHeapAdapter.refresh().version());
+    }
+
+    private static PriceIntervalIndex generation(int generation) {
+        List<Price> prices = new ArrayList<>(PRODUCTS);
+        for (long product = FIRST_PRODUCT; product < FIRST_PRODUCT + PRODUCTS; product++) {
+            prices.add(new Price(product, ZARA, ORIGIN, ORIGIN.plusDays(30), 1, product, 0, priceOf(generation), "EUR"));
+        }
+        return PriceIntervalIndex.of(prices);
+    }
+
+    private static BigDecimal priceOf(int generation) {
+        return BigDecimal.valueOf(1000 + generation, 2);
+    }
+}
@@ -0,0 +1,90 @@
+package com.bcncgroup.testjava2025.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+
+import com.bcncgroup.testjava2025.adapters.TestApplication;
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.ports.in.query.FindPriceQuery;
+import com.bcncgroup.testjava2025.infrastructure.adapter.JpaPriceRepositoryAdapter;
+import com.bcncgroup.testjava2025.infrastructure.cache.BrandDictionary;
+import com.bcncgroup.testjava2025.infrastructure.conf.PersistenceConf;
+import com.bcncgroup.testjava2025.infrastructure.mapper.BrandMapperImpl;
+import com.bcncgroup.testjava2025.infrastructure.mapper.PriceMapper;
+import com.bcncgroup.testjava2025.infrastructure.mapper.PriceMapperImpl;
+import com.bcncgroup.testjava2025.infrastructure.repository.PriceJpaRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Counts the SQL statements sent per price lookup
+ * Brands come from the brand dictionary, so a lookup must not load BRANDS rows
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ContextConfiguration(classes = { TestApplication.class, PersistenceConf.class })
+@Import({ PriceMapperImpl.class, BrandMapperImpl.class, BrandDictionary.class })
+@DisplayName("Price lookup statement count Tests")
+class PriceLookupStatementCountTest {
+
+    @Autowired
+    private PriceJpaRepository jpaRepository;
+    
+    @Autowired
+    private PriceMapper mapper;
+    
+    @Autowired
+    private BrandDictionary brandDictionary;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private JpaPriceRepositoryAdapter adapter;
+    private Statistics statistics;
+    
+    @BeforeEach
+    void setUp() {
+        adapter = new JpaPriceRepositoryAdapter(jpaRepository, mapper);
+        brandDictionary.refresh();
+        // nothing left in the persistence context, every brand would have to be loaded again
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+    
+    @Test
+    @DisplayName("Should send exactly one statement for a single lookup with its brand filled in")
+    void findByDateProductAndBrand_OK_OneStatement() {
+        List<Price> result = adapter.findByDateProductAndBrand(LocalDateTime.of(2020, 6, 14, 16, 0, 0), 35455L, 1L);
+        
+        assertEquals(2, result.size());
+        result.forEach(price -> assertEquals("ZARA", price.brand().name()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+    
+    @Test
+    @DisplayName("Should send exactly one statement for a batch lookup")
+    void findAllByDateProductAndBrand_OK_OneStatement() {
+        List<List<Price>> result = adapter.findAllByDateProductAndBrand(List.of(
+                new FindPriceQuery(LocalDateTime.of(2020, 6, 14, 10, 0, 0), 35455L, 1L),
+                new FindPriceQuery(LocalDateTime.of(2020, 6, 15, 10, 0, 0), 35455L, 1L)));
+        
+        assertEquals("ZARA", result.get(1).get(0).brand().name());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
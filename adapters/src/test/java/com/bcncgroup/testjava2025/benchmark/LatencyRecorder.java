@@ -0,0 +1,51 @@
+package com.bcncgroup.testjava2025.benchmark;
+
+import java.util.Arrays;
+
+/**
+ * Collects latency samples in nanoseconds and reports percentiles
+ * Shared by the benchmark tests, not thread safe
+ */
+final class LatencyRecorder {
+
+    private final String name;
+    private long[] samples;
+    private int count;
+    
+    LatencyRecorder(String name, int expectedSamples) {
+        this.name = name;
+        this.samples = new long[Math.max(16, expectedSamples)];
+    }
+    
+    void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+    
+    void addAll(LatencyRecorder other) {
+        for (int i = 0; i < other.count; i++) {
+            record(other.samples[i]);
+        }
+    }
+    
+    long percentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return sorted[Math.max(0, Math.min(count - 1, index))];
+    }
+    
+    int count() {
+        return count;
+    }
+    
+    String summary() {
+        return String.format("%-24s samples=%d p50=%dus p99=%dus p99.9=%dus max=%dus",
+                name, count, percentile(50) / 1000, percentile(99) / 1000, percentile(99.9) / 1000, percentile(100) / 1000);
+    }
+}
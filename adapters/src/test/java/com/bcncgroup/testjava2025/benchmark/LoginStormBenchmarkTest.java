@@ -0,0 +1,158 @@
+package com.bcncgroup.testjava2025.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+
+import com.bcncgroup.testjava2025.adapters.TestApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Measures /price p99 alone and while a login storm hits /auth/login
+ * Logins run on the login bulkhead (one thread, short queue), so most of the storm is rejected with 503
+ * and bcrypt never takes more than one core away from the price requests
+ * Storm clients wait the Retry-After of a 503 like a well-behaved client; a client that ignores it is left
+ * to the request limiter, this benchmark is about the cost of the logins themselves
+ * Run with: mvn test -P benchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(classes = TestApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = { "logging.level.root=WARN", "logging.level.com.bcncgroup.testjava2025.benchmark=INFO",
+                "auth.login.threads=1", "auth.login.queue-capacity=4" })
+@DisplayName("Login storm benchmark")
+class LoginStormBenchmarkTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoginStormBenchmarkTest.class);
+
+    private static final int PRICE_CLIENTS = 8;
+    private static final int LOOKUPS_PER_CLIENT = 2_000;
+    private static final int LOGIN_CLIENTS = 16;
+    private static final String LOOKUP = "{\"startDate\":\"2020-06-14 16:00:00\",\"productId\":35455,\"brandId\":1}";
+    private static final String CREDENTIALS = "{\"username\":\"test\",\"password\":\"test\"}";
+    // p99 under the storm may grow by this factor at most: one login thread shares the CPU with the price requests
+    private static final double MAX_P99_GROWTH = 2.0;
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
+
+    @Test
+    @DisplayName("Should keep /price p99 while logins are shed by the bulkhead")
+    void priceLatencyUnderLoginStorm() throws Exception {
+        HttpRequest lookup = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/price/findByDateProductIdentifierBrand"))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + login())
+                .POST(HttpRequest.BodyPublishers.ofString(LOOKUP))
+                .build();
+
+        // warm up the JIT and the lookup cache
+        runLookups("warmup", lookup);
+        LatencyRecorder quiet = runLookups("price alone", lookup);
+
+        AtomicBoolean storming = new AtomicBoolean(true);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger shed = new AtomicInteger();
+        ExecutorService storm = Executors.newFixedThreadPool(LOGIN_CLIENTS);
+        HttpRequest login = loginRequest();
+        for (int i = 0; i < LOGIN_CLIENTS; i++) {
+            storm.submit(() -> {
+                while (storming.get()) {
+                    try {
+                        HttpResponse<Void> response = client.send(login, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() == 503) {
+                            shed.incrementAndGet();
+                            long retryAfter = response.headers().firstValueAsLong(HttpHeaders.RETRY_AFTER).orElse(1);
+                            Thread.sleep(TimeUnit.SECONDS.toMillis(retryAfter));
+                        } else {
+                            accepted.incrementAndGet();
+                        }
+                    } catch (Exception ex) {
+                        return;
+                    }
+                }
+            });
+        }
+        LatencyRecorder stormed;
+        try {
+            stormed = runLookups("price + login storm", lookup);
+        } finally {
+            storming.set(false);
+            storm.shutdown();
+            storm.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        LOG.info(quiet.summary());
+        LOG.info(stormed.summary());
+        LOG.info("logins accepted={} shed with 503={}", accepted.get(), shed.get());
+
+        assertEquals(PRICE_CLIENTS * LOOKUPS_PER_CLIENT, stormed.count());
+        assertTrue(shed.get() > 0, "the storm should overflow the login bulkhead");
+        assertTrue(stormed.percentile(99) <= quiet.percentile(99) * MAX_P99_GROWTH,
+                () -> "p99 grew more than " + MAX_P99_GROWTH + "x: " + quiet.summary() + " / " + stormed.summary());
+    }
+
+    private LatencyRecorder runLookups(String name, HttpRequest lookup) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(PRICE_CLIENTS);
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int c = 0; c < PRICE_CLIENTS; c++) {
+            results.add(clients.submit(() -> {
+                long[] latencies = new long[LOOKUPS_PER_CLIENT];
+                for (int i = 0; i < LOOKUPS_PER_CLIENT; i++) {
+                    long start = System.nanoTime();
+                    int status = client.send(lookup, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    latencies[i] = System.nanoTime() - start;
+                    if (status != 200) {
+                        throw new IllegalStateException("price lookup failed with " + status);
+                    }
+                }
+                return latencies;
+            }));
+        }
+        LatencyRecorder recorder = new LatencyRecorder(name, PRICE_CLIENTS * LOOKUPS_PER_CLIENT);
+        for (Future<long[]> result : results) {
+            for (long latency : result.get()) {
+                recorder.record(latency);
+            }
+        }
+        clients.shutdown();
+        return recorder;
+    }
+
+    private HttpRequest loginRequest() {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(CREDENTIALS))
+                .build();
+    }
+
+    private String login() throws Exception {
+        String body = client.send(loginRequest(), HttpResponse.BodyHandlers.ofString()).body();
+        return new ObjectMapper().readTree(body).get("jwt").asText();
+    }
+}
@@ -0,0 +1,21 @@
+package com.bcncgroup.testjava2025.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.bcncgroup.testjava2025.adapters.TestApplication;
+
+/**
+ * Load benchmark of the classic Tomcat platform-thread pool
+ * Run with: mvn test -P benchmark
+ */
+@SpringBootTest(classes = TestApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = { "spring.threads.virtual.enabled=false", "logging.level.root=WARN" })
+@DisplayName("Platform thread load benchmark")
+class PlatformThreadLoadBenchmarkTest extends ThreadModeLoadBenchmark {
+
+    @Override
+    String mode() {
+        return "platform";
+    }
+}
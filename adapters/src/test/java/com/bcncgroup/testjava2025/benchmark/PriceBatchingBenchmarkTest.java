@@ -0,0 +1,152 @@
+package com.bcncgroup.testjava2025.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bcncgroup.testjava2025.adapters.TestApplication;
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.ports.out.PriceRepository;
+import com.bcncgroup.testjava2025.infrastructure.adapter.BatchingPriceRepository;
+import com.bcncgroup.testjava2025.infrastructure.adapter.JpaPriceRepositoryAdapter;
+import com.bcncgroup.testjava2025.infrastructure.cache.BrandDictionary;
+import com.bcncgroup.testjava2025.infrastructure.conf.PersistenceConf;
+import com.bcncgroup.testjava2025.infrastructure.mapper.BrandMapperImpl;
+import com.bcncgroup.testjava2025.infrastructure.mapper.PriceMapper;
+import com.bcncgroup.testjava2025.infrastructure.mapper.PriceMapperImpl;
+import com.bcncgroup.testjava2025.infrastructure.repository.PriceJpaRepository;
+
+/**
+ * Draws the latency-vs-throughput curve of the JPA adapter with and without micro-batching
+ * Closed-loop clients look up random products for a fixed time; every batching window is measured at every client count
+ * Runs outside a test transaction so every lookup pays its real cost
+ * Run with: mvn test -P benchmark
+ */
+@Tag("benchmark")
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ContextConfiguration(classes = { TestApplication.class, PersistenceConf.class })
+@Import({ PriceMapperImpl.class, BrandMapperImpl.class, BrandDictionary.class })
+@DisplayName("Price micro-batching benchmark")
+class PriceBatchingBenchmarkTest {
+
+    private static final long FIRST_PRODUCT = 3_000_000L;
+    private static final int PRODUCTS = 10_000;
+    private static final int WINDOWS_PER_PRODUCT = 4;
+    private static final int[] CLIENTS = { 1, 4, 16, 64 };
+    // -1 runs the plain adapter, one query per lookup
+    private static final long[] WINDOWS_MICROS = { -1, 0, 200, 500, 1_000 };
+    private static final int MAX_BATCH_SIZE = 64;
+    private static final long RUN_MILLIS = 2_000;
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(2020, 1, 1, 0, 0, 0);
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PriceJpaRepository jpaRepository;
+    
+    @Autowired
+    private PriceMapper mapper;
+    
+    @BeforeEach
+    void seed() {
+        List<Object[]> rows = new ArrayList<>(PRODUCTS * WINDOWS_PER_PRODUCT);
+        for (long product = FIRST_PRODUCT; product < FIRST_PRODUCT + PRODUCTS; product++) {
+            for (int window = 0; window < WINDOWS_PER_PRODUCT; window++) {
+                LocalDateTime start = ORIGIN.plusDays(window * 30L);
+                LocalDateTime end = window == 0 ? ORIGIN.plusYears(1) : start.plusDays(10);
+                rows.add(new Object[] { 1L, Timestamp.valueOf(start), Timestamp.valueOf(end), window + 1, product, window,
+                        BigDecimal.valueOf(10 + window), "EUR" });
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO PRICES (BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+    
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM PRICES WHERE PRODUCT_ID >= ?", FIRST_PRODUCT);
+    }
+    
+    @Test
+    @DisplayName("Should report throughput and p50/p99 for every batching window and client count")
+    void latencyThroughputCurve() throws Exception {
+        JpaPriceRepositoryAdapter jpaAdapter = new JpaPriceRepositoryAdapter(jpaRepository, mapper);
+        // warm up both query paths
+        run(jpaAdapter, 4, 1_000);
+        BatchingPriceRepository warmup = new BatchingPriceRepository(jpaAdapter, 200, MAX_BATCH_SIZE, 30_000);
+        run(warmup, 16, 1_000);
+        
+        System.out.printf("%-10s %7s %10s %8s %8s %10s%n", "window", "clients", "lookups/s", "p50(us)", "p99(us)", "batch");
+        for (long window : WINDOWS_MICROS) {
+            for (int clients : CLIENTS) {
+                PriceRepository repository = window < 0 ? jpaAdapter
+                        : new BatchingPriceRepository(jpaAdapter, window, MAX_BATCH_SIZE, 30_000);
+                LatencyRecorder recorder = run(repository, clients, RUN_MILLIS);
+                String batch = "-";
+                if (repository instanceof BatchingPriceRepository batching) {
+                    batch = String.format("%.1f", batching.stats().meanBatchSize());
+                }
+                System.out.printf("%-10s %7d %10d %8d %8d %10s%n", window < 0 ? "off" : window + "us", clients,
+                        recorder.count() * 1000L / RUN_MILLIS, recorder.percentile(50) / 1000, recorder.percentile(99) / 1000, batch);
+                assertTrue(recorder.count() > 0);
+            }
+        }
+    }
+    
+    private static LatencyRecorder run(PriceRepository repository, int clients, long millis) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        try {
+            List<Future<LatencyRecorder>> results = new ArrayList<>();
+            for (int c = 0; c < clients; c++) {
+                int seed = c;
+                results.add(pool.submit(() -> {
+                    SplittableRandom random = new SplittableRandom(seed);
+                    LatencyRecorder recorder = new LatencyRecorder("client", 10_000);
+                    while (System.nanoTime() < deadline) {
+                        long product = FIRST_PRODUCT + random.nextInt(PRODUCTS);
+                        LocalDateTime date = ORIGIN.plusHours(random.nextInt(24 * 360));
+                        long start = System.nanoTime();
+                        List<Price> result = repository.findByDateProductAndBrand(date, product, 1L);
+                        recorder.record(System.nanoTime() - start);
+                        if (result.isEmpty()) {
+                            throw new IllegalStateException("every seeded product has a base price");
+                        }
+                    }
+                    return recorder;
+                }));
+            }
+            LatencyRecorder total = new LatencyRecorder("total", 100_000);
+            for (Future<LatencyRecorder> result : results) {
+                total.addAll(result.get());
+            }
+            return total;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
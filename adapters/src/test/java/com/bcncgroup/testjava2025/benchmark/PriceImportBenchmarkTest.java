@@ -0,0 +1,94 @@
+package com.bcncgroup.testjava2025.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bcncgroup.testjava2025.adapters.TestApplication;
+import com.bcncgroup.testjava2025.adapters.importer.PriceFileFormat;
+import com.bcncgroup.testjava2025.adapters.importer.PriceFileReader;
+import com.bcncgroup.testjava2025.domain.application.PriceImportService;
+import com.bcncgroup.testjava2025.domain.model.ImportPriceResult;
+import com.bcncgroup.testjava2025.infrastructure.adapter.JdbcPriceImportAdapter;
+import com.bcncgroup.testjava2025.infrastructure.conf.PersistenceConf;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Measures bulk import throughput from a generated CSV file
+ * Runs outside a test transaction so every chunk commits as in production
+ * Run with: mvn test -P benchmark
+ */
+@Tag("benchmark")
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ContextConfiguration(classes = { TestApplication.class, PersistenceConf.class })
+@Import(JdbcPriceImportAdapter.class)
+@DisplayName("Price import throughput benchmark")
+class PriceImportBenchmarkTest {
+
+    private static final long FIRST_PRODUCT = 2_000_000L;
+    private static final int ROWS = 500_000;
+    private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    
+    @Autowired
+    private JdbcPriceImportAdapter importAdapter;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @TempDir
+    private Path directory;
+    
+    @AfterEach
+    void cleanUp() {
+        // small deletes, a single one would keep the whole undo log of the in-memory database
+        for (long product = FIRST_PRODUCT; product < FIRST_PRODUCT + ROWS / 4; product += 10_000) {
+            jdbcTemplate.update("DELETE FROM PRICES WHERE PRODUCT_ID >= ? AND PRODUCT_ID < ?", product, product + 10_000);
+        }
+    }
+    
+    @Test
+    @DisplayName("Should report rows per second for a CSV import")
+    void importThroughput() throws IOException {
+        Path file = directory.resolve("prices.csv");
+        LocalDateTime origin = LocalDateTime.of(2020, 1, 1, 0, 0, 0);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < ROWS; i++) {
+                LocalDateTime start = origin.plusDays(i % 300);
+                writer.write((i % 3 + 1) + "," + FORMAT.format(start) + "," + FORMAT.format(start.plusDays(30)) + ","
+                        + (i % 4 + 1) + "," + (FIRST_PRODUCT + i / 4) + "," + (i % 4) + "," + (10 + i % 90) + ".95,EUR\n");
+            }
+        }
+        
+        PriceImportService importService = new PriceImportService(importAdapter, event -> { }, Optional.empty(), 5_000);
+        PriceFileReader reader = new PriceFileReader(new ObjectMapper());
+        ImportPriceResult result;
+        try (InputStream input = Files.newInputStream(file)) {
+            result = importService.importPrices(reader.read(input, PriceFileFormat.CSV));
+        }
+        
+        System.out.printf("import: %d rows in %d ms, %d rows/s%n", result.imported(), result.elapsedMillis(), result.rowsPerSecond());
+        assertEquals(ROWS, result.imported());
+    }
+}
@@ -0,0 +1,148 @@
+package com.bcncgroup.testjava2025.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.bcncgroup.testjava2025.domain.model.Brand;
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.infrastructure.index.ColumnarPriceIndex;
+import com.bcncgroup.testjava2025.infrastructure.index.PriceIntervalIndex;
+
+/**
+ * Compares the memory footprint of the heap interval index and the off-heap columnar index
+ * Builds both from the same synthetic catalog, measures the retained heap after a full GC, the off-heap bytes
+ * and the time of a full GC while each index is alive, then the lookup latency of both
+ * Run with: mvn test -P benchmark
+ */
+@Tag("benchmark")
+@DisplayName("Price index footprint benchmark")
+class PriceIndexFootprintBenchmarkTest {
+
+    private static final int HEAP_ROWS = 1_000_000;
+    private static final int COLUMNAR_ROWS = 10_000_000;
+    private static final int WINDOWS_PER_PRODUCT = 4;
+    private static final int LOOKUPS = 200_000;
+    private static final Brand ZARA = new Brand(1L, "ZARA", "Marca de moda española");
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(2020, 1, 1, 0, 0, 0);
+
+    @Test
+    @DisplayName("Should report heap and off-heap bytes per row and full GC time for both indexes")
+    void footprint() {
+        long baseline = retainedHeap();
+        long baselineGc = fullGcMillis();
+        List<LatencyRecorder> latencies = compareSameCatalog(baseline);
+
+        long beforeColumnar = retainedHeap();
+        ColumnarPriceIndex large = columnar(COLUMNAR_ROWS);
+        long columnarHeapBytes = retainedHeap() - beforeColumnar;
+        long columnarGc = fullGcMillis();
+        System.out.printf("columnar index: %,d rows, %,d heap bytes, %,d off-heap bytes (%d bytes/row), full GC %d ms (empty heap %d ms)%n",
+                large.size(), columnarHeapBytes, large.offHeapBytes(), large.offHeapBytes() / COLUMNAR_ROWS, columnarGc, baselineGc);
+        latencies.forEach(recorder -> System.out.println(recorder.summary()));
+
+        assertEquals(COLUMNAR_ROWS, large.size());
+    }
+
+    /**
+     * Measures the heap index and the lookups of both indexes on the same catalog; the heap index is
+     * unreachable once this method returns.
+     */
+    private static List<LatencyRecorder> compareSameCatalog(long baseline) {
+        List<Price> prices = new ArrayList<>(HEAP_ROWS);
+        for (int row = 0; row < HEAP_ROWS; row++) {
+            prices.add(price(row));
+        }
+        PriceIntervalIndex heapIndex = PriceIntervalIndex.of(prices);
+        prices.clear();
+        ((ArrayList<Price>) prices).trimToSize();
+        long heapBytes = retainedHeap() - baseline;
+        long heapGc = fullGcMillis();
+        System.out.printf("heap index:     %,d rows, %,d heap bytes (%d bytes/row), full GC %d ms%n",
+                heapIndex.size(), heapBytes, heapBytes / HEAP_ROWS, heapGc);
+
+        ColumnarPriceIndex columnar = columnar(HEAP_ROWS);
+        assertEquals(heapIndex.findCovering(ORIGIN.plusDays(3), 1_000_100L, 1L), columnar.findCovering(ORIGIN.plusDays(3), 1_000_100L, 1L));
+        return List.of(
+                lookups("heap lookup", (date, product) -> heapIndex.findCovering(date, product, 1L)),
+                lookups("columnar lookup", (date, product) -> columnar.findCovering(date, product, 1L)));
+    }
+
+    private static ColumnarPriceIndex columnar(int rows) {
+        ColumnarPriceIndex.Builder builder = ColumnarPriceIndex.builder(rows);
+        for (int row = 0; row < rows; row++) {
+            builder.add(price(row));
+        }
+        return builder.build(id -> ZARA);
+    }
+
+    /**
+     * Rows come in index order: product by product, windows by start date, one long base window per product.
+     * Every row gets its own boxed and date objects, as a JDBC or JPA read does.
+     */
+    private static Price price(int row) {
+        int window = row % WINDOWS_PER_PRODUCT;
+        LocalDateTime start = ORIGIN.plusDays(window * 30L);
+        LocalDateTime end = window == 0 ? ORIGIN.plusYears(1) : start.plusDays(10);
+        return new Price(Long.valueOf(row + 1_000_000L), ZARA, start, end, window + 1, Long.valueOf(row / WINDOWS_PER_PRODUCT + 1_000_000L),
+                window, new BigDecimal((10 + window) + ".95"), new String(new char[] { 'E', 'U', 'R' }));
+    }
+
+    private static LatencyRecorder lookups(String name, Lookup index) {
+        SplittableRandom random = new SplittableRandom(7);
+        LatencyRecorder recorder = new LatencyRecorder(name, LOOKUPS);
+        for (int i = 0; i < LOOKUPS * 2; i++) {
+            long product = 1_000_000L + random.nextInt(HEAP_ROWS / WINDOWS_PER_PRODUCT);
+            LocalDateTime date = ORIGIN.plusHours(random.nextInt(24 * 360));
+            long start = System.nanoTime();
+            List<Price> result = index.findCovering(date, product);
+            // first half warms up
+            if (i >= LOOKUPS) {
+                recorder.record(System.nanoTime() - start);
+            }
+            if (result.isEmpty()) {
+                throw new IllegalStateException("every product has a base price");
+            }
+        }
+        return recorder;
+    }
+
+    private static long retainedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long fullGcMillis() {
+        long before = gcTime();
+        long start = System.nanoTime();
+        System.gc();
+        long wall = (System.nanoTime() - start) / 1_000_000;
+        long collectorTime = gcTime() - before;
+        return Math.max(wall, collectorTime);
+    }
+
+    private static long gcTime() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, collector.getCollectionTime());
+        }
+        return total;
+    }
+
+    @FunctionalInterface
+    private interface Lookup {
+        List<Price> findCovering(LocalDateTime applicationDate, long productId);
+    }
+}
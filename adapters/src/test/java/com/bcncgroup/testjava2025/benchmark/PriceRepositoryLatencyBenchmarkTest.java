@@ -0,0 +1,147 @@
+package com.bcncgroup.testjava2025.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bcncgroup.testjava2025.adapters.TestApplication;
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.infrastructure.adapter.InMemoryPriceRepositoryAdapter;
+import com.bcncgroup.testjava2025.infrastructure.adapter.JdbcPriceRepositoryAdapter;
+import com.bcncgroup.testjava2025.infrastructure.adapter.JpaPriceRepositoryAdapter;
+import com.bcncgroup.testjava2025.infrastructure.cache.BrandDictionary;
+import com.bcncgroup.testjava2025.infrastructure.conf.PersistenceConf;
+import com.bcncgroup.testjava2025.infrastructure.mapper.BrandMapperImpl;
+import com.bcncgroup.testjava2025.infrastructure.mapper.PriceMapper;
+import com.bcncgroup.testjava2025.infrastructure.mapper.PriceMapperImpl;
+import com.bcncgroup.testjava2025.infrastructure.repository.PriceJpaRepository;
+
+/**
+ * Compares lookup latency of the JPA adapter, the plain JDBC adapter and the in-memory interval index
+ * Seeds a synthetic catalog and prints p50/p99 for every path
+ * Runs outside a test transaction so every JPA lookup pays its real cost
+ * Run with: mvn test -P benchmark
+ */
+@Tag("benchmark")
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ContextConfiguration(classes = { TestApplication.class, PersistenceConf.class })
+@Import({ PriceMapperImpl.class, BrandMapperImpl.class, BrandDictionary.class })
+@DisplayName("PriceRepository latency benchmark")
+class PriceRepositoryLatencyBenchmarkTest {
+
+    private static final long FIRST_PRODUCT = 1_000_000L;
+    private static final int PRODUCTS = 10_000;
+    private static final int WINDOWS_PER_PRODUCT = 4;
+    private static final int WARMUP = 5_000;
+    private static final int LOOKUPS = 20_000;
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(2020, 1, 1, 0, 0, 0);
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PriceJpaRepository jpaRepository;
+    
+    @Autowired
+    private PriceMapper mapper;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private BrandDictionary brandDictionary;
+    
+    @BeforeEach
+    void seed() {
+        List<Object[]> rows = new ArrayList<>(PRODUCTS * WINDOWS_PER_PRODUCT);
+        for (long product = FIRST_PRODUCT; product < FIRST_PRODUCT + PRODUCTS; product++) {
+            for (int window = 0; window < WINDOWS_PER_PRODUCT; window++) {
+                LocalDateTime start = ORIGIN.plusDays(window * 30L);
+                LocalDateTime end = window == 0 ? ORIGIN.plusYears(1) : start.plusDays(10);
+                rows.add(new Object[] { 1L, Timestamp.valueOf(start), Timestamp.valueOf(end), window + 1, product, window,
+                        BigDecimal.valueOf(10 + window), "EUR" });
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO PRICES (BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+    
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM PRICES WHERE PRODUCT_ID >= ?", FIRST_PRODUCT);
+    }
+    
+    @Test
+    @DisplayName("Should report p99 latency for JPA, JDBC and in-memory lookups")
+    void compareLatency() {
+        JpaPriceRepositoryAdapter jpaAdapter = new JpaPriceRepositoryAdapter(jpaRepository, mapper);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        // same boundary PriceService opens around the JPA adapter
+        Lookup transactionalJpa = (date, product, brand) -> transaction
+                .execute(status -> jpaAdapter.findByDateProductAndBrand(date, product, brand));
+        JdbcPriceRepositoryAdapter jdbcAdapter = new JdbcPriceRepositoryAdapter(jdbcTemplate, brandDictionary);
+        InMemoryPriceRepositoryAdapter memoryAdapter = new InMemoryPriceRepositoryAdapter(jpaRepository, mapper);
+        memoryAdapter.refresh();
+        
+        LatencyRecorder jpa = run("jpa", transactionalJpa);
+        LatencyRecorder jdbc = run("jdbc", jdbcAdapter::findByDateProductAndBrand);
+        LatencyRecorder memory = run("memory", memoryAdapter::findByDateProductAndBrand);
+        
+        System.out.println(jpa.summary());
+        System.out.println(jdbc.summary());
+        System.out.println(memory.summary());
+        
+        assertEquals(LOOKUPS, memory.count());
+    }
+    
+    private LatencyRecorder run(String name, Lookup repository) {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < WARMUP; i++) {
+            lookup(repository, random);
+        }
+        LatencyRecorder recorder = new LatencyRecorder(name, LOOKUPS);
+        random = new SplittableRandom(7);
+        for (int i = 0; i < LOOKUPS; i++) {
+            long start = System.nanoTime();
+            List<Price> result = lookup(repository, random);
+            recorder.record(System.nanoTime() - start);
+            if (result.isEmpty()) {
+                throw new IllegalStateException("every seeded product has a base price");
+            }
+        }
+        return recorder;
+    }
+    
+    private static List<Price> lookup(Lookup repository, SplittableRandom random) {
+        long product = FIRST_PRODUCT + random.nextInt(PRODUCTS);
+        LocalDateTime date = ORIGIN.plusHours(random.nextInt(24 * 360));
+        return repository.findByDateProductAndBrand(date, product, 1L);
+    }
+    
+    @FunctionalInterface
+    private interface Lookup {
+        List<Price> findByDateProductAndBrand(LocalDateTime applicationDate, Long productId, Long brandId);
+    }
+}
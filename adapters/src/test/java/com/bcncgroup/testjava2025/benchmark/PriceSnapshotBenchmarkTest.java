@@ -0,0 +1,136 @@
+package com.bcncgroup.testjava2025.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bcncgroup.testjava2025.adapters.TestApplication;
+import com.bcncgroup.testjava2025.domain.model.PriceSnapshotResult;
+import com.bcncgroup.testjava2025.infrastructure.adapter.FilePriceSnapshotAdapter;
+import com.bcncgroup.testjava2025.infrastructure.adapter.OffHeapPriceRepositoryAdapter;
+import com.bcncgroup.testjava2025.infrastructure.cache.BrandDictionary;
+import com.bcncgroup.testjava2025.infrastructure.conf.PersistenceConf;
+import com.bcncgroup.testjava2025.infrastructure.index.PriceIndexSnapshot;
+import com.bcncgroup.testjava2025.infrastructure.mapper.BrandMapperImpl;
+
+/**
+ * Compares a cold start of the off-heap index, streamed from the PRICES table, with a warm start that maps the
+ * snapshot file written by the previous run
+ * Runs outside a test transaction so the inserted rows are visible to the streaming connection, on a file database so
+ * that the tables of the larger catalog do not have to fit in the heap
+ * Run with: mvn test -P benchmark
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = { "spring.datasource.url=jdbc:h2:file:./target/price-snapshot-benchmark", "spring.sql.init.mode=always" })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ContextConfiguration(classes = { TestApplication.class, PersistenceConf.class })
+@Import({ BrandMapperImpl.class, BrandDictionary.class })
+@DisplayName("Price snapshot warm start benchmark")
+class PriceSnapshotBenchmarkTest {
+
+    private static final long FIRST_PRODUCT = 3_000_000L;
+    // -Dbenchmark.rows=10000000 for the larger catalog
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+    private static final int INSERT_BATCH = 10_000;
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(2020, 1, 1, 0, 0, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BrandDictionary brandDictionary;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @TempDir
+    private Path directory;
+
+    @AfterEach
+    void cleanUp() {
+        // small deletes, a single one would keep the whole undo log of the in-memory database
+        for (long product = FIRST_PRODUCT; product < FIRST_PRODUCT + ROWS / 4; product += 10_000) {
+            jdbcTemplate.update("DELETE FROM PRICES WHERE PRODUCT_ID >= ? AND PRODUCT_ID < ?", product, product + 10_000);
+        }
+    }
+
+    @Test
+    @DisplayName("Should report the time to serve the first lookup from the database and from the snapshot")
+    void warmStart() throws IOException {
+        insertPrices();
+        Path file = directory.resolve("price-index.snapshot");
+
+        FilePriceSnapshotAdapter coldSnapshot = new FilePriceSnapshotAdapter(jdbcTemplate, file.toString(), 0);
+        long coldMillis = firstLookupMillis(new OffHeapPriceRepositoryAdapter(jdbcTemplate, brandDictionary, Optional.of(coldSnapshot)));
+        PriceSnapshotResult written = coldSnapshot.write().orElseThrow();
+
+        // a new connection for every query, as after a restart: H2 answers a repeated query of a session from its cache
+        JdbcTemplate restartedJdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(url, "sa", "password"));
+        FilePriceSnapshotAdapter warmSnapshot = new FilePriceSnapshotAdapter(restartedJdbcTemplate, file.toString(), 0);
+        long fingerprintStart = System.nanoTime();
+        long fingerprint = warmSnapshot.fingerprint();
+        long fingerprintMillis = (System.nanoTime() - fingerprintStart) / 1_000_000;
+        long mapStart = System.nanoTime();
+        assertNotNull(warmSnapshot.load(fingerprint, brandDictionary::toBrand, () -> { }));
+        long mapMillis = (System.nanoTime() - mapStart) / 1_000_000;
+        long warmMillis = firstLookupMillis(new OffHeapPriceRepositoryAdapter(jdbcTemplate, brandDictionary, Optional.of(warmSnapshot)));
+        // the check that runs on a background thread after the warm start
+        PriceIndexSnapshot.Mapped mapped = PriceIndexSnapshot.map(file, brandDictionary::toBrand);
+        long verifyStart = System.nanoTime();
+        PriceIndexSnapshot.verify(mapped.index(), mapped.checksums());
+        long verifyMillis = (System.nanoTime() - verifyStart) / 1_000_000;
+        mapped.index().release();
+
+        System.out.printf("cold start (stream PRICES):  %,d rows, first lookup after %d ms%n", ROWS + 4, coldMillis);
+        System.out.printf("snapshot write:              %,d bytes in %d ms%n", written.bytes(), written.elapsedMillis());
+        System.out.printf("warm start (map snapshot):   first lookup after %d ms (fingerprint query %d ms, map %d ms)%n",
+                warmMillis, fingerprintMillis, mapMillis);
+        System.out.printf("chunk verification:          %d ms, in the background%n", verifyMillis);
+        assertEquals(ROWS + 4, written.rows());
+    }
+
+    private static long firstLookupMillis(OffHeapPriceRepositoryAdapter adapter) {
+        long start = System.nanoTime();
+        adapter.refresh();
+        assertEquals(1, adapter.findByDateProductAndBrand(ORIGIN.plusDays(1), FIRST_PRODUCT, 1L).size());
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private void insertPrices() {
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < ROWS; i++) {
+            LocalDateTime start = ORIGIN.plusDays((i % 4) * 30L);
+            batch.add(new Object[] { Timestamp.valueOf(start), Timestamp.valueOf(start.plusDays(10)), i % 4 + 1,
+                    FIRST_PRODUCT + i / 4, i % 4, (10 + i % 90) + ".95" });
+            if (batch.size() == INSERT_BATCH) {
+                jdbcTemplate.batchUpdate("INSERT INTO PRICES (BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR) "
+                        + "VALUES (1, ?, ?, ?, ?, ?, ?, 'EUR')", batch);
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.bcncgroup.testjava2025.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Drives the price lookup endpoint of a running server with many concurrent clients
+ * Every client keeps one request in flight; prints throughput, p99 and failed requests
+ * Subclasses start the server in the classic thread-pool mode or in the virtual-thread mode
+ * Run with: mvn test -P benchmark
+ */
+@Tag("benchmark")
+abstract class ThreadModeLoadBenchmark {
+
+    private static final int REQUESTS_PER_CLIENT = 3;
+    private static final String LOOKUP = "{\"startDate\":\"2020-06-14 16:00:00\",\"productId\":35455,\"brandId\":1}";
+    
+    @LocalServerPort
+    private int port;
+    
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
+    
+    /**
+     * Gets the name printed with the results.
+     * 
+     * @return the thread mode name
+     */
+    abstract String mode();
+    
+    @ParameterizedTest
+    @ValueSource(ints = { 1_000, 5_000, 10_000 })
+    @DisplayName("Should report throughput and p99 latency per number of concurrent clients")
+    void concurrentClients(int clients) throws Exception {
+        String token = login();
+        HttpRequest lookup = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/price/findByDateProductIdentifierBrand"))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .POST(HttpRequest.BodyPublishers.ofString(LOOKUP))
+                .build();
+        
+        int total = clients * REQUESTS_PER_CLIENT;
+        AtomicLongArray latencies = new AtomicLongArray(total);
+        AtomicInteger failed = new AtomicInteger();
+        Semaphore inFlight = new Semaphore(clients);
+        CountDownLatch done = new CountDownLatch(total);
+        
+        long start = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            inFlight.acquire();
+            int index = i;
+            long sent = System.nanoTime();
+            client.sendAsync(lookup, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                latencies.set(index, System.nanoTime() - sent);
+                if (error != null || response.statusCode() != 200) {
+                    failed.incrementAndGet();
+                }
+                inFlight.release();
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.MINUTES), "requests did not finish");
+        long elapsed = System.nanoTime() - start;
+        
+        LatencyRecorder recorder = new LatencyRecorder(mode() + " x" + clients, total);
+        for (int i = 0; i < total; i++) {
+            recorder.record(latencies.get(i));
+        }
+        System.out.printf("%s throughput=%d req/s failed=%d%n", recorder.summary(), total * 1_000_000_000L / elapsed, failed.get());
+    }
+    
+    private String login() throws Exception {
+        HttpRequest login = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"test\",\"password\":\"test\"}"))
+                .build();
+        String body = client.send(login, HttpResponse.BodyHandlers.ofString()).body();
+        return new ObjectMapper().readTree(body).get("jwt").asText();
+    }
+}
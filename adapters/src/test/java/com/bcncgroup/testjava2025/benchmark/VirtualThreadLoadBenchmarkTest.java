@@ -0,0 +1,25 @@
+package com.bcncgroup.testjava2025.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.bcncgroup.testjava2025.adapters.TestApplication;
+
+/**
+ * Load benchmark of the virtual-thread mode, compare with PlatformThreadLoadBenchmarkTest
+ * Only runs on Java 21 or later, older runtimes ignore spring.threads.virtual.enabled
+ * Run with: mvn test -P benchmark
+ */
+@EnabledForJreRange(min = JRE.JAVA_21, disabledReason = "virtual threads need Java 21, older runtimes would run the platform pool again")
+@SpringBootTest(classes = TestApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = { "spring.threads.virtual.enabled=true", "logging.level.root=WARN" })
+@DisplayName("Virtual thread load benchmark")
+class VirtualThreadLoadBenchmarkTest extends ThreadModeLoadBenchmark {
+
+    @Override
+    String mode() {
+        return "virtual";
+    }
+}
@@ -0,0 +1,170 @@
+package com.bcncgroup.testjava2025.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.handler.MappedInterceptor;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import com.bcncgroup.testjava2025.adapters.config.AdaptiveConcurrencyLimit;
+import com.bcncgroup.testjava2025.adapters.config.ConcurrencyLimitConfig;
+import com.bcncgroup.testjava2025.adapters.config.ConcurrencyLimitInterceptor;
+import com.bcncgroup.testjava2025.adapters.controller.ExceptionHandlerControllerAdvice;
+import com.bcncgroup.testjava2025.adapters.controller.PriceController;
+import com.bcncgroup.testjava2025.adapters.mapper.PriceFindInDTOMapper;
+import com.bcncgroup.testjava2025.adapters.mapper.PriceFindOutDTOMapper;
+import com.bcncgroup.testjava2025.domain.ports.in.FindEffectivePriceUseCase;
+import com.bcncgroup.testjava2025.domain.ports.in.FindPriceLookupUseCase;
+import com.bcncgroup.testjava2025.domain.ports.in.FindPriceUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Checks the adaptive concurrency limit and the 503 with Retry-After of the limit interceptor
+ */
+@DisplayName("Concurrency limit Tests")
+class ConcurrencyLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final String LOOKUP = "{\"startDate\":\"2020-06-14 16:00:00\",\"productId\":35455,\"brandId\":1}";
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(20);
+
+    @Test
+    @DisplayName("Should reject once the limit is in flight")
+    void tryAcquire_KO_LimitReached() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("test", 2, 1, 10);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+
+        limit.onSuccess(FAST);
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Should shrink the limit when latency grows and grow it back when it recovers")
+    void limit_FollowsLatency() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("test", 20, 4, 200);
+        runBusy(limit, FAST, 100);
+        int baseline = limit.getLimit();
+
+        runBusy(limit, SLOW, 50);
+        int congested = limit.getLimit();
+
+        runBusy(limit, FAST, 200);
+
+        assertTrue(congested < baseline, congested + " should be below " + baseline);
+        assertTrue(limit.getLimit() > congested, limit.getLimit() + " should be above " + congested);
+    }
+
+    @Test
+    @DisplayName("Should back the limit off when requests are dropped")
+    void onDropped_BacksOff() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("test", 20, 4, 200);
+        for (int i = 0; i < 10; i++) {
+            limit.tryAcquire();
+            limit.onDropped();
+        }
+
+        assertEquals(6, limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should answer 503 with Retry-After over the limit and admit requests again once released")
+    void interceptor_KO_503RetryAfter() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("price", 1, 1, 1);
+        Counter rejected = registry.counter("http.concurrency.rejected");
+        PriceController controller = new PriceController(mock(FindPriceUseCase.class), mock(FindEffectivePriceUseCase.class),
+                mock(FindPriceLookupUseCase.class), mock(PriceFindInDTOMapper.class), mock(PriceFindOutDTOMapper.class),
+                Optional.empty(), new ObjectMapper(), 3600);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new ExceptionHandlerControllerAdvice(registry, 2))
+                .addMappedInterceptors(new String[] { "/price/**" }, new ConcurrencyLimitInterceptor(limit, rejected))
+                .build();
+
+        assertTrue(limit.tryAcquire());
+        mockMvc.perform(post("/price/findByDateProductIdentifierBrand"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.cause").value("server.overloaded"));
+        assertEquals(1.0, rejected.count());
+
+        limit.onSuccess(FAST);
+        mockMvc.perform(post("/price/findByDateProductIdentifierBrand")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(LOOKUP))
+                .andExpect(status().isOk());
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should count bulk requests in their own partition instead of the price one")
+    void config_BulkPartition() throws Exception {
+        ConcurrencyLimitConfig config = new ConcurrencyLimitConfig(20, 4, 200, 4, 1, 40, 2, 1, 4, new SimpleMeterRegistry());
+        MappedInterceptors registry = new MappedInterceptors();
+        config.addInterceptors(registry);
+        List<MappedInterceptor> interceptors = registry.mapped();
+
+        for (String path : List.of("/price/findByDateProductIdentifierBrand", "/price/export", "/price/import", "/auth/login")) {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+            ServletRequestPathUtils.parseAndCache(request);
+            for (MappedInterceptor interceptor : interceptors) {
+                if (interceptor.matches(request)) {
+                    interceptor.preHandle(request, new MockHttpServletResponse(), null);
+                }
+            }
+        }
+
+        assertEquals(1, config.priceConcurrencyLimit().getInFlight());
+        assertEquals(2, config.bulkConcurrencyLimit().getInFlight());
+        assertEquals(1, config.loginConcurrencyLimit().getInFlight());
+    }
+
+    /**
+     * Exposes the interceptors registered by a WebMvcConfigurer.
+     */
+    private static final class MappedInterceptors extends InterceptorRegistry {
+
+        List<MappedInterceptor> mapped() {
+            return getInterceptors().stream().map(MappedInterceptor.class::cast).toList();
+        }
+    }
+
+    /**
+     * Keeps the whole limit in flight and finishes requests with the given latency.
+     */
+    private static void runBusy(AdaptiveConcurrencyLimit limit, long rttNanos, int requests) {
+        for (int i = 0; i < requests; i++) {
+            while (limit.tryAcquire()) {
+                // fill every free slot
+            }
+            limit.onSuccess(rttNanos);
+        }
+        while (limit.getInFlight() > 0) {
+            limit.onSuccess(rttNanos);
+        }
+    }
+}
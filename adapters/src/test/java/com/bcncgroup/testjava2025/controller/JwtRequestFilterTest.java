@@ -0,0 +1,120 @@
+package com.bcncgroup.testjava2025.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import com.bcncgroup.testjava2025.adapters.config.JwtRequestFilter;
+import com.bcncgroup.testjava2025.adapters.config.JwtUtil;
+import com.bcncgroup.testjava2025.adapters.config.TokenRevocationList;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Checks the claims-based and the lookup authentication modes of the JWT filter
+ * The claims mode must not load the user on authenticated requests
+ */
+@DisplayName("JwtRequestFilter Tests")
+class JwtRequestFilterTest {
+
+    private static final String SECRET = "myVerySecretKeyForJWTTokenThatShouldBeLongEnoughAndSecure123456789";
+
+    private final UserDetails user = User.withUsername("test").password("x")
+            .authorities(List.of(new SimpleGrantedAuthority("ROLE_PRICES"))).build();
+
+    private JwtUtil jwtUtil;
+    private TokenRevocationList revocationList;
+    private UserDetailsService userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 60L, 100);
+        revocationList = new TokenRevocationList(true, 60);
+        userDetailsService = mock(UserDetailsService.class);
+        when(userDetailsService.loadUserByUsername("test")).thenReturn(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should authenticate from the token claims without loading the user")
+    void claimsMode_NoUserLookup() throws Exception {
+        String token = jwtUtil.generateToken(user);
+
+        Authentication authentication = filter("claims", token);
+
+        assertNotNull(authentication);
+        assertEquals("test", authentication.getName());
+        assertEquals(List.of(new SimpleGrantedAuthority("ROLE_PRICES")), List.copyOf(authentication.getAuthorities()));
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    @DisplayName("Should load the user on every request in lookup mode")
+    void lookupMode_UserLoaded() throws Exception {
+        String token = jwtUtil.generateToken(user);
+
+        assertNotNull(filter("lookup", token));
+        assertNotNull(filter("lookup", token));
+
+        verify(userDetailsService, times(2)).loadUserByUsername("test");
+    }
+
+    @Test
+    @DisplayName("Should reject a token revoked after it was issued")
+    void claimsMode_RevokedTokenRejected() throws Exception {
+        String token = jwtUtil.generateToken(user);
+        assertNotNull(filter("claims", token));
+        // the list compares milliseconds strictly, a token of the same millisecond is still valid
+        Thread.sleep(2);
+
+        revocationList.revokeUser("test");
+
+        assertNull(filter("claims", token));
+    }
+
+    @Test
+    @DisplayName("Should accept a token issued right after the user was revoked")
+    void claimsMode_TokenAfterRevocationAccepted() throws Exception {
+        String revoked = jwtUtil.generateToken(user);
+        Thread.sleep(2);
+        revocationList.revokeUser("test");
+        Thread.sleep(2);
+
+        assertNull(filter("claims", revoked));
+        assertNotNull(filter("claims", jwtUtil.generateToken(user)));
+    }
+
+    private Authentication filter(String mode, String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        JwtRequestFilter filter = new JwtRequestFilter(userDetailsService, jwtUtil, revocationList, new SimpleMeterRegistry(), mode);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilterInternal(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
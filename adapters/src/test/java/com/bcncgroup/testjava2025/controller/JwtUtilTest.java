@@ -0,0 +1,70 @@
+package com.bcncgroup.testjava2025.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+
+import com.bcncgroup.testjava2025.adapters.config.JwtUtil;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+
+/**
+ * Checks token verification through the reusable parser and the verified-token cache
+ */
+@DisplayName("JwtUtil Tests")
+class JwtUtilTest {
+
+    private static final String SECRET = "myVerySecretKeyForJWTTokenThatShouldBeLongEnoughAndSecure123456789";
+
+    @Test
+    @DisplayName("Should answer a repeated token from the cache with the same claims")
+    void verifyToken_RepeatedTokenCached() {
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 60L, 100);
+        String token = jwtUtil.generateToken("test");
+
+        assertEquals("test", jwtUtil.extractUsername(token));
+        assertTrue(jwtUtil.validateToken(token, User.withUsername("test").password("x").authorities(List.of()).build()));
+        // same Claims instance: the second call did not parse the token again
+        assertTrue(jwtUtil.verifyToken(token) == jwtUtil.verifyToken(token));
+    }
+
+    @Test
+    @DisplayName("Should parse the token on every call when the cache size is 0")
+    void verifyToken_CacheDisabled() {
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 60L, 0);
+        String token = jwtUtil.generateToken("test");
+
+        assertEquals("test", jwtUtil.extractUsername(token));
+        assertNotSame(jwtUtil.verifyToken(token), jwtUtil.verifyToken(token));
+    }
+
+    @Test
+    @DisplayName("Should reject a token signed with another key even after a valid one was cached")
+    void verifyToken_TamperedTokenRejected() {
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 60L, 100);
+        JwtUtil other = new JwtUtil(SECRET.replace('m', 'n'), 60L, 100);
+        jwtUtil.verifyToken(jwtUtil.generateToken("test"));
+
+        assertThrows(JwtException.class, () -> jwtUtil.verifyToken(other.generateToken("test")));
+    }
+
+    @Test
+    @DisplayName("Should stop answering a cached token once it expires")
+    void verifyToken_ExpiredTokenNotServedFromCache() throws InterruptedException {
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 1L, 100);
+        String token = jwtUtil.generateToken("test");
+        jwtUtil.verifyToken(token);
+
+        Thread.sleep(1100);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtUtil.verifyToken(token));
+    }
+}
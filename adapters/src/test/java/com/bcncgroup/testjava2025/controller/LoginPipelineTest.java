@@ -0,0 +1,88 @@
+package com.bcncgroup.testjava2025.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.bcncgroup.testjava2025.adapters.config.LoginBulkhead;
+import com.bcncgroup.testjava2025.adapters.config.SecurityConfig;
+import com.bcncgroup.testjava2025.adapters.config.UserDetailsServiceImpl;
+import com.bcncgroup.testjava2025.domain.exception.LogicException;
+import com.bcncgroup.testjava2025.domain.manager.PasswordMamanger;
+import com.bcncgroup.testjava2025.domain.model.User;
+import com.bcncgroup.testjava2025.infrastructure.adapter.JpaUserRepositoryAdapter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Checks the login bulkhead rejection and the upgrade of legacy password hashes on login
+ */
+@DisplayName("Login pipeline Tests")
+class LoginPipelineTest {
+
+    @Test
+    @DisplayName("Should reject a login with 503 when every thread is busy and the queue is full")
+    void bulkhead_KO_Saturated() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LoginBulkhead bulkhead = new LoginBulkhead(1, 1, registry);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            CompletableFuture<Boolean> running = bulkhead.submit(() -> await(release));
+            CompletableFuture<Boolean> queued = bulkhead.submit(() -> await(release));
+            
+            LogicException exception = assertThrows(LogicException.class, () -> bulkhead.submit(() -> true));
+            
+            assertEquals(503, exception.getCode());
+            assertEquals("login.overloaded", exception.getMessage());
+            assertEquals(1.0, registry.get("auth.login.rejected").counter().count());
+            release.countDown();
+            assertTrue(running.get() && queued.get());
+        } finally {
+            release.countDown();
+            bulkhead.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should accept a legacy SHA-256 hash and store a bcrypt hash after the login")
+    void login_OK_LegacyHashUpgraded() {
+        PasswordEncoder encoder = new SecurityConfig(null, null).passwordEncoder(4);
+        JpaUserRepositoryAdapter users = mock(JpaUserRepositoryAdapter.class);
+        when(users.findByUsername("test")).thenReturn(new User("test", new PasswordMamanger().encode("test")));
+        UserDetailsServiceImpl userDetailsService = new UserDetailsServiceImpl(users);
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+        provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsPasswordService(userDetailsService);
+
+        provider.authenticate(new UsernamePasswordAuthenticationToken("test", "test"));
+
+        ArgumentCaptor<String> upgraded = ArgumentCaptor.forClass(String.class);
+        verify(users).updatePassword(eq("test"), upgraded.capture());
+        assertTrue(upgraded.getValue().startsWith("{bcrypt}"));
+        assertTrue(encoder.matches("test", upgraded.getValue()));
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            latch.await();
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
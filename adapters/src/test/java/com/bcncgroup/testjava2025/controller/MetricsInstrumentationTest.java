@@ -0,0 +1,76 @@
+package com.bcncgroup.testjava2025.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import com.bcncgroup.testjava2025.adapters.config.JwtRequestFilter;
+import com.bcncgroup.testjava2025.adapters.config.JwtUtil;
+import com.bcncgroup.testjava2025.adapters.config.TokenRevocationList;
+import com.bcncgroup.testjava2025.adapters.controller.ExceptionHandlerControllerAdvice;
+import com.bcncgroup.testjava2025.domain.contant.MessageConstant;
+import com.bcncgroup.testjava2025.domain.exception.LogicException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Checks the error counters and the JWT filter timers
+ * Uses a simple meter registry, without application context
+ */
+@DisplayName("Metrics instrumentation Tests")
+class MetricsInstrumentationTest {
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should count logic exceptions by code and message")
+    void logicException_Counted() {
+        ExceptionHandlerControllerAdvice advice = new ExceptionHandlerControllerAdvice(registry, 1);
+
+        advice.handleLogicException(new LogicException(MessageConstant.PRICE_NOT_FOUND, 404));
+        advice.handleLogicException(new LogicException(MessageConstant.PRICE_NOT_FOUND, 404));
+        advice.handleLogicException(new LogicException(MessageConstant.FIND_PRICES_ERROR, 500));
+
+        assertEquals(2.0, registry.get("logic.exceptions").tag("code", "404").tag("message", MessageConstant.PRICE_NOT_FOUND)
+                .counter().count());
+        assertEquals(1.0, registry.get("logic.exceptions").tag("code", "500").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should time the JWT filter by outcome")
+    void jwtFilter_TimedByOutcome() throws Exception {
+        JwtUtil jwtUtil = mock(JwtUtil.class);
+        when(jwtUtil.verifyToken("broken")).thenThrow(new IllegalArgumentException("broken"));
+        JwtRequestFilter filter = new JwtRequestFilter(mock(UserDetailsService.class), jwtUtil,
+                new TokenRevocationList(true, 60), registry, "claims");
+
+        filter.doFilterInternal(new MockHttpServletRequest(), new MockHttpServletResponse(), new MockFilterChain());
+        MockHttpServletRequest withBrokenToken = new MockHttpServletRequest();
+        withBrokenToken.addHeader("Authorization", "Bearer broken");
+        filter.doFilterInternal(withBrokenToken, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals(1, registry.get("security.jwt.filter").tag("outcome", "anonymous").timer().count());
+        assertEquals(1, registry.get("security.jwt.filter").tag("outcome", "rejected").timer().count());
+        assertEquals(0, registry.get("security.jwt.filter").tag("outcome", "authenticated").timer().count());
+    }
+}
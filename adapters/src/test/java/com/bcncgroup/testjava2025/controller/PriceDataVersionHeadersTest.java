@@ -0,0 +1,72 @@
+package com.bcncgroup.testjava2025.controller;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.bcncgroup.testjava2025.adapters.config.PriceDataVersionInterceptor;
+import com.bcncgroup.testjava2025.adapters.controller.PriceController;
+import com.bcncgroup.testjava2025.adapters.mapper.PriceFindInDTOMapper;
+import com.bcncgroup.testjava2025.adapters.mapper.PriceFindOutDTOMapper;
+import com.bcncgroup.testjava2025.domain.model.PriceDataVersion;
+import com.bcncgroup.testjava2025.domain.ports.in.FindEffectivePriceUseCase;
+import com.bcncgroup.testjava2025.domain.ports.in.FindPriceDataVersionUseCase;
+import com.bcncgroup.testjava2025.domain.ports.in.FindPriceLookupUseCase;
+import com.bcncgroup.testjava2025.domain.ports.in.FindPriceUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Checks that the price responses carry the epoch and version of the index that answers them
+ */
+@DisplayName("Price index version headers Tests")
+class PriceDataVersionHeadersTest {
+
+    private static final String REQUEST = "{\"startDate\":\"2020-06-14 16:00:00\",\"productId\":35455,\"brandId\":1}";
+
+    private final FindPriceDataVersionUseCase versionUseCase = mock(FindPriceDataVersionUseCase.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        PriceController controller = new PriceController(mock(FindPriceUseCase.class), mock(FindEffectivePriceUseCase.class),
+                mock(FindPriceLookupUseCase.class), mock(PriceFindInDTOMapper.class), mock(PriceFindOutDTOMapper.class), Optional.empty(),
+                new ObjectMapper().registerModule(new JavaTimeModule()), 3600);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .addMappedInterceptors(new String[] { "/price/**" }, new PriceDataVersionInterceptor(versionUseCase))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should send the epoch and version of the published index")
+    void findByDateProductIdentifierBrand_OK_VersionHeaders() throws Exception {
+        when(versionUseCase.findDataVersion()).thenReturn(Optional.of(new PriceDataVersion(3L, 123456789L)));
+
+        mockMvc.perform(post("/price/findByDateProductIdentifierBrand").contentType(MediaType.APPLICATION_JSON).content(REQUEST))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Price-Index-Epoch", "3"))
+                .andExpect(header().string("X-Price-Index-Version", "123456789"));
+    }
+
+    @Test
+    @DisplayName("Should send no version headers when prices are read from the database")
+    void findByDateProductIdentifierBrand_OK_NoIndex() throws Exception {
+        when(versionUseCase.findDataVersion()).thenReturn(Optional.empty());
+
+        mockMvc.perform(post("/price/findByDateProductIdentifierBrand").contentType(MediaType.APPLICATION_JSON).content(REQUEST))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Price-Index-Epoch"))
+                .andExpect(header().doesNotExist("X-Price-Index-Version"));
+    }
+}
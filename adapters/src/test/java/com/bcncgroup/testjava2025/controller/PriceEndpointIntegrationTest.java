@@ -1,17 +1,23 @@
 package com.bcncgroup.testjava2025.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -22,12 +28,16 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import com.bcncgroup.testjava2025.adapters.controller.PriceController;
+import com.bcncgroup.testjava2025.adapters.dto.in.PriceBatchFindInDTO;
 import com.bcncgroup.testjava2025.adapters.dto.in.PriceFindInDTO;
 import com.bcncgroup.testjava2025.adapters.dto.out.PriceFindOutDTO;
 import com.bcncgroup.testjava2025.adapters.mapper.PriceFindInDTOMapper;
 import com.bcncgroup.testjava2025.adapters.mapper.PriceFindOutDTOMapper;
 import com.bcncgroup.testjava2025.domain.model.Brand;
 import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.model.PriceLookup;
+import com.bcncgroup.testjava2025.domain.ports.in.FindEffectivePriceUseCase;
+import com.bcncgroup.testjava2025.domain.ports.in.FindPriceLookupUseCase;
 import com.bcncgroup.testjava2025.domain.ports.in.FindPriceUseCase;
 import com.bcncgroup.testjava2025.domain.ports.in.query.FindPriceQuery;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -44,6 +54,12 @@ class PriceEndpointIntegrationTest {
     @Mock
     private FindPriceUseCase findPriceUseCase;
     
+    @Mock
+    private FindEffectivePriceUseCase findEffectivePriceUseCase;
+    
+    @Mock
+    private FindPriceLookupUseCase findPriceLookupUseCase;
+    
     @Mock
     private PriceFindInDTOMapper priceFindInDTOMapper;
     
@@ -56,7 +72,8 @@ class PriceEndpointIntegrationTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        priceController = new PriceController(findPriceUseCase, priceFindInDTOMapper, priceFindOutDTOMapper);
+        priceController = new PriceController(findPriceUseCase, findEffectivePriceUseCase, findPriceLookupUseCase,
+                priceFindInDTOMapper, priceFindOutDTOMapper, Optional.empty(), mapper, 3600);
         mockMvc = MockMvcBuilders.standaloneSetup(priceController).build();
     }
     
@@ -97,6 +114,112 @@ class PriceEndpointIntegrationTest {
                 .andExpect(jsonPath("$[0].currency").value(expectedCurrency));
     }
     
+    @ParameterizedTest
+    @MethodSource("providePriceTestScenarios")
+    void shouldReturnEffectivePriceForRequestedDateProductAndBrand(
+            String testName,
+            LocalDateTime requestDate,
+            Long productId,
+            Long brandId,
+            Integer expectedPriceList,
+            Double expectedPrice,
+            String expectedCurrency) throws Exception {
+        
+        PriceFindInDTO requestDTO = new PriceFindInDTO(requestDate, productId, brandId);
+        
+        Brand mockBrand = new Brand(brandId, "ZARA", "Marca de moda española");
+        Price mockPrice = new Price(1L, mockBrand, requestDate.minusHours(1), requestDate.plusHours(1), 
+                                  expectedPriceList, productId, 1, new BigDecimal(expectedPrice.toString()), expectedCurrency);
+        
+        PriceFindOutDTO.BrandFindOutDTO brandDTO = new PriceFindOutDTO.BrandFindOutDTO(brandId, "ZARA", "Marca de moda española");
+        PriceFindOutDTO responseDTO = new PriceFindOutDTO(productId, brandDTO, expectedPriceList, 
+                                                        requestDate.minusHours(1), requestDate.plusHours(1),
+                                                        new BigDecimal(expectedPrice.toString()), expectedCurrency);
+        
+        when(findEffectivePriceUseCase.findEffectivePrice(any(FindPriceQuery.class))).thenReturn(mockPrice);
+        when(priceFindOutDTOMapper.toDto(any(Price.class))).thenReturn(responseDTO);
+        
+        mockMvc.perform(post("/price/findEffectiveByDateProductIdentifierBrand")
+                .content(mapper.writeValueAsString(requestDTO))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productId").value(productId))
+                .andExpect(jsonPath("$.brand.id").value(brandId))
+                .andExpect(jsonPath("$.priceList").value(expectedPriceList))
+                .andExpect(jsonPath("$.price").value(expectedPrice))
+                .andExpect(jsonPath("$.currency").value(expectedCurrency));
+    }
+    
+    @Test
+    void shouldReturnOneListPerQueryInRequestOrder() throws Exception {
+        LocalDateTime requestDate = LocalDateTime.of(2020, 6, 14, 16, 0, 0);
+        PriceBatchFindInDTO requestDTO = new PriceBatchFindInDTO(List.of(
+                new PriceFindInDTO(requestDate, 35455L, 1L),
+                new PriceFindInDTO(requestDate, 99999L, 1L)));
+        
+        Price mockPrice = new Price(2L, new Brand(1L, "ZARA", "Marca de moda española"), requestDate.minusHours(1), requestDate.plusHours(1),
+                                  2, 35455L, 1, new BigDecimal("25.45"), "EUR");
+        PriceFindOutDTO responseDTO = new PriceFindOutDTO(35455L, new PriceFindOutDTO.BrandFindOutDTO(1L, "ZARA", "Marca de moda española"), 2,
+                                                        requestDate.minusHours(1), requestDate.plusHours(1), new BigDecimal("25.45"), "EUR");
+        
+        when(findPriceUseCase.findAllByDateProductAndBrand(anyList())).thenReturn(List.of(List.of(mockPrice), List.of()));
+        when(priceFindOutDTOMapper.toDto(any(Price.class))).thenReturn(responseDTO);
+        
+        mockMvc.perform(post("/price/findBatchByDateProductIdentifierBrand")
+                .content(mapper.writeValueAsString(requestDTO))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0][0].priceList").value(2))
+                .andExpect(jsonPath("$[1].length()").value(0));
+    }
+    
+    @Test
+    void shouldCacheGetLookupUntilNextBoundaryAndAnswer304() throws Exception {
+        LocalDateTime requestDate = LocalDateTime.of(2020, 6, 14, 16, 0, 0);
+        Price mockPrice = new Price(2L, new Brand(1L, "ZARA", "Marca de moda española"), requestDate.minusHours(1), requestDate.plusMinutes(30),
+                                  2, 35455L, 1, new BigDecimal("25.45"), "EUR");
+        PriceFindOutDTO responseDTO = new PriceFindOutDTO(35455L, new PriceFindOutDTO.BrandFindOutDTO(1L, "ZARA", "Marca de moda española"), 2,
+                                                        requestDate.minusHours(1), requestDate.plusMinutes(30), new BigDecimal("25.45"), "EUR");
+        
+        when(findPriceLookupUseCase.findLookup(any(FindPriceQuery.class)))
+                .thenReturn(new PriceLookup(List.of(mockPrice), requestDate.minusHours(1), requestDate.plusMinutes(30).plusNanos(1)));
+        when(priceFindOutDTOMapper.toDto(any(Price.class))).thenReturn(responseDTO);
+        
+        String etag = mockMvc.perform(get("/price/findByDateProductIdentifierBrand")
+                .param("startDate", "2020-06-14 16:00:00")
+                .param("productId", "35455")
+                .param("brandId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=1800, public"))
+                .andExpect(jsonPath("$[0].priceList").value(2))
+                .andReturn().getResponse().getHeader("ETag");
+        
+        mockMvc.perform(get("/price/findByDateProductIdentifierBrand")
+                .param("startDate", "2020-06-14 16:00:00")
+                .param("productId", "35455")
+                .param("brandId", "1")
+                .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+    
+    @Test
+    void shouldRejectGetLookupWithoutProduct() throws Exception {
+        mockMvc.perform(get("/price/findByDateProductIdentifierBrand")
+                .param("startDate", "2020-06-14 16:00:00")
+                .param("brandId", "1"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    void shouldRejectEmptyBatch() throws Exception {
+        mockMvc.perform(post("/price/findBatchByDateProductIdentifierBrand")
+                .content(mapper.writeValueAsString(new PriceBatchFindInDTO(List.of())))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+    
     private static Stream<Arguments> providePriceTestScenarios() {
         return Stream.of(
             Arguments.of(
@@ -0,0 +1,132 @@
+package com.bcncgroup.testjava2025.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.bcncgroup.testjava2025.adapters.controller.PriceExportController;
+import com.bcncgroup.testjava2025.adapters.dto.out.PriceFindOutDTO;
+import com.bcncgroup.testjava2025.adapters.mapper.PriceFindOutDTOMapper;
+import com.bcncgroup.testjava2025.domain.model.Brand;
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.ports.in.ExportPriceUseCase;
+import com.bcncgroup.testjava2025.domain.ports.in.query.ExportPriceQuery;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Checks the NDJSON export endpoint writes one document per line, plain or gzip
+ * Uses standalone MockMvc
+ */
+@DisplayName("Price export endpoint Tests")
+class PriceExportEndpointTest {
+
+    private MockMvc mockMvc;
+    
+    @Mock
+    private ExportPriceUseCase exportPriceUseCase;
+    
+    @Mock
+    private PriceFindOutDTOMapper priceFindOutDTOMapper;
+    
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(new PriceExportController(exportPriceUseCase, priceFindOutDTOMapper, mapper)).build();
+        
+        Brand brand = new Brand(1L, "ZARA", "Marca de moda española");
+        doAnswer(invocation -> {
+            Consumer<Price> sink = invocation.getArgument(1);
+            for (int i = 1; i <= 3; i++) {
+                sink.accept(new Price((long) i, brand, LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59),
+                        i, 35455L, 0, new BigDecimal("35.50"), "EUR"));
+            }
+            return 3L;
+        }).when(exportPriceUseCase).exportByBrand(any(ExportPriceQuery.class), any(Consumer.class));
+        
+        when(priceFindOutDTOMapper.toDto(any(Price.class))).thenAnswer(invocation -> {
+            Price price = invocation.getArgument(0);
+            return new PriceFindOutDTO(price.productId(), new PriceFindOutDTO.BrandFindOutDTO(1L, "ZARA", "Marca de moda española"),
+                    price.priceList(), price.startDate(), price.endDate(), price.price(), price.currency());
+        });
+    }
+    
+    @Test
+    @DisplayName("Should stream one JSON document per line")
+    void export_OK_Ndjson() throws Exception {
+        MvcResult started = mockMvc.perform(get("/price/export").param("brandId", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+        
+        String[] lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            assertEquals(i + 1, mapper.readTree(lines[i]).get("priceList").asInt());
+        }
+    }
+    
+    @Test
+    @DisplayName("Should gzip the stream when the client accepts it")
+    void export_OK_Gzip() throws Exception {
+        MvcResult started = mockMvc.perform(get("/price/export").param("brandId", "1")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+        
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertEquals(3, body.split("\n").length);
+        }
+    }
+    
+    @Test
+    @DisplayName("Should not gzip the stream when the client refuses it with a zero quality")
+    void export_OK_GzipRefused() throws Exception {
+        MvcResult started = mockMvc.perform(get("/price/export").param("brandId", "1")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn();
+        
+        assertEquals(3, result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n").length);
+    }
+}
@@ -0,0 +1,134 @@
+package com.bcncgroup.testjava2025.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.bcncgroup.testjava2025.adapters.cache.PriceResponseCache;
+import com.bcncgroup.testjava2025.adapters.controller.PriceController;
+import com.bcncgroup.testjava2025.adapters.dto.out.PriceFindOutDTO;
+import com.bcncgroup.testjava2025.adapters.mapper.PriceFindInDTOMapper;
+import com.bcncgroup.testjava2025.adapters.mapper.PriceFindOutDTOMapper;
+import com.bcncgroup.testjava2025.domain.model.Brand;
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.model.PriceLookup;
+import com.bcncgroup.testjava2025.domain.ports.in.FindEffectivePriceUseCase;
+import com.bcncgroup.testjava2025.domain.ports.in.FindPriceLookupUseCase;
+import com.bcncgroup.testjava2025.domain.ports.in.FindPriceUseCase;
+import com.bcncgroup.testjava2025.domain.ports.in.query.FindPriceQuery;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Checks the serialized response cache and the byte path of the price controller
+ */
+@DisplayName("PriceResponseCache Tests")
+class PriceResponseCacheTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2020, 6, 14, 15, 0, 0);
+    private static final LocalDateTime UNTIL = LocalDateTime.of(2020, 6, 14, 18, 30, 0);
+    private static final Price PROMO = new Price(2L, new Brand(1L, "ZARA", "Marca de moda española"), FROM, UNTIL, 2, 35455L, 1, new BigDecimal("25.45"), "EUR");
+
+    private final AtomicInteger serializations = new AtomicInteger();
+    private final Function<PriceLookup, byte[]> serializer = lookup -> {
+        serializations.incrementAndGet();
+        return ("[" + lookup.prices().size() + "]").getBytes(StandardCharsets.UTF_8);
+    };
+
+    @Test
+    @DisplayName("Should serialize a lookup once and answer later calls with the same bytes")
+    void get_OK_Hit() {
+        PriceResponseCache cache = new PriceResponseCache(1 << 20);
+        PriceLookup lookup = lookup();
+
+        PriceResponseCache.CachedResponse first = cache.get(1L, 35455L, lookup, serializer);
+        PriceResponseCache.CachedResponse second = cache.get(1L, 35455L, lookup, serializer);
+
+        assertSame(first, second);
+        assertEquals(1, serializations.get());
+        assertEquals(0.5, cache.stats().hitRatio());
+        assertTrue(cache.stats().bytes() > first.body().length);
+        assertEquals(PriceResponseCache.etag(first.body()), first.etag());
+    }
+
+    @Test
+    @DisplayName("Should reuse the bytes for a rebuilt lookup with the same prices and serialize a changed one again")
+    void get_OK_RebuiltOnChangedLookup() {
+        PriceResponseCache cache = new PriceResponseCache(1 << 20);
+
+        cache.get(1L, 35455L, lookup(), serializer);
+        cache.get(1L, 35455L, lookup(), serializer);
+        assertEquals(1, serializations.get());
+
+        Price repriced = new Price(2L, PROMO.brand(), FROM, UNTIL, 2, 35455L, 1, new BigDecimal("25.46"), "EUR");
+        PriceResponseCache.CachedResponse changed = cache.get(1L, 35455L,
+                new PriceLookup(List.of(repriced), FROM, UNTIL.plusNanos(1)), serializer);
+        assertEquals(2, serializations.get());
+        assertEquals(1, cache.stats().size());
+        // the older entry was replaced, only the new bytes and their overhead are weighed
+        assertTrue(cache.stats().bytes() > changed.body().length && cache.stats().bytes() < changed.body().length + 512);
+
+        cache.invalidateAll();
+        cache.get(1L, 35455L, lookup(), serializer);
+        assertEquals(3, serializations.get());
+        assertEquals(1, cache.stats().hits());
+    }
+
+    @Test
+    @DisplayName("Should write the cached JSON bytes from the POST lookup")
+    void findByDateProductIdentifierBrand_OK_CachedBytes() throws Exception {
+        ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        FindPriceLookupUseCase lookupUseCase = mock(FindPriceLookupUseCase.class);
+        PriceFindOutDTOMapper outMapper = mock(PriceFindOutDTOMapper.class);
+        PriceResponseCache cache = new PriceResponseCache(1 << 20);
+        when(lookupUseCase.findLookup(any(FindPriceQuery.class))).thenReturn(lookup());
+        when(outMapper.toDto(any(Price.class))).thenReturn(new PriceFindOutDTO(35455L,
+                new PriceFindOutDTO.BrandFindOutDTO(1L, "ZARA", "Marca de moda española"), 2, FROM, UNTIL, new BigDecimal("25.45"), "EUR"));
+        PriceController controller = new PriceController(mock(FindPriceUseCase.class), mock(FindEffectivePriceUseCase.class),
+                lookupUseCase, mock(PriceFindInDTOMapper.class), outMapper, Optional.of(cache), mapper, 3600);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        String request = "{\"startDate\":\"2020-06-14 16:00:00\",\"productId\":35455,\"brandId\":1}";
+
+        byte[] first = mockMvc.perform(post("/price/findByDateProductIdentifierBrand")
+                        .contentType(MediaType.APPLICATION_JSON).content(request))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].priceList").value(2))
+                .andExpect(jsonPath("$[0].startDate").value("2020-06-14 15:00:00"))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] second = mockMvc.perform(post("/price/findByDateProductIdentifierBrand")
+                        .contentType(MediaType.APPLICATION_JSON).content(request))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertArrayEquals(first, second);
+        verify(outMapper, times(1)).toDto(any(Price.class));
+        assertEquals(1, cache.stats().hits());
+    }
+
+    private static PriceLookup lookup() {
+        return new PriceLookup(List.of(PROMO), FROM, UNTIL.plusNanos(1));
+    }
+}
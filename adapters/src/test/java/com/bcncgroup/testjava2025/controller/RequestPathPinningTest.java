@@ -0,0 +1,84 @@
+package com.bcncgroup.testjava2025.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+/**
+ * Checks that no application class uses synchronized methods or blocks
+ * A virtual thread blocked inside a monitor pins its carrier thread on Java 21,
+ * so the request path must use java.util.concurrent locks instead
+ */
+@DisplayName("Carrier thread pinning Tests")
+class RequestPathPinningTest {
+
+    private static final String APPLICATION_CLASSES = "classpath*:com/bcncgroup/testjava2025/**/*.class";
+    
+    @Test
+    @DisplayName("Should not find monitors in domain, infrastructure or adapters classes")
+    void applicationClasses_OK_NoMonitors() throws IOException {
+        List<String> monitors = new ArrayList<>();
+        int scanned = 0;
+        
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources(APPLICATION_CLASSES)) {
+            if (resource.getURL().toString().contains("/test-classes/")) {
+                continue;
+            }
+            scanned++;
+            try (InputStream input = resource.getInputStream()) {
+                new ClassReader(input).accept(new MonitorFinder(monitors), ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+            }
+        }
+        
+        assertTrue(scanned > 50, "application classes not found on the classpath");
+        assertEquals(List.of(), monitors);
+    }
+    
+    /**
+     * Collects methods declared synchronized or containing a synchronized block.
+     */
+    private static final class MonitorFinder extends ClassVisitor {
+        
+        private final List<String> monitors;
+        private String className;
+        
+        MonitorFinder(List<String> monitors) {
+            super(Opcodes.ASM9);
+            this.monitors = monitors;
+        }
+        
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            className = name.replace('/', '.');
+        }
+        
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+            String method = className + "." + name;
+            if ((access & Opcodes.ACC_SYNCHRONIZED) != 0) {
+                monitors.add(method + " (synchronized method)");
+            }
+            return new MethodVisitor(Opcodes.ASM9) {
+                @Override
+                public void visitInsn(int opcode) {
+                    if (opcode == Opcodes.MONITORENTER) {
+                        monitors.add(method + " (synchronized block)");
+                    }
+                }
+            };
+        }
+    }
+}
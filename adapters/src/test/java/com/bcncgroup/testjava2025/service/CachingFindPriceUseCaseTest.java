@@ -0,0 +1,147 @@
+package com.bcncgroup.testjava2025.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import com.bcncgroup.testjava2025.domain.application.CachingFindPriceUseCase;
+import com.bcncgroup.testjava2025.domain.application.PriceService;
+import com.bcncgroup.testjava2025.domain.contant.MessageConstant;
+import com.bcncgroup.testjava2025.domain.exception.LogicException;
+import com.bcncgroup.testjava2025.domain.model.Brand;
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.model.PriceLookup;
+import com.bcncgroup.testjava2025.domain.ports.in.query.FindPriceQuery;
+import com.bcncgroup.testjava2025.domain.ports.out.PriceRepository;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("CachingFindPriceUseCase Tests")
+class CachingFindPriceUseCaseTest {
+
+    private static final Brand ZARA = new Brand(1L, "ZARA", "Marca de moda española");
+    private static final Price BASE = new Price(1L, ZARA, LocalDateTime.of(2020, 6, 14, 0, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 1, 35455L, 0, new BigDecimal("35.50"), "EUR");
+    private static final Price PROMO = new Price(2L, ZARA, LocalDateTime.of(2020, 6, 14, 15, 0, 0), LocalDateTime.of(2020, 6, 14, 18, 30, 0), 2, 35455L, 1, new BigDecimal("25.45"), "EUR");
+    
+    @Mock
+    private PriceRepository priceRepository;
+    
+    private PriceService delegate;
+    
+    private CachingFindPriceUseCase cachingUseCase;
+    
+    @BeforeEach
+    void setUp() {
+        delegate = new PriceService(priceRepository, Optional.empty());
+        cachingUseCase = new CachingFindPriceUseCase(delegate, 100);
+        when(priceRepository.findByProductAndBrand(35455L, 1L)).thenReturn(List.of(BASE, PROMO));
+    }
+    
+    @Test
+    @DisplayName("Should share one entry between lookups inside the same boundaries")
+    void findByDateProductAndBrand_OK_HitInsideSegment() {
+        FindPriceQuery at1500 = new FindPriceQuery(LocalDateTime.of(2020, 6, 14, 15, 0, 0), 35455L, 1L);
+        FindPriceQuery at1501 = new FindPriceQuery(LocalDateTime.of(2020, 6, 14, 15, 1, 0), 35455L, 1L);
+        
+        assertEquals(List.of(BASE, PROMO), cachingUseCase.findByDateProductAndBrand(at1500));
+        assertEquals(List.of(BASE, PROMO), cachingUseCase.findByDateProductAndBrand(at1501));
+        
+        verify(priceRepository, times(1)).findByProductAndBrand(35455L, 1L);
+        verify(priceRepository, never()).findByDateProductAndBrand(any(LocalDateTime.class), any(), any());
+        verify(priceRepository, never()).findByDateProductAndBrand(anyLong(), anyLong(), anyLong());
+        assertEquals(1, cachingUseCase.stats().hits());
+        assertEquals(1, cachingUseCase.stats().misses());
+    }
+    
+    @Test
+    @DisplayName("Should return the interval between the surrounding boundaries with the prices")
+    void findLookup_OK_ValidityInterval() {
+        FindPriceQuery at1600 = new FindPriceQuery(LocalDateTime.of(2020, 6, 14, 16, 0, 0), 35455L, 1L);
+        
+        PriceLookup lookup = cachingUseCase.findLookup(at1600);
+        
+        assertEquals(List.of(BASE, PROMO), lookup.prices());
+        assertEquals(LocalDateTime.of(2020, 6, 14, 15, 0, 0), lookup.validFrom());
+        assertEquals(LocalDateTime.of(2020, 6, 14, 18, 30, 0).plusNanos(1), lookup.validUntil());
+        assertEquals(lookup, cachingUseCase.findLookup(new FindPriceQuery(LocalDateTime.of(2020, 6, 14, 18, 30, 0), 35455L, 1L)));
+        verify(priceRepository, times(1)).findByProductAndBrand(35455L, 1L);
+    }
+    
+    @Test
+    @DisplayName("Should miss once the date crosses a window boundary")
+    void findByDateProductAndBrand_OK_MissAfterBoundary() {
+        FindPriceQuery inPromo = new FindPriceQuery(LocalDateTime.of(2020, 6, 14, 18, 30, 0), 35455L, 1L);
+        FindPriceQuery afterPromo = new FindPriceQuery(LocalDateTime.of(2020, 6, 14, 18, 30, 1), 35455L, 1L);
+        FindPriceQuery beforePromo = new FindPriceQuery(LocalDateTime.of(2020, 6, 14, 14, 59, 59), 35455L, 1L);
+        
+        assertEquals(List.of(BASE, PROMO), cachingUseCase.findByDateProductAndBrand(inPromo));
+        assertEquals(List.of(BASE), cachingUseCase.findByDateProductAndBrand(afterPromo));
+        assertEquals(List.of(BASE), cachingUseCase.findByDateProductAndBrand(beforePromo));
+        
+        assertEquals(0, cachingUseCase.stats().hits());
+        assertEquals(3, cachingUseCase.stats().misses());
+    }
+    
+    @Test
+    @DisplayName("Should not keep an entry loaded while the prices were invalidated")
+    void findLookup_OK_InvalidatedWhileLoaded() {
+        FindPriceQuery at1000 = new FindPriceQuery(LocalDateTime.of(2020, 6, 14, 10, 0, 0), 35455L, 1L);
+        when(priceRepository.findByProductAndBrand(35455L, 1L)).thenAnswer(invocation -> {
+            // the change lands after the read, before the entry is stored
+            cachingUseCase.invalidate(35455L, 1L);
+            return List.of(BASE, PROMO);
+        });
+        
+        assertEquals(List.of(BASE), cachingUseCase.findByDateProductAndBrand(at1000));
+        
+        assertEquals(0, cachingUseCase.stats().size());
+        cachingUseCase.findByDateProductAndBrand(at1000);
+        verify(priceRepository, times(2)).findByProductAndBrand(35455L, 1L);
+    }
+    
+    @Test
+    @DisplayName("Should evict entries beyond the maximum size")
+    void findByDateProductAndBrand_OK_Eviction() {
+        CachingFindPriceUseCase small = new CachingFindPriceUseCase(delegate, 1);
+        when(priceRepository.findByProductAndBrand(any(), any())).thenReturn(List.of());
+        
+        for (long product = 1; product <= 50; product++) {
+            small.findByDateProductAndBrand(new FindPriceQuery(LocalDateTime.of(2020, 6, 14, 10, 0, 0), product, 1L));
+        }
+        
+        assertTrue(small.stats().evictions() > 0);
+        assertTrue(small.stats().size() <= 1);
+    }
+    
+    @Test
+    @DisplayName("Should let the repository error through unchanged")
+    void findByDateProductAndBrand_KO_RepositoryError() {
+        when(priceRepository.findByProductAndBrand(99999L, 1L)).thenThrow(new LogicException(MessageConstant.FIND_PRICES_ERROR, 500));
+        
+        LogicException exception = assertThrows(LogicException.class,
+                () -> cachingUseCase.findByDateProductAndBrand(new FindPriceQuery(LocalDateTime.of(2020, 6, 14, 10, 0, 0), 99999L, 1L)));
+        
+        assertEquals(500, exception.getCode());
+        assertEquals(0, cachingUseCase.stats().size());
+    }
+}
@@ -0,0 +1,143 @@
+package com.bcncgroup.testjava2025.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import com.bcncgroup.testjava2025.domain.application.EffectivePriceService;
+import com.bcncgroup.testjava2025.domain.exception.LogicException;
+import com.bcncgroup.testjava2025.domain.model.Brand;
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.ports.in.query.FindPriceQuery;
+import com.bcncgroup.testjava2025.domain.ports.out.PriceRepository;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("EffectivePriceService Tests")
+class EffectivePriceServiceTest {
+
+    private static final Brand ZARA = new Brand(1L, "ZARA", "Marca de moda española");
+    
+    @Mock
+    private PriceRepository priceRepository;
+    
+    private EffectivePriceService service;
+    
+    @BeforeEach
+    void setUp() {
+        service = new EffectivePriceService(priceRepository);
+        
+        // same windows seeded in data.sql
+        when(priceRepository.findByProductAndBrand(35455L, 1L)).thenReturn(List.of(
+            new Price(1L, ZARA, LocalDateTime.of(2020, 6, 14, 0, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 1, 35455L, 0, new BigDecimal("35.50"), "EUR"),
+            new Price(2L, ZARA, LocalDateTime.of(2020, 6, 14, 15, 0, 0), LocalDateTime.of(2020, 6, 14, 18, 30, 0), 2, 35455L, 1, new BigDecimal("25.45"), "EUR"),
+            new Price(3L, ZARA, LocalDateTime.of(2020, 6, 15, 0, 0, 0), LocalDateTime.of(2020, 6, 15, 11, 0, 0), 3, 35455L, 1, new BigDecimal("30.50"), "EUR"),
+            new Price(4L, ZARA, LocalDateTime.of(2020, 6, 15, 16, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 4, 35455L, 1, new BigDecimal("38.95"), "EUR")));
+    }
+    
+    @ParameterizedTest
+    @MethodSource("provideEffectivePriceScenarios")
+    void shouldReturnHighestPriorityPrice(LocalDateTime requestDate, Integer expectedPriceList, String expectedPrice) {
+        Price result = service.findEffectivePrice(new FindPriceQuery(requestDate, 35455L, 1L));
+        
+        assertEquals(expectedPriceList, result.priceList());
+        assertEquals(new BigDecimal(expectedPrice), result.price());
+    }
+    
+    @Test
+    @DisplayName("Should flatten the seeded windows into disjoint segments and load them once")
+    void timeline_OK_PrecomputedOnce() {
+        assertEquals(6, service.timeline(35455L, 1L).segments());
+        
+        service.findEffectivePrice(new FindPriceQuery(LocalDateTime.of(2020, 6, 14, 10, 0, 0), 35455L, 1L));
+        service.findEffectivePrice(new FindPriceQuery(LocalDateTime.of(2020, 6, 16, 21, 0, 0), 35455L, 1L));
+        
+        verify(priceRepository, times(1)).findByProductAndBrand(35455L, 1L);
+    }
+    
+    @Test
+    @DisplayName("Should not keep a timeline built while the prices were invalidated")
+    void timeline_OK_InvalidatedWhileBuilt() {
+        Price base = new Price(5L, ZARA, LocalDateTime.of(2020, 6, 14, 0, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 1, 1L, 0, BigDecimal.ONE, "EUR");
+        when(priceRepository.findByProductAndBrand(1L, 1L)).thenAnswer(invocation -> {
+            // the change lands after the read, before the timeline is stored
+            service.invalidateAll();
+            return List.of(base);
+        });
+        
+        assertEquals(1, service.timeline(1L, 1L).segments());
+        
+        assertEquals(0, service.size());
+        service.timeline(1L, 1L);
+        verify(priceRepository, times(2)).findByProductAndBrand(1L, 1L);
+    }
+    
+    @Test
+    @DisplayName("Should keep at most the configured number of timelines")
+    void timeline_OK_Bounded() {
+        EffectivePriceService bounded = new EffectivePriceService(priceRepository, 2);
+        for (long product = 1; product <= 10; product++) {
+            when(priceRepository.findByProductAndBrand(product, 1L)).thenReturn(List.of(
+                new Price(product, ZARA, LocalDateTime.of(2020, 6, 14, 0, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 1, product, 0, BigDecimal.ONE, "EUR")));
+            bounded.timeline(product, 1L);
+        }
+        
+        assertEquals(2, bounded.size());
+    }
+    
+    @Test
+    @DisplayName("Should throw LogicException 404 when no price applies")
+    void findEffectivePrice_KO_NotFound() {
+        when(priceRepository.findByProductAndBrand(99999L, 1L)).thenReturn(List.of());
+        
+        LogicException exception = assertThrows(LogicException.class,
+                () -> service.findEffectivePrice(new FindPriceQuery(LocalDateTime.of(2020, 6, 14, 10, 0, 0), 99999L, 1L)));
+        
+        assertEquals("price.not.found", exception.getMessage());
+        assertEquals(404, exception.getCode());
+    }
+    
+    @Test
+    @DisplayName("Should throw LogicException 500 when repository fails")
+    void findEffectivePrice_KO_RepositoryException() {
+        when(priceRepository.findByProductAndBrand(1L, 1L)).thenThrow(new RuntimeException("Database connection error"));
+        
+        LogicException exception = assertThrows(LogicException.class,
+                () -> service.findEffectivePrice(new FindPriceQuery(LocalDateTime.of(2020, 6, 14, 10, 0, 0), 1L, 1L)));
+        
+        assertEquals("find.prices.error", exception.getMessage());
+        assertEquals(500, exception.getCode());
+    }
+    
+    private static Stream<Arguments> provideEffectivePriceScenarios() {
+        return Stream.of(
+            Arguments.of(LocalDateTime.of(2020, 6, 14, 10, 0, 0), 1, "35.50"),
+            Arguments.of(LocalDateTime.of(2020, 6, 14, 16, 0, 0), 2, "25.45"),
+            Arguments.of(LocalDateTime.of(2020, 6, 14, 18, 30, 0), 2, "25.45"),
+            Arguments.of(LocalDateTime.of(2020, 6, 14, 18, 30, 1), 1, "35.50"),
+            Arguments.of(LocalDateTime.of(2020, 6, 14, 21, 0, 0), 1, "35.50"),
+            Arguments.of(LocalDateTime.of(2020, 6, 15, 10, 0, 0), 3, "30.50"),
+            Arguments.of(LocalDateTime.of(2020, 6, 16, 21, 0, 0), 4, "38.95"),
+            Arguments.of(LocalDateTime.of(2020, 12, 31, 23, 59, 59), 4, "38.95")
+        );
+    }
+}
@@ -0,0 +1,165 @@
+package com.bcncgroup.testjava2025.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import com.bcncgroup.testjava2025.domain.application.EffectivePriceService;
+import com.bcncgroup.testjava2025.domain.application.PriceKeyFilter;
+import com.bcncgroup.testjava2025.domain.application.PriceService;
+import com.bcncgroup.testjava2025.domain.exception.LogicException;
+import com.bcncgroup.testjava2025.domain.model.Brand;
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.model.PriceLookup;
+import com.bcncgroup.testjava2025.domain.ports.in.query.FindPriceQuery;
+import com.bcncgroup.testjava2025.domain.ports.out.PriceKeyRepository;
+import com.bcncgroup.testjava2025.domain.ports.out.PriceRepository;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("PriceKeyFilter Tests")
+class PriceKeyFilterTest {
+
+    private static final int KEYS = 50_000;
+    private static final LocalDateTime DATE = LocalDateTime.of(2020, 6, 14, 16, 0, 0);
+    private static final Price BASE = new Price(1L, new Brand(1L, "ZARA", "Marca de moda española"), LocalDateTime.of(2020, 6, 14, 0, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 1, 35455L, 0, new BigDecimal("35.50"), "EUR");
+    
+    @Mock
+    private PriceKeyRepository priceKeyRepository;
+    
+    @Mock
+    private PriceRepository priceRepository;
+    
+    @Test
+    @DisplayName("Should keep every stored pair and let few unknown pairs through")
+    void mightContain_OK_FalsePositiveRate() {
+        PriceKeyFilter filter = builtFilter(0.01);
+        
+        for (long product = 0; product < KEYS; product++) {
+            assertTrue(filter.mightContain(1 + product % 3, product), "stored pair " + product);
+        }
+        int passed = 0;
+        for (long product = KEYS; product < KEYS * 3; product++) {
+            if (filter.mightContain(1 + product % 3, product)) {
+                passed++;
+            }
+        }
+        
+        double rate = (double) passed / (KEYS * 2);
+        assertTrue(rate < 0.02, "false-positive rate " + rate);
+        assertTrue(filter.stats().expectedFalsePositiveRate() < 0.01, "expected rate " + filter.stats().expectedFalsePositiveRate());
+        assertEquals(KEYS * 2 - passed, filter.stats().negatives());
+    }
+    
+    @Test
+    @DisplayName("Should let every pair through until it is built and when the build fails")
+    void mightContain_OK_NotBuilt() {
+        PriceKeyFilter filter = new PriceKeyFilter(priceKeyRepository, 0.01);
+        doThrow(new LogicException("find.prices.error", 500)).when(priceKeyRepository).forEachKey(any());
+        
+        assertTrue(filter.mightContain(1L, 999_999L));
+        filter.rebuild();
+        assertTrue(filter.mightContain(1L, 999_999L));
+        assertEquals(0, filter.stats().negatives());
+    }
+    
+    @Test
+    @DisplayName("Should answer unknown pairs without the repository and count pairs let through without prices")
+    void findLookup_OK_UnknownPairSkipsRepository() {
+        PriceKeyFilter filter = builtFilter(0.01);
+        filter.put(1L, 35455L);
+        PriceService service = new PriceService(priceRepository, Optional.of(filter));
+        // a whole-second date goes through the primitive lookup
+        when(priceRepository.findByDateProductAndBrand(DATE.toEpochSecond(ZoneOffset.UTC), 35455L, 1L)).thenReturn(List.of(BASE));
+        when(priceRepository.findByProductAndBrand(35455L, 1L)).thenReturn(List.of(BASE));
+        when(priceRepository.findAllByDateProductAndBrand(List.of(new FindPriceQuery(DATE, 35455L, 1L)))).thenReturn(List.of(List.of(BASE)));
+        
+        PriceLookup unknown = service.findLookup(new FindPriceQuery(DATE, 999_999_999L, 1L));
+        PriceLookup known = service.findLookup(new FindPriceQuery(DATE, 35455L, 1L));
+        List<List<Price>> batch = service.findAllByDateProductAndBrand(List.of(
+                new FindPriceQuery(DATE, 999_999_999L, 1L), new FindPriceQuery(DATE, 35455L, 1L)));
+        
+        assertTrue(unknown.prices().isEmpty());
+        assertTrue(unknown.covers(DATE.plusYears(10)));
+        assertEquals(List.of(BASE), known.prices());
+        verify(priceRepository, never()).findByDateProductAndBrand(any(LocalDateTime.class), eq(999_999_999L), anyLong());
+        verify(priceRepository, never()).findByDateProductAndBrand(anyLong(), eq(999_999_999L), anyLong());
+        verify(priceRepository, never()).findByProductAndBrand(eq(999_999_999L), anyLong());
+        verify(priceRepository).findAllByDateProductAndBrand(List.of(new FindPriceQuery(DATE, 35455L, 1L)));
+        assertEquals(2, batch.size());
+        assertTrue(batch.get(0).isEmpty());
+        assertEquals(List.of(BASE), batch.get(1));
+        
+        // a stored pair whose prices were deleted still reaches the repository
+        when(priceRepository.findByProductAndBrand(35455L, 1L)).thenReturn(List.of());
+        service.findLookup(new FindPriceQuery(DATE, 35455L, 1L));
+        assertEquals(1, filter.stats().falsePositives());
+        assertFalse(filter.stats().observedFalsePositiveRate() == 0);
+    }
+    
+    @Test
+    @DisplayName("Should count pairs let through without windows on the date, batch and effective price paths")
+    void findByDateProductAndBrand_OK_FalsePositivesOnEveryPath() {
+        PriceKeyFilter filter = builtFilter(0.01);
+        // stored in the filter, but its prices are gone; the repository mock answers empty lists
+        filter.put(1L, 42L);
+        PriceService service = new PriceService(priceRepository, Optional.of(filter));
+        EffectivePriceService effectiveService = new EffectivePriceService(priceRepository, Optional.of(filter), 100);
+        FindPriceQuery query = new FindPriceQuery(DATE, 42L, 1L);
+        when(priceRepository.findAllByDateProductAndBrand(List.of(query))).thenReturn(List.of(List.of()));
+        
+        assertTrue(service.findByDateProductAndBrand(query).isEmpty());
+        assertEquals(1, filter.stats().falsePositives());
+        assertTrue(service.findAllByDateProductAndBrand(List.of(query)).get(0).isEmpty());
+        assertEquals(2, filter.stats().falsePositives());
+        assertEquals(404, assertThrows(LogicException.class, () -> effectiveService.findEffectivePrice(query)).getCode());
+        assertEquals(3, filter.stats().falsePositives());
+        
+        // an empty answer for a pair with windows elsewhere in time is not a false positive
+        when(priceRepository.findByProductAndBrand(42L, 1L)).thenReturn(List.of(BASE));
+        assertTrue(service.findByDateProductAndBrand(query).isEmpty());
+        assertEquals(3, filter.stats().falsePositives());
+        
+        // an unknown pair does not reach the repository for its timeline
+        assertEquals(404, assertThrows(LogicException.class,
+                () -> effectiveService.findEffectivePrice(new FindPriceQuery(DATE, 999_999_999L, 1L))).getCode());
+        verify(priceRepository, never()).findByProductAndBrand(eq(999_999_999L), anyLong());
+    }
+    
+    private PriceKeyFilter builtFilter(double falsePositiveRate) {
+        when(priceKeyRepository.countKeys()).thenReturn((long) KEYS);
+        doAnswer(invocation -> {
+            PriceKeyRepository.KeyConsumer action = invocation.getArgument(0);
+            for (long product = 0; product < KEYS; product++) {
+                action.accept(1 + product % 3, product);
+            }
+            return null;
+        }).when(priceKeyRepository).forEachKey(any());
+        PriceKeyFilter filter = new PriceKeyFilter(priceKeyRepository, falsePositiveRate);
+        filter.rebuild();
+        return filter;
+    }
+}
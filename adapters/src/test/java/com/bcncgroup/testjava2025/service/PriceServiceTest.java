@@ -0,0 +1,104 @@
+package com.bcncgroup.testjava2025.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import com.bcncgroup.testjava2025.domain.application.PriceService;
+import com.bcncgroup.testjava2025.domain.contant.MessageConstant;
+import com.bcncgroup.testjava2025.domain.exception.LogicException;
+import com.bcncgroup.testjava2025.domain.model.Brand;
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.model.PriceLookup;
+import com.bcncgroup.testjava2025.domain.ports.in.query.FindPriceQuery;
+import com.bcncgroup.testjava2025.domain.ports.out.PriceRepository;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("PriceService Tests")
+class PriceServiceTest {
+
+    private static final FindPriceQuery QUERY = new FindPriceQuery(LocalDateTime.of(2020, 6, 14, 16, 0, 0), 35455L, 1L);
+    
+    @Mock
+    private PriceRepository priceRepository;
+    
+    private PriceService service;
+    
+    @BeforeEach
+    void setUp() {
+        service = new PriceService(priceRepository, Optional.empty());
+    }
+    
+    @Test
+    @DisplayName("Should keep the status of a LogicException thrown by the repository")
+    void find_KO_RepositoryOverloaded() {
+        LogicException overloaded = new LogicException(MessageConstant.SERVER_OVERLOADED, 503);
+        when(priceRepository.findByDateProductAndBrand(anyLong(), anyLong(), anyLong())).thenThrow(overloaded);
+        when(priceRepository.findAllByDateProductAndBrand(anyList())).thenThrow(overloaded);
+        when(priceRepository.findByProductAndBrand(anyLong(), anyLong())).thenThrow(overloaded);
+        
+        assertEquals(503, assertThrows(LogicException.class, () -> service.findByDateProductAndBrand(QUERY)).getCode());
+        assertEquals(503, assertThrows(LogicException.class, () -> service.findAllByDateProductAndBrand(List.of(QUERY))).getCode());
+        assertEquals(503, assertThrows(LogicException.class, () -> service.findLookup(QUERY)).getCode());
+    }
+    
+    @Test
+    @DisplayName("Should answer 404 when the repository fails with any other exception")
+    void find_KO_RepositoryFailure() {
+        when(priceRepository.findByDateProductAndBrand(anyLong(), anyLong(), anyLong()))
+                .thenThrow(new IllegalStateException("boom"));
+        
+        assertEquals(404, assertThrows(LogicException.class, () -> service.findByDateProductAndBrand(QUERY)).getCode());
+    }
+    
+    @Test
+    @DisplayName("Should build the lookup and its boundaries from the windows of the pair alone")
+    void findLookup_OK_OneQuery() {
+        Brand zara = new Brand(1L, "ZARA", "Marca de moda española");
+        Price base = new Price(1L, zara, LocalDateTime.of(2020, 6, 14, 0, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 1, 35455L, 0, new BigDecimal("35.50"), "EUR");
+        Price promo = new Price(2L, zara, LocalDateTime.of(2020, 6, 14, 15, 0, 0), LocalDateTime.of(2020, 6, 14, 18, 30, 0), 2, 35455L, 1, new BigDecimal("25.45"), "EUR");
+        when(priceRepository.findByProductAndBrand(35455L, 1L)).thenReturn(List.of(promo, base));
+        
+        PriceLookup lookup = service.findLookup(QUERY);
+        
+        assertEquals(List.of(base, promo), lookup.prices());
+        assertEquals(LocalDateTime.of(2020, 6, 14, 15, 0, 0), lookup.validFrom());
+        verify(priceRepository, never()).findByDateProductAndBrand(anyLong(), anyLong(), anyLong());
+        verify(priceRepository, never()).findByDateProductAndBrand(any(LocalDateTime.class), any(), any());
+    }
+    
+    @Test
+    @DisplayName("Should look up whole seconds through the primitive lookup and keep the date when it has a fraction")
+    void findByDateProductAndBrand_OK_PrimitiveLookup() {
+        LocalDateTime fractional = QUERY.applicationDate().plusNanos(500_000_000);
+        
+        service.findByDateProductAndBrand(QUERY);
+        service.findByDateProductAndBrand(new FindPriceQuery(fractional, 35455L, 1L));
+        
+        verify(priceRepository).findByDateProductAndBrand(QUERY.applicationDate().toEpochSecond(ZoneOffset.UTC), 35455L, 1L);
+        verify(priceRepository).findByDateProductAndBrand(fractional, 35455L, 1L);
+        verify(priceRepository, never()).findByDateProductAndBrand(eq(QUERY.applicationDate()), any(), any());
+    }
+}
@@ -0,0 +1,105 @@
+package com.bcncgroup.testjava2025.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.bcncgroup.testjava2025.adapters.TestApplication;
+import com.bcncgroup.testjava2025.domain.event.PriceCatalogChangedEvent;
+import com.bcncgroup.testjava2025.domain.event.PriceIndexPublishedEvent;
+import com.bcncgroup.testjava2025.domain.ports.out.PriceRepository;
+
+/**
+ * Starts the application for a benchmark trial.
+ * Every trial gets its own in-memory database, a random port and the lookup cache disabled,
+ * so the measured path is the one a cache miss takes. The change poller is disabled too: the key filter and the
+ * in-memory indexes are rebuilt once, by {@link #seed}, and no background reload overlaps the measurement.
+ */
+final class BenchmarkContext {
+
+	/**
+	 * First product identifier of the synthetic catalog, far from the products of data.sql.
+	 */
+	static final long FIRST_PRODUCT = 1_000_000L;
+
+	/**
+	 * Price windows seeded per product: a base price for the whole year and three promotions.
+	 */
+	static final int WINDOWS_PER_PRODUCT = 4;
+
+	private static final int SEED_CHUNK = 250_000;
+
+	private static final long REBUILD_TIMEOUT_MINUTES = 10;
+
+	// H2: X runs over the requested range, X / 4 is the product and MOD(X, 4) the window
+	private static final String SEED_PRICES = "INSERT INTO PRICES (BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR) "
+			+ "SELECT 1, DATEADD('DAY', MOD(X, 4) * 30, TIMESTAMP '2020-01-01 00:00:00'), "
+			+ "CASE WHEN MOD(X, 4) = 0 THEN TIMESTAMP '2021-01-01 00:00:00' "
+			+ "ELSE DATEADD('DAY', MOD(X, 4) * 30 + 10, TIMESTAMP '2020-01-01 00:00:00') END, "
+			+ "MOD(X, 4) + 1, " + FIRST_PRODUCT + " + X / 4, MOD(X, 4), 10 + MOD(X, 4), 'EUR' "
+			+ "FROM SYSTEM_RANGE(?, ?)";
+
+	private BenchmarkContext() {
+	}
+
+	/**
+	 * Starts the application with the given extra properties.
+	 *
+	 * @param database name of the in-memory database
+	 * @param properties extra properties in key=value form
+	 * @return the running context, to be closed by the caller
+	 */
+	static ConfigurableApplicationContext start(String database, String... properties) {
+		List<String> all = new ArrayList<>(List.of(
+				"spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+				"server.port=0",
+				"price.cache.enabled=false",
+				"price.changes.enabled=false",
+				"logging.level.root=WARN"));
+		all.addAll(List.of(properties));
+		// as arguments, not default properties, so they win over application.yml
+		return new SpringApplicationBuilder(TestApplication.class)
+				.bannerMode(Banner.Mode.OFF)
+				.logStartupInfo(false)
+				.run(all.stream().map(property -> "--" + property).toArray(String[]::new));
+	}
+
+	/**
+	 * Seeds the synthetic catalog for brand 1 and waits until the application sees it.
+	 * Rows are generated inside the database in chunks, so seeding millions of rows does not go through JDBC batches.
+	 * The key filter and the in-memory indexes were built from data.sql at startup: a catalog change event rebuilds
+	 * the filter on this thread, and the index is waited for, so the first iteration does not find the seeded
+	 * products unknown or race a background rebuild.
+	 *
+	 * @param context the running context of the trial
+	 * @param rows the number of price rows to insert
+	 */
+	static void seed(ConfigurableApplicationContext context, int rows) {
+		JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+		for (long from = 0; from < rows; from += SEED_CHUNK) {
+			long to = Math.min(rows, from + SEED_CHUNK) - 1;
+			jdbcTemplate.update(SEED_PRICES, from, to);
+		}
+
+		// only the repositories that answer from memory have an index to rebuild
+		boolean indexed = context.getBean(PriceRepository.class).dataVersion().isPresent();
+		CountDownLatch published = new CountDownLatch(1);
+		context.addApplicationListener(ApplicationListener.forPayload((PriceIndexPublishedEvent event) -> published.countDown()));
+		context.publishEvent(new PriceCatalogChangedEvent(rows));
+		try {
+			if (indexed && !published.await(REBUILD_TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+				throw new IllegalStateException("price index not rebuilt after seeding " + rows + " rows");
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("interrupted while the price index was rebuilt", ex);
+		}
+	}
+}
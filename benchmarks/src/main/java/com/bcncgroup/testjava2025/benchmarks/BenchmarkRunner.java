@@ -0,0 +1,50 @@
+package com.bcncgroup.testjava2025.benchmarks;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks jar.
+ * This class accepts the usual JMH command line and writes the results as JSON
+ * to target/jmh-result.json unless -rf or -rff are given.
+ */
+public final class BenchmarkRunner {
+
+	static final Path DEFAULT_RESULT = Path.of("target", "jmh-result.json");
+
+	private BenchmarkRunner() {
+	}
+
+	/**
+	 * Runs the selected benchmarks.
+	 * Example: java -jar benchmarks/target/benchmarks.jar PriceServiceBenchmark -p rows=10000
+	 *
+	 * @param args JMH command line arguments
+	 * @throws Exception if the options are not valid or a benchmark fails
+	 */
+	public static void main(String[] args) throws Exception {
+		CommandLineOptions options = new CommandLineOptions(args);
+		if (options.shouldHelp() || options.shouldList() || options.shouldListWithParams()
+				|| options.shouldListProfilers() || options.shouldListResultFormats()) {
+			Main.main(args);
+			return;
+		}
+
+		ChainedOptionsBuilder builder = new OptionsBuilder().parent(options);
+		if (!options.getResultFormat().hasValue()) {
+			builder.resultFormat(ResultFormatType.JSON);
+		}
+		if (!options.getResult().hasValue()) {
+			Files.createDirectories(DEFAULT_RESULT.getParent());
+			builder.result(DEFAULT_RESULT.toString());
+		}
+		new Runner(builder.build()).run();
+	}
+}
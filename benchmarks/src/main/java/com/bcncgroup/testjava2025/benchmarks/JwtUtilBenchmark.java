@@ -0,0 +1,75 @@
+package com.bcncgroup.testjava2025.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.bcncgroup.testjava2025.adapters.config.JwtUtil;
+
+/**
+ * Measures the token operations done on login and on every authenticated request.
+ * validateToken answers repeated tokens from the verified-token cache, validateTokenUncached pays the signature check every time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtUtilBenchmark {
+
+	private ConfigurableApplicationContext context;
+	private JwtUtil jwtUtil;
+	private JwtUtil uncachedJwtUtil;
+	private UserDetails user;
+	private String token;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkContext.start("jwt");
+		jwtUtil = context.getBean(JwtUtil.class);
+		uncachedJwtUtil = new JwtUtil(context.getEnvironment().getProperty("jwt.secret"), 86400L, 0);
+		user = User.withUsername("test").password("unused").authorities(List.of()).build();
+		token = jwtUtil.generateToken(user.getUsername());
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public String generateToken() {
+		return jwtUtil.generateToken(user.getUsername());
+	}
+
+	@Benchmark
+	public String extractUsername() {
+		return jwtUtil.extractUsername(token);
+	}
+
+	@Benchmark
+	public Boolean validateToken() {
+		return jwtUtil.validateToken(token, user);
+	}
+
+	@Benchmark
+	public Boolean validateTokenUncached() {
+		return uncachedJwtUtil.validateToken(token, user);
+	}
+}
@@ -0,0 +1,49 @@
+package com.bcncgroup.testjava2025.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bcncgroup.testjava2025.domain.manager.PasswordMamanger;
+
+/**
+ * Measures password hashing and verification as done on every login.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PasswordManagerBenchmark {
+
+	private static final String RAW_PASSWORD = "test";
+
+	private PasswordMamanger passwordManager;
+	private String encoded;
+
+	@Setup
+	public void setUp() {
+		passwordManager = new PasswordMamanger();
+		encoded = passwordManager.encode(RAW_PASSWORD);
+	}
+
+	@Benchmark
+	public String encode() {
+		return passwordManager.encode(RAW_PASSWORD);
+	}
+
+	@Benchmark
+	public boolean matches() {
+		return passwordManager.matches(RAW_PASSWORD, encoded);
+	}
+}
@@ -0,0 +1,72 @@
+package com.bcncgroup.testjava2025.benchmarks;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.bcncgroup.testjava2025.adapters.dto.out.PriceFindOutDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Measures JSON serialization of lookup responses with the ObjectMapper configured by the application.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PriceJsonBenchmark {
+
+	private ConfigurableApplicationContext context;
+	private ObjectWriter writer;
+	private PriceFindOutDTO single;
+	private List<PriceFindOutDTO> response;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkContext.start("json");
+		writer = context.getBean(ObjectMapper.class).writer();
+
+		PriceFindOutDTO.BrandFindOutDTO brand = new PriceFindOutDTO.BrandFindOutDTO(1L, "ZARA", "Marca de moda española");
+		single = new PriceFindOutDTO(35455L, brand, 1, LocalDateTime.of(2020, 6, 14, 0, 0, 0),
+				LocalDateTime.of(2020, 12, 31, 23, 59, 59), new BigDecimal("35.50"), "EUR");
+		// a date covered by the base price and a promotion, as in the second test case of the catalog
+		response = List.of(
+				new PriceFindOutDTO(35455L, brand, 2, LocalDateTime.of(2020, 6, 14, 15, 0, 0),
+						LocalDateTime.of(2020, 6, 14, 18, 30, 0), new BigDecimal("25.45"), "EUR"),
+				single);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public byte[] serializeSingle() throws JsonProcessingException {
+		return writer.writeValueAsBytes(single);
+	}
+
+	@Benchmark
+	public byte[] serializeResponse() throws JsonProcessingException {
+		return writer.writeValueAsBytes(response);
+	}
+}
@@ -0,0 +1,83 @@
+package com.bcncgroup.testjava2025.benchmarks;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.bcncgroup.testjava2025.adapters.dto.out.PriceFindOutDTO;
+import com.bcncgroup.testjava2025.adapters.mapper.PriceFindOutDTOMapper;
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.infrastructure.entity.PriceEntity;
+import com.bcncgroup.testjava2025.infrastructure.mapper.PriceMapper;
+
+/**
+ * Measures the mapping chain of a lookup: PriceEntity to Price to PriceFindOutDTO.
+ * The mappers come from the application context, so the brand is resolved by the brand dictionary as in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PriceMappingBenchmark {
+
+	private ConfigurableApplicationContext context;
+	private PriceMapper priceMapper;
+	private PriceFindOutDTOMapper outMapper;
+	private PriceEntity entity;
+	private Price price;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkContext.start("mapping");
+		priceMapper = context.getBean(PriceMapper.class);
+		outMapper = context.getBean(PriceFindOutDTOMapper.class);
+
+		entity = new PriceEntity();
+		entity.setId(1L);
+		entity.setBrandId(1L);
+		entity.setStartDate(LocalDateTime.of(2020, 6, 14, 0, 0, 0));
+		entity.setEndDate(LocalDateTime.of(2020, 12, 31, 23, 59, 59));
+		entity.setPriceList(1);
+		entity.setProductId(35455L);
+		entity.setPriority(0);
+		entity.setPrice(new BigDecimal("35.50"));
+		entity.setCurrency("EUR");
+		price = priceMapper.toDomain(entity);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Price entityToDomain() {
+		return priceMapper.toDomain(entity);
+	}
+
+	@Benchmark
+	public PriceFindOutDTO domainToDto() {
+		return outMapper.toDto(price);
+	}
+
+	@Benchmark
+	public PriceFindOutDTO entityToDto() {
+		return outMapper.toDto(priceMapper.toDomain(entity));
+	}
+}
@@ -0,0 +1,80 @@
+package com.bcncgroup.testjava2025.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.bcncgroup.testjava2025.domain.application.PriceService;
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.ports.in.query.FindPriceQuery;
+
+/**
+ * Measures PriceService.findByDateProductAndBrand against catalogs of growing size.
+ * The 10M rows catalog needs a bigger heap than the default fork, pass -jvmArgsAppend -Xmx8g
+ * or select smaller catalogs with -p rows=10000,1000000.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class PriceServiceBenchmark {
+
+	private static final int QUERIES = 4096;
+	private static final LocalDateTime ORIGIN = LocalDateTime.of(2020, 1, 1, 0, 0, 0);
+
+	@Param({ "10000", "1000000", "10000000" })
+	int rows;
+
+	@Param({ "jpa" })
+	String repositoryType;
+
+	private ConfigurableApplicationContext context;
+	private PriceService service;
+	private FindPriceQuery[] queries;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkContext.start("prices" + rows, "price.repository.type=" + repositoryType);
+		BenchmarkContext.seed(context, rows);
+		service = context.getBean(PriceService.class);
+
+		int products = Math.max(1, rows / BenchmarkContext.WINDOWS_PER_PRODUCT);
+		SplittableRandom random = new SplittableRandom(42);
+		queries = new FindPriceQuery[QUERIES];
+		for (int i = 0; i < QUERIES; i++) {
+			queries[i] = new FindPriceQuery(ORIGIN.plusHours(random.nextInt(24 * 360)),
+					BenchmarkContext.FIRST_PRODUCT + random.nextInt(products), 1L);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<Price> findByDateProductAndBrand() {
+		FindPriceQuery query = queries[next];
+		next = (next + 1) & (QUERIES - 1);
+		return service.findByDateProductAndBrand(query);
+	}
+}
@@ -0,0 +1,202 @@
+package com.bcncgroup.testjava2025.domain.application;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.context.event.EventListener;
+
+import com.bcncgroup.testjava2025.domain.event.PriceCatalogChangedEvent;
+import com.bcncgroup.testjava2025.domain.event.PriceChangesAppliedEvent;
+import com.bcncgroup.testjava2025.domain.event.PriceIndexPublishedEvent;
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.model.PriceRemoval;
+import com.bcncgroup.testjava2025.domain.model.PriceLookup;
+import com.bcncgroup.testjava2025.domain.ports.in.FindPriceLookupUseCase;
+import com.bcncgroup.testjava2025.domain.ports.in.FindPriceUseCase;
+import com.bcncgroup.testjava2025.domain.ports.in.query.FindPriceQuery;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+/**
+ * Cache decorator for the find price use case.
+ * This class keeps, per brand and product, the last result together with the interval between
+ * the surrounding START_DATE/END_DATE boundaries. Any lookup whose date falls inside that
+ * interval gets the same prices without reaching the repository. The cached interval is also what
+ * {@link #findLookup(FindPriceQuery)} returns, so HTTP caching costs no extra query on a hit.
+ * A miss is answered by the lookup of the delegate. Every invalidation moves a generation counter first; an entry
+ * loaded while it moved is dropped again once stored, as the invalidation may have run before the store.
+ */
+public class CachingFindPriceUseCase implements FindPriceUseCase, FindPriceLookupUseCase {
+	
+	private final FindPriceUseCase delegate;
+	private final FindPriceLookupUseCase lookupDelegate;
+	private final Cache<CacheKey, PriceLookup> cache;
+	
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	
+	// moved by every invalidation, before the entries are dropped
+	private final AtomicLong generation = new AtomicLong();
+	
+	public <T extends FindPriceUseCase & FindPriceLookupUseCase> CachingFindPriceUseCase(T delegate, long maximumSize) {
+		this.delegate = delegate;
+		this.lookupDelegate = delegate;
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.executor(Runnable::run)
+				.removalListener((CacheKey key, PriceLookup entry, RemovalCause cause) -> {
+					if (cause.wasEvicted()) {
+						evictions.increment();
+					}
+				})
+				.build();
+	}
+
+	/**
+     * Finds prices by date, product and brand, answering from the cache when possible.
+     * 
+     * @param query the search criteria
+     * @return a list of prices ordered by priority
+     */
+	@Override
+	public List<Price> findByDateProductAndBrand(FindPriceQuery query) {
+		if (query.applicationDate() == null || query.productId() == null || query.brandId() == null) {
+			return delegate.findByDateProductAndBrand(query);
+		}
+		return findLookup(query).prices();
+	}
+	
+	/**
+     * Finds prices by date, product and brand with their validity interval, answering from the cache when possible.
+     * 
+     * @param query the search criteria
+     * @return the prices and the interval they stay valid for
+     */
+	@Override
+	public PriceLookup findLookup(FindPriceQuery query) {
+		LocalDateTime date = query.applicationDate();
+		CacheKey key = new CacheKey(query.brandId(), query.productId());
+		PriceLookup entry = cache.getIfPresent(key);
+		if (entry != null && entry.covers(date)) {
+			hits.increment();
+			return entry;
+		}
+		
+		misses.increment();
+		long loadedAt = generation.get();
+		entry = lookupDelegate.findLookup(query);
+		cache.put(key, entry);
+		if (generation.get() != loadedAt) {
+			// an invalidation ran while it was loaded, possibly before the put
+			cache.asMap().remove(key, entry);
+		}
+		return entry;
+	}
+	
+	/**
+     * Finds prices for several queries, answering cached ones directly.
+     * The remaining queries are sent to the delegate in one batch; they are not added to the
+     * cache because that would need the boundaries of every missed product.
+     * 
+     * @param queries the search criteria
+     * @return one list of prices per query, in request order
+     */
+	@Override
+	public List<List<Price>> findAllByDateProductAndBrand(List<FindPriceQuery> queries) {
+		List<List<Price>> result = new ArrayList<>(queries.size());
+		List<FindPriceQuery> missed = new ArrayList<>();
+		List<Integer> missedPositions = new ArrayList<>();
+		
+		for (FindPriceQuery query : queries) {
+			PriceLookup entry = query.applicationDate() == null ? null
+					: cache.getIfPresent(new CacheKey(query.brandId(), query.productId()));
+			if (entry != null && entry.covers(query.applicationDate())) {
+				hits.increment();
+				result.add(entry.prices());
+			} else {
+				misses.increment();
+				missedPositions.add(result.size());
+				missed.add(query);
+				result.add(null);
+			}
+		}
+		
+		if (!missed.isEmpty()) {
+			List<List<Price>> found = delegate.findAllByDateProductAndBrand(missed);
+			for (int i = 0; i < missedPositions.size(); i++) {
+				result.set(missedPositions.get(i), found.get(i));
+			}
+		}
+		return result;
+	}
+	
+	/**
+     * Drops the cached entry of a product and brand.
+     * 
+     * @param productId the product identifier
+     * @param brandId the brand identifier
+     */
+	public void invalidate(Long productId, Long brandId) {
+		generation.incrementAndGet();
+		cache.invalidate(new CacheKey(brandId, productId));
+	}
+	
+	/**
+     * Drops every cached entry.
+     * This method also runs when the price catalog changes and when a rebuilt index is published.
+     */
+	@EventListener({ PriceCatalogChangedEvent.class, PriceIndexPublishedEvent.class })
+	public void invalidateAll() {
+		generation.incrementAndGet();
+		cache.invalidateAll();
+	}
+	
+	/**
+     * Drops the cached entries of the brand and product pairs whose prices changed, or that rows were deleted from or
+     * moved out of.
+     * 
+     * @param event the applied changes
+     */
+	@EventListener
+	public void onPriceChangesApplied(PriceChangesAppliedEvent event) {
+		for (Price price : event.changed()) {
+			invalidate(price.productId(), price.brand().id());
+		}
+		for (PriceRemoval removal : event.removed()) {
+			invalidate(removal.productId(), removal.brandId());
+		}
+	}
+	
+	/**
+     * Gets a snapshot of the cache counters.
+     * 
+     * @return hits, misses, evictions and current size
+     */
+	public Stats stats() {
+		return new Stats(hits.sum(), misses.sum(), evictions.sum(), cache.estimatedSize());
+	}
+	
+	/**
+	 * Counters of the cache.
+	 */
+	public record Stats(long hits, long misses, long evictions, long size) {
+		
+		/**
+	     * Gets the ratio of lookups answered from the cache.
+	     * 
+	     * @return the hit ratio between 0 and 1
+	     */
+		public double hitRatio() {
+			long total = hits + misses;
+			return total == 0 ? 0 : (double) hits / total;
+		}
+	}
+	
+	private record CacheKey(Long brandId, Long productId) {
+	}
+}
@@ -0,0 +1,177 @@
+package com.bcncgroup.testjava2025.domain.application;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.bcncgroup.testjava2025.domain.contant.MessageConstant;
+import com.bcncgroup.testjava2025.domain.event.PriceCatalogChangedEvent;
+import com.bcncgroup.testjava2025.domain.event.PriceChangesAppliedEvent;
+import com.bcncgroup.testjava2025.domain.event.PriceIndexPublishedEvent;
+import com.bcncgroup.testjava2025.domain.exception.LogicException;
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.model.PriceRemoval;
+import com.bcncgroup.testjava2025.domain.model.PriceTimeline;
+import com.bcncgroup.testjava2025.domain.ports.in.FindEffectivePriceUseCase;
+import com.bcncgroup.testjava2025.domain.ports.in.query.FindPriceQuery;
+import com.bcncgroup.testjava2025.domain.ports.out.PriceRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.transaction.Transactional;
+
+/**
+ * Service class that implements the effective price use case.
+ * This class precomputes a timeline of disjoint segments per product and brand the first
+ * time it is requested, and answers later lookups with a binary search over it.
+ * At most {@code price.timeline.maximum-size} timelines are kept; the least used ones are evicted.
+ * When the price key filter is enabled, pairs it knows to have no prices get no timeline without reaching the
+ * repository, and a pair it lets through without windows is counted as a false positive.
+ * Every invalidation moves a generation counter first; a timeline built while it moved is dropped again once stored,
+ * as the invalidation may have run before the store and the timeline may hold the prices it removed.
+ */
+@Service
+@Transactional // Not persisting entities but ensures consistent view
+public class EffectivePriceService implements FindEffectivePriceUseCase {
+	
+	static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+	
+	private final PriceRepository priceRepository;
+	
+	private final PriceKeyFilter priceKeyFilter;
+	
+	private final Cache<TimelineKey, PriceTimeline> timelines;
+	
+	// moved by every invalidation, before the timelines are dropped
+	private final AtomicLong generation = new AtomicLong();
+	
+	public EffectivePriceService(PriceRepository priceRepository) {
+		this(priceRepository, DEFAULT_MAXIMUM_SIZE);
+	}
+	
+	public EffectivePriceService(PriceRepository priceRepository, long maximumSize) {
+		this(priceRepository, Optional.empty(), maximumSize);
+	}
+	
+	@Autowired
+	public EffectivePriceService(PriceRepository priceRepository, Optional<PriceKeyFilter> priceKeyFilter,
+			@Value("${price.timeline.maximum-size:10000}") long maximumSize) {
+        this.priceRepository = priceRepository;
+        this.priceKeyFilter = priceKeyFilter.orElse(null);
+        this.timelines = Caffeine.newBuilder()
+        		.maximumSize(maximumSize)
+        		.executor(Runnable::run)
+        		.build();
+    }
+
+	/**
+     * Finds the price that applies for the given date, product and brand.
+     * 
+     * @param query the search criteria
+     * @return the winning price
+     * @throws LogicException if no price applies (404) or prices cannot be read (500)
+     */
+	@Override
+	public Price findEffectivePrice(FindPriceQuery query) {
+		return timeline(query.productId(), query.brandId())
+				.findAt(query.applicationDate())
+				.orElseThrow(() -> new LogicException(MessageConstant.PRICE_NOT_FOUND, 404));
+	}
+	
+	/**
+     * Gets the timeline of a product and brand, precomputing it when it is not known yet.
+     * Products without prices are not kept, so unknown identifiers do not grow the map.
+     * 
+     * @param productId the product identifier
+     * @param brandId the brand identifier
+     * @return the effective price timeline
+     */
+	public PriceTimeline timeline(Long productId, Long brandId) {
+		TimelineKey key = new TimelineKey(productId, brandId);
+		PriceTimeline timeline = timelines.getIfPresent(key);
+		if (timeline == null) {
+			long builtAt = generation.get();
+			timeline = build(productId, brandId);
+			if (timeline.segments() > 0) {
+				timelines.put(key, timeline);
+				if (generation.get() != builtAt) {
+					// an invalidation ran while it was built, possibly before the put
+					timelines.asMap().remove(key, timeline);
+				}
+			}
+		}
+		return timeline;
+	}
+	
+	/**
+     * Drops the precomputed timeline of a product and brand so it is rebuilt on next use.
+     * 
+     * @param productId the product identifier
+     * @param brandId the brand identifier
+     */
+	public void invalidate(Long productId, Long brandId) {
+		generation.incrementAndGet();
+		timelines.invalidate(new TimelineKey(productId, brandId));
+	}
+	
+	/**
+     * Drops every precomputed timeline.
+     * This method also runs when the price catalog changes and when a rebuilt index is published.
+     */
+	@EventListener({ PriceCatalogChangedEvent.class, PriceIndexPublishedEvent.class })
+	public void invalidateAll() {
+		generation.incrementAndGet();
+		timelines.invalidateAll();
+	}
+	
+	/**
+     * Drops the timelines of the brand and product pairs whose prices changed, or that rows were deleted from or
+     * moved out of.
+     * 
+     * @param event the applied changes
+     */
+	@EventListener
+	public void onPriceChangesApplied(PriceChangesAppliedEvent event) {
+		for (Price price : event.changed()) {
+			invalidate(price.productId(), price.brand().id());
+		}
+		for (PriceRemoval removal : event.removed()) {
+			invalidate(removal.productId(), removal.brandId());
+		}
+	}
+	
+	/**
+     * Gets the number of precomputed timelines.
+     * This method does not need a transaction, so reading it does not take a connection.
+     * 
+     * @return the number of timelines kept
+     */
+	@Transactional(Transactional.TxType.SUPPORTS)
+	public int size() {
+		return (int) timelines.estimatedSize();
+	}
+	
+	private PriceTimeline build(Long productId, Long brandId) {
+		if (priceKeyFilter != null && !priceKeyFilter.mightContain(brandId, productId)) {
+			return PriceTimeline.of(productId, brandId, List.of());
+		}
+		List<Price> prices;
+		try {
+			prices = priceRepository.findByProductAndBrand(productId, brandId);
+		} catch (Exception ex) {
+			throw new LogicException(MessageConstant.FIND_PRICES_ERROR, 500);
+		}
+		if (prices.isEmpty() && priceKeyFilter != null && productId != null && brandId != null) {
+			priceKeyFilter.recordFalsePositive();
+		}
+		return PriceTimeline.of(productId, brandId, prices);
+	}
+	
+	private record TimelineKey(Long productId, Long brandId) {
+	}
+}
@@ -0,0 +1,327 @@
+package com.bcncgroup.testjava2025.domain.application;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import com.bcncgroup.testjava2025.domain.event.PriceCatalogChangedEvent;
+import com.bcncgroup.testjava2025.domain.event.PriceChangesAppliedEvent;
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.model.PriceChange;
+import com.bcncgroup.testjava2025.domain.model.PriceRemoval;
+import com.bcncgroup.testjava2025.domain.ports.out.PriceChangeRepository;
+import com.bcncgroup.testjava2025.domain.ports.out.PriceRepository;
+
+/**
+ * Poller that keeps the in-memory copies of the prices up to date with the catalog, one change at a time.
+ * Every insert, update and delete of a price is logged by the database with a new change version, the identifier of
+ * the row and the brand and product it had before (see the PRICE_CHANGES table); this class remembers the last
+ * version it applied and, every poll interval, reads only the log entries above it, joined with the rows as they are
+ * now. They are applied to the price repository first, so an in-memory index answers with them, and then announced
+ * with a {@link PriceChangesAppliedEvent}, so the caches drop just the brand and product pairs involved: the current
+ * pair of a changed row, the pair a deleted row was in and the pair a moved row left. A poll costs one indexed range
+ * read of the log, whatever the size of the catalog.
+ * A version missing from the log belongs to a write not committed yet: the entries after it are applied, but the
+ * remembered version stays before it, so they are read again until it shows up or {@code gapTimeout} milliseconds
+ * pass. A version still missing after the timeout is skipped and watched: every poll reads the watched versions again
+ * and applies the ones committed since, so a change that commits late is not lost; a version is watched for
+ * {@code gapRetention} milliseconds, after which its write is taken as rolled back.
+ * A poll that finds {@code batchSize} changes or more, such as after an import, asks for a full reload with a
+ * {@link PriceCatalogChangedEvent} instead of applying them one by one, as does a repository that cannot apply changes
+ * in place; the refresher folds the requests that arrive during a rebuild into one.
+ */
+public class PriceChangePoller implements DisposableBean {
+
+	static final Logger LOG = LoggerFactory.getLogger(PriceChangePoller.class);
+
+	// skipped versions watched at most; the oldest is given up beyond it
+	static final int MAX_WATCHED_VERSIONS = 1024;
+
+	private final PriceChangeRepository priceChangeRepository;
+	private final PriceRepository priceRepository;
+	private final ApplicationEventPublisher eventPublisher;
+	private final long pollInterval;
+	private final int batchSize;
+	private final long gapTimeout;
+	private final long gapRetention;
+	private final ScheduledExecutorService scheduler;
+
+	// a lock instead of synchronized, so a poll does not pin the carrier of a virtual thread
+	private final ReentrantLock pollLock = new ReentrantLock();
+
+	private final LongAdder polls = new LongAdder();
+	private final LongAdder changes = new LongAdder();
+	private final LongAdder reloads = new LongAdder();
+	private final LongAdder lateChanges = new LongAdder();
+
+	// last version applied with no missing version before it, -1 until started
+	private volatile long version = -1;
+	// when the poller last read every committed change, in epoch millis
+	private volatile long caughtUpAt;
+	// age of the oldest change of the last applied batch
+	private volatile long delayMillis;
+	// when the missing version the poller waits for was first seen, -1 when none
+	private long gapSince = -1;
+	// skipped versions read again on every poll, with when they were skipped, oldest first
+	private final Map<Long, Long> watched = new LinkedHashMap<>();
+	// size of the watched versions, read by the metrics without the poll lock
+	private volatile int watchedVersions;
+
+	public PriceChangePoller(PriceChangeRepository priceChangeRepository, PriceRepository priceRepository,
+			ApplicationEventPublisher eventPublisher, long pollInterval, int batchSize, long gapTimeout, long gapRetention) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("batch size must be positive: " + batchSize);
+		}
+		this.priceChangeRepository = priceChangeRepository;
+		this.priceRepository = priceRepository;
+		this.eventPublisher = eventPublisher;
+		this.pollInterval = pollInterval;
+		this.batchSize = batchSize;
+		this.gapTimeout = gapTimeout;
+		this.gapRetention = gapRetention;
+		this.scheduler = pollInterval > 0 ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "price-change-poller");
+			thread.setDaemon(true);
+			return thread;
+		}) : null;
+	}
+
+	/**
+	 * Starts polling once the application is ready.
+	 * It runs before the in-memory indexes are loaded, so a change written while they load is read again.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	@Order(Ordered.HIGHEST_PRECEDENCE)
+	public void onApplicationReady() {
+		start();
+	}
+
+	/**
+	 * Takes the latest change version of the catalog as applied and schedules the polls.
+	 */
+	public void start() {
+		version = priceChangeRepository.latestVersion();
+		caughtUpAt = System.currentTimeMillis();
+		LOG.info("price change poller started at version {}", version);
+		if (scheduler != null) {
+			scheduler.scheduleWithFixedDelay(this::pollQuietly, pollInterval, pollInterval, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Reads the changes logged since the last applied version, and the skipped versions committed since, and
+	 * applies them.
+	 *
+	 * @return the number of changes read, 0 when there were none or the poller is not started
+	 */
+	public int poll() {
+		pollLock.lock();
+		try {
+			long from = version;
+			if (from < 0) {
+				return 0;
+			}
+			long start = System.currentTimeMillis();
+			List<PriceChange> late = readWatched(start);
+			List<PriceChange> read = priceChangeRepository.findChangedSince(from, batchSize);
+			polls.increment();
+			if (read.size() == batchSize) {
+				// a bulk write: one reload costs less than applying it row by row
+				long latest = priceChangeRepository.latestVersion();
+				LOG.info("{} or more price changes after version {}, full reload up to version {}", batchSize, from, latest);
+				reload(read.size());
+				version = latest;
+				gapSince = -1;
+				caughtUpAt = start;
+				return read.size();
+			}
+			if (read.isEmpty() && late.isEmpty()) {
+				gapSince = -1;
+				caughtUpAt = start;
+				return 0;
+			}
+
+			long next = from;
+			boolean waiting = false;
+			for (PriceChange change : read) {
+				if (!waiting && change.version() != next + 1) {
+					if (gapSince < 0) {
+						gapSince = start;
+					}
+					if (start - gapSince < gapTimeout) {
+						waiting = true;
+					} else {
+						LOG.warn("price change versions {} to {} not committed after {} ms, skipped and watched for {} ms",
+								next + 1, change.version() - 1, gapTimeout, gapRetention);
+						// a wider gap is a jump of the sequence rather than open writes: only its end is watched
+						for (long missing = Math.max(next + 1, change.version() - MAX_WATCHED_VERSIONS); missing < change.version(); missing++) {
+							watch(missing, start);
+						}
+						gapSince = -1;
+					}
+				}
+				if (!waiting) {
+					next = change.version();
+				}
+			}
+			if (!waiting) {
+				gapSince = -1;
+			}
+
+			List<PriceChange> applied = new ArrayList<>(late.size() + read.size());
+			applied.addAll(late);
+			applied.addAll(read);
+			apply(applied);
+			changes.add(applied.size());
+			lateChanges.add(late.size());
+			version = next;
+			if (!waiting) {
+				caughtUpAt = start;
+			}
+			LocalDateTime oldest = null;
+			for (PriceChange change : applied) {
+				if (change.changedAt() != null && (oldest == null || change.changedAt().isBefore(oldest))) {
+					oldest = change.changedAt();
+				}
+			}
+			delayMillis = oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis());
+			LOG.debug("price changes applied: {} changes, {} of them late, up to version {} in {} ms", applied.size(),
+					late.size(), next, System.currentTimeMillis() - start);
+			return applied.size();
+		} finally {
+			pollLock.unlock();
+		}
+	}
+
+	/**
+	 * Stops the polls.
+	 */
+	@Override
+	public void destroy() {
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+		}
+	}
+
+	/**
+	 * Gets a snapshot of the poller counters.
+	 *
+	 * @return the polls, changes, full reloads, applied version and lags
+	 */
+	public Stats stats() {
+		long lagMillis = version < 0 ? 0 : Math.max(0, System.currentTimeMillis() - caughtUpAt);
+		return new Stats(polls.sum(), changes.sum(), reloads.sum(), version, lagMillis, delayMillis, lateChanges.sum(),
+				watchedVersions);
+	}
+
+	/**
+	 * Applies changes to the repository and announces them, or asks for a full reload when the repository cannot
+	 * apply them in place. Every change carries its row as it is now, so a row changed twice is applied twice with
+	 * the same content, and a row deleted since is removed whatever the change was.
+	 */
+	private void apply(List<PriceChange> read) {
+		Map<Long, Price> changed = new LinkedHashMap<>();
+		Set<PriceRemoval> removed = new LinkedHashSet<>();
+		for (PriceChange change : read) {
+			if (change.price() != null) {
+				changed.put(change.priceId(), change.price());
+			}
+			PriceRemoval removal = change.removal();
+			if (removal != null) {
+				removed.add(removal);
+			}
+		}
+		// a row moved back to a group it left in the same batch stays in it
+		removed.removeIf(removal -> {
+			Price price = changed.get(removal.priceId());
+			return price != null && removal.brandId().equals(price.brand().id()) && removal.productId().equals(price.productId());
+		});
+		List<Price> prices = List.copyOf(changed.values());
+		List<PriceRemoval> removals = List.copyOf(removed);
+		if (priceRepository.applyChanges(prices, removals)) {
+			eventPublisher.publishEvent(new PriceChangesAppliedEvent(prices, removals));
+		} else {
+			LOG.info("price changes up to version {} need a full reload", read.get(read.size() - 1).version());
+			reload(read.size());
+		}
+	}
+
+	/**
+	 * Reads the watched versions committed since they were skipped, and gives up the ones watched for too long.
+	 */
+	private List<PriceChange> readWatched(long now) {
+		if (watched.isEmpty()) {
+			return List.of();
+		}
+		List<PriceChange> late = priceChangeRepository.findByVersions(List.copyOf(watched.keySet()));
+		for (PriceChange change : late) {
+			watched.remove(change.version());
+			LOG.info("price change version {} committed after it was skipped, applied now", change.version());
+		}
+		watched.values().removeIf(skippedAt -> now - skippedAt >= gapRetention);
+		watchedVersions = watched.size();
+		return late;
+	}
+
+	private void watch(long missing, long now) {
+		if (watched.size() == MAX_WATCHED_VERSIONS) {
+			Iterator<Long> oldest = watched.keySet().iterator();
+			LOG.debug("price change version {} given up, more than {} versions watched", oldest.next(), MAX_WATCHED_VERSIONS);
+			oldest.remove();
+		}
+		watched.put(missing, now);
+		watchedVersions = watched.size();
+	}
+
+	private void reload(long changedRows) {
+		reloads.increment();
+		eventPublisher.publishEvent(new PriceCatalogChangedEvent(changedRows));
+	}
+
+	private void pollQuietly() {
+		try {
+			poll();
+		} catch (RuntimeException ex) {
+			// the version is kept, the next poll reads the same rows again
+			LOG.error("price change poll failed", ex);
+		}
+	}
+
+	/**
+	 * Counters of the poller.
+	 *
+	 * @param polls the number of reads of the change log
+	 * @param changes the number of changes read, a change read again counts again
+	 * @param reloads the number of polls that asked for a full reload, after a bulk write or when the repository
+	 *        could not apply the changes in place
+	 * @param version the last applied change version
+	 * @param lagMillis the time since the poller last read every committed change: an upper bound of how old an
+	 *        unapplied change can be, except for the watched versions
+	 * @param delayMillis the age of the oldest change of the last applied batch when it was applied
+	 * @param lateChanges the number of changes applied after their version was skipped
+	 * @param watchedVersions the number of skipped versions still watched
+	 */
+	public record Stats(long polls, long changes, long reloads, long version, long lagMillis, long delayMillis,
+			long lateChanges, int watchedVersions) {
+	}
+}
@@ -0,0 +1,68 @@
+package com.bcncgroup.testjava2025.domain.application;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.bcncgroup.testjava2025.domain.contant.MessageConstant;
+import com.bcncgroup.testjava2025.domain.exception.LogicException;
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.ports.in.ExportPriceUseCase;
+import com.bcncgroup.testjava2025.domain.ports.in.query.ExportPriceQuery;
+import com.bcncgroup.testjava2025.domain.ports.out.PriceRepository;
+
+import jakarta.transaction.Transactional;
+
+/**
+ * Service class that implements the price export use case.
+ * This class validates the export criteria and streams the prices from the repository.
+ */
+@Service
+@Transactional // Keeps the connection open while the rows are streamed
+public class PriceExportService implements ExportPriceUseCase {
+	
+	private final PriceRepository priceRepository;
+	
+	@Autowired
+	public PriceExportService(PriceRepository priceRepository) {
+        this.priceRepository = priceRepository;
+    }
+
+	/**
+     * Streams the prices of a brand to the given sink.
+     * 
+     * @param query the brand and optional date window
+     * @param sink the consumer that receives every price
+     * @return the number of exported prices
+     * @throws LogicException if the criteria are not valid (400)
+     */
+	@Override
+	public long exportByBrand(ExportPriceQuery query, Consumer<Price> sink) {
+		validate(query);
+		
+		AtomicLong exported = new AtomicLong();
+		priceRepository.forEachByBrand(query.brandId(), query.fromDate(), query.toDate(), price -> {
+			sink.accept(price);
+			exported.incrementAndGet();
+		});
+		return exported.get();
+	}
+	
+	/**
+     * Checks that the brand is informed and positive and that the date window is not reversed.
+     * This method does not need a transaction, so it does not take a connection.
+     * 
+     * @param query the brand and optional date window
+     * @throws LogicException if the criteria are not valid (400)
+     */
+	@Override
+	@Transactional(Transactional.TxType.SUPPORTS)
+	public void validate(ExportPriceQuery query) {
+		if (query.brandId() == null || query.brandId() <= 0
+				|| (query.fromDate() != null && query.toDate() != null && query.fromDate().isAfter(query.toDate()))) {
+			throw new LogicException(MessageConstant.INVALID_DATA, 400);
+		}
+	}
+}
@@ -0,0 +1,209 @@
+package com.bcncgroup.testjava2025.domain.application;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import com.bcncgroup.testjava2025.domain.contant.MessageConstant;
+import com.bcncgroup.testjava2025.domain.event.PriceCatalogChangedEvent;
+import com.bcncgroup.testjava2025.domain.exception.LogicException;
+import com.bcncgroup.testjava2025.domain.model.Brand;
+import com.bcncgroup.testjava2025.domain.model.ImportPriceResult;
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.ports.in.ImportPriceUseCase;
+import com.bcncgroup.testjava2025.domain.ports.in.command.ImportPriceRow;
+import com.bcncgroup.testjava2025.domain.ports.out.PriceImportRepository;
+
+/**
+ * Service class that implements the price import use case.
+ * This class checks every row against the PRICES table constraints and stores valid rows in chunks,
+ * each chunk in its own transaction, so a large file never holds a single long transaction.
+ * The brand and product pairs of every stored chunk go to the price key filter before the catalog change is
+ * announced, so no lookup is answered "no prices" for an imported pair while the filter is rebuilt.
+ */
+@Service
+public class PriceImportService implements ImportPriceUseCase {
+	
+	static final Logger LOG = LoggerFactory.getLogger(PriceImportService.class);
+	
+	static final int MAX_REPORTED_ERRORS = 20;
+	
+	/**
+	 * Accepts both the API format (space) and ISO-8601 (T) between date and time.
+	 */
+	static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd[ ]['T']HH:mm:ss");
+	
+	private final PriceImportRepository priceImportRepository;
+	
+	private final ApplicationEventPublisher eventPublisher;
+	
+	private final PriceKeyFilter priceKeyFilter;
+	
+	private final int chunkSize;
+	
+	@Autowired
+	public PriceImportService(PriceImportRepository priceImportRepository, ApplicationEventPublisher eventPublisher,
+			Optional<PriceKeyFilter> priceKeyFilter, @Value("${price.import.chunk-size:5000}") int chunkSize) {
+        this.priceImportRepository = priceImportRepository;
+        this.eventPublisher = eventPublisher;
+        this.priceKeyFilter = priceKeyFilter.orElse(null);
+        this.chunkSize = chunkSize;
+    }
+
+	/**
+     * Validates and stores the given rows in chunks.
+     * Rejected rows are logged with their line number; the first ones are also returned.
+     * 
+     * @param rows the raw rows to import
+     * @return the import counters
+     * @throws LogicException if the rows cannot be read or stored (500)
+     */
+	@Override
+	public ImportPriceResult importPrices(Iterator<ImportPriceRow> rows) {
+		long start = System.nanoTime();
+		Set<Long> brandIds = priceImportRepository.findBrandIds();
+		
+		List<Price> chunk = new ArrayList<>(chunkSize);
+		List<String> errors = new ArrayList<>();
+		long read = 0;
+		long imported = 0;
+		long rejected = 0;
+		
+		try {
+			while (rows.hasNext()) {
+				ImportPriceRow row = rows.next();
+				read++;
+				
+				try {
+					chunk.add(toPrice(row, brandIds));
+				} catch (RejectedRowException ex) {
+					rejected++;
+					String message = "line " + row.line() + ": " + ex.getMessage();
+					if (errors.size() < MAX_REPORTED_ERRORS) {
+						errors.add(message);
+					}
+					LOG.debug("price import row rejected, {}", message);
+					continue;
+				}
+				if (chunk.size() == chunkSize) {
+					imported += store(chunk);
+					chunk.clear();
+				}
+			}
+			if (!chunk.isEmpty()) {
+				imported += store(chunk);
+			}
+		} catch (LogicException ex) {
+			throw ex;
+		} catch (Exception ex) {
+			LOG.error(MessageConstant.IMPORT_PRICES_ERROR + " after {} rows", read, ex);
+			throw new LogicException(MessageConstant.IMPORT_PRICES_ERROR, 500);
+		} finally {
+			if (imported > 0) {
+				eventPublisher.publishEvent(new PriceCatalogChangedEvent(imported));
+			}
+		}
+		
+		long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+		ImportPriceResult result = new ImportPriceResult(read, imported, rejected, elapsedMillis, List.copyOf(errors));
+		LOG.info("price import finished: {} read, {} imported, {} rejected in {} ms ({} rows/s)",
+				read, imported, rejected, elapsedMillis, result.rowsPerSecond());
+		return result;
+	}
+	
+	/**
+	 * Stores a chunk in its own transaction and adds its pairs to the price key filter once committed.
+	 * 
+	 * @param chunk the valid prices to store
+	 * @return the number of stored rows
+	 */
+	private int store(List<Price> chunk) {
+		int stored = priceImportRepository.insertAll(chunk);
+		if (priceKeyFilter != null) {
+			for (Price price : chunk) {
+				priceKeyFilter.put(price.brand().id(), price.productId());
+			}
+		}
+		return stored;
+	}
+	
+	/**
+	 * Converts a row checking it against the PRICES table constraints.
+	 * 
+	 * @param row the raw row
+	 * @param brandIds the existing brand identifiers
+	 * @return the price to store
+	 * @throws RejectedRowException with the rejection reason when the row is not valid
+	 */
+	static Price toPrice(ImportPriceRow row, Set<Long> brandIds) throws RejectedRowException {
+		if (isBlank(row.brandId()) || isBlank(row.startDate()) || isBlank(row.endDate()) || isBlank(row.priceList())
+				|| isBlank(row.productId()) || isBlank(row.priority()) || isBlank(row.price()) || isBlank(row.currency())) {
+			throw new RejectedRowException("missing fields");
+		}
+		try {
+			Long brandId = Long.valueOf(row.brandId().trim());
+			if (!brandIds.contains(brandId)) {
+				throw new RejectedRowException("unknown brand " + brandId);
+			}
+			LocalDateTime startDate = LocalDateTime.parse(row.startDate().trim(), DATE_FORMAT);
+			LocalDateTime endDate = LocalDateTime.parse(row.endDate().trim(), DATE_FORMAT);
+			if (startDate.isAfter(endDate)) {
+				throw new RejectedRowException("start date after end date");
+			}
+			Integer priceList = Integer.valueOf(row.priceList().trim());
+			Long productId = Long.valueOf(row.productId().trim());
+			Integer priority = Integer.valueOf(row.priority().trim());
+			if (priority < 0) {
+				throw new RejectedRowException("negative priority");
+			}
+			BigDecimal price = new BigDecimal(row.price().trim());
+			if (price.signum() < 0) {
+				throw new RejectedRowException("negative price");
+			}
+			// DECIMAL(10,2): at most two decimals and eight integer digits
+			price = price.setScale(2, RoundingMode.UNNECESSARY);
+			if (price.precision() > 10) {
+				throw new RejectedRowException("price out of range");
+			}
+			String currency = row.currency().trim();
+			if (currency.length() != 3 || !currency.chars().allMatch(c -> c >= 'A' && c <= 'Z')) {
+				throw new RejectedRowException("currency must be a 3 letter code");
+			}
+			return new Price(null, new Brand(brandId, null, null), startDate, endDate, priceList, productId, priority, price, currency);
+		} catch (NumberFormatException | DateTimeParseException ex) {
+			throw new RejectedRowException("malformed value, " + ex.getMessage());
+		} catch (ArithmeticException ex) {
+			throw new RejectedRowException("price with more than two decimals");
+		}
+	}
+	
+	private static boolean isBlank(String value) {
+		return value == null || value.isBlank();
+	}
+	
+	/**
+	 * Signals a row that breaks a constraint. It carries no stack trace, rejected rows are expected.
+	 */
+	static final class RejectedRowException extends Exception {
+		
+		private static final long serialVersionUID = 4581960246163472180L;
+		
+		RejectedRowException(String reason) {
+			super(reason, null, false, false);
+		}
+	}
+}
@@ -0,0 +1,260 @@
+package com.bcncgroup.testjava2025.domain.application;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import com.bcncgroup.testjava2025.domain.event.PriceCatalogChangedEvent;
+import com.bcncgroup.testjava2025.domain.event.PriceChangesAppliedEvent;
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.ports.out.PriceKeyRepository;
+
+/**
+ * Bloom filter of the brand and product pairs that have prices.
+ * This class answers "definitely no price" for pairs that were never stored, so the price service can skip the
+ * database for them. A pair that is stored is never reported as unknown; an unknown pair is reported as known with
+ * the configured false-positive rate. Until the first build, and while it fails, every pair is reported as known.
+ * The filter is built once the application is ready and rebuilt, sized for the current catalog, whenever the
+ * catalog changes; lookups keep using the previous filter until the new one is published.
+ * Its change listeners run before any other, so the caches drop their entries only once the filter knows the new
+ * pairs: an entry cached meanwhile from a stale "no prices" answer is dropped with the rest.
+ */
+public class PriceKeyFilter {
+
+	static final Logger LOG = LoggerFactory.getLogger(PriceKeyFilter.class);
+
+	/**
+	 * Room for pairs added with {@link #put(long, long)} after a build before the rate degrades.
+	 */
+	static final double GROWTH = 1.25;
+
+	static final int MINIMUM_KEYS = 1024;
+
+	private final PriceKeyRepository priceKeyRepository;
+	private final double falsePositiveRate;
+
+	// a lock instead of synchronized, so a rebuild does not pin the carrier of a virtual thread
+	private final ReentrantLock buildLock = new ReentrantLock();
+
+	private volatile Bits bits;
+	// filled by a rebuild in progress; pairs put meanwhile go to both filters
+	private volatile Bits building;
+
+	private final LongAdder negatives = new LongAdder();
+	private final LongAdder positives = new LongAdder();
+	private final LongAdder falsePositives = new LongAdder();
+
+	public PriceKeyFilter(PriceKeyRepository priceKeyRepository, double falsePositiveRate) {
+		if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+			throw new IllegalArgumentException("false-positive-rate must be between 0 and 1");
+		}
+		this.priceKeyRepository = priceKeyRepository;
+		this.falsePositiveRate = falsePositiveRate;
+	}
+
+	/**
+	 * Builds the filter once the application is ready and the data scripts have run.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void onApplicationReady() {
+		rebuild();
+	}
+
+	/**
+	 * Rebuilds the filter after prices are written outside the data scripts.
+	 *
+	 * @param event the change event
+	 */
+	@EventListener
+	@Order(Ordered.HIGHEST_PRECEDENCE)
+	public void onPriceCatalogChanged(PriceCatalogChangedEvent event) {
+		rebuild();
+	}
+
+	/**
+	 * Adds the pairs of changed prices, without a rebuild.
+	 *
+	 * @param event the applied changes
+	 */
+	@EventListener
+	@Order(Ordered.HIGHEST_PRECEDENCE)
+	public void onPriceChangesApplied(PriceChangesAppliedEvent event) {
+		for (Price price : event.changed()) {
+			put(price.brand().id(), price.productId());
+		}
+	}
+
+	/**
+	 * Rebuilds the filter from the database, sized for the current number of pairs.
+	 * A failed rebuild keeps the previous filter.
+	 */
+	public void rebuild() {
+		buildLock.lock();
+		try {
+			long start = System.nanoTime();
+			long keys = priceKeyRepository.countKeys();
+			Bits built = Bits.sized(Math.max(MINIMUM_KEYS, (long) (keys * GROWTH)), falsePositiveRate);
+			building = built;
+			priceKeyRepository.forEachKey(built::put);
+			bits = built;
+			LOG.info("price key filter built: {} pairs, {} KiB, {} hashes in {} ms", keys, built.words.length() / 128,
+					built.hashes, (System.nanoTime() - start) / 1_000_000);
+		} catch (Exception ex) {
+			LOG.error("price key filter not built, every pair is looked up", ex);
+		} finally {
+			building = null;
+			buildLock.unlock();
+		}
+	}
+
+	/**
+	 * Adds a pair, for writes that do not go through a catalog change event.
+	 * Call it once the write is committed: a rebuild that started earlier may not have read it, so the pair
+	 * also goes to the filter being built, which is read before the published one.
+	 *
+	 * @param brandId the brand identifier
+	 * @param productId the product identifier
+	 */
+	public void put(long brandId, long productId) {
+		Bits next = building;
+		if (next != null) {
+			next.put(brandId, productId);
+		}
+		Bits current = bits;
+		if (current != null) {
+			current.put(brandId, productId);
+		}
+	}
+
+	/**
+	 * Checks if a pair may have prices, counting the answer.
+	 *
+	 * @param brandId the brand identifier
+	 * @param productId the product identifier
+	 * @return false when the pair surely has no prices, true when it may have some
+	 */
+	public boolean mightContain(Long brandId, Long productId) {
+		Bits current = bits;
+		if (current == null || brandId == null || productId == null) {
+			return true;
+		}
+		if (current.mightContain(brandId, productId)) {
+			positives.increment();
+			return true;
+		}
+		negatives.increment();
+		return false;
+	}
+
+	/**
+	 * Records a pair let through by the filter that turned out to have no prices at all.
+	 */
+	public void recordFalsePositive() {
+		falsePositives.increment();
+	}
+
+	/**
+	 * Gets a snapshot of the filter counters.
+	 *
+	 * @return answers, observed false positives and the rate expected from the filled bits
+	 */
+	public Stats stats() {
+		Bits current = bits;
+		return new Stats(negatives.sum(), positives.sum(), falsePositives.sum(),
+				current == null ? 1 : current.expectedFalsePositiveRate(), current == null ? 0 : current.words.length() * 8L);
+	}
+
+	/**
+	 * Counters of the filter.
+	 */
+	public record Stats(long negatives, long positives, long falsePositives, double expectedFalsePositiveRate, long bytes) {
+
+		/**
+		 * Gets the ratio of unknown pairs that the filter let through, among the unknown pairs seen.
+		 *
+		 * @return the observed false-positive rate between 0 and 1
+		 */
+		public double observedFalsePositiveRate() {
+			long unknown = negatives + falsePositives;
+			return unknown == 0 ? 0 : (double) falsePositives / unknown;
+		}
+	}
+
+	/**
+	 * Bit array of the filter with its hash count.
+	 * Positions come from two 64-bit hashes of the pair combined as {@code h1 + i * h2}.
+	 */
+	static final class Bits {
+
+		private final AtomicLongArray words;
+		private final long size;
+		private final int hashes;
+
+		private Bits(long size, int hashes) {
+			this.words = new AtomicLongArray((int) ((size + 63) >>> 6));
+			this.size = words.length() * 64L;
+			this.hashes = hashes;
+		}
+
+		static Bits sized(long keys, double falsePositiveRate) {
+			double bitsPerKey = -Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+			long size = Math.min((long) Integer.MAX_VALUE * 64, (long) Math.ceil(keys * bitsPerKey));
+			int hashes = Math.max(1, (int) Math.round(bitsPerKey * Math.log(2)));
+			return new Bits(size, hashes);
+		}
+
+		void put(long brandId, long productId) {
+			long h1 = mix(brandId * 0x9E3779B97F4A7C15L + productId);
+			long h2 = mix(h1 ^ 0x5851F42D4C957F2DL) | 1;
+			for (int i = 0; i < hashes; i++) {
+				long bit = Math.floorMod(h1 + i * h2, size);
+				int word = (int) (bit >>> 6);
+				long mask = 1L << bit;
+				long current = words.get(word);
+				while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+					current = words.get(word);
+				}
+			}
+		}
+
+		boolean mightContain(long brandId, long productId) {
+			long h1 = mix(brandId * 0x9E3779B97F4A7C15L + productId);
+			long h2 = mix(h1 ^ 0x5851F42D4C957F2DL) | 1;
+			for (int i = 0; i < hashes; i++) {
+				long bit = Math.floorMod(h1 + i * h2, size);
+				if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Gets the false-positive rate of the current fill, {@code (set bits / size) ^ hashes}.
+		 */
+		double expectedFalsePositiveRate() {
+			long set = 0;
+			for (int i = 0; i < words.length(); i++) {
+				set += Long.bitCount(words.get(i));
+			}
+			return Math.pow((double) set / size, hashes);
+		}
+
+		// finalizer of MurmurHash3, spreads every input bit over the whole word
+		private static long mix(long value) {
+			value ^= value >>> 33;
+			value *= 0xFF51AFD7ED558CCDL;
+			value ^= value >>> 33;
+			value *= 0xC4CEB93FE1A85EC3L;
+			value ^= value >>> 33;
+			return value;
+		}
+	}
+}
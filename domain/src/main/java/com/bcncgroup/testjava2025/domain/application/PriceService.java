@@ -1,6 +1,10 @@
 package com.bcncgroup.testjava2025.domain.application;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -8,6 +12,10 @@ import org.springframework.stereotype.Service;
 import com.bcncgroup.testjava2025.domain.contant.MessageConstant;
 import com.bcncgroup.testjava2025.domain.exception.LogicException;
 import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.model.PriceDataVersion;
+import com.bcncgroup.testjava2025.domain.model.PriceLookup;
+import com.bcncgroup.testjava2025.domain.ports.in.FindPriceDataVersionUseCase;
+import com.bcncgroup.testjava2025.domain.ports.in.FindPriceLookupUseCase;
 import com.bcncgroup.testjava2025.domain.ports.in.FindPriceUseCase;
 import com.bcncgroup.testjava2025.domain.ports.in.query.FindPriceQuery;
 import com.bcncgroup.testjava2025.domain.ports.out.PriceRepository;
@@ -17,16 +25,25 @@ import jakarta.transaction.Transactional;
 /**
  * Service class that implements price use cases.
  * This class contains the business logic for price operations.
+ * When the price key filter is enabled, pairs it knows to have no prices are answered without reaching the repository.
+ * A pair it lets through that gets no prices is checked for windows, and counted as a false positive of the filter
+ * when it has none, on every path; this costs one more query for empty answers only.
+ * When prices are served from memory, the version of the published index is read without locks.
+ * Lookups at a whole second go through the primitive repository lookup, so an in-memory index neither unboxes the
+ * identifiers nor converts the date; the decorators and the database adapters pass it on to their usual lookup.
  */
 @Service
 @Transactional // Not persisting entities but ensures consistent view
-public class PriceService implements FindPriceUseCase {
+public class PriceService implements FindPriceUseCase, FindPriceLookupUseCase, FindPriceDataVersionUseCase {
 	
 	private final PriceRepository priceRepository;
 	
+	private final PriceKeyFilter priceKeyFilter;
+	
 	@Autowired
-	public PriceService(PriceRepository priceRepository) {
+	public PriceService(PriceRepository priceRepository, Optional<PriceKeyFilter> priceKeyFilter) {
         this.priceRepository = priceRepository;
+        this.priceKeyFilter = priceKeyFilter.orElse(null);
     }
 
 	/**
@@ -38,10 +55,137 @@ public class PriceService implements FindPriceUseCase {
      */
 	@Override
 	public List<Price> findByDateProductAndBrand(FindPriceQuery query) {
+		if (isUnknown(query)) {
+			return List.of();
+		}
+		try {
+			List<Price> prices = findCovering(query);
+			if (prices.isEmpty()) {
+				checkFalsePositive(query);
+			}
+			return prices;
+		} catch (LogicException ex) {
+			// already answered by the repository, such as a 503 when it is overloaded
+			throw ex;
+		} catch (Exception ex) {
+			throw new LogicException(MessageConstant.FIND_PRICES_ERROR, 404);
+		}
+	}
+
+	/**
+     * Finds prices for several date, product and brand tuples with a single repository call.
+     * 
+     * @param queries the search criteria
+     * @return one list of prices per query, in request order
+     */
+	@Override
+	public List<List<Price>> findAllByDateProductAndBrand(List<FindPriceQuery> queries) {
+		List<List<Price>> result = new ArrayList<>(queries.size());
+		List<FindPriceQuery> known = new ArrayList<>(queries.size());
+		List<Integer> knownPositions = new ArrayList<>(queries.size());
+		for (FindPriceQuery query : queries) {
+			if (!isUnknown(query)) {
+				knownPositions.add(result.size());
+				known.add(query);
+			}
+			result.add(List.of());
+		}
+		if (known.isEmpty()) {
+			return result;
+		}
+		
 		try {
-			return priceRepository.findByDateProductAndBrand(query.applicationDate(), query.productId(), query.brandId());
+			List<List<Price>> found = priceRepository.findAllByDateProductAndBrand(known);
+			for (int i = 0; i < knownPositions.size(); i++) {
+				if (found.get(i).isEmpty()) {
+					checkFalsePositive(known.get(i));
+				}
+				result.set(knownPositions.get(i), found.get(i));
+			}
+			return result;
+		} catch (LogicException ex) {
+			// already answered by the repository, such as a 503 when it is overloaded
+			throw ex;
 		} catch (Exception ex) {
 			throw new LogicException(MessageConstant.FIND_PRICES_ERROR, 404);
 		}
 	}
+
+	/**
+     * Finds prices by date, product and brand together with their validity interval.
+     * This method reads every window of the product once: the windows that cover the date are the prices, and the
+     * others give the surrounding boundaries.
+     * 
+     * @param query the search criteria
+     * @return the prices and the interval they stay valid for
+     */
+	@Override
+	public PriceLookup findLookup(FindPriceQuery query) {
+		if (isUnknown(query)) {
+			// no windows, so the empty answer holds for every date
+			return PriceLookup.around(query.applicationDate(), List.of(), List.of());
+		}
+		try {
+			List<Price> windows = priceRepository.findByProductAndBrand(query.productId(), query.brandId());
+			if (windows.isEmpty() && priceKeyFilter != null) {
+				priceKeyFilter.recordFalsePositive();
+			}
+			return PriceLookup.at(query.applicationDate(), windows);
+		} catch (LogicException ex) {
+			// already answered by the repository, such as a 503 when it is overloaded
+			throw ex;
+		} catch (Exception ex) {
+			throw new LogicException(MessageConstant.FIND_PRICES_ERROR, 404);
+		}
+	}
+	
+	/**
+     * Gets the version of the price index that currently answers lookups.
+     * This method reads the published index of the repository without locks and does not need a transaction, so
+     * the version headers of every price response do not take a connection.
+     * 
+     * @return the version, or empty when prices are read from the database or the index is not loaded yet
+     */
+	@Override
+	@Transactional(Transactional.TxType.SUPPORTS)
+	public Optional<PriceDataVersion> findDataVersion() {
+		return priceRepository.dataVersion();
+	}
+	
+	/**
+	 * Finds the prices of a query, through the primitive lookup when the date has no fraction of a second.
+	 * 
+	 * @param query the search criteria
+	 * @return a list of prices ordered by priority
+	 */
+	private List<Price> findCovering(FindPriceQuery query) {
+		LocalDateTime date = query.applicationDate();
+		if (date == null || date.getNano() != 0 || query.productId() == null || query.brandId() == null) {
+			return priceRepository.findByDateProductAndBrand(date, query.productId(), query.brandId());
+		}
+		return priceRepository.findByDateProductAndBrand(date.toEpochSecond(ZoneOffset.UTC), query.productId(), query.brandId());
+	}
+	
+	/**
+	 * Counts a pair let through by the price key filter as a false positive when it has no windows at all.
+	 * An empty answer alone does not tell, the date may just fall outside the windows of the pair.
+	 * 
+	 * @param query the search criteria that got no prices
+	 */
+	private void checkFalsePositive(FindPriceQuery query) {
+		if (priceKeyFilter != null && query.productId() != null && query.brandId() != null
+				&& priceRepository.findByProductAndBrand(query.productId(), query.brandId()).isEmpty()) {
+			priceKeyFilter.recordFalsePositive();
+		}
+	}
+	
+	/**
+	 * Checks the query against the price key filter.
+	 * 
+	 * @param query the search criteria
+	 * @return true when the brand and product surely have no prices
+	 */
+	private boolean isUnknown(FindPriceQuery query) {
+		return priceKeyFilter != null && !priceKeyFilter.mightContain(query.brandId(), query.productId());
+	}
 }
@@ -0,0 +1,39 @@
+package com.bcncgroup.testjava2025.domain.application;
+
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.bcncgroup.testjava2025.domain.contant.MessageConstant;
+import com.bcncgroup.testjava2025.domain.exception.LogicException;
+import com.bcncgroup.testjava2025.domain.model.PriceSnapshotResult;
+import com.bcncgroup.testjava2025.domain.ports.in.WritePriceSnapshotUseCase;
+import com.bcncgroup.testjava2025.domain.ports.out.PriceSnapshotRepository;
+
+/**
+ * Service class that implements the price snapshot use case.
+ * This class writes the snapshot through the repository, when snapshots are enabled.
+ */
+@Service
+public class PriceSnapshotService implements WritePriceSnapshotUseCase {
+	
+	private final Optional<PriceSnapshotRepository> priceSnapshotRepository;
+	
+	@Autowired
+	public PriceSnapshotService(Optional<PriceSnapshotRepository> priceSnapshotRepository) {
+        this.priceSnapshotRepository = priceSnapshotRepository;
+    }
+
+	/**
+     * Writes the index that serves lookups to the snapshot file.
+     * 
+     * @return the written snapshot
+     * @throws LogicException if snapshots are disabled or no index is loaded yet (409)
+     */
+	@Override
+	public PriceSnapshotResult writeSnapshot() {
+		return priceSnapshotRepository.flatMap(PriceSnapshotRepository::write)
+				.orElseThrow(() -> new LogicException(MessageConstant.SNAPSHOT_NOT_AVAILABLE, 409));
+	}
+}
@@ -8,6 +8,14 @@ public interface MessageConstant {
 	static final String PRICES_FIND_ERROR = "prices.find.error";
 	static final String PASSWORD_ENCRIPT_ERROR = "password.encript.error";
 	static final String INVALID_CREDENTIALS = "invalid.credentials";
+	static final String NOT_AUTHENTICATED = "not.authenticated";
+	static final String LOGIN_OVERLOADED = "login.overloaded";
+	static final String SERVER_OVERLOADED = "server.overloaded";
 	static final String INVALID_DATA = "invalid.data";
 	static final String LOGIC_ERROR = "logic.error";
+	static final String PRICE_NOT_FOUND = "price.not.found";
+	static final String IMPORT_PRICES_ERROR = "import.prices.error";
+	static final String IMPORT_FORMAT_NOT_SUPPORTED = "import.format.not.supported";
+	static final String SNAPSHOT_NOT_AVAILABLE = "snapshot.not.available";
+	static final String SNAPSHOT_WRITE_ERROR = "snapshot.write.error";
 }
@@ -0,0 +1,9 @@
+package com.bcncgroup.testjava2025.domain.event;
+
+/**
+ * Event published after prices are written outside the data scripts.
+ * Components that keep prices in memory listen to it to drop or rebuild their copies.
+ */
+public record PriceCatalogChangedEvent(long changedRows) {
+
+}
@@ -0,0 +1,15 @@
+package com.bcncgroup.testjava2025.domain.event;
+
+import java.util.List;
+
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.model.PriceRemoval;
+
+/**
+ * Event published after changes read from the catalog were applied to the price repository.
+ * Components that keep prices in memory listen to it to drop only the brand and product pairs of the changed prices
+ * and of the groups that rows were deleted from or moved out of.
+ */
+public record PriceChangesAppliedEvent(List<Price> changed, List<PriceRemoval> removed) {
+
+}
@@ -0,0 +1,10 @@
+package com.bcncgroup.testjava2025.domain.event;
+
+/**
+ * Event published after a rebuilt in-memory price index replaced the previous one.
+ * The rebuild runs in the background after a catalog change, so components that keep copies of looked up prices
+ * listen to it as well, to drop what was read from the previous index meanwhile.
+ */
+public record PriceIndexPublishedEvent(long epoch, long version) {
+
+}
@@ -12,6 +12,7 @@ import com.bcncgroup.testjava2025.domain.contant.MessageConstant;
 /**
  * Password manager class that handles password encoding and verification.
  * This class implements Spring Security's PasswordEncoder interface.
+ * The digest and the random generator are kept per thread, so a login does not build them again.
  */
 public class PasswordMamanger implements PasswordEncoder {
 
@@ -19,6 +20,9 @@ public class PasswordMamanger implements PasswordEncoder {
 	private static final String SEPARATOR = "$";
 	private static final int SALT_LENGTH = 16;
 
+	private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(PasswordMamanger::newDigest);
+	private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+
 	/**
      * Encodes a raw password using SHA-256 algorithm with salt.
      * This method generates a random salt and creates a secure hash.
@@ -48,18 +52,18 @@ public class PasswordMamanger implements PasswordEncoder {
 	public boolean matches(CharSequence rawPassword, String encodedPassword) {
         try {
             // Separate salt and hash
-            String[] parts = encodedPassword.split("\\" + SEPARATOR);
-            if (parts.length != 2) {
+            int separator = encodedPassword.indexOf(SEPARATOR);
+            if (separator < 0 || encodedPassword.indexOf(SEPARATOR, separator + 1) >= 0) {
                 return false;
             }
             
-            String salt = parts[0];
-            String storedHash = parts[1];
+            String salt = encodedPassword.substring(0, separator);
+            String storedHash = encodedPassword.substring(separator + 1);
             
             String hashedInput = hashPassword(rawPassword.toString(), salt);
             
-            // compare hashes
-            return storedHash.equals(hashedInput);
+            // compare hashes in constant time
+            return MessageDigest.isEqual(storedHash.getBytes(), hashedInput.getBytes());
         } catch (Exception e) {
             return false;
         }
@@ -72,9 +76,8 @@ public class PasswordMamanger implements PasswordEncoder {
      * @return a Base64 encoded salt string
      */
 	private String generateSalt() {
-		SecureRandom random = new SecureRandom();
 		byte[] salt = new byte[SALT_LENGTH];
-		random.nextBytes(salt);
+		RANDOM.get().nextBytes(salt);
 		return Base64.getEncoder().encodeToString(salt);
 	}
 	
@@ -85,18 +88,28 @@ public class PasswordMamanger implements PasswordEncoder {
      * @param password the plain text password
      * @param salt the salt to use for hashing
      * @return a Base64 encoded hash string
-     * @throws RuntimeException if the hashing algorithm is not available
      */
 	private String hashPassword(String password, String salt) {
-        try {
-            MessageDigest md = MessageDigest.getInstance(ALGORITHM);
-            
-            md.update(salt.getBytes());
-            byte[] hashedBytes = md.digest(password.getBytes());
-            
-            return Base64.getEncoder().encodeToString(hashedBytes);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException(MessageConstant.PASSWORD_ENCRIPT_ERROR, e);
-        }
+        // digest() resets the per-thread instance for the next call
+        MessageDigest md = DIGEST.get();
+        
+        md.update(salt.getBytes());
+        byte[] hashedBytes = md.digest(password.getBytes());
+        
+        return Base64.getEncoder().encodeToString(hashedBytes);
     }
+	
+	/**
+     * Creates the digest of the configured algorithm.
+     * 
+     * @return a new message digest
+     * @throws RuntimeException if the hashing algorithm is not available
+     */
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance(ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			throw new RuntimeException(MessageConstant.PASSWORD_ENCRIPT_ERROR, e);
+		}
+	}
 }
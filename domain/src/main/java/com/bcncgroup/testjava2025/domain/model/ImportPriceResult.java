@@ -0,0 +1,25 @@
+package com.bcncgroup.testjava2025.domain.model;
+
+import java.util.List;
+
+/**
+ * Value object that represents the outcome of a price import.
+ * This record holds the row counters, the elapsed time and the first rejection reasons.
+ */
+public record ImportPriceResult(
+		long read,
+		long imported,
+		long rejected,
+		long elapsedMillis,
+		List<String> errors
+		) {
+
+	/**
+	 * Gets the import throughput.
+	 *
+	 * @return the number of read rows per second
+	 */
+	public long rowsPerSecond() {
+		return elapsedMillis == 0 ? read * 1000 : read * 1000 / elapsedMillis;
+	}
+}
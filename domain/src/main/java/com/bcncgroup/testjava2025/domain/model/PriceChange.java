@@ -0,0 +1,33 @@
+package com.bcncgroup.testjava2025.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Value object that represents an insert, update or delete of a price row, read from the change log of the catalog.
+ * This record holds the identifier of the row, the brand and product it had before the change (none for an insert),
+ * the row as it is now (none once it is deleted), the change version and when the change was written.
+ */
+public record PriceChange(
+		Long priceId,
+		Long previousBrandId,
+		Long previousProductId,
+		Price price,
+		long version,
+		LocalDateTime changedAt
+		) {
+
+	/**
+	 * Gets the group the row left with this change: the one it was deleted from, or the one it was moved out of.
+	 *
+	 * @return the removal, or null when the row is still in the group it had before, or had none
+	 */
+	public PriceRemoval removal() {
+		if (previousBrandId == null || previousProductId == null) {
+			return null;
+		}
+		if (price != null && previousBrandId.equals(price.brand().id()) && previousProductId.equals(price.productId())) {
+			return null;
+		}
+		return new PriceRemoval(priceId, previousBrandId, previousProductId);
+	}
+}
@@ -0,0 +1,12 @@
+package com.bcncgroup.testjava2025.domain.model;
+
+/**
+ * Value object that represents the version of the prices served from memory.
+ * This record holds the epoch, which counts the index rebuilds of this node, and the content version, a digest of
+ * the loaded prices that is equal on every node serving the same prices.
+ */
+public record PriceDataVersion(
+		long epoch,
+		long version
+		) {
+}
@@ -0,0 +1,75 @@
+package com.bcncgroup.testjava2025.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Value object that represents the result of a price lookup together with the interval it stays valid for.
+ * The interval runs from the last START_DATE/END_DATE boundary of the product at or before the requested date
+ * until the next one after it, so every date inside it gets the same prices.
+ */
+public record PriceLookup(
+		List<Price> prices,
+		LocalDateTime validFrom,
+		LocalDateTime validUntil
+		) {
+
+	/**
+	 * Same ordering as the repository queries: priority first, identifier as tie breaker.
+	 */
+	private static final Comparator<Price> PRIORITY_ORDER = Comparator
+			.comparing(Price::priority)
+			.thenComparing(Price::id, Comparator.nullsLast(Comparator.naturalOrder()));
+
+	/**
+	 * Builds the lookup of a date from every window of the product and brand alone.
+	 * The prices are the windows that cover the date, both limits inclusive, ordered by priority.
+	 *
+	 * @param date the requested date
+	 * @param windows every price window of the product and brand
+	 * @return the lookup with its validity interval
+	 */
+	public static PriceLookup at(LocalDateTime date, List<Price> windows) {
+		List<Price> prices = windows.stream()
+				.filter(window -> !window.startDate().isAfter(date) && !window.endDate().isBefore(date))
+				.sorted(PRIORITY_ORDER)
+				.toList();
+		return around(date, prices, windows);
+	}
+
+	/**
+	 * Builds the lookup valid from the last boundary at or before the date until the next one after it.
+	 * Windows are inclusive on both limits, so a window ends at endDate + 1ns.
+	 * Without boundaries on one side the interval is open, LocalDateTime.MIN or LocalDateTime.MAX.
+	 *
+	 * @param date the requested date
+	 * @param prices the prices that apply at the date
+	 * @param windows every price window of the product and brand
+	 * @return the lookup with its validity interval
+	 */
+	public static PriceLookup around(LocalDateTime date, List<Price> prices, List<Price> windows) {
+		LocalDateTime from = LocalDateTime.MIN;
+		LocalDateTime until = LocalDateTime.MAX;
+		for (Price window : windows) {
+			for (LocalDateTime boundary : new LocalDateTime[] { window.startDate(), window.endDate().plusNanos(1) }) {
+				if (boundary.isAfter(date)) {
+					until = boundary.isBefore(until) ? boundary : until;
+				} else {
+					from = boundary.isAfter(from) ? boundary : from;
+				}
+			}
+		}
+		return new PriceLookup(List.copyOf(prices), from, until);
+	}
+
+	/**
+	 * Checks if a date falls inside the validity interval.
+	 *
+	 * @param date the date to check
+	 * @return true if the lookup holds the prices of that date, false otherwise
+	 */
+	public boolean covers(LocalDateTime date) {
+		return !date.isBefore(validFrom) && date.isBefore(validUntil);
+	}
+}
@@ -0,0 +1,13 @@
+package com.bcncgroup.testjava2025.domain.model;
+
+/**
+ * Value object that represents a price row that left its brand and product group.
+ * This record holds the identifier of the row and the brand and product it was in, for a row deleted from the
+ * catalog or moved to another brand or product.
+ */
+public record PriceRemoval(
+		Long priceId,
+		Long brandId,
+		Long productId
+		) {
+}
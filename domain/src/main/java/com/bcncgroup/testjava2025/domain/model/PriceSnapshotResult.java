@@ -0,0 +1,12 @@
+package com.bcncgroup.testjava2025.domain.model;
+
+/**
+ * Value object that represents a written price snapshot.
+ * This record holds the number of prices, the file size and the elapsed time.
+ */
+public record PriceSnapshotResult(
+		long rows,
+		long bytes,
+		long elapsedMillis
+		) {
+}
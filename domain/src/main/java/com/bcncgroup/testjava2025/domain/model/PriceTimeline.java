@@ -0,0 +1,158 @@
+package com.bcncgroup.testjava2025.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * Effective price timeline of one product and brand.
+ * This class flattens overlapping price windows into disjoint segments, each one holding the
+ * winning price, so the price that applies at a date is found with a binary search.
+ * The winner is the window with the highest PRIORITY; ties go to the latest start date and then
+ * to the highest identifier.
+ */
+public final class PriceTimeline {
+
+	/**
+	 * Order in which a price beats another one when their windows overlap.
+	 */
+	public static final Comparator<Price> WINNER_ORDER = Comparator
+			.comparing(Price::priority)
+			.thenComparing(Price::startDate)
+			.thenComparing(Price::id, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+	private final Long productId;
+	private final Long brandId;
+	private final LocalDateTime[] from;
+	private final LocalDateTime[] until;
+	private final Price[] winners;
+
+	private PriceTimeline(Long productId, Long brandId, LocalDateTime[] from, LocalDateTime[] until, Price[] winners) {
+		this.productId = productId;
+		this.brandId = brandId;
+		this.from = from;
+		this.until = until;
+		this.winners = winners;
+	}
+
+	/**
+	 * Builds the timeline from every price window of a product and brand.
+	 * Windows are inclusive on both limits, so each one is handled as [startDate, endDate + 1ns).
+	 *
+	 * @param productId the product identifier
+	 * @param brandId the brand identifier
+	 * @param prices the price windows of that product and brand
+	 * @return the flattened timeline
+	 */
+	public static PriceTimeline of(Long productId, Long brandId, List<Price> prices) {
+		Price[] byStart = prices.toArray(Price[]::new);
+		Arrays.sort(byStart, Comparator.comparing(Price::startDate));
+
+		LocalDateTime[] boundaries = new LocalDateTime[byStart.length * 2];
+		for (int i = 0; i < byStart.length; i++) {
+			boundaries[2 * i] = byStart[i].startDate();
+			boundaries[2 * i + 1] = exclusiveEnd(byStart[i]);
+		}
+		Arrays.sort(boundaries);
+
+		List<LocalDateTime> segmentFrom = new ArrayList<>();
+		List<LocalDateTime> segmentUntil = new ArrayList<>();
+		List<Price> segmentWinner = new ArrayList<>();
+
+		PriorityQueue<Price> active = new PriorityQueue<>(WINNER_ORDER.reversed());
+		int next = 0;
+		for (int i = 0; i < boundaries.length - 1; i++) {
+			LocalDateTime start = boundaries[i];
+			LocalDateTime end = boundaries[i + 1];
+			if (!start.isBefore(end)) {
+				continue;
+			}
+			while (next < byStart.length && !byStart[next].startDate().isAfter(start)) {
+				active.add(byStart[next++]);
+			}
+			// lazily drop windows that ended before this segment
+			while (!active.isEmpty() && !exclusiveEnd(active.peek()).isAfter(start)) {
+				active.poll();
+			}
+			if (active.isEmpty()) {
+				continue;
+			}
+			Price winner = active.peek();
+			int last = segmentWinner.size() - 1;
+			if (last >= 0 && segmentWinner.get(last) == winner && segmentUntil.get(last).equals(start)) {
+				segmentUntil.set(last, end);
+			} else {
+				segmentFrom.add(start);
+				segmentUntil.add(end);
+				segmentWinner.add(winner);
+			}
+		}
+
+		return new PriceTimeline(productId, brandId,
+				segmentFrom.toArray(LocalDateTime[]::new),
+				segmentUntil.toArray(LocalDateTime[]::new),
+				segmentWinner.toArray(Price[]::new));
+	}
+
+	/**
+	 * Finds the price that applies at the given date.
+	 *
+	 * @param applicationDate the date when the price should be valid
+	 * @return the winning price, or empty when no window covers the date
+	 */
+	public Optional<Price> findAt(LocalDateTime applicationDate) {
+		int index = segmentAt(applicationDate);
+		return index < 0 ? Optional.empty() : Optional.of(winners[index]);
+	}
+
+	/**
+	 * Gets the product identifier of this timeline.
+	 *
+	 * @return the product ID
+	 */
+	public Long productId() {
+		return productId;
+	}
+
+	/**
+	 * Gets the brand identifier of this timeline.
+	 *
+	 * @return the brand ID
+	 */
+	public Long brandId() {
+		return brandId;
+	}
+
+	/**
+	 * Gets the number of disjoint segments.
+	 *
+	 * @return the number of segments
+	 */
+	public int segments() {
+		return winners.length;
+	}
+
+	private int segmentAt(LocalDateTime date) {
+		int low = 0;
+		int high = from.length - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (from[mid].isAfter(date)) {
+				high = mid - 1;
+			} else if (!until[mid].isAfter(date)) {
+				low = mid + 1;
+			} else {
+				return mid;
+			}
+		}
+		return -1;
+	}
+
+	private static LocalDateTime exclusiveEnd(Price price) {
+		return price.endDate().plusNanos(1);
+	}
+}
@@ -0,0 +1,32 @@
+package com.bcncgroup.testjava2025.domain.ports.in;
+
+import java.util.function.Consumer;
+
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.ports.in.query.ExportPriceQuery;
+
+/**
+ * Use case for exporting the full price catalog of a brand.
+ * This interface defines the contract for streaming price exports.
+ */
+public interface ExportPriceUseCase {
+	
+	/**
+     * Sends every price of a brand, optionally limited to a date window, to the given sink.
+     * Prices are delivered one by one while they are read, never as a complete list.
+     * 
+     * @param query the brand and optional date window
+     * @param sink the consumer that receives every price
+     * @return the number of exported prices
+     */
+    long exportByBrand(ExportPriceQuery query, Consumer<Price> sink);
+    
+    /**
+     * Checks the export criteria without reading any price.
+     * Callers that commit a response before the export runs check the criteria first with this method.
+     * 
+     * @param query the brand and optional date window
+     */
+    void validate(ExportPriceQuery query);
+
+}
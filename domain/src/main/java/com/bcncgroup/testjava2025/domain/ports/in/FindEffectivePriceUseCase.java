@@ -0,0 +1,22 @@
+package com.bcncgroup.testjava2025.domain.ports.in;
+
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.ports.in.query.FindPriceQuery;
+
+/**
+ * Use case for finding the single price that applies at a date, product and brand.
+ * This interface defines the contract for effective price lookups.
+ */
+public interface FindEffectivePriceUseCase {
+	
+	/**
+     * Finds the price that applies for the given search criteria.
+     * When several windows overlap, the one with the highest priority wins.
+     * 
+     * @param query the search criteria containing date, product ID and brand ID
+     * @return the winning price
+     * @throws com.bcncgroup.testjava2025.domain.exception.LogicException if no price applies (404)
+     */
+    Price findEffectivePrice(FindPriceQuery query);
+
+}
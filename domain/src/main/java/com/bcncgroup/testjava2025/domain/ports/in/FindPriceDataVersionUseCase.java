@@ -0,0 +1,20 @@
+package com.bcncgroup.testjava2025.domain.ports.in;
+
+import java.util.Optional;
+
+import com.bcncgroup.testjava2025.domain.model.PriceDataVersion;
+
+/**
+ * Use case for reading the version of the prices being served.
+ * This interface defines the contract for checking that every node converged after a catalog update.
+ */
+public interface FindPriceDataVersionUseCase {
+	
+	/**
+     * Gets the version of the price index that currently answers lookups.
+     * 
+     * @return the version, or empty when prices are read from the database or the index is not loaded yet
+     */
+    Optional<PriceDataVersion> findDataVersion();
+
+}
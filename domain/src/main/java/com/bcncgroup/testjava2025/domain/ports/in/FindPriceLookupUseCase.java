@@ -0,0 +1,20 @@
+package com.bcncgroup.testjava2025.domain.ports.in;
+
+import com.bcncgroup.testjava2025.domain.model.PriceLookup;
+import com.bcncgroup.testjava2025.domain.ports.in.query.FindPriceQuery;
+
+/**
+ * Use case for finding prices together with the interval they stay valid for.
+ * This interface lets HTTP callers know how long a lookup result can be cached.
+ */
+public interface FindPriceLookupUseCase {
+
+	/**
+     * Finds the prices that match the given search criteria and their validity interval.
+     * 
+     * @param query the search criteria containing date, product ID and brand ID
+     * @return the prices and the interval between the surrounding START_DATE/END_DATE boundaries
+     */
+    PriceLookup findLookup(FindPriceQuery query);
+
+}
@@ -19,4 +19,12 @@ public interface FindPriceUseCase {
      */
     List<Price> findByDateProductAndBrand(FindPriceQuery query);
 
+    /**
+     * Finds prices for several search criteria in a single call.
+     * 
+     * @param queries the search criteria, in request order
+     * @return one list of prices per query, in the same order; empty when a query has no match
+     */
+    List<List<Price>> findAllByDateProductAndBrand(List<FindPriceQuery> queries);
+
 }
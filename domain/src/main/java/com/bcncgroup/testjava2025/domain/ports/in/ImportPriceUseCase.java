@@ -0,0 +1,24 @@
+package com.bcncgroup.testjava2025.domain.ports.in;
+
+import java.util.Iterator;
+
+import com.bcncgroup.testjava2025.domain.model.ImportPriceResult;
+import com.bcncgroup.testjava2025.domain.ports.in.command.ImportPriceRow;
+
+/**
+ * Use case for loading prices in bulk.
+ * This interface defines the contract for price file imports.
+ */
+public interface ImportPriceUseCase {
+	
+	/**
+     * Validates and stores the given rows.
+     * Rows are consumed one by one, so the source can be larger than the available memory.
+     * Rows that break the PRICES constraints are rejected and counted; the rest are stored.
+     * 
+     * @param rows the raw rows to import
+     * @return the import counters
+     */
+    ImportPriceResult importPrices(Iterator<ImportPriceRow> rows);
+
+}
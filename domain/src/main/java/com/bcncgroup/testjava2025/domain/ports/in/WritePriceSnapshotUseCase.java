@@ -0,0 +1,18 @@
+package com.bcncgroup.testjava2025.domain.ports.in;
+
+import com.bcncgroup.testjava2025.domain.model.PriceSnapshotResult;
+
+/**
+ * Use case for writing the price snapshot on demand.
+ * This interface defines the contract for persisting the price index outside the schedule.
+ */
+public interface WritePriceSnapshotUseCase {
+	
+	/**
+     * Writes the index that serves lookups to the snapshot file.
+     * 
+     * @return the written snapshot
+     */
+    PriceSnapshotResult writeSnapshot();
+
+}
@@ -0,0 +1,19 @@
+package com.bcncgroup.testjava2025.domain.ports.in.command;
+
+/**
+ * Command object that holds one raw row of a price import file.
+ * Values are kept as read from the file; they are converted and validated by the import use case.
+ */
+public record ImportPriceRow(
+		long line,
+		String brandId,
+		String startDate,
+		String endDate,
+		String priceList,
+		String productId,
+		String priority,
+		String price,
+		String currency
+		) {
+
+}
@@ -0,0 +1,16 @@
+package com.bcncgroup.testjava2025.domain.ports.in.query;
+
+import java.time.LocalDateTime;
+
+/**
+ * Query object for exporting the prices of a brand.
+ * This record contains the brand and the optional date window to export.
+ */
+public record ExportPriceQuery(
+		Long brandId,
+		
+		LocalDateTime fromDate,
+		
+		LocalDateTime toDate) {
+
+}
@@ -0,0 +1,40 @@
+package com.bcncgroup.testjava2025.domain.ports.out;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.bcncgroup.testjava2025.domain.model.PriceChange;
+
+/**
+ * Port for reading the changes of the price rows since a given change version.
+ * This interface defines the contract used to apply catalog changes incrementally instead of reloading the catalog.
+ * Every insert, update and delete of a price is logged with a new, higher change version.
+ */
+public interface PriceChangeRepository {
+	
+	/**
+     * Gets the highest change version of the catalog.
+     * 
+     * @return the latest version, 0 when nothing was changed yet
+     */
+    long latestVersion();
+    
+    /**
+     * Reads the changes whose version is above the given one, in version order.
+     * 
+     * @param version the last version already applied
+     * @param limit the maximum number of changes to read
+     * @return the changes with their rows as they are now, ordered by version
+     */
+    List<PriceChange> findChangedSince(long version, int limit);
+    
+    /**
+     * Reads the changes of the given versions that are committed by now, such as versions that were skipped while
+     * their writes were still open.
+     * 
+     * @param versions the versions to read
+     * @return the committed changes among them, with their rows as they are now, ordered by version
+     */
+    List<PriceChange> findByVersions(Collection<Long> versions);
+
+}
@@ -0,0 +1,30 @@
+package com.bcncgroup.testjava2025.domain.ports.out;
+
+import java.util.List;
+import java.util.Set;
+
+import com.bcncgroup.testjava2025.domain.model.Price;
+
+/**
+ * Repository interface for bulk price writes.
+ * This interface defines the contract for storing imported prices.
+ */
+public interface PriceImportRepository {
+	
+	/**
+     * Finds the identifiers of every existing brand.
+     * 
+     * @return the brand identifiers
+     */
+    Set<Long> findBrandIds();
+    
+    /**
+     * Stores the given prices in a single transaction.
+     * Identifiers are generated by the database.
+     * 
+     * @param prices the prices to store
+     * @return the number of stored prices
+     */
+    int insertAll(List<Price> prices);
+
+}
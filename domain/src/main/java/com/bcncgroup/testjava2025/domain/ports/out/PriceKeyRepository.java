@@ -0,0 +1,38 @@
+package com.bcncgroup.testjava2025.domain.ports.out;
+
+/**
+ * Port for reading the brand and product pairs that have prices.
+ * This interface defines the contract used to build the in-memory filter of known pairs.
+ */
+public interface PriceKeyRepository {
+	
+	/**
+     * Counts the distinct brand and product pairs of the PRICES table.
+     * 
+     * @return the number of pairs
+     */
+    long countKeys();
+    
+    /**
+     * Reads every distinct brand and product pair, one at a time, without building the whole result in memory.
+     * 
+     * @param action the action that receives every pair
+     */
+    void forEachKey(KeyConsumer action);
+    
+    /**
+     * Receiver of brand and product pairs, without boxing.
+     */
+    @FunctionalInterface
+    interface KeyConsumer {
+    	
+    	/**
+    	 * Receives a pair.
+    	 * 
+    	 * @param brandId the brand identifier
+    	 * @param productId the product identifier
+    	 */
+    	void accept(long brandId, long productId);
+    }
+
+}
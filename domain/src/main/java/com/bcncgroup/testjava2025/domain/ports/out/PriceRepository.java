@@ -1,9 +1,15 @@
 package com.bcncgroup.testjava2025.domain.ports.out;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.model.PriceDataVersion;
+import com.bcncgroup.testjava2025.domain.model.PriceRemoval;
+import com.bcncgroup.testjava2025.domain.ports.in.query.FindPriceQuery;
 
 /**
  * Port for price data access operations.
@@ -21,4 +27,76 @@ public interface PriceRepository {
      */
     List<Price> findByDateProductAndBrand(LocalDateTime applicationDate, Long productId, Long brandId);
 
+    /**
+     * Finds prices that are valid for the given instant, product and brand, from primitive values.
+     * Implementations that answer from memory should override it so that a lookup neither boxes the identifiers
+     * nor builds a date; by default it converts them and calls the boxed lookup.
+     * 
+     * @param applicationEpochSecond the instant when the price should be valid, in epoch seconds read as UTC
+     * @param productId the product identifier
+     * @param brandId the brand identifier
+     * @return a list of prices that match the criteria
+     */
+    default List<Price> findByDateProductAndBrand(long applicationEpochSecond, long productId, long brandId) {
+        return findByDateProductAndBrand(LocalDateTime.ofEpochSecond(applicationEpochSecond, 0, ZoneOffset.UTC),
+                Long.valueOf(productId), Long.valueOf(brandId));
+    }
+
+    /**
+     * Finds every price window of the given product and brand, whatever its dates.
+     * 
+     * @param productId the product identifier
+     * @param brandId the brand identifier
+     * @return a list with all the prices of the product and brand
+     */
+    List<Price> findByProductAndBrand(Long productId, Long brandId);
+
+    /**
+     * Finds the valid prices of several date, product and brand tuples at once.
+     * Implementations backed by a database should override it with a set-based query;
+     * by default every query is resolved on its own.
+     * 
+     * @param queries the search criteria, in request order
+     * @return one list of prices per query, in the same order; empty when a query has no match
+     */
+    default List<List<Price>> findAllByDateProductAndBrand(List<FindPriceQuery> queries) {
+        return queries.stream()
+                .map(query -> findByDateProductAndBrand(query.applicationDate(), query.productId(), query.brandId()))
+                .toList();
+    }
+
+    /**
+     * Reads every price of a brand whose window overlaps the given dates, one at a time.
+     * Implementations must not build the whole result in memory: each price is handed to the
+     * action as soon as it is read.
+     * 
+     * @param brandId the brand identifier
+     * @param fromDate the start of the date window, or null for no lower limit
+     * @param toDate the end of the date window, or null for no upper limit
+     * @param action the action that receives every price
+     */
+    void forEachByBrand(Long brandId, LocalDateTime fromDate, LocalDateTime toDate, Consumer<Price> action);
+
+    /**
+     * Gets the version of the in-memory index that answers lookups.
+     * Implementations that read the database have no version; by default it is empty.
+     * 
+     * @return the version of the published index, or empty when there is none
+     */
+    default Optional<PriceDataVersion> dataVersion() {
+        return Optional.empty();
+    }
+
+    /**
+     * Applies prices inserted, updated, moved or deleted in the catalog to the copy of the prices this repository keeps.
+     * Implementations that read the database on every lookup are always up to date; by default nothing is done.
+     * 
+     * @param changed the inserted or updated prices, as they are now
+     * @param removed the rows to take out of a brand and product group: deleted, or moved to the group of a changed price
+     * @return true when the repository is up to date, false when it needs a full reload
+     */
+    default boolean applyChanges(List<Price> changed, List<PriceRemoval> removed) {
+        return true;
+    }
+
 }
@@ -0,0 +1,21 @@
+package com.bcncgroup.testjava2025.domain.ports.out;
+
+import java.util.Optional;
+
+import com.bcncgroup.testjava2025.domain.model.PriceSnapshotResult;
+
+/**
+ * Port for persisting the price index as a snapshot.
+ * This interface defines the contract used to write the index that serves lookups, so that the next start can
+ * read it instead of rebuilding it from the PRICES table.
+ */
+public interface PriceSnapshotRepository {
+	
+	/**
+     * Writes the current index, replacing the previous snapshot.
+     * 
+     * @return the written snapshot, or empty when there is no index to write yet
+     */
+    Optional<PriceSnapshotResult> write();
+
+}
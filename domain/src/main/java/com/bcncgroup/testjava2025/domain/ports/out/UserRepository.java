@@ -17,4 +17,14 @@ public interface UserRepository {
      * @throws com.bcncgroup.testjava2025.logic.exception.LogicException if user is not found (404) or database error occurs (500)
      */
 	User findByUsername(String username);
+	
+	/**
+     * Replaces the stored password hash of a user.
+     * This method is used to move a hash to a stronger scheme after a successful login.
+     * 
+     * @param username the username of the user
+     * @param encodedPassword the new encoded password
+     * @throws com.bcncgroup.testjava2025.logic.exception.LogicException if user is not found (404) or database error occurs (500)
+     */
+	void updatePassword(String username, String encodedPassword);
 }
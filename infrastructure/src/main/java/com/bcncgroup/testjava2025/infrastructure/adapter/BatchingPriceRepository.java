@@ -0,0 +1,244 @@
+package com.bcncgroup.testjava2025.infrastructure.adapter;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.bcncgroup.testjava2025.domain.contant.MessageConstant;
+import com.bcncgroup.testjava2025.domain.exception.LogicException;
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.ports.in.query.FindPriceQuery;
+import com.bcncgroup.testjava2025.domain.ports.out.PriceRepository;
+
+/**
+ * Micro-batching decorator of the PriceRepository port.
+ * This class queues single {@code findByDateProductAndBrand} calls and answers them with the set-based
+ * {@code findAllByDateProductAndBrand} of the delegate. There are no dispatcher threads: one of the waiting callers
+ * leads, keeps collecting for at most {@code window} microseconds or until {@code maxBatchSize} lookups, runs them as
+ * one query and hands every caller its own list; it keeps running batches until its own lookup is answered and then
+ * lets another caller lead. A failed query fails every lookup of the batch.
+ * The query runs on the thread of the leader, inside its transaction and on the connection it already holds, so a
+ * batch never waits for a second connection while the callers hold theirs.
+ * It trades a little latency for fewer round trips, so it only pays off when many lookups arrive together.
+ * Followers wait at most {@code waitTimeout} milliseconds and then give up with a 503.
+ */
+public class BatchingPriceRepository implements PriceRepositoryDecorator {
+
+	static final Logger LOG = LoggerFactory.getLogger(BatchingPriceRepository.class);
+
+	// how often a follower checks whether nobody leads, so lookups left queued by a leader are picked up
+	static final long FOLLOWER_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private final PriceRepository delegate;
+	private final long windowNanos;
+	private final int maxBatchSize;
+	private final long waitTimeout;
+	private final BlockingQueue<PendingLookup> queue = new LinkedBlockingQueue<>();
+	private final AtomicBoolean leading = new AtomicBoolean();
+
+	private final LongAdder batches = new LongAdder();
+	private final LongAdder lookups = new LongAdder();
+
+	// the caller that leads, woken early when a full batch is queued
+	private volatile Thread leader;
+
+	public BatchingPriceRepository(PriceRepository delegate, long windowMicros, int maxBatchSize, long waitTimeout) {
+		if (maxBatchSize < 1) {
+			throw new IllegalArgumentException("max-batch-size must be positive");
+		}
+		this.delegate = delegate;
+		this.windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+		this.maxBatchSize = maxBatchSize;
+		this.waitTimeout = waitTimeout;
+	}
+
+	/**
+     * Finds prices that are valid for the given date, product and brand, as part of the next batch.
+     *
+     * @param applicationDate the date when the price should be valid
+     * @param productId the product identifier
+     * @param brandId the brand identifier
+     * @return a list of prices that match the criteria
+     * @throws LogicException if the batch fails (500) or a follower waits longer than the wait timeout (503)
+     */
+	@Override
+	public List<Price> findByDateProductAndBrand(LocalDateTime applicationDate, Long productId, Long brandId) {
+		PendingLookup lookup = new PendingLookup(new FindPriceQuery(applicationDate, productId, brandId), new CompletableFuture<>());
+		queue.add(lookup);
+		Thread current = leader;
+		if (current != null && queue.size() >= maxBatchSize) {
+			LockSupport.unpark(current);
+		}
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitTimeout);
+		try {
+			while (true) {
+				if (!lookup.result().isDone() && leading.compareAndSet(false, true)) {
+					lead(lookup);
+				}
+				long remaining = deadline - System.nanoTime();
+				if (remaining <= 0 && lookup.result().cancel(false)) {
+					// a leader that picks it up later skips it
+					throw new LogicException(MessageConstant.SERVER_OVERLOADED, 503);
+				}
+				try {
+					return lookup.result().get(Math.max(0, Math.min(remaining, FOLLOWER_CHECK_NANOS)), TimeUnit.NANOSECONDS);
+				} catch (TimeoutException ex) {
+					// still queued, check the leader again
+				}
+			}
+		} catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException runtime) {
+				throw runtime;
+			}
+			throw new LogicException(MessageConstant.FIND_PRICES_ERROR, 500);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			lookup.result().cancel(false);
+			throw new LogicException(MessageConstant.FIND_PRICES_ERROR, 500);
+		}
+	}
+
+	/**
+     * Finds prices that are valid for the given instant, product and brand, as part of the next batch.
+     * A batch is one set-based query with dates, so the lookup joins it as a boxed one.
+     *
+     * @param applicationEpochSecond the instant when the price should be valid, in epoch seconds read as UTC
+     * @param productId the product identifier
+     * @param brandId the brand identifier
+     * @return a list of prices that match the criteria
+     */
+	@Override
+	public List<Price> findByDateProductAndBrand(long applicationEpochSecond, long productId, long brandId) {
+		return findByDateProductAndBrand(LocalDateTime.ofEpochSecond(applicationEpochSecond, 0, ZoneOffset.UTC), productId, brandId);
+	}
+
+	/**
+     * Finds every price window of the given product and brand, without batching.
+     *
+     * @param productId the product identifier
+     * @param brandId the brand identifier
+     * @return a list with all the prices of the product and brand
+     */
+	@Override
+	public List<Price> findByProductAndBrand(Long productId, Long brandId) {
+		return delegate.findByProductAndBrand(productId, brandId);
+	}
+
+	/**
+     * Finds the valid prices of several tuples at once, straight on the delegate.
+     *
+     * @param queries the search criteria, in request order
+     * @return one list of prices per query, in the same order
+     */
+	@Override
+	public List<List<Price>> findAllByDateProductAndBrand(List<FindPriceQuery> queries) {
+		return delegate.findAllByDateProductAndBrand(queries);
+	}
+
+	/**
+     * Reads every price of a brand in a date window, without batching.
+     *
+     * @param brandId the brand identifier
+     * @param fromDate the start of the date window, or null for no lower limit
+     * @param toDate the end of the date window, or null for no upper limit
+     * @param action the action that receives every price
+     */
+	@Override
+	public void forEachByBrand(Long brandId, LocalDateTime fromDate, LocalDateTime toDate, Consumer<Price> action) {
+		delegate.forEachByBrand(brandId, fromDate, toDate, action);
+	}
+
+	/**
+	 * Gets the decorated repository.
+	 *
+	 * @return the repository that runs the batches
+	 */
+	@Override
+	public PriceRepository delegate() {
+		return delegate;
+	}
+
+	/**
+	 * Gets a snapshot of the batching counters.
+	 *
+	 * @return batches run and lookups answered by them
+	 */
+	public Stats stats() {
+		return new Stats(batches.sum(), lookups.sum(), queue.size());
+	}
+
+	/**
+	 * Runs batches on the thread of the calling lookup until it is answered, then lets another caller lead.
+	 *
+	 * @param own the lookup of the leader
+	 */
+	private void lead(PendingLookup own) {
+		leader = Thread.currentThread();
+		List<PendingLookup> batch = new ArrayList<>(maxBatchSize);
+		try {
+			long deadline = System.nanoTime() + windowNanos;
+			long remaining;
+			while (queue.size() < maxBatchSize && (remaining = deadline - System.nanoTime()) > 0) {
+				LockSupport.parkNanos(this, remaining);
+			}
+			while (!own.result().isDone()) {
+				queue.drainTo(batch, maxBatchSize);
+				run(batch);
+				batch.clear();
+			}
+		} finally {
+			leader = null;
+			leading.set(false);
+		}
+	}
+
+	private void run(List<PendingLookup> batch) {
+		batch.removeIf(lookup -> lookup.result().isDone());
+		if (batch.isEmpty()) {
+			return;
+		}
+		batches.increment();
+		lookups.add(batch.size());
+		try {
+			List<List<Price>> results = delegate.findAllByDateProductAndBrand(batch.stream().map(PendingLookup::query).toList());
+			for (int i = 0; i < batch.size(); i++) {
+				batch.get(i).result().complete(results.get(i));
+			}
+		} catch (RuntimeException ex) {
+			LOG.error(MessageConstant.FIND_PRICES_ERROR, ex);
+			batch.forEach(lookup -> lookup.result().completeExceptionally(ex));
+		}
+	}
+
+	/**
+	 * Counters of the batching.
+	 */
+	public record Stats(long batches, long lookups, int queued) {
+
+		/**
+		 * Gets the mean number of lookups answered per query.
+		 *
+		 * @return the mean batch size, 0 before the first batch
+		 */
+		public double meanBatchSize() {
+			return batches == 0 ? 0 : (double) lookups / batches;
+		}
+	}
+
+	private record PendingLookup(FindPriceQuery query, CompletableFuture<List<Price>> result) {
+	}
+}
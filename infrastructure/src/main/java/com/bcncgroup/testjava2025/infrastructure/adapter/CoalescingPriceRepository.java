@@ -0,0 +1,213 @@
+package com.bcncgroup.testjava2025.infrastructure.adapter;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.bcncgroup.testjava2025.domain.contant.MessageConstant;
+import com.bcncgroup.testjava2025.domain.exception.LogicException;
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.model.PriceDataVersion;
+import com.bcncgroup.testjava2025.domain.model.PriceRemoval;
+import com.bcncgroup.testjava2025.domain.ports.in.query.FindPriceQuery;
+import com.bcncgroup.testjava2025.domain.ports.out.PriceRepository;
+
+/**
+ * Single-flight decorator of the PriceRepository port.
+ * This class lets concurrent identical lookups share one repository call: the first caller (the leader) runs the
+ * query and every caller that arrives with the same arguments while it is in flight (a follower) waits for its
+ * result, or gets the same exception. Nothing is kept once the call ends, so this is not a cache.
+ * Followers wait at most {@code waitTimeout} milliseconds and then give up with a 503; they wait on the future
+ * without registering callbacks, so a follower that gives up leaves nothing behind.
+ * Batch lookups and exports are passed through.
+ */
+public class CoalescingPriceRepository implements PriceRepositoryDecorator {
+
+	private final PriceRepository delegate;
+	private final long waitTimeout;
+	private final Map<Object, CompletableFuture<List<Price>>> inFlight = new ConcurrentHashMap<>();
+
+	private final LongAdder leaders = new LongAdder();
+	private final LongAdder followers = new LongAdder();
+	private final LongAdder timeouts = new LongAdder();
+
+	public CoalescingPriceRepository(PriceRepository delegate, long waitTimeout) {
+		this.delegate = delegate;
+		this.waitTimeout = waitTimeout;
+	}
+
+	/**
+     * Finds prices that are valid for the given date, product and brand, sharing the call with identical
+     * lookups already in flight.
+     *
+     * @param applicationDate the date when the price should be valid
+     * @param productId the product identifier
+     * @param brandId the brand identifier
+     * @return a list of prices that match the criteria
+     */
+	@Override
+	public List<Price> findByDateProductAndBrand(LocalDateTime applicationDate, Long productId, Long brandId) {
+		return coalesce(new FindPriceQuery(applicationDate, productId, brandId),
+				() -> delegate.findByDateProductAndBrand(applicationDate, productId, brandId));
+	}
+
+	/**
+     * Finds prices that are valid for the given instant, product and brand, sharing the call with identical
+     * lookups already in flight, boxed or not; the leader calls the primitive lookup of the delegate.
+     *
+     * @param applicationEpochSecond the instant when the price should be valid, in epoch seconds read as UTC
+     * @param productId the product identifier
+     * @param brandId the brand identifier
+     * @return a list of prices that match the criteria
+     */
+	@Override
+	public List<Price> findByDateProductAndBrand(long applicationEpochSecond, long productId, long brandId) {
+		return coalesce(new FindPriceQuery(LocalDateTime.ofEpochSecond(applicationEpochSecond, 0, ZoneOffset.UTC), productId, brandId),
+				() -> delegate.findByDateProductAndBrand(applicationEpochSecond, productId, brandId));
+	}
+
+	/**
+     * Finds every price window of the given product and brand, sharing the call with identical lookups
+     * already in flight.
+     *
+     * @param productId the product identifier
+     * @param brandId the brand identifier
+     * @return a list with all the prices of the product and brand
+     */
+	@Override
+	public List<Price> findByProductAndBrand(Long productId, Long brandId) {
+		return coalesce(new WindowsKey(productId, brandId), () -> delegate.findByProductAndBrand(productId, brandId));
+	}
+
+	/**
+     * Finds the valid prices of several tuples at once, without coalescing.
+     *
+     * @param queries the search criteria, in request order
+     * @return one list of prices per query, in the same order
+     */
+	@Override
+	public List<List<Price>> findAllByDateProductAndBrand(List<FindPriceQuery> queries) {
+		return delegate.findAllByDateProductAndBrand(queries);
+	}
+
+	/**
+     * Reads every price of a brand in a date window, without coalescing.
+     *
+     * @param brandId the brand identifier
+     * @param fromDate the start of the date window, or null for no lower limit
+     * @param toDate the end of the date window, or null for no upper limit
+     * @param action the action that receives every price
+     */
+	@Override
+	public void forEachByBrand(Long brandId, LocalDateTime fromDate, LocalDateTime toDate, Consumer<Price> action) {
+		delegate.forEachByBrand(brandId, fromDate, toDate, action);
+	}
+
+	/**
+     * Gets the version of the delegate index, without coalescing.
+     *
+     * @return the version of the delegate, empty when it has none
+     */
+	@Override
+	public Optional<PriceDataVersion> dataVersion() {
+		return delegate.dataVersion();
+	}
+
+	/**
+	 * Applies changed prices to the delegate; they are not coalesced.
+	 *
+	 * @param changed the inserted or updated prices
+	 * @param removed the deleted rows and the groups moved rows left
+	 * @return the answer of the delegate
+	 */
+	@Override
+	public boolean applyChanges(List<Price> changed, List<PriceRemoval> removed) {
+		return delegate.applyChanges(changed, removed);
+	}
+
+	/**
+	 * Gets the decorated repository.
+	 *
+	 * @return the repository that runs the leader calls
+	 */
+	@Override
+	public PriceRepository delegate() {
+		return delegate;
+	}
+
+	/**
+	 * Gets a snapshot of the coalescing counters.
+	 *
+	 * @return leader calls, followers served by them and followers that gave up
+	 */
+	public Stats stats() {
+		return new Stats(leaders.sum(), followers.sum(), timeouts.sum(), inFlight.size());
+	}
+
+	private List<Price> coalesce(Object key, Supplier<List<Price>> call) {
+		CompletableFuture<List<Price>> mine = new CompletableFuture<>();
+		CompletableFuture<List<Price>> leader = inFlight.putIfAbsent(key, mine);
+		if (leader == null) {
+			leaders.increment();
+			try {
+				List<Price> prices = call.get();
+				mine.complete(prices);
+				return prices;
+			} catch (RuntimeException | Error ex) {
+				mine.completeExceptionally(ex);
+				throw ex;
+			} finally {
+				inFlight.remove(key, mine);
+			}
+		}
+
+		followers.increment();
+		try {
+			return leader.get(waitTimeout, TimeUnit.MILLISECONDS);
+		} catch (ExecutionException ex) {
+			// the leader's own exception, so every caller sees the same error
+			if (ex.getCause() instanceof RuntimeException runtime) {
+				throw runtime;
+			}
+			if (ex.getCause() instanceof Error error) {
+				throw error;
+			}
+			throw new LogicException(MessageConstant.FIND_PRICES_ERROR, 500);
+		} catch (TimeoutException ex) {
+			timeouts.increment();
+			throw new LogicException(MessageConstant.SERVER_OVERLOADED, 503);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new LogicException(MessageConstant.FIND_PRICES_ERROR, 500);
+		}
+	}
+
+	/**
+	 * Counters of the coalescing.
+	 */
+	public record Stats(long leaders, long followers, long timeouts, int inFlight) {
+
+		/**
+		 * Gets the ratio of lookups served by another caller's query.
+		 *
+		 * @return the coalesce ratio between 0 and 1
+		 */
+		public double coalesceRatio() {
+			long total = leaders + followers;
+			return total == 0 ? 0 : (double) followers / total;
+		}
+	}
+
+	private record WindowsKey(Long productId, Long brandId) {
+	}
+}
@@ -0,0 +1,301 @@
+package com.bcncgroup.testjava2025.infrastructure.adapter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.bcncgroup.testjava2025.domain.contant.MessageConstant;
+import com.bcncgroup.testjava2025.domain.exception.LogicException;
+import com.bcncgroup.testjava2025.domain.model.Brand;
+import com.bcncgroup.testjava2025.domain.model.PriceSnapshotResult;
+import com.bcncgroup.testjava2025.domain.ports.out.PriceSnapshotRepository;
+import com.bcncgroup.testjava2025.infrastructure.index.ColumnarPriceIndex;
+import com.bcncgroup.testjava2025.infrastructure.index.PriceIndexSnapshot;
+
+/**
+ * File adapter that implements the PriceSnapshotRepository port for the off-heap price repository.
+ * This class keeps the columnar index in a snapshot file (see {@link PriceIndexSnapshot}): the off-heap adapter
+ * maps it at startup when its fingerprint matches the PRICES table, and offers every index it builds, which is then
+ * written every {@code writeInterval} milliseconds when it changed, on demand and when the application stops.
+ * The fingerprint combines the lowest and highest version and the entry count of the PRICE_CHANGES log, which the
+ * trigger on PRICES appends to on every insert, update and delete: H2 answers all three from the primary key and the
+ * row count of the table, so the check costs the same for any number of prices. A committed write always adds an
+ * entry, so it changes the count even when it commits after a newer one and stays below the highest version, and a
+ * prune of the oldest entries changes the lowest version; only deleting entries from the middle of the log could
+ * hide a write, and the log must not be pruned that way.
+ * A mapped file is checked for its length and metadata checksum only, and serves lookups at once; its chunks are
+ * verified afterwards on a background thread (see {@link PriceIndexSnapshot#verify}). A corrupt chunk is logged and
+ * counted in {@link #stats()}, the file is deleted and the off-heap adapter is told to rebuild the index from the
+ * table, so lookups may read a corrupt chunk only until its verification ends.
+ * A write that fails is logged, counted in {@link #stats()} and, on {@code POST /price/snapshot}, answered with a 500;
+ * a scheduled or shutdown write that fails is tried again on the next run.
+ * The adapter holds its own reference on the index it was offered or mapped (see {@link ColumnarPriceIndex#retain()}),
+ * given back when a newer one replaces it, and a write takes one more for its duration, so the off-heap adapter can
+ * free a replaced index without waiting for a write that still reads it.
+ * It is enabled with {@code price.snapshot.enabled=true}.
+ */
+@Repository
+@ConditionalOnProperty(name = "price.snapshot.enabled", havingValue = "true")
+public class FilePriceSnapshotAdapter implements PriceSnapshotRepository, DisposableBean {
+
+	static final Logger LOG = LoggerFactory.getLogger(FilePriceSnapshotAdapter.class);
+
+	static final String FINGERPRINT = "SELECT COALESCE(MIN(CHANGE_VERSION), 0), COALESCE(MAX(CHANGE_VERSION), 0), COUNT(*) "
+			+ "FROM PRICE_CHANGES";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final Path file;
+	private final ScheduledExecutorService writer;
+
+	// a lock instead of synchronized, so a write does not pin the carrier of a virtual thread
+	private final ReentrantLock writeLock = new ReentrantLock();
+
+	// the index that serves lookups, and the one the file holds
+	private final AtomicReference<Snapshot> current = new AtomicReference<>();
+	private volatile Snapshot written;
+
+	private final LongAdder writes = new LongAdder();
+	private final LongAdder failures = new LongAdder();
+	private final LongAdder corrupt = new LongAdder();
+
+	public FilePriceSnapshotAdapter(JdbcTemplate jdbcTemplate, @Value("${price.snapshot.path:price-index.snapshot}") String path,
+			@Value("${price.snapshot.write-interval:300000}") long writeInterval) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.file = Path.of(path).toAbsolutePath();
+		if (writeInterval > 0) {
+			this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "price-snapshot");
+				thread.setDaemon(true);
+				return thread;
+			});
+			this.writer.scheduleWithFixedDelay(this::writeIfChanged, writeInterval, writeInterval, TimeUnit.MILLISECONDS);
+		} else {
+			this.writer = null;
+		}
+	}
+
+	/**
+	 * Computes the fingerprint of the PRICES table from its change log.
+	 * Take it before reading the rows of an index: a write in between then makes the snapshot stale, never wrong.
+	 *
+	 * @return the fingerprint
+	 */
+	public long fingerprint() {
+		Long fingerprint = jdbcTemplate.queryForObject(FINGERPRINT, (rs, rowNum) -> {
+			// 64-bit FNV-1a of the column values, so that different logs rarely share a fingerprint
+			long hash = 0xCBF29CE484222325L;
+			for (int column = 1; column <= 3; column++) {
+				String value = rs.getLong(column) + "|";
+				for (int i = 0; i < value.length(); i++) {
+					hash = (hash ^ value.charAt(i)) * 0x100000001B3L;
+				}
+			}
+			return hash;
+		});
+		return fingerprint == null ? 0 : fingerprint;
+	}
+
+	/**
+	 * Maps the snapshot file when it holds an index of the given fingerprint, and starts the verification of its
+	 * chunks on a background thread.
+	 *
+	 * @param fingerprint the fingerprint of the PRICES table
+	 * @param brands the function that gives the brand of an identifier when a price is built
+	 * @param onCorrupt called on the verification thread when a chunk is corrupt and the index still serves lookups
+	 * @return the mapped index, whose reference goes to the caller, or null when the file is missing or stale, or its
+	 *         header or metadata are corrupt
+	 */
+	public ColumnarPriceIndex load(long fingerprint, LongFunction<Brand> brands, Runnable onCorrupt) {
+		if (!Files.isRegularFile(file)) {
+			LOG.info("price snapshot {} not found, the index is rebuilt", file);
+			return null;
+		}
+		try {
+			PriceIndexSnapshot.Header header = PriceIndexSnapshot.readHeader(file);
+			if (header.fingerprint() != fingerprint) {
+				LOG.info("price snapshot {} is stale, the index is rebuilt", file);
+				return null;
+			}
+			PriceIndexSnapshot.Mapped mapped = PriceIndexSnapshot.map(file, brands);
+			ColumnarPriceIndex index = mapped.index();
+			index.retain();
+			Snapshot loaded = new Snapshot(index, fingerprint);
+			replace(loaded);
+			written = loaded;
+			// one more reference for the verification, given back when it ends
+			index.retain();
+			Thread verifier = new Thread(() -> verify(loaded, mapped.checksums(), onCorrupt), "price-snapshot-verify");
+			verifier.setDaemon(true);
+			verifier.start();
+			return index;
+		} catch (IOException ex) {
+			LOG.warn("price snapshot {} not read, the index is rebuilt: {}", file, ex.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Takes a newly built index; it is written on the next scheduled write.
+	 * This method takes a reference on the index and gives back the one on the index it replaces.
+	 *
+	 * @param index the index that now serves lookups
+	 * @param fingerprint the fingerprint taken before its rows were read
+	 */
+	public void offer(ColumnarPriceIndex index, long fingerprint) {
+		if (index.retain()) {
+			replace(new Snapshot(index, fingerprint));
+		}
+	}
+
+	/**
+	 * Writes the index that serves lookups, replacing the snapshot file.
+	 *
+	 * @return the written snapshot, or empty when no index was built or mapped yet
+	 * @throws LogicException if the file cannot be written (500); the previous file is kept
+	 */
+	@Override
+	public Optional<PriceSnapshotResult> write() {
+		writeLock.lock();
+		Snapshot snapshot = null;
+		try {
+			snapshot = retainCurrent();
+			if (snapshot == null) {
+				return Optional.empty();
+			}
+			long start = System.nanoTime();
+			long bytes = PriceIndexSnapshot.write(snapshot.index(), snapshot.fingerprint(), file);
+			written = snapshot;
+			writes.increment();
+			long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+			LOG.info("price snapshot {} written: {} prices, {} MiB in {} ms", file, snapshot.index().size(), bytes >> 20,
+					elapsedMillis);
+			return Optional.of(new PriceSnapshotResult(snapshot.index().size(), bytes, elapsedMillis));
+		} catch (IOException | RuntimeException ex) {
+			failures.increment();
+			LOG.error(MessageConstant.SNAPSHOT_WRITE_ERROR, ex);
+			throw new LogicException(MessageConstant.SNAPSHOT_WRITE_ERROR, 500);
+		} finally {
+			if (snapshot != null) {
+				snapshot.index().release();
+			}
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Stops the scheduled writes and writes the index if it changed since the last write.
+	 */
+	@Override
+	public void destroy() {
+		if (writer != null) {
+			writer.shutdownNow();
+		}
+		writeIfChanged();
+	}
+
+	/**
+	 * Gets a snapshot of the write and verification counters.
+	 *
+	 * @return the written files, the failed writes and the mapped files found corrupt
+	 */
+	public Stats stats() {
+		return new Stats(writes.sum(), failures.sum(), corrupt.sum());
+	}
+
+	/**
+	 * Verifies a mapped index. When it is corrupt and still serves lookups, it is dropped so that it is never written
+	 * again and the caller is called back; the file is deleted unless a newer index was written over it.
+	 */
+	private void verify(Snapshot loaded, PriceIndexSnapshot.Checksums checksums, Runnable onCorrupt) {
+		long start = System.nanoTime();
+		try {
+			PriceIndexSnapshot.verify(loaded.index(), checksums);
+			LOG.info("price snapshot {} verified: {} prices in {} ms", file, loaded.index().size(),
+					(System.nanoTime() - start) / 1_000_000);
+			return;
+		} catch (IOException ex) {
+			corrupt.increment();
+			LOG.error("{}, the index is rebuilt", ex.getMessage());
+		} finally {
+			loaded.index().release();
+		}
+		boolean serving = current.compareAndSet(loaded, null);
+		if (serving) {
+			loaded.index().release();
+		}
+		writeLock.lock();
+		try {
+			if (written == loaded) {
+				Files.deleteIfExists(file);
+				written = null;
+			}
+		} catch (IOException ex) {
+			LOG.warn("corrupt price snapshot {} not deleted: {}", file, ex.getMessage());
+		} finally {
+			writeLock.unlock();
+		}
+		if (serving) {
+			onCorrupt.run();
+		}
+	}
+
+	private void replace(Snapshot snapshot) {
+		Snapshot previous = current.getAndSet(snapshot);
+		if (previous != null) {
+			previous.index().release();
+		}
+	}
+
+	/**
+	 * Takes a reference on the current index. A replaced index may be freed between the read of the field and the
+	 * reference, but the field then already holds its successor, so the next try reads that one.
+	 */
+	private Snapshot retainCurrent() {
+		while (true) {
+			Snapshot snapshot = current.get();
+			if (snapshot == null || snapshot.index().retain()) {
+				return snapshot;
+			}
+		}
+	}
+
+	private void writeIfChanged() {
+		try {
+			if (current.get() != written) {
+				write();
+			}
+		} catch (LogicException ex) {
+			// logged and counted by write; the index stays unwritten, so the next run tries again
+			LOG.warn("price snapshot {} still holds an older index", file);
+		}
+	}
+
+	/**
+	 * Counters of the snapshot writes.
+	 *
+	 * @param writes the snapshot files written, scheduled or on demand
+	 * @param failures the writes that failed
+	 * @param corrupt the mapped files whose chunks did not match their checksums
+	 */
+	public record Stats(long writes, long failures, long corrupt) {
+	}
+
+	private record Snapshot(ColumnarPriceIndex index, long fingerprint) {
+	}
+}
@@ -0,0 +1,198 @@
+package com.bcncgroup.testjava2025.infrastructure.adapter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bcncgroup.testjava2025.domain.contant.MessageConstant;
+import com.bcncgroup.testjava2025.domain.exception.LogicException;
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.model.PriceDataVersion;
+import com.bcncgroup.testjava2025.domain.model.PriceRemoval;
+import com.bcncgroup.testjava2025.domain.ports.out.PriceRepository;
+import com.bcncgroup.testjava2025.infrastructure.index.IndexHolder;
+import com.bcncgroup.testjava2025.infrastructure.index.PriceIntervalIndex;
+import com.bcncgroup.testjava2025.infrastructure.mapper.PriceMapper;
+import com.bcncgroup.testjava2025.infrastructure.repository.PriceJpaRepository;
+
+/**
+ * In-memory adapter that implements the PriceRepository port.
+ * This class loads the PRICES table into an interval index and answers lookups without database access.
+ * It is enabled with {@code price.repository.type=memory}; the index is loaded and rebuilt by the PriceIndexRefresher.
+ * The index is published through an {@link IndexHolder}: lookups read it without locks and a rebuild swaps it whole.
+ */
+@Repository
+@ConditionalOnProperty(name = "price.repository.type", havingValue = "memory")
+public class InMemoryPriceRepositoryAdapter implements PriceRepository {
+
+	static final Logger LOG = LoggerFactory.getLogger(InMemoryPriceRepositoryAdapter.class);
+
+	private final PriceJpaRepository jpaRepository;
+	private final PriceMapper mapper;
+
+	// serializes rebuilds; lookups only wait on it before the first index is published
+	// a lock instead of synchronized, so the first load does not pin the carrier of a virtual thread
+	private final ReentrantLock loadLock = new ReentrantLock();
+
+	private final IndexHolder<PriceIntervalIndex> index = new IndexHolder<>();
+
+	public InMemoryPriceRepositoryAdapter(PriceJpaRepository jpaRepository, PriceMapper mapper) {
+		this.jpaRepository = jpaRepository;
+		this.mapper = mapper;
+	}
+
+	/**
+	 * Rebuilds the index from the database.
+	 * Lookups keep using the previous index until the new one is published.
+	 *
+	 * @return the version of the published index
+	 */
+	@Transactional(readOnly = true)
+	public PriceDataVersion refresh() {
+		loadLock.lock();
+		try {
+			long start = System.nanoTime();
+			List<Price> prices = jpaRepository.findAllOrdered().stream().map(mapper::toDomain).toList();
+			PriceIntervalIndex built = PriceIntervalIndex.of(prices);
+			IndexHolder.Published<PriceIntervalIndex> published = index.publish(built, built.contentVersion());
+			LOG.info("price index loaded: {} prices, {} products in {} ms, epoch {} version {}", built.size(), built.groups(),
+					(System.nanoTime() - start) / 1_000_000, published.epoch(), published.version());
+			return new PriceDataVersion(published.epoch(), published.version());
+		} finally {
+			loadLock.unlock();
+		}
+	}
+
+	/**
+	 * Applies inserted, updated, moved and deleted prices to the index and publishes the result, without reading the
+	 * table. Nothing is applied before the first load, which reads the changes anyway.
+	 *
+	 * @param changed the inserted or updated prices
+	 * @param removed the deleted rows and the groups moved rows left
+	 * @return true, the index always takes the changes in place
+	 */
+	@Override
+	public boolean applyChanges(List<Price> changed, List<PriceRemoval> removed) {
+		loadLock.lock();
+		try {
+			IndexHolder.Published<PriceIntervalIndex> current = index.current();
+			if (current == null || (changed.isEmpty() && removed.isEmpty())) {
+				return true;
+			}
+			long start = System.nanoTime();
+			PriceIntervalIndex updated = current.index().withChanges(changed, removed);
+			IndexHolder.Published<PriceIntervalIndex> published = index.publish(updated, updated.contentVersion());
+			LOG.debug("price index changed: {} prices and {} removals in {} us, epoch {} version {}", changed.size(),
+					removed.size(), (System.nanoTime() - start) / 1_000, published.epoch(), published.version());
+			return true;
+		} finally {
+			loadLock.unlock();
+		}
+	}
+
+	/**
+	 * Finds prices that are valid for the given date, product and brand.
+	 * This method answers from the in-memory index, loading it on first use if needed.
+	 *
+	 * @param applicationDate the date when the price should be valid
+	 * @param productId the product identifier
+	 * @param brandId the brand identifier
+	 * @return a list of domain price objects ordered by priority
+	 */
+	@Override
+	public List<Price> findByDateProductAndBrand(LocalDateTime applicationDate, Long productId, Long brandId) {
+		try {
+			return currentIndex().findCovering(applicationDate, productId, brandId);
+		} catch (Exception ex) {
+			LOG.error(MessageConstant.FIND_PRICES_ERROR, ex);
+			throw new LogicException(MessageConstant.FIND_PRICES_ERROR, 500);
+		}
+	}
+
+	/**
+	 * Finds prices that are valid for the given instant, product and brand, without boxing.
+	 * This method answers from the in-memory index and allocates nothing but the returned list.
+	 *
+	 * @param applicationEpochSecond the instant when the price should be valid, in epoch seconds read as UTC
+	 * @param productId the product identifier
+	 * @param brandId the brand identifier
+	 * @return a list of domain price objects ordered by priority
+	 */
+	@Override
+	public List<Price> findByDateProductAndBrand(long applicationEpochSecond, long productId, long brandId) {
+		try {
+			return currentIndex().findCovering(applicationEpochSecond, productId, brandId);
+		} catch (Exception ex) {
+			LOG.error(MessageConstant.FIND_PRICES_ERROR, ex);
+			throw new LogicException(MessageConstant.FIND_PRICES_ERROR, 500);
+		}
+	}
+
+	/**
+	 * Finds every price window of the given product and brand.
+	 * This method answers from the in-memory index.
+	 *
+	 * @param productId the product identifier
+	 * @param brandId the brand identifier
+	 * @return a list of domain price objects ordered by start date
+	 */
+	@Override
+	public List<Price> findByProductAndBrand(Long productId, Long brandId) {
+		try {
+			return currentIndex().findAll(productId, brandId);
+		} catch (Exception ex) {
+			LOG.error(MessageConstant.FIND_PRICES_ERROR, ex);
+			throw new LogicException(MessageConstant.FIND_PRICES_ERROR, 500);
+		}
+	}
+
+	/**
+	 * Sends every price of a brand that overlaps the given dates to the action.
+	 * This method reads the in-memory index, without copying it.
+	 *
+	 * @param brandId the brand identifier
+	 * @param fromDate the start of the date window, or null for no lower limit
+	 * @param toDate the end of the date window, or null for no upper limit
+	 * @param action the action that receives every price
+	 */
+	@Override
+	public void forEachByBrand(Long brandId, LocalDateTime fromDate, LocalDateTime toDate, Consumer<Price> action) {
+		currentIndex().forEachByBrand(brandId, fromDate, toDate, action);
+	}
+
+	/**
+	 * Gets the version of the published index.
+	 * This method reads the holder without locks.
+	 *
+	 * @return the epoch and content version, or empty before the first load
+	 */
+	@Override
+	public Optional<PriceDataVersion> dataVersion() {
+		IndexHolder.Published<PriceIntervalIndex> published = index.current();
+		return published == null ? Optional.empty() : Optional.of(new PriceDataVersion(published.epoch(), published.version()));
+	}
+
+	private PriceIntervalIndex currentIndex() {
+		IndexHolder.Published<PriceIntervalIndex> published = index.current();
+		if (published == null) {
+			loadLock.lock();
+			try {
+				if (index.current() == null) {
+					refresh();
+				}
+				published = index.current();
+			} finally {
+				loadLock.unlock();
+			}
+		}
+		return published.index();
+	}
+}
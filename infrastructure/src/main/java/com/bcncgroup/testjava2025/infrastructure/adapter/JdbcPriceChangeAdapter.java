@@ -0,0 +1,125 @@
+package com.bcncgroup.testjava2025.infrastructure.adapter;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.bcncgroup.testjava2025.domain.contant.MessageConstant;
+import com.bcncgroup.testjava2025.domain.exception.LogicException;
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.model.PriceChange;
+import com.bcncgroup.testjava2025.domain.ports.out.PriceChangeRepository;
+import com.bcncgroup.testjava2025.infrastructure.cache.BrandDictionary;
+
+/**
+ * JDBC adapter that implements the PriceChangeRepository port.
+ * This class reads the PRICE_CHANGES log, which a trigger on PRICES fills on every insert, update and delete, by its
+ * CHANGE_VERSION primary key, joined with the PRICES row as it is now: a read costs the changes, not the table.
+ * It is enabled with {@code price.changes.enabled=true}, whichever {@code price.repository.type} serves the lookups.
+ */
+@Repository
+@ConditionalOnProperty(name = "price.changes.enabled", havingValue = "true", matchIfMissing = true)
+public class JdbcPriceChangeAdapter implements PriceChangeRepository {
+
+	static final Logger LOG = LoggerFactory.getLogger(JdbcPriceChangeAdapter.class);
+
+	static final String LATEST_VERSION = "SELECT COALESCE(MAX(CHANGE_VERSION), 0) FROM PRICE_CHANGES";
+
+	static final String COLUMNS = "SELECT c.CHANGE_VERSION, c.PRICE_ID, c.BRAND_ID, c.PRODUCT_ID, c.CHANGED_AT, "
+			+ "p.ID, p.BRAND_ID, p.START_DATE, p.END_DATE, p.PRICE_LIST, p.PRODUCT_ID, p.PRIORITY, p.PRICE, p.CURR "
+			+ "FROM PRICE_CHANGES c LEFT JOIN PRICES p ON p.ID = c.PRICE_ID ";
+
+	static final String FIND_CHANGED_SINCE = COLUMNS + "WHERE c.CHANGE_VERSION > ? ORDER BY c.CHANGE_VERSION FETCH FIRST ? ROWS ONLY";
+
+	static final String FIND_BY_VERSIONS = COLUMNS + "WHERE c.CHANGE_VERSION IN (:versions) ORDER BY c.CHANGE_VERSION";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final NamedParameterJdbcTemplate namedJdbcTemplate;
+	private final BrandDictionary brandDictionary;
+
+	public JdbcPriceChangeAdapter(JdbcTemplate jdbcTemplate, BrandDictionary brandDictionary) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+		this.brandDictionary = brandDictionary;
+	}
+
+	/**
+	 * Gets the highest version of the change log.
+	 *
+	 * @return the version, 0 when nothing was logged
+	 */
+	@Override
+	public long latestVersion() {
+		try {
+			Long version = jdbcTemplate.queryForObject(LATEST_VERSION, Long.class);
+			return version == null ? 0 : version;
+		} catch (Exception ex) {
+			LOG.error(MessageConstant.FIND_PRICES_ERROR, ex);
+			throw new LogicException(MessageConstant.FIND_PRICES_ERROR, 500);
+		}
+	}
+
+	/**
+	 * Finds the changes logged after the given version.
+	 *
+	 * @param version the last version already read
+	 * @param limit the most changes to read
+	 * @return the changes ordered by version, each with its row as it is now
+	 */
+	@Override
+	public List<PriceChange> findChangedSince(long version, int limit) {
+		try {
+			return jdbcTemplate.query(FIND_CHANGED_SINCE, this::mapRow, version, limit);
+		} catch (Exception ex) {
+			LOG.error(MessageConstant.FIND_PRICES_ERROR, ex);
+			throw new LogicException(MessageConstant.FIND_PRICES_ERROR, 500);
+		}
+	}
+
+	/**
+	 * Finds the logged changes of the given versions.
+	 *
+	 * @param versions the versions to read
+	 * @return the committed changes among them ordered by version, each with its row as it is now
+	 */
+	@Override
+	public List<PriceChange> findByVersions(Collection<Long> versions) {
+		if (versions.isEmpty()) {
+			return List.of();
+		}
+		try {
+			return namedJdbcTemplate.query(FIND_BY_VERSIONS, Map.of("versions", versions), this::mapRow);
+		} catch (Exception ex) {
+			LOG.error(MessageConstant.FIND_PRICES_ERROR, ex);
+			throw new LogicException(MessageConstant.FIND_PRICES_ERROR, 500);
+		}
+	}
+
+	private PriceChange mapRow(ResultSet rs, int rowNum) throws SQLException {
+		Price price = null;
+		if (rs.getObject(6) != null) {
+			price = new Price(
+					rs.getLong(6),
+					brandDictionary.toBrand(rs.getLong(7)),
+					rs.getObject(8, LocalDateTime.class),
+					rs.getObject(9, LocalDateTime.class),
+					rs.getInt(10),
+					rs.getLong(11),
+					rs.getInt(12),
+					rs.getBigDecimal(13),
+					rs.getString(14));
+		}
+		return new PriceChange(rs.getLong(2), rs.getObject(3, Long.class), rs.getObject(4, Long.class), price, rs.getLong(1),
+				rs.getObject(5, LocalDateTime.class));
+	}
+}
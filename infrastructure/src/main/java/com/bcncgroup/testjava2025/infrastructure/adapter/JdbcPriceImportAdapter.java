@@ -0,0 +1,67 @@
+package com.bcncgroup.testjava2025.infrastructure.adapter;
+
+import java.sql.Timestamp;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.ports.out.PriceImportRepository;
+
+/**
+ * JDBC adapter that implements the PriceImportRepository port.
+ * PriceEntity uses IDENTITY generation, which disables Hibernate insert batching, so this class
+ * writes with plain JDBC batches and lets the database generate the identifiers.
+ */
+@Repository
+public class JdbcPriceImportAdapter implements PriceImportRepository {
+	
+	static final String INSERT_PRICE = "INSERT INTO PRICES (BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR) "
+			+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+	
+	private final JdbcTemplate jdbcTemplate;
+	
+	private final int batchSize;
+	
+	public JdbcPriceImportAdapter(JdbcTemplate jdbcTemplate, @Value("${price.import.batch-size:1000}") int batchSize) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Finds the identifiers of every existing brand.
+	 * 
+	 * @return the brand identifiers
+	 */
+	@Override
+	public Set<Long> findBrandIds() {
+		return new HashSet<>(jdbcTemplate.queryForList("SELECT ID FROM BRANDS", Long.class));
+	}
+
+	/**
+	 * Stores the given prices in a single transaction, sending them in JDBC batches.
+	 * 
+	 * @param prices the prices to store
+	 * @return the number of stored prices
+	 */
+	@Override
+	@Transactional
+	public int insertAll(List<Price> prices) {
+		jdbcTemplate.batchUpdate(INSERT_PRICE, prices, batchSize, (ps, price) -> {
+			ps.setLong(1, price.brand().id());
+			ps.setTimestamp(2, Timestamp.valueOf(price.startDate()));
+			ps.setTimestamp(3, Timestamp.valueOf(price.endDate()));
+			ps.setInt(4, price.priceList());
+			ps.setLong(5, price.productId());
+			ps.setInt(6, price.priority());
+			ps.setBigDecimal(7, price.price());
+			ps.setString(8, price.currency());
+		});
+		return prices.size();
+	}
+}
@@ -0,0 +1,70 @@
+package com.bcncgroup.testjava2025.infrastructure.adapter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.bcncgroup.testjava2025.domain.contant.MessageConstant;
+import com.bcncgroup.testjava2025.domain.exception.LogicException;
+import com.bcncgroup.testjava2025.domain.ports.out.PriceKeyRepository;
+
+/**
+ * JDBC adapter that implements the PriceKeyRepository port.
+ * This class reads the distinct brand and product pairs straight from the PRICES table, whichever
+ * {@code price.repository.type} serves the lookups.
+ */
+@Repository
+public class JdbcPriceKeyAdapter implements PriceKeyRepository {
+
+	static final Logger LOG = LoggerFactory.getLogger(JdbcPriceKeyAdapter.class);
+
+	static final String COUNT_KEYS = "SELECT COUNT(*) FROM (SELECT DISTINCT BRAND_ID, PRODUCT_ID FROM PRICES)";
+
+	static final String FIND_KEYS = "SELECT DISTINCT BRAND_ID, PRODUCT_ID FROM PRICES";
+
+	// rows fetched per round trip when reading every pair
+	static final int FETCH_SIZE = 1000;
+
+	private final JdbcTemplate jdbcTemplate;
+	private final JdbcTemplate streamingJdbcTemplate;
+
+	public JdbcPriceKeyAdapter(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+		this.streamingJdbcTemplate.setFetchSize(FETCH_SIZE);
+	}
+
+	/**
+	 * Counts the distinct brand and product pairs of the PRICES table.
+	 *
+	 * @return the number of pairs
+	 */
+	@Override
+	public long countKeys() {
+		try {
+			Long count = jdbcTemplate.queryForObject(COUNT_KEYS, Long.class);
+			return count == null ? 0 : count;
+		} catch (Exception ex) {
+			LOG.error(MessageConstant.FIND_PRICES_ERROR, ex);
+			throw new LogicException(MessageConstant.FIND_PRICES_ERROR, 500);
+		}
+	}
+
+	/**
+	 * Streams every distinct brand and product pair.
+	 *
+	 * @param action the action that receives every pair
+	 */
+	@Override
+	public void forEachKey(KeyConsumer action) {
+		try {
+			streamingJdbcTemplate.query(FIND_KEYS, rs -> {
+				action.accept(rs.getLong(1), rs.getLong(2));
+			});
+		} catch (Exception ex) {
+			LOG.error(MessageConstant.FIND_PRICES_ERROR, ex);
+			throw new LogicException(MessageConstant.FIND_PRICES_ERROR, 500);
+		}
+	}
+}
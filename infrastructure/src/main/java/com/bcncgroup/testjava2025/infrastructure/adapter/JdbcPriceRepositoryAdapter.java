@@ -0,0 +1,163 @@
+package com.bcncgroup.testjava2025.infrastructure.adapter;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.bcncgroup.testjava2025.domain.contant.MessageConstant;
+import com.bcncgroup.testjava2025.domain.exception.LogicException;
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.ports.in.query.FindPriceQuery;
+import com.bcncgroup.testjava2025.domain.ports.out.PriceRepository;
+import com.bcncgroup.testjava2025.infrastructure.cache.BrandDictionary;
+
+/**
+ * JDBC adapter that implements the PriceRepository port.
+ * This class runs prepared statements over JdbcTemplate and maps rows straight into Price records,
+ * without entities, persistence context or mappers; brands come from the brand dictionary.
+ * It is enabled with {@code price.repository.type=jdbc}.
+ */
+@Repository
+@ConditionalOnProperty(name = "price.repository.type", havingValue = "jdbc")
+public class JdbcPriceRepositoryAdapter implements PriceRepository {
+
+	static final Logger LOG = LoggerFactory.getLogger(JdbcPriceRepositoryAdapter.class);
+
+	static final String COLUMNS = "SELECT ID, BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR FROM PRICES ";
+
+	static final String FIND_BY_DATE_PRODUCT_BRAND = COLUMNS
+			+ "WHERE PRODUCT_ID = ? AND BRAND_ID = ? AND ? BETWEEN START_DATE AND END_DATE ORDER BY PRIORITY, ID";
+
+	static final String FIND_BY_PRODUCT_BRAND = COLUMNS
+			+ "WHERE PRODUCT_ID = ? AND BRAND_ID = ? ORDER BY START_DATE, ID";
+
+	static final String FIND_BY_DATE_RANGE_PRODUCTS_BRANDS = COLUMNS
+			+ "WHERE PRODUCT_ID IN (:productIds) AND BRAND_ID IN (:brandIds) AND START_DATE <= :toDate AND END_DATE >= :fromDate "
+			+ "ORDER BY PRIORITY, ID";
+
+	static final String STREAM_BY_BRAND = COLUMNS
+			+ "WHERE BRAND_ID = ? AND START_DATE <= ? AND END_DATE >= ? ORDER BY PRODUCT_ID, START_DATE, ID";
+
+	// rows fetched per round trip when streaming a whole brand
+	static final int STREAM_FETCH_SIZE = 1000;
+
+	private final JdbcTemplate jdbcTemplate;
+	private final NamedParameterJdbcTemplate namedJdbcTemplate;
+	private final JdbcTemplate streamingJdbcTemplate;
+	private final BrandDictionary brandDictionary;
+	private final RowMapper<Price> rowMapper = this::mapRow;
+
+	public JdbcPriceRepositoryAdapter(JdbcTemplate jdbcTemplate, BrandDictionary brandDictionary) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+		this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+		this.streamingJdbcTemplate.setFetchSize(STREAM_FETCH_SIZE);
+		this.brandDictionary = brandDictionary;
+	}
+
+	/**
+	 * Finds prices that are valid for the given date, product and brand.
+	 * This method runs a single prepared statement.
+	 *
+	 * @param applicationDate the date when the price should be valid
+	 * @param productId the product identifier
+	 * @param brandId the brand identifier
+	 * @return a list of domain price objects ordered by priority
+	 */
+	@Override
+	public List<Price> findByDateProductAndBrand(LocalDateTime applicationDate, Long productId, Long brandId) {
+		try {
+			return jdbcTemplate.query(FIND_BY_DATE_PRODUCT_BRAND, rowMapper, productId, brandId, applicationDate);
+		} catch (Exception ex) {
+			LOG.error(MessageConstant.FIND_PRICES_ERROR, ex);
+			throw new LogicException(MessageConstant.FIND_PRICES_ERROR, 500);
+		}
+	}
+
+	/**
+	 * Finds every price window of the given product and brand.
+	 *
+	 * @param productId the product identifier
+	 * @param brandId the brand identifier
+	 * @return a list of domain price objects ordered by start date
+	 */
+	@Override
+	public List<Price> findByProductAndBrand(Long productId, Long brandId) {
+		try {
+			return jdbcTemplate.query(FIND_BY_PRODUCT_BRAND, rowMapper, productId, brandId);
+		} catch (Exception ex) {
+			LOG.error(MessageConstant.FIND_PRICES_ERROR, ex);
+			throw new LogicException(MessageConstant.FIND_PRICES_ERROR, 500);
+		}
+	}
+
+	/**
+	 * Finds the valid prices of several tuples with one statement per chunk of products.
+	 * This method follows the JPA adapter: it loads the windows that overlap the requested dates and
+	 * keeps, for each query, the rows that cover its date, preserving the query order.
+	 *
+	 * @param queries the search criteria, in request order
+	 * @return one list of domain prices per query, each one ordered by priority
+	 */
+	@Override
+	public List<List<Price>> findAllByDateProductAndBrand(List<FindPriceQuery> queries) {
+		try {
+			return PriceBatchSupport.findAll(queries, (productIds, brandIds, fromDate, toDate) -> namedJdbcTemplate.query(
+					FIND_BY_DATE_RANGE_PRODUCTS_BRANDS,
+					new MapSqlParameterSource()
+							.addValue("productIds", productIds)
+							.addValue("brandIds", brandIds)
+							.addValue("fromDate", fromDate)
+							.addValue("toDate", toDate),
+					rowMapper));
+		} catch (Exception ex) {
+			LOG.error(MessageConstant.FIND_PRICES_ERROR, ex);
+			throw new LogicException(MessageConstant.FIND_PRICES_ERROR, 500);
+		}
+	}
+
+	/**
+	 * Streams the prices of a brand, mapping each row while the result set is read.
+	 *
+	 * @param brandId the brand identifier
+	 * @param fromDate the start of the date window, or null for no lower limit
+	 * @param toDate the end of the date window, or null for no upper limit
+	 * @param action the action that receives every price
+	 */
+	@Override
+	public void forEachByBrand(Long brandId, LocalDateTime fromDate, LocalDateTime toDate, Consumer<Price> action) {
+		try {
+			streamingJdbcTemplate.query(STREAM_BY_BRAND, rs -> {
+				action.accept(mapRow(rs, 0));
+			}, brandId, toDate == null ? JpaPriceRepositoryAdapter.MAX_DATE : toDate,
+					fromDate == null ? JpaPriceRepositoryAdapter.MIN_DATE : fromDate);
+		} catch (Exception ex) {
+			LOG.error(MessageConstant.FIND_PRICES_ERROR, ex);
+			throw new LogicException(MessageConstant.FIND_PRICES_ERROR, 500);
+		}
+	}
+
+	private Price mapRow(ResultSet rs, int rowNum) throws SQLException {
+		return new Price(
+				rs.getLong(1),
+				brandDictionary.toBrand(rs.getLong(2)),
+				rs.getObject(3, LocalDateTime.class),
+				rs.getObject(4, LocalDateTime.class),
+				rs.getInt(5),
+				rs.getLong(6),
+				rs.getInt(7),
+				rs.getBigDecimal(8),
+				rs.getString(9));
+	}
+}
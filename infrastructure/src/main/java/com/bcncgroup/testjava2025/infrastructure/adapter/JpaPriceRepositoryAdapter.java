@@ -2,31 +2,48 @@ package com.bcncgroup.testjava2025.infrastructure.adapter;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.bcncgroup.testjava2025.domain.contant.MessageConstant;
 import com.bcncgroup.testjava2025.domain.exception.LogicException;
 import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.ports.in.query.FindPriceQuery;
 import com.bcncgroup.testjava2025.domain.ports.out.PriceRepository;
 import com.bcncgroup.testjava2025.infrastructure.entity.PriceEntity;
 import com.bcncgroup.testjava2025.infrastructure.mapper.PriceMapper;
 import com.bcncgroup.testjava2025.infrastructure.repository.PriceJpaRepository;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
 /**
  * JPA adapter that implements the PriceRepository port.
  * This class connects the domain logic with JPA persistence.
+ * It is the default implementation ({@code price.repository.type=jpa}).
  */
 @Repository
+@ConditionalOnProperty(name = "price.repository.type", havingValue = "jpa", matchIfMissing = true)
 public class JpaPriceRepositoryAdapter implements PriceRepository {
 	
 	static final Logger LOG = LoggerFactory.getLogger(PriceRepository.class);
 	
+	// open limits for exports without date window
+	static final LocalDateTime MIN_DATE = LocalDateTime.of(1, 1, 1, 0, 0);
+	static final LocalDateTime MAX_DATE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+	
 	private final PriceJpaRepository jpaRepository;
     private final PriceMapper mapper;
     
+    @PersistenceContext
+    private EntityManager entityManager;
+    
     public JpaPriceRepositoryAdapter(PriceJpaRepository jpaRepository, PriceMapper mapper) {
         this.jpaRepository = jpaRepository;
         this.mapper = mapper;
@@ -52,4 +69,68 @@ public class JpaPriceRepositoryAdapter implements PriceRepository {
 			throw new LogicException(MessageConstant.FIND_PRICES_ERROR, 500);
 		}
 	}
+
+	/**
+     * Finds every price window of the given product and brand.
+     * This method delegates to JPA repository and converts entities to domain objects.
+     * 
+     * @param productId the product identifier
+     * @param brandId the brand identifier
+     * @return a list of domain price objects ordered by start date
+     */
+	@Override
+	public List<Price> findByProductAndBrand(Long productId, Long brandId) {
+		try {
+			return jpaRepository.findByProductIdentifierBrand(productId, brandId).stream().map(mapper::toDomain).toList();
+		} catch (Exception ex) {
+			LOG.error(MessageConstant.FIND_PRICES_ERROR, ex);
+			throw new LogicException(MessageConstant.FIND_PRICES_ERROR, 500);
+		}
+	}
+
+	/**
+     * Finds the valid prices of several tuples with one query per chunk of products.
+     * This method loads every window of the requested products and brands that overlaps the requested
+     * dates, then keeps, for each query, the rows that cover its date. The query order is preserved and
+     * a query without match gets an empty list.
+     * 
+     * @param queries the search criteria, in request order
+     * @return one list of domain prices per query, each one ordered by priority
+     */
+	@Override
+	public List<List<Price>> findAllByDateProductAndBrand(List<FindPriceQuery> queries) {
+		try {
+			return PriceBatchSupport.findAll(queries, (productIds, brandIds, fromDate, toDate) -> jpaRepository
+					.findByDateRangeProductIdentifiersBrands(fromDate, toDate, productIds, brandIds).stream()
+					.map(mapper::toDomain)
+					.toList());
+		} catch (Exception ex) {
+			LOG.error(MessageConstant.FIND_PRICES_ERROR, ex);
+			throw new LogicException(MessageConstant.FIND_PRICES_ERROR, 500);
+		}
+	}
+	
+	/**
+     * Streams the prices of a brand through a forward-only cursor.
+     * Every entity is detached once it has been handed to the action, so the persistence context
+     * does not grow with the size of the catalog.
+     * 
+     * @param brandId the brand identifier
+     * @param fromDate the start of the date window, or null for no lower limit
+     * @param toDate the end of the date window, or null for no upper limit
+     * @param action the action that receives every price
+     */
+	@Override
+	@Transactional(readOnly = true)
+	public void forEachByBrand(Long brandId, LocalDateTime fromDate, LocalDateTime toDate, Consumer<Price> action) {
+		try (Stream<PriceEntity> entities = jpaRepository.streamByBrandAndDateRange(brandId,
+				fromDate == null ? MIN_DATE : fromDate, toDate == null ? MAX_DATE : toDate)) {
+			entities.forEach(entity -> {
+				action.accept(mapper.toDomain(entity));
+				if (entityManager != null) {
+					entityManager.detach(entity);
+				}
+			});
+		}
+	}
 }
@@ -13,6 +13,8 @@ import com.bcncgroup.testjava2025.domain.ports.out.UserRepository;
 import com.bcncgroup.testjava2025.infrastructure.mapper.UserMapper;
 import com.bcncgroup.testjava2025.infrastructure.repository.UserJpaRepository;
 
+import jakarta.transaction.Transactional;
+
 /**
  * JPA adapter that implements the UserRepository port.
  * This class connects the domain logic with JPA persistence for users.
@@ -50,4 +52,27 @@ public class JpaUserRepositoryAdapter implements UserRepository {
         }
     }
 
+    /**
+     * Replaces the stored password hash of a user.
+     * This method updates the row directly, without loading the user.
+     * 
+     * @param username the username of the user
+     * @param encodedPassword the new encoded password
+     */
+    @Override
+    @Transactional
+    public void updatePassword(String username, String encodedPassword) {
+        int updated;
+        try {
+            updated = jpaRepository.updatePassword(username, encodedPassword);
+        } catch (Exception ex) {
+        	LOG.error(MessageConstant.GENERAL_ERROR, ex);
+            throw new LogicException(MessageConstant.GENERAL_ERROR, 500);
+        }
+        if (updated == 0) {
+        	LOG.warn(MessageConstant.USER_NOT_FOUND);
+        	throw new LogicException(MessageConstant.USER_NOT_FOUND, 404);
+        }
+    }
+
 }
@@ -0,0 +1,298 @@
+package com.bcncgroup.testjava2025.infrastructure.adapter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.bcncgroup.testjava2025.domain.contant.MessageConstant;
+import com.bcncgroup.testjava2025.domain.exception.LogicException;
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.model.PriceDataVersion;
+import com.bcncgroup.testjava2025.domain.model.PriceRemoval;
+import com.bcncgroup.testjava2025.domain.ports.out.PriceRepository;
+import com.bcncgroup.testjava2025.infrastructure.cache.BrandDictionary;
+import com.bcncgroup.testjava2025.infrastructure.index.ColumnarPriceIndex;
+import com.bcncgroup.testjava2025.infrastructure.index.IndexHolder;
+
+/**
+ * Off-heap adapter that implements the PriceRepository port.
+ * This class streams the PRICES table into a columnar index outside the Java heap and answers lookups without
+ * database access, building Price records only for the returned rows; brands come from the brand dictionary.
+ * It is meant for catalogs too large for the heap index of {@code price.repository.type=memory}, and is enabled
+ * with {@code price.repository.type=offheap}; the index is loaded and rebuilt by the PriceIndexRefresher. Size the JVM with {@code -XX:MaxDirectMemorySize} for the index
+ * (see {@link ColumnarPriceIndex#BYTES_PER_ROW}), twice that while a rebuild replaces it. The replaced index is freed
+ * explicitly once the last lookup that reads it returns, so this bound holds without any garbage collection, also
+ * under {@code -XX:+DisableExplicitGC}.
+ * With {@code price.snapshot.enabled=true} the index is mapped from the snapshot file when it matches the table,
+ * and rebuilt from the table if the verification of the mapped chunks fails afterwards; every rebuilt index is
+ * handed to the FilePriceSnapshotAdapter to be written.
+ * The index is published through an {@link IndexHolder}: lookups read it without locks and a rebuild swaps it whole;
+ * every lookup holds a reference on the index it reads (see {@link ColumnarPriceIndex#retain()}) until it returns.
+ */
+@Repository
+@ConditionalOnProperty(name = "price.repository.type", havingValue = "offheap")
+public class OffHeapPriceRepositoryAdapter implements PriceRepository {
+
+	static final Logger LOG = LoggerFactory.getLogger(OffHeapPriceRepositoryAdapter.class);
+
+	static final String COUNT_PRICES = "SELECT COUNT(*) FROM PRICES";
+
+	static final String STREAM_ORDERED = "SELECT ID, BRAND_ID, PRODUCT_ID, START_DATE, END_DATE, PRICE_LIST, PRIORITY, PRICE, CURR "
+			+ "FROM PRICES ORDER BY BRAND_ID, PRODUCT_ID, START_DATE, ID";
+
+	// rows fetched per round trip while loading
+	static final int STREAM_FETCH_SIZE = 1000;
+
+	// room for rows inserted between the count and the scan; a load that overflows it counts again
+	static final int CAPACITY_SLACK = 1024;
+
+	static final int LOAD_ATTEMPTS = 3;
+
+	private final JdbcTemplate streamingJdbcTemplate;
+	private final BrandDictionary brandDictionary;
+	private final Optional<FilePriceSnapshotAdapter> snapshotAdapter;
+
+	// serializes rebuilds; lookups only wait on it before the first index is published
+	// a lock instead of synchronized, so the first load does not pin the carrier of a virtual thread
+	private final ReentrantLock loadLock = new ReentrantLock();
+
+	private final IndexHolder<ColumnarPriceIndex> index = new IndexHolder<>();
+
+	public OffHeapPriceRepositoryAdapter(JdbcTemplate jdbcTemplate, BrandDictionary brandDictionary,
+			Optional<FilePriceSnapshotAdapter> snapshotAdapter) {
+		this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+		this.streamingJdbcTemplate.setFetchSize(STREAM_FETCH_SIZE);
+		this.brandDictionary = brandDictionary;
+		this.snapshotAdapter = snapshotAdapter;
+	}
+
+	/**
+	 * Rebuilds the index from the database, or maps it from the snapshot file when the file matches the table.
+	 * Lookups keep using the previous index until the new one is published; its buffers are freed when the last
+	 * lookup that still reads it returns.
+	 *
+	 * @return the version of the published index
+	 */
+	public PriceDataVersion refresh() {
+		loadLock.lock();
+		try {
+			long start = System.nanoTime();
+			long fingerprint = snapshotAdapter.map(FilePriceSnapshotAdapter::fingerprint).orElse(0L);
+			ColumnarPriceIndex mapped = snapshotAdapter
+					.map(snapshot -> snapshot.load(fingerprint, brandDictionary::toBrand, this::refresh)).orElse(null);
+			if (mapped != null) {
+				IndexHolder.Published<ColumnarPriceIndex> published = index.publish(mapped, mapped.contentVersion());
+				LOG.info("price columnar index mapped from snapshot: {} prices in {} ms, epoch {} version {}", mapped.size(),
+						(System.nanoTime() - start) / 1_000_000, published.epoch(), published.version());
+				return new PriceDataVersion(published.epoch(), published.version());
+			}
+			ColumnarPriceIndex built = load();
+			IndexHolder.Published<ColumnarPriceIndex> published = index.publish(built, built.contentVersion());
+			snapshotAdapter.ifPresent(snapshot -> snapshot.offer(built, fingerprint));
+			LOG.info("price columnar index loaded: {} prices, {} MiB off-heap ({} bytes per row) in {} ms, epoch {} version {}",
+					built.size(), built.offHeapBytes() >> 20, ColumnarPriceIndex.BYTES_PER_ROW,
+					(System.nanoTime() - start) / 1_000_000, published.epoch(), published.version());
+			return new PriceDataVersion(published.epoch(), published.version());
+		} finally {
+			loadLock.unlock();
+		}
+	}
+
+	/**
+	 * Finds prices that are valid for the given date, product and brand.
+	 * This method answers from the off-heap index, loading it on first use if needed.
+	 *
+	 * @param applicationDate the date when the price should be valid
+	 * @param productId the product identifier
+	 * @param brandId the brand identifier
+	 * @return a list of domain price objects ordered by priority
+	 */
+	@Override
+	public List<Price> findByDateProductAndBrand(LocalDateTime applicationDate, Long productId, Long brandId) {
+		IndexHolder.Published<ColumnarPriceIndex> published = acquireIndex();
+		try {
+			return published.index().findCovering(applicationDate, productId, brandId);
+		} catch (Exception ex) {
+			LOG.error(MessageConstant.FIND_PRICES_ERROR, ex);
+			throw new LogicException(MessageConstant.FIND_PRICES_ERROR, 500);
+		} finally {
+			index.release(published);
+		}
+	}
+
+	/**
+	 * Finds prices that are valid for the given instant, product and brand, without boxing.
+	 * This method answers from the off-heap index and allocates nothing but the returned prices.
+	 *
+	 * @param applicationEpochSecond the instant when the price should be valid, in epoch seconds read as UTC
+	 * @param productId the product identifier
+	 * @param brandId the brand identifier
+	 * @return a list of domain price objects ordered by priority
+	 */
+	@Override
+	public List<Price> findByDateProductAndBrand(long applicationEpochSecond, long productId, long brandId) {
+		IndexHolder.Published<ColumnarPriceIndex> published = acquireIndex();
+		try {
+			return published.index().findCovering(applicationEpochSecond, productId, brandId);
+		} catch (Exception ex) {
+			LOG.error(MessageConstant.FIND_PRICES_ERROR, ex);
+			throw new LogicException(MessageConstant.FIND_PRICES_ERROR, 500);
+		} finally {
+			index.release(published);
+		}
+	}
+
+	/**
+	 * Finds every price window of the given product and brand.
+	 * This method answers from the off-heap index.
+	 *
+	 * @param productId the product identifier
+	 * @param brandId the brand identifier
+	 * @return a list of domain price objects ordered by start date
+	 */
+	@Override
+	public List<Price> findByProductAndBrand(Long productId, Long brandId) {
+		IndexHolder.Published<ColumnarPriceIndex> published = acquireIndex();
+		try {
+			return published.index().findAll(productId, brandId);
+		} catch (Exception ex) {
+			LOG.error(MessageConstant.FIND_PRICES_ERROR, ex);
+			throw new LogicException(MessageConstant.FIND_PRICES_ERROR, 500);
+		} finally {
+			index.release(published);
+		}
+	}
+
+	/**
+	 * Sends every price of a brand that overlaps the given dates to the action.
+	 * This method reads the off-heap index, building one price at a time.
+	 *
+	 * @param brandId the brand identifier
+	 * @param fromDate the start of the date window, or null for no lower limit
+	 * @param toDate the end of the date window, or null for no upper limit
+	 * @param action the action that receives every price
+	 */
+	@Override
+	public void forEachByBrand(Long brandId, LocalDateTime fromDate, LocalDateTime toDate, Consumer<Price> action) {
+		IndexHolder.Published<ColumnarPriceIndex> published = acquireIndex();
+		try {
+			published.index().forEachByBrand(brandId, fromDate, toDate, action);
+		} finally {
+			index.release(published);
+		}
+	}
+
+	/**
+	 * Gets the version of the published index.
+	 * This method reads the holder without locks.
+	 *
+	 * @return the epoch and content version, or empty before the first load
+	 */
+	@Override
+	public Optional<PriceDataVersion> dataVersion() {
+		IndexHolder.Published<ColumnarPriceIndex> published = index.current();
+		return published == null ? Optional.empty() : Optional.of(new PriceDataVersion(published.epoch(), published.version()));
+	}
+
+	/**
+	 * Answers whether changed prices can be applied in place.
+	 * The columns are sorted, packed buffers that cannot take or drop a row without being rewritten, so every change
+	 * asks for a rebuild; the rebuild runs in the background and coalesces the changes that arrive meanwhile.
+	 *
+	 * @param changed the inserted or updated prices
+	 * @param removed the deleted rows and the groups moved rows left
+	 * @return false when there are changes, true without changes or before the first load
+	 */
+	@Override
+	public boolean applyChanges(List<Price> changed, List<PriceRemoval> removed) {
+		return index.current() == null || (changed.isEmpty() && removed.isEmpty());
+	}
+
+	/**
+	 * Gets the current index, loading it if needed.
+	 * No reference is taken: a rebuild may free its buffers at any time, so only its size, version and allocated
+	 * bytes may be read; lookups go through the adapter.
+	 *
+	 * @return the index that answers lookups
+	 */
+	public ColumnarPriceIndex currentIndex() {
+		IndexHolder.Published<ColumnarPriceIndex> published = index.current();
+		if (published == null) {
+			loadLock.lock();
+			try {
+				if (index.current() == null) {
+					refresh();
+				}
+				published = index.current();
+			} finally {
+				loadLock.unlock();
+			}
+		}
+		return published.index();
+	}
+
+	/**
+	 * Takes a reference on the current index, loading it if needed; it must be given back with
+	 * {@code index.release}.
+	 */
+	private IndexHolder.Published<ColumnarPriceIndex> acquireIndex() {
+		IndexHolder.Published<ColumnarPriceIndex> published = index.acquire();
+		if (published == null) {
+			currentIndex();
+			published = index.acquire();
+		}
+		return published;
+	}
+
+	private ColumnarPriceIndex load() {
+		for (int attempt = 1; ; attempt++) {
+			Long count = streamingJdbcTemplate.queryForObject(COUNT_PRICES, Long.class);
+			long capacity = (count == null ? 0 : count) + CAPACITY_SLACK;
+			if (capacity > Integer.MAX_VALUE) {
+				throw new IllegalStateException("too many prices for the columnar index: " + count);
+			}
+			ColumnarPriceIndex.Builder builder = ColumnarPriceIndex.builder((int) capacity);
+			try {
+				streamingJdbcTemplate.query(STREAM_ORDERED, rs -> {
+					if (builder.isFull()) {
+						throw new IndexFullException();
+					}
+					builder.add(rs.getLong(1), rs.getLong(2), rs.getLong(3),
+							ColumnarPriceIndex.toEpochSecond(rs.getObject(4, LocalDateTime.class)),
+							ColumnarPriceIndex.toEpochSecond(rs.getObject(5, LocalDateTime.class)),
+							rs.getInt(6), rs.getInt(7), rs.getBigDecimal(8).movePointRight(2).longValueExact(), rs.getString(9));
+				});
+				return builder.build(brandDictionary::toBrand);
+			} catch (IndexFullException ex) {
+				builder.discard();
+				if (attempt == LOAD_ATTEMPTS) {
+					throw new IllegalStateException("prices kept growing while the columnar index was loaded");
+				}
+				LOG.warn("prices grew while the columnar index was loaded, counting again");
+			} catch (RuntimeException ex) {
+				builder.discard();
+				throw ex;
+			}
+		}
+	}
+
+	/**
+	 * Signals more rows than counted. It carries no stack trace, the load is just retried.
+	 */
+	private static final class IndexFullException extends RuntimeException {
+
+		private static final long serialVersionUID = -3049275616532118140L;
+
+		IndexFullException() {
+			super(null, null, false, false);
+		}
+	}
+}
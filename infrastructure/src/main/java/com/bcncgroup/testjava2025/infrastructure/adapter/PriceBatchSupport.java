@@ -0,0 +1,102 @@
+package com.bcncgroup.testjava2025.infrastructure.adapter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.ports.in.query.FindPriceQuery;
+
+/**
+ * Helpers shared by the adapters that answer batch lookups with one set-based query per chunk.
+ */
+final class PriceBatchSupport {
+
+	// keeps the IN lists of batch queries well below database limits
+	static final int BATCH_CHUNK_SIZE = 500;
+
+	private PriceBatchSupport() {
+	}
+
+	/**
+	 * Answers several queries with one set-based query per chunk of distinct products.
+	 * Each chunk loads the windows of its products and brands that overlap the dates of its queries; every query
+	 * then keeps the loaded rows that cover its own date, in query order.
+	 *
+	 * @param queries the search criteria, in request order
+	 * @param chunkQuery the query that loads the prices of a chunk
+	 * @return one list of prices per query, each one ordered by priority
+	 */
+	static List<List<Price>> findAll(List<FindPriceQuery> queries, ChunkQuery chunkQuery) {
+		List<FindPriceQuery> complete = queries.stream().filter(PriceBatchSupport::isComplete).toList();
+		List<Long> productIds = complete.stream().map(FindPriceQuery::productId).distinct().toList();
+
+		Map<Long, List<Price>> pricesByProduct = new HashMap<>();
+		for (int from = 0; from < productIds.size(); from += BATCH_CHUNK_SIZE) {
+			Set<Long> chunk = new HashSet<>(productIds.subList(from, Math.min(from + BATCH_CHUNK_SIZE, productIds.size())));
+			List<FindPriceQuery> chunkQueries = complete.stream().filter(query -> chunk.contains(query.productId())).toList();
+
+			LocalDateTime fromDate = chunkQueries.stream().map(FindPriceQuery::applicationDate).min(LocalDateTime::compareTo).orElseThrow();
+			LocalDateTime toDate = chunkQueries.stream().map(FindPriceQuery::applicationDate).max(LocalDateTime::compareTo).orElseThrow();
+			Set<Long> brandIds = new HashSet<>();
+			chunkQueries.forEach(query -> brandIds.add(query.brandId()));
+
+			for (Price price : chunkQuery.find(chunk, brandIds, fromDate, toDate)) {
+				pricesByProduct.computeIfAbsent(price.productId(), key -> new ArrayList<>()).add(price);
+			}
+		}
+
+		return queries.stream().map(query -> covering(pricesByProduct, query)).toList();
+	}
+
+	/**
+	 * Tells whether a query has every criterion informed.
+	 *
+	 * @param query the search criteria
+	 * @return true when date, product and brand are informed
+	 */
+	static boolean isComplete(FindPriceQuery query) {
+		return query.applicationDate() != null && query.productId() != null && query.brandId() != null;
+	}
+
+	/**
+	 * Keeps the loaded prices that answer a query.
+	 *
+	 * @param pricesByProduct the prices loaded for a chunk, by product and ordered by priority
+	 * @param query the search criteria
+	 * @return the prices of the query brand whose window covers the query date
+	 */
+	static List<Price> covering(Map<Long, List<Price>> pricesByProduct, FindPriceQuery query) {
+		if (!isComplete(query)) {
+			return List.of();
+		}
+		LocalDateTime date = query.applicationDate();
+		return pricesByProduct.getOrDefault(query.productId(), List.of()).stream()
+				.filter(price -> Objects.equals(price.brand().id(), query.brandId()))
+				.filter(price -> !date.isBefore(price.startDate()) && !date.isAfter(price.endDate()))
+				.toList();
+	}
+
+	/**
+	 * Query that loads the prices of a chunk of a batch lookup.
+	 */
+	@FunctionalInterface
+	interface ChunkQuery {
+
+		/**
+		 * Loads the windows of the given products and brands that overlap the date range.
+		 *
+		 * @param productIds the products of the chunk
+		 * @param brandIds the brands of the chunk queries
+		 * @param fromDate the earliest date of the chunk queries
+		 * @param toDate the latest date of the chunk queries
+		 * @return the prices ordered by priority
+		 */
+		List<Price> find(Set<Long> productIds, Set<Long> brandIds, LocalDateTime fromDate, LocalDateTime toDate);
+	}
+}
@@ -0,0 +1,119 @@
+package com.bcncgroup.testjava2025.infrastructure.adapter;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.bcncgroup.testjava2025.domain.event.PriceCatalogChangedEvent;
+import com.bcncgroup.testjava2025.domain.event.PriceIndexPublishedEvent;
+import com.bcncgroup.testjava2025.domain.model.PriceDataVersion;
+import com.bcncgroup.testjava2025.domain.ports.out.PriceRepository;
+
+/**
+ * Loads and rebuilds the index of the price repositories that answer from memory.
+ * This class listens for the application and catalog events on behalf of the in-memory and off-heap adapters:
+ * the PriceRepository bean may be wrapped by a decorator that does not expose their listener methods, so the
+ * events are taken here and the adapter is found behind the decorators with {@link PriceRepositoryDecorator#find}.
+ * The first index is loaded on the thread that reports the application ready. After a catalog change the index is
+ * rebuilt on a background thread, so the writer does not wait for it and lookups keep reading the previous index
+ * until the new one is swapped in; changes that arrive during a rebuild are folded into one more rebuild. Every
+ * published index is announced with a {@link PriceIndexPublishedEvent}.
+ */
+@Component
+public class PriceIndexRefresher implements DisposableBean {
+
+	static final Logger LOG = LoggerFactory.getLogger(PriceIndexRefresher.class);
+
+	private final ObjectProvider<PriceRepository> priceRepository;
+	private final ApplicationEventPublisher eventPublisher;
+	private final Executor rebuildExecutor;
+	private final ExecutorService ownedExecutor;
+
+	// set while a rebuild is queued and not started yet
+	private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+	@Autowired
+	public PriceIndexRefresher(ObjectProvider<PriceRepository> priceRepository, ApplicationEventPublisher eventPublisher) {
+		this(priceRepository, eventPublisher, Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "price-index-rebuild");
+			thread.setDaemon(true);
+			return thread;
+		}));
+	}
+
+	/**
+	 * Creates a refresher that rebuilds on the given executor.
+	 *
+	 * @param priceRepository the provider of the PriceRepository bean, possibly decorated
+	 * @param eventPublisher the publisher of the index events
+	 * @param rebuildExecutor the executor of the rebuilds after a catalog change
+	 */
+	public PriceIndexRefresher(ObjectProvider<PriceRepository> priceRepository, ApplicationEventPublisher eventPublisher,
+			Executor rebuildExecutor) {
+		this.priceRepository = priceRepository;
+		this.eventPublisher = eventPublisher;
+		this.rebuildExecutor = rebuildExecutor;
+		this.ownedExecutor = rebuildExecutor instanceof ExecutorService service ? service : null;
+	}
+
+	/**
+	 * Loads the index once the application is ready and the data scripts have run.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void onApplicationReady() {
+		refresh();
+	}
+
+	/**
+	 * Schedules a rebuild of the index after prices are written outside the data scripts.
+	 *
+	 * @param event the change event
+	 */
+	@EventListener
+	public void onPriceCatalogChanged(PriceCatalogChangedEvent event) {
+		if (rebuildPending.compareAndSet(false, true)) {
+			rebuildExecutor.execute(() -> {
+				rebuildPending.set(false);
+				try {
+					refresh();
+				} catch (RuntimeException ex) {
+					// the previous index keeps serving, the next change tries again
+					LOG.error("price index rebuild failed", ex);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Stops the rebuild thread; a running rebuild is abandoned with the application.
+	 */
+	@Override
+	public void destroy() {
+		if (ownedExecutor != null) {
+			ownedExecutor.shutdownNow();
+		}
+	}
+
+	private void refresh() {
+		PriceRepository repository = priceRepository.getIfUnique();
+		PriceDataVersion published = PriceRepositoryDecorator.find(repository, InMemoryPriceRepositoryAdapter.class)
+				.map(InMemoryPriceRepositoryAdapter::refresh)
+				.or(() -> PriceRepositoryDecorator.find(repository, OffHeapPriceRepositoryAdapter.class)
+						.map(OffHeapPriceRepositoryAdapter::refresh))
+				.orElse(null);
+		if (published != null) {
+			eventPublisher.publishEvent(new PriceIndexPublishedEvent(published.epoch(), published.version()));
+		}
+	}
+}
@@ -0,0 +1,39 @@
+package com.bcncgroup.testjava2025.infrastructure.adapter;
+
+import java.util.Optional;
+
+import com.bcncgroup.testjava2025.domain.ports.out.PriceRepository;
+
+/**
+ * Decorator of the PriceRepository port, such as the request coalescing or the micro-batching.
+ * The PriceRepository bean may be wrapped by several of them, so code that needs one layer of the chain, the
+ * adapter itself or a decorator with its counters, finds it with {@link #find(PriceRepository, Class)} instead of
+ * unwrapping every decorator on its own.
+ */
+public interface PriceRepositoryDecorator extends PriceRepository {
+
+	/**
+	 * Gets the decorated repository.
+	 *
+	 * @return the next repository of the chain
+	 */
+	PriceRepository delegate();
+
+	/**
+	 * Finds the first layer of a repository chain of the given type, starting with the repository itself.
+	 *
+	 * @param repository the repository, possibly decorated
+	 * @param type the class of the layer to find
+	 * @return the layer, or empty when no layer of the chain has that type
+	 */
+	static <T> Optional<T> find(PriceRepository repository, Class<T> type) {
+		PriceRepository layer = repository;
+		while (layer != null) {
+			if (type.isInstance(layer)) {
+				return Optional.of(type.cast(layer));
+			}
+			layer = layer instanceof PriceRepositoryDecorator decorator ? decorator.delegate() : null;
+		}
+		return Optional.empty();
+	}
+}
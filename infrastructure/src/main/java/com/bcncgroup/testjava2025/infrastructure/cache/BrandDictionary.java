@@ -0,0 +1,156 @@
+package com.bcncgroup.testjava2025.infrastructure.cache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.bcncgroup.testjava2025.domain.model.Brand;
+import com.bcncgroup.testjava2025.infrastructure.entity.BrandEntity;
+import com.bcncgroup.testjava2025.infrastructure.mapper.BrandMapper;
+import com.bcncgroup.testjava2025.infrastructure.repository.BrandJpaRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * In-memory dictionary of brands by identifier.
+ * There are only a handful of brands and they almost never change, so the price read path takes
+ * them from here instead of loading the lazy brand of every price.
+ * The dictionary is loaded at startup and reloaded with {@link #refresh()} or when an unknown
+ * identifier is requested. Unknown identifiers are remembered for a short time and such reloads run at most once
+ * per {@link #MISS_RELOAD_INTERVAL}, so a stream of unknown identifiers does not turn into a stream of queries.
+ */
+@Component
+public class BrandDictionary {
+
+	static final Logger LOG = LoggerFactory.getLogger(BrandDictionary.class);
+
+	// how long an identifier that was not found after a reload is answered without reloading
+	static final Duration UNKNOWN_TTL = Duration.ofSeconds(30);
+
+	// shortest time between two reloads caused by unknown identifiers
+	static final Duration MISS_RELOAD_INTERVAL = Duration.ofSeconds(1);
+
+	static final int MAX_UNKNOWN = 10_000;
+
+	private final BrandJpaRepository brandRepository;
+	private final BrandMapper brandMapper;
+
+	// a lock instead of synchronized, so a reload does not pin the carrier of a virtual thread
+	private final ReentrantLock refreshLock = new ReentrantLock();
+
+	private final Cache<Long, Boolean> unknown = Caffeine.newBuilder()
+			.maximumSize(MAX_UNKNOWN)
+			.expireAfterWrite(UNKNOWN_TTL)
+			.executor(Runnable::run)
+			.build();
+
+	private volatile Map<Long, Brand> brands;
+
+	// System.nanoTime() of the last reload caused by an unknown identifier, guarded by refreshLock
+	private long lastMissReload;
+	private boolean missReloaded;
+
+	public BrandDictionary(BrandJpaRepository brandRepository, BrandMapper brandMapper) {
+		this.brandRepository = brandRepository;
+		this.brandMapper = brandMapper;
+	}
+
+	/**
+	 * Loads the dictionary once the application is ready and the data scripts have run.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void onApplicationReady() {
+		refresh();
+	}
+
+	/**
+	 * Reloads every brand from the database.
+	 * Lookups keep using the previous dictionary until the new one is published.
+	 * The remembered unknown identifiers are forgotten.
+	 */
+	public void refresh() {
+		refreshLock.lock();
+		try {
+			load();
+			unknown.invalidateAll();
+		} finally {
+			refreshLock.unlock();
+		}
+	}
+
+	/**
+	 * Gets the brand of an identifier.
+	 * This method reloads the dictionary when the identifier is unknown, as the brand may have been created after
+	 * the last load, unless the identifier was already missing after a recent reload or a reload ran less than
+	 * {@link #MISS_RELOAD_INTERVAL} ago.
+	 *
+	 * @param brandId the brand identifier
+	 * @return the brand, a brand with only its identifier if it does not exist, or null for a null identifier
+	 */
+	public Brand toBrand(Long brandId) {
+		if (brandId == null) {
+			return null;
+		}
+		Map<Long, Brand> current = brands;
+		Brand brand = current == null ? null : current.get(brandId);
+		if (brand == null) {
+			brand = reloadFor(brandId);
+		}
+		return brand;
+	}
+
+	private Brand reloadFor(Long brandId) {
+		if (unknown.getIfPresent(brandId) != null) {
+			return new Brand(brandId, null, null);
+		}
+		refreshLock.lock();
+		try {
+			// another thread may have reloaded while this one waited
+			Brand brand = brands == null ? null : brands.get(brandId);
+			if (brand == null && unknown.getIfPresent(brandId) == null) {
+				long now = System.nanoTime();
+				if (!missReloaded || now - lastMissReload >= MISS_RELOAD_INTERVAL.toNanos()) {
+					missReloaded = true;
+					lastMissReload = now;
+					load();
+					brand = brands.get(brandId);
+				}
+				if (brand == null) {
+					unknown.put(brandId, Boolean.TRUE);
+				}
+			}
+			return brand != null ? brand : new Brand(brandId, null, null);
+		} finally {
+			refreshLock.unlock();
+		}
+	}
+
+	/**
+	 * Reads every brand and publishes the new dictionary; runs under the refresh lock.
+	 */
+	private void load() {
+		Map<Long, Brand> loaded = new HashMap<>();
+		for (BrandEntity entity : brandRepository.findAll()) {
+			loaded.put(entity.getId(), brandMapper.toDomain(entity));
+		}
+		brands = Map.copyOf(loaded);
+		LOG.info("brand dictionary loaded: {} brands", loaded.size());
+	}
+
+	/**
+	 * Gets the number of loaded brands.
+	 *
+	 * @return the number of brands
+	 */
+	public int size() {
+		Map<Long, Brand> current = brands;
+		return current == null ? 0 : current.size();
+	}
+}
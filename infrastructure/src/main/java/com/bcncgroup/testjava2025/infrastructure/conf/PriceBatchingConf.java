@@ -0,0 +1,58 @@
+package com.bcncgroup.testjava2025.infrastructure.conf;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import com.bcncgroup.testjava2025.infrastructure.adapter.BatchingPriceRepository;
+import com.bcncgroup.testjava2025.infrastructure.adapter.JpaPriceRepositoryAdapter;
+
+/**
+ * Micro-batching configuration.
+ * This class wraps the JPA price repository in a BatchingPriceRepository when
+ * {@code price.repository.batching.enabled} is true. It is off by default: batching only pays off when many
+ * different lookups reach the database at the same time.
+ */
+@Configuration
+@ConditionalOnProperty(name = "price.repository.batching.enabled", havingValue = "true")
+public class PriceBatchingConf {
+
+	/**
+	 * Wraps the JPA price repository.
+	 * Lookups are collected for at most {@code price.repository.batching.window-micros} microseconds or
+	 * {@code price.repository.batching.max-batch-size} lookups by one of the callers, and the others wait at most
+	 * {@code price.repository.batching.wait-timeout} milliseconds, by default the Hikari connection timeout. The post processor is ordered, so it runs before the coalescing one and
+	 * identical lookups are coalesced before they are batched.
+	 *
+	 * @param environment the environment with the batching settings
+	 * @return the post processor that wraps the repository
+	 */
+	@Bean
+	public static BeanPostProcessor batchingPriceRepositoryPostProcessor(Environment environment) {
+		long windowMicros = environment.getProperty("price.repository.batching.window-micros", Long.class, 500L);
+		int maxBatchSize = environment.getProperty("price.repository.batching.max-batch-size", Integer.class, 64);
+		long connectionTimeout = environment.getProperty("spring.datasource.hikari.connection-timeout", Long.class, 30_000L);
+		long waitTimeout = environment.getProperty("price.repository.batching.wait-timeout", Long.class, connectionTimeout);
+		return new BatchingPostProcessor(windowMicros, maxBatchSize, waitTimeout);
+	}
+
+	private record BatchingPostProcessor(long windowMicros, int maxBatchSize, long waitTimeout)
+			implements BeanPostProcessor, Ordered {
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName) {
+			if (bean instanceof JpaPriceRepositoryAdapter repository) {
+				return new BatchingPriceRepository(repository, windowMicros, maxBatchSize, waitTimeout);
+			}
+			return bean;
+		}
+
+		@Override
+		public int getOrder() {
+			return Ordered.LOWEST_PRECEDENCE - 1;
+		}
+	}
+}
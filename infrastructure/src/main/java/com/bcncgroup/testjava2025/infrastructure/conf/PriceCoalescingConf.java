@@ -0,0 +1,48 @@
+package com.bcncgroup.testjava2025.infrastructure.conf;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.bcncgroup.testjava2025.domain.ports.out.PriceRepository;
+import com.bcncgroup.testjava2025.infrastructure.adapter.CoalescingPriceRepository;
+import com.bcncgroup.testjava2025.infrastructure.adapter.InMemoryPriceRepositoryAdapter;
+import com.bcncgroup.testjava2025.infrastructure.adapter.OffHeapPriceRepositoryAdapter;
+
+/**
+ * Request coalescing configuration.
+ * This class wraps the PriceRepository bean in a CoalescingPriceRepository when
+ * {@code price.repository.coalescing.enabled} is true (the default) and the lookups reach the database, that is for
+ * the jpa and jdbc types. The memory and offheap types answer from their index in microseconds, a shared call would
+ * save nothing and only add the bookkeeping of the in-flight map.
+ */
+@Configuration
+@ConditionalOnProperty(name = "price.repository.coalescing.enabled", havingValue = "true", matchIfMissing = true)
+public class PriceCoalescingConf {
+
+	/**
+	 * Wraps the PriceRepository bean.
+	 * Followers wait at most {@code price.repository.coalescing.wait-timeout} milliseconds, by default the Hikari
+	 * connection timeout, as the leader may itself be waiting for a connection.
+	 *
+	 * @param environment the environment with the coalescing settings
+	 * @return the post processor that wraps the repository
+	 */
+	@Bean
+	public static BeanPostProcessor coalescingPriceRepositoryPostProcessor(Environment environment) {
+		long connectionTimeout = environment.getProperty("spring.datasource.hikari.connection-timeout", Long.class, 30_000L);
+		long waitTimeout = environment.getProperty("price.repository.coalescing.wait-timeout", Long.class, connectionTimeout);
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof PriceRepository repository && !(bean instanceof CoalescingPriceRepository)
+						&& !(bean instanceof InMemoryPriceRepositoryAdapter) && !(bean instanceof OffHeapPriceRepositoryAdapter)) {
+					return new CoalescingPriceRepository(repository, waitTimeout);
+				}
+				return bean;
+			}
+		};
+	}
+}
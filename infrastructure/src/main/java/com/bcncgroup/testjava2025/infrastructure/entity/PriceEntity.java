@@ -29,6 +29,10 @@ public class PriceEntity {
     @JoinColumn(name = "BRAND_ID")
     private BrandEntity brand;
     
+    // read-only copy of the foreign key, so mapping a price never initializes the brand proxy
+    @Column(name = "BRAND_ID", insertable = false, updatable = false)
+    private Long brandId;
+    
     @Column(name = "START_DATE", nullable = false)
     private LocalDateTime startDate;
     
@@ -86,6 +90,24 @@ public class PriceEntity {
 		this.brand = brandId;
 	}
 
+	/**
+     * Gets the brand identifier without loading the brand.
+     * 
+     * @return the brand ID
+     */
+	public Long getBrandId() {
+		return brandId;
+	}
+
+	/**
+     * Sets the brand identifier. The value is not written, the brand association owns the column.
+     * 
+     * @param brandId the brand ID to set
+     */
+	public void setBrandId(Long brandId) {
+		this.brandId = brandId;
+	}
+
 	/**
      * Gets the start date when this price becomes valid.
      * 
@@ -0,0 +1,555 @@
+package com.bcncgroup.testjava2025.infrastructure.index;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+import com.bcncgroup.testjava2025.domain.model.Brand;
+import com.bcncgroup.testjava2025.domain.model.Price;
+
+/**
+ * Immutable columnar index of price windows kept outside the Java heap.
+ * Rows are sorted by brand, product, start date and identifier, and every field lives in its own primitive column
+ * of direct buffers: identifiers, brand and product as long, dates as epoch seconds, price list and priority as int,
+ * price as long minor units (cents) and currency as a short code of a small dictionary. A row takes
+ * {@link #BYTES_PER_ROW} bytes and the heap only holds the column buffers, so tens of millions of rows do not add
+ * GC work. Price records are built only for the rows a lookup returns.
+ * A lookup is a binary search for the brand and product group, a binary search on start date inside it and a short
+ * backwards scan bounded by the running maximum end date, as in {@link PriceIntervalIndex}.
+ * Dates are kept with second precision, as in the PRICES table.
+ * The index carries the {@link #contentVersion() version} of its rows, the same as the heap index of the same rows.
+ * The buffers are freed explicitly, not by the garbage collector: the index is {@link ReferenceCounted reference counted}
+ * and its last {@link #release()} frees or unmaps every column, so a replaced index gives its memory back as soon as
+ * the lookups that still read it are done.
+ */
+public final class ColumnarPriceIndex implements ReferenceCounted {
+
+	/**
+	 * Rows per buffer of a column; a long column buffer then holds 128 MiB, below the 2 GiB limit of a ByteBuffer.
+	 */
+	static final int ROWS_PER_CHUNK = 1 << 24;
+
+	/**
+	 * Off-heap bytes per row: seven long, two int and one short column.
+	 */
+	public static final int BYTES_PER_ROW = 7 * Long.BYTES + 2 * Integer.BYTES + Short.BYTES;
+
+	/**
+	 * Width of every column, in the order of {@link #columns()}: identifier, brand, product, start, end, maximum end,
+	 * price list, priority, price and currency.
+	 */
+	static final int[] COLUMN_WIDTHS = { Long.BYTES, Long.BYTES, Long.BYTES, Long.BYTES, Long.BYTES, Long.BYTES,
+			Integer.BYTES, Integer.BYTES, Long.BYTES, Short.BYTES };
+
+	/**
+	 * Byte order of the columns, fixed so that a snapshot file can be mapped on any machine.
+	 */
+	static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+	private static final int PRICE_SCALE = 2;
+
+	private final int rows;
+	private final Column ids;
+	private final Column brandIds;
+	private final Column productIds;
+	private final Column starts;
+	private final Column ends;
+	private final Column maxEnds;
+	private final Column priceLists;
+	private final Column priorities;
+	private final Column prices;
+	private final Column currencies;
+	private final String[] currencyCodes;
+	private final LongFunction<Brand> brands;
+	private final long contentVersion;
+
+	// one for the creator and one per lease; 0 once the buffers are freed
+	private final AtomicInteger references = new AtomicInteger(1);
+
+	ColumnarPriceIndex(int rows, Column[] columns, String[] currencyCodes, LongFunction<Brand> brands, long contentVersion) {
+		this.rows = rows;
+		this.ids = columns[0];
+		this.brandIds = columns[1];
+		this.productIds = columns[2];
+		this.starts = columns[3];
+		this.ends = columns[4];
+		this.maxEnds = columns[5];
+		this.priceLists = columns[6];
+		this.priorities = columns[7];
+		this.prices = columns[8];
+		this.currencies = columns[9];
+		this.currencyCodes = currencyCodes;
+		this.brands = brands;
+		this.contentVersion = contentVersion;
+	}
+
+	/**
+	 * Starts an index of at most the given number of rows, which must be added in index order.
+	 *
+	 * @param capacity the maximum number of rows
+	 * @return the builder
+	 */
+	public static Builder builder(int capacity) {
+		return new Builder(capacity);
+	}
+
+	/**
+	 * Finds the prices whose window covers the given date.
+	 * Both window limits are inclusive, as in the database query.
+	 *
+	 * @param applicationDate the date when the price should be valid
+	 * @param productId the product identifier
+	 * @param brandId the brand identifier
+	 * @return the covering prices ordered by priority
+	 */
+	public List<Price> findCovering(LocalDateTime applicationDate, Long productId, Long brandId) {
+		long date = toEpochSecond(applicationDate);
+		if (productId == null || brandId == null) {
+			return List.of();
+		}
+		return findCovering(date, productId, brandId);
+	}
+
+	/**
+	 * Finds the prices whose window covers the given instant, without boxing.
+	 * Both window limits are inclusive, as in the database query.
+	 *
+	 * @param applicationEpochSecond the instant when the price should be valid, in epoch seconds read as UTC
+	 * @param productId the product identifier
+	 * @param brandId the brand identifier
+	 * @return the covering prices ordered by priority
+	 */
+	public List<Price> findCovering(long applicationEpochSecond, long productId, long brandId) {
+		int from = firstRow(brandId, productId, false);
+		int to = firstRow(brandId, productId, true);
+		int last = lastStartingAtOrBefore(from, to, applicationEpochSecond);
+		int matches = 0;
+		int first = -1;
+		for (int row = last; row >= from && maxEnds.getLong(row) >= applicationEpochSecond; row--) {
+			if (ends.getLong(row) >= applicationEpochSecond) {
+				matches++;
+				first = row;
+			}
+		}
+		if (matches == 0) {
+			return List.of();
+		}
+		if (matches == 1) {
+			return List.of(toPrice(first));
+		}
+
+		Price[] result = new Price[matches];
+		int next = 0;
+		for (int row = last; next < matches; row--) {
+			if (ends.getLong(row) >= applicationEpochSecond) {
+				result[next++] = toPrice(row);
+			}
+		}
+		Arrays.sort(result, PriceIntervalIndex.PRIORITY_ORDER);
+		return List.of(result);
+	}
+
+	/**
+	 * Returns every indexed window of a brand and product.
+	 *
+	 * @param productId the product identifier
+	 * @param brandId the brand identifier
+	 * @return the windows ordered by start date
+	 */
+	public List<Price> findAll(Long productId, Long brandId) {
+		if (productId == null || brandId == null) {
+			return List.of();
+		}
+		int from = firstRow(brandId, productId, false);
+		int to = firstRow(brandId, productId, true);
+		List<Price> result = new ArrayList<>(to - from);
+		for (int row = from; row < to; row++) {
+			result.add(toPrice(row));
+		}
+		return List.copyOf(result);
+	}
+
+	/**
+	 * Sends every indexed price of a brand whose window overlaps the given dates to the action.
+	 * Prices are sent ordered by product and start date, as the database stream does.
+	 *
+	 * @param brandId the brand identifier
+	 * @param fromDate the start of the date window, or null for no lower limit
+	 * @param toDate the end of the date window, or null for no upper limit
+	 * @param action the action that receives every price
+	 */
+	public void forEachByBrand(Long brandId, LocalDateTime fromDate, LocalDateTime toDate, Consumer<Price> action) {
+		if (brandId == null) {
+			return;
+		}
+		long from = fromDate == null ? Long.MIN_VALUE : toEpochSecond(fromDate);
+		long to = toDate == null ? Long.MAX_VALUE : toEpochSecond(toDate);
+		int end = firstRow(brandId, Long.MAX_VALUE, true);
+		for (int row = firstRow(brandId, Long.MIN_VALUE, false); row < end; row++) {
+			if (starts.getLong(row) <= to && ends.getLong(row) >= from) {
+				action.accept(toPrice(row));
+			}
+		}
+	}
+
+	/**
+	 * Gets the number of indexed prices.
+	 *
+	 * @return the number of prices
+	 */
+	public int size() {
+		return rows;
+	}
+
+	/**
+	 * Gets the version of the indexed rows: a 48-bit digest that only depends on their content, not on their order.
+	 *
+	 * @return the content version, 0 for an empty index
+	 */
+	public long contentVersion() {
+		return contentVersion;
+	}
+
+	/**
+	 * Gets the off-heap bytes held by the columns, including the unused tail of the last buffers.
+	 *
+	 * @return the allocated bytes
+	 */
+	public long offHeapBytes() {
+		long bytes = 0;
+		for (Column column : columns()) {
+			bytes += column.capacityBytes();
+		}
+		return bytes;
+	}
+
+	/**
+	 * Takes a reference on the buffers, so that they stay readable until it is released.
+	 * This method is a compare-and-set on one counter and never waits.
+	 *
+	 * @return true when the reference was taken, false when the buffers were already freed
+	 */
+	@Override
+	public boolean retain() {
+		for (int count = references.get(); count > 0; count = references.get()) {
+			if (references.compareAndSet(count, count + 1)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Gives back a reference; the last one frees or unmaps every column buffer.
+	 *
+	 * @throws IllegalStateException if the index was released more often than retained
+	 */
+	@Override
+	public void release() {
+		int count = references.decrementAndGet();
+		if (count == 0) {
+			for (Column column : columns()) {
+				column.free();
+			}
+		} else if (count < 0) {
+			throw new IllegalStateException("columnar index released more often than retained");
+		}
+	}
+
+	/**
+	 * Gets the columns in the order of {@link #COLUMN_WIDTHS}.
+	 */
+	Column[] columns() {
+		return new Column[] { ids, brandIds, productIds, starts, ends, maxEnds, priceLists, priorities, prices, currencies };
+	}
+
+	/**
+	 * Gets the currency dictionary; the currency column holds positions in it.
+	 */
+	String[] currencyCodes() {
+		return currencyCodes.clone();
+	}
+
+	private Price toPrice(int row) {
+		return new Price(
+				ids.getLong(row),
+				brands.apply(brandIds.getLong(row)),
+				LocalDateTime.ofEpochSecond(starts.getLong(row), 0, ZoneOffset.UTC),
+				LocalDateTime.ofEpochSecond(ends.getLong(row), 0, ZoneOffset.UTC),
+				priceLists.getInt(row),
+				productIds.getLong(row),
+				priorities.getInt(row),
+				BigDecimal.valueOf(prices.getLong(row), PRICE_SCALE),
+				currencyCodes[currencies.getShort(row)]);
+	}
+
+	/**
+	 * Finds the first row whose brand and product are at or after the given ones, or strictly after them.
+	 */
+	private int firstRow(long brandId, long productId, boolean after) {
+		int low = 0;
+		int high = rows;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			long brand = brandIds.getLong(mid);
+			long product = productIds.getLong(mid);
+			if (brand < brandId || brand == brandId && (product < productId || after && product == productId)) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private int lastStartingAtOrBefore(int from, int to, long date) {
+		int low = from;
+		int high = to - 1;
+		int found = -1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (starts.getLong(mid) > date) {
+				high = mid - 1;
+			} else {
+				found = mid;
+				low = mid + 1;
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Converts a date to the epoch seconds kept in the date columns.
+	 *
+	 * @param date the date
+	 * @return the seconds since 1970-01-01T00:00:00, read as UTC
+	 */
+	public static long toEpochSecond(LocalDateTime date) {
+		return date.toEpochSecond(ZoneOffset.UTC);
+	}
+
+	/**
+	 * Builder that writes rows straight into the columns.
+	 * Rows must come ordered by brand, product, start date and identifier, as a streamed
+	 * {@code ORDER BY BRAND_ID, PRODUCT_ID, START_DATE, ID} returns them.
+	 */
+	public static final class Builder {
+
+		private final int capacity;
+		private final Column ids;
+		private final Column brandIds;
+		private final Column productIds;
+		private final Column starts;
+		private final Column ends;
+		private final Column maxEnds;
+		private final Column priceLists;
+		private final Column priorities;
+		private final Column prices;
+		private final Column currencies;
+		private final List<String> currencyCodes = new ArrayList<>();
+		private final Map<String, Short> currencyIndex = new HashMap<>();
+		private int size;
+		private long versionSum;
+
+		private Builder(int capacity) {
+			this.capacity = capacity;
+			this.ids = Column.allocate(capacity, Long.BYTES);
+			this.brandIds = Column.allocate(capacity, Long.BYTES);
+			this.productIds = Column.allocate(capacity, Long.BYTES);
+			this.starts = Column.allocate(capacity, Long.BYTES);
+			this.ends = Column.allocate(capacity, Long.BYTES);
+			this.maxEnds = Column.allocate(capacity, Long.BYTES);
+			this.priceLists = Column.allocate(capacity, Integer.BYTES);
+			this.priorities = Column.allocate(capacity, Integer.BYTES);
+			this.prices = Column.allocate(capacity, Long.BYTES);
+			this.currencies = Column.allocate(capacity, Short.BYTES);
+		}
+
+		/**
+		 * Adds the next row.
+		 *
+		 * @param price the price, with identifier, brand, product and dates informed and at most two decimals
+		 * @return this builder
+		 * @throws IllegalArgumentException if the row is out of order, the index is full or the price does not fit
+		 */
+		public Builder add(Price price) {
+			return add(price.id(), price.brand().id(), price.productId(), toEpochSecond(price.startDate()),
+					toEpochSecond(price.endDate()), price.priceList(), price.priority(),
+					price.price().setScale(PRICE_SCALE).unscaledValue().longValueExact(), price.currency());
+		}
+
+		/**
+		 * Adds the next row from primitive values.
+		 *
+		 * @param id the price identifier
+		 * @param brandId the brand identifier
+		 * @param productId the product identifier
+		 * @param start the start date in epoch seconds
+		 * @param end the end date in epoch seconds
+		 * @param priceList the price list
+		 * @param priority the priority
+		 * @param priceMinor the price in minor units (cents)
+		 * @param currency the currency code
+		 * @return this builder
+		 * @throws IllegalArgumentException if the row is out of order, the index is full or there are too many currencies
+		 */
+		public Builder add(long id, long brandId, long productId, long start, long end, int priceList, int priority,
+				long priceMinor, String currency) {
+			if (size == capacity) {
+				throw new IllegalArgumentException("index full at " + capacity + " rows");
+			}
+			long maxEnd = end;
+			if (size > 0) {
+				int previous = size - 1;
+				long previousBrand = brandIds.getLong(previous);
+				long previousProduct = productIds.getLong(previous);
+				int order = previousBrand != brandId ? Long.compare(previousBrand, brandId)
+						: previousProduct != productId ? Long.compare(previousProduct, productId)
+						: starts.getLong(previous) != start ? Long.compare(starts.getLong(previous), start)
+						: Long.compare(ids.getLong(previous), id);
+				if (order > 0) {
+					throw new IllegalArgumentException("row " + id + " out of brand, product, start date order");
+				}
+				if (previousBrand == brandId && previousProduct == productId) {
+					maxEnd = Math.max(end, maxEnds.getLong(previous));
+				}
+			}
+			Short code = currencyIndex.get(currency);
+			if (code == null) {
+				if (currencyCodes.size() > Short.MAX_VALUE) {
+					throw new IllegalArgumentException("more than " + Short.MAX_VALUE + " currencies");
+				}
+				code = (short) currencyCodes.size();
+				currencyCodes.add(currency);
+				currencyIndex.put(currency, code);
+			}
+
+			ids.putLong(size, id);
+			brandIds.putLong(size, brandId);
+			productIds.putLong(size, productId);
+			starts.putLong(size, start);
+			ends.putLong(size, end);
+			maxEnds.putLong(size, maxEnd);
+			priceLists.putInt(size, priceList);
+			priorities.putInt(size, priority);
+			prices.putLong(size, priceMinor);
+			currencies.putShort(size, code);
+			versionSum += ContentVersion.row(id, brandId, productId, start, end, priceList, priority, priceMinor, currency);
+			size++;
+			return this;
+		}
+
+		/**
+		 * Checks if the builder has reached its capacity.
+		 *
+		 * @return true when no more rows can be added
+		 */
+		public boolean isFull() {
+			return size == capacity;
+		}
+
+		/**
+		 * Publishes the index; the builder must not be used afterwards.
+		 *
+		 * @param brands the function that gives the brand of an identifier when a price is built
+		 * @return the built index
+		 */
+		public ColumnarPriceIndex build(LongFunction<Brand> brands) {
+			return new ColumnarPriceIndex(size, new Column[] { ids, brandIds, productIds, starts, ends, maxEnds, priceLists,
+					priorities, prices, currencies }, currencyCodes.toArray(String[]::new), brands, ContentVersion.fold(versionSum));
+		}
+
+		/**
+		 * Frees the columns of an index that will not be built; the builder must not be used afterwards.
+		 */
+		public void discard() {
+			for (Column column : new Column[] { ids, brandIds, productIds, starts, ends, maxEnds, priceLists, priorities,
+					prices, currencies }) {
+				column.free();
+			}
+		}
+	}
+
+	/**
+	 * Fixed-width column split into direct or mapped buffers of {@link #ROWS_PER_CHUNK} rows.
+	 */
+	static final class Column {
+
+		private final ByteBuffer[] chunks;
+		private final int width;
+
+		Column(ByteBuffer[] chunks, int width) {
+			this.chunks = chunks;
+			this.width = width;
+		}
+
+		static Column allocate(int rows, int width) {
+			int count = Math.max(1, (rows + ROWS_PER_CHUNK - 1) / ROWS_PER_CHUNK);
+			ByteBuffer[] chunks = new ByteBuffer[count];
+			for (int i = 0; i < count; i++) {
+				int chunkRows = Math.min(ROWS_PER_CHUNK, rows - i * ROWS_PER_CHUNK);
+				chunks[i] = ByteBuffer.allocateDirect(Math.max(0, chunkRows) * width).order(ORDER);
+			}
+			return new Column(chunks, width);
+		}
+
+		long getLong(int row) {
+			return chunks[row / ROWS_PER_CHUNK].getLong(row % ROWS_PER_CHUNK * width);
+		}
+
+		int getInt(int row) {
+			return chunks[row / ROWS_PER_CHUNK].getInt(row % ROWS_PER_CHUNK * width);
+		}
+
+		short getShort(int row) {
+			return chunks[row / ROWS_PER_CHUNK].getShort(row % ROWS_PER_CHUNK * width);
+		}
+
+		void putLong(int row, long value) {
+			chunks[row / ROWS_PER_CHUNK].putLong(row % ROWS_PER_CHUNK * width, value);
+		}
+
+		void putInt(int row, int value) {
+			chunks[row / ROWS_PER_CHUNK].putInt(row % ROWS_PER_CHUNK * width, value);
+		}
+
+		void putShort(int row, short value) {
+			chunks[row / ROWS_PER_CHUNK].putShort(row % ROWS_PER_CHUNK * width, value);
+		}
+
+		int width() {
+			return width;
+		}
+
+		/**
+		 * Gets a view of the chunk that holds the given row, positioned at the start of the chunk.
+		 */
+		ByteBuffer chunkOf(int row) {
+			return chunks[row / ROWS_PER_CHUNK].duplicate().clear();
+		}
+
+		void free() {
+			for (ByteBuffer chunk : chunks) {
+				DirectBuffers.free(chunk);
+			}
+		}
+
+		long capacityBytes() {
+			long bytes = 0;
+			for (ByteBuffer chunk : chunks) {
+				bytes += chunk.capacity();
+			}
+			return bytes;
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package com.bcncgroup.testjava2025.infrastructure.index;
+
+/**
+ * Order-independent digest of the rows of a price index.
+ * Every row is hashed on its own and the hashes are added, so the heap and the columnar index of the same rows get
+ * the same version whatever order they were loaded in, and two nodes loaded from the same PRICES table report the
+ * same one. The sum is folded to 48 bits, which a metric gauge holds exactly as a double.
+ */
+final class ContentVersion {
+
+	static final long MASK = (1L << 48) - 1;
+
+	private ContentVersion() {
+	}
+
+	/**
+	 * Hashes one row.
+	 *
+	 * @param id the price identifier
+	 * @param brandId the brand identifier
+	 * @param productId the product identifier
+	 * @param start the start date in epoch seconds
+	 * @param end the end date in epoch seconds
+	 * @param priceList the price list
+	 * @param priority the priority
+	 * @param priceMinor the price in minor units (cents)
+	 * @param currency the currency code
+	 * @return the hash of the row, to be added to the others
+	 */
+	static long row(long id, long brandId, long productId, long start, long end, int priceList, int priority,
+			long priceMinor, String currency) {
+		long hash = mix(id);
+		hash = mix(hash ^ brandId);
+		hash = mix(hash ^ productId);
+		hash = mix(hash ^ start);
+		hash = mix(hash ^ end);
+		hash = mix(hash ^ ((long) priceList << 32 | priority & 0xFFFFFFFFL));
+		hash = mix(hash ^ priceMinor);
+		return mix(hash ^ (currency == null ? 0 : currency.hashCode()));
+	}
+
+	/**
+	 * Folds the sum of the row hashes to the published version.
+	 *
+	 * @param sum the sum of the row hashes
+	 * @return the version, between 0 and {@link #MASK}
+	 */
+	static long fold(long sum) {
+		return (sum ^ sum >>> 48) & MASK;
+	}
+
+	// finalizer of MurmurHash3
+	private static long mix(long value) {
+		value ^= value >>> 33;
+		value *= 0xFF51AFD7ED558CCDL;
+		value ^= value >>> 33;
+		value *= 0xC4CEB9FE1A85EC53L;
+		value ^= value >>> 33;
+		return value;
+	}
+}
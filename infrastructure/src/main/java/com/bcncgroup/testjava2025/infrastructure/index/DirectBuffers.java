@@ -0,0 +1,61 @@
+package com.bcncgroup.testjava2025.infrastructure.index;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Frees direct and mapped buffers without waiting for the garbage collector.
+ * A direct buffer only gives its memory back when a collection finds it unreachable, which may never come when the
+ * heap is quiet or runs with {@code -XX:+DisableExplicitGC}, and a mapped file stays mapped until then. This class
+ * calls {@code sun.misc.Unsafe.invokeCleaner}, from the {@code jdk.unsupported} module; when it is not available the
+ * buffers are left to the garbage collector, as before.
+ */
+final class DirectBuffers {
+
+	static final Logger LOG = LoggerFactory.getLogger(DirectBuffers.class);
+
+	// Unsafe.invokeCleaner bound to the Unsafe instance, or null when it cannot be reached
+	private static final MethodHandle INVOKE_CLEANER = invokeCleaner();
+
+	private DirectBuffers() {
+	}
+
+	/**
+	 * Frees a buffer; it must not be read afterwards.
+	 * This method ignores heap buffers and buffers without a cleaner of their own, such as slices and duplicates.
+	 *
+	 * @param buffer the buffer returned by {@code allocateDirect} or {@code FileChannel.map}
+	 */
+	static void free(ByteBuffer buffer) {
+		if (INVOKE_CLEANER == null || !buffer.isDirect()) {
+			return;
+		}
+		try {
+			INVOKE_CLEANER.invokeExact(buffer);
+		} catch (IllegalArgumentException ex) {
+			// a view of another buffer: the memory belongs to that buffer and is freed with it
+		} catch (Throwable ex) {
+			LOG.warn("direct buffer left to the garbage collector: {}", ex.toString());
+		}
+	}
+
+	private static MethodHandle invokeCleaner() {
+		try {
+			Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			Field field = unsafeClass.getDeclaredField("theUnsafe");
+			field.setAccessible(true);
+			return MethodHandles.lookup()
+					.findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+					.bindTo(field.get(null));
+		} catch (ReflectiveOperationException | RuntimeException ex) {
+			LOG.warn("direct buffers are freed by the garbage collector only: {}", ex.toString());
+			return null;
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package com.bcncgroup.testjava2025.infrastructure.index;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holder of the immutable index that serves lookups, replaced as a whole when a rebuild completes.
+ * The index is published through an atomic reference together with its epoch, which counts the publications of
+ * this holder, and its content version, so a reader takes one reference without any lock and keeps answering from
+ * that index even if a newer one is published meanwhile. A rebuild builds the new index aside and swaps it in with
+ * a single reference write; readers never wait for it.
+ * A {@link ReferenceCounted} index is owned by the holder from its publication: the holder releases it when a newer
+ * one replaces it, and readers take it with {@link #acquire()} and give it back with {@link #release(Published)}, so
+ * its memory is freed once the last of them is done. Other indexes are left to the garbage collector and may be read
+ * through {@link #current()}.
+ *
+ * @param <T> the type of the index
+ */
+public final class IndexHolder<T> {
+
+	private final AtomicReference<Published<T>> published = new AtomicReference<>();
+
+	/**
+	 * Gets the published index without taking a reference on it.
+	 * The index of a {@link ReferenceCounted} publication may be freed at any time afterwards: only its epoch, version
+	 * and size may be read, its content must be read through {@link #acquire()}.
+	 *
+	 * @return the index with its epoch and version, or null before the first publication
+	 */
+	public Published<T> current() {
+		return published.get();
+	}
+
+	/**
+	 * Gets the published index and takes a reference on it, to be given back with {@link #release(Published)}.
+	 * A reader that loses the race with a publication that freed the index it saw retries with the newer one, so this
+	 * method never waits on a lock.
+	 *
+	 * @return the index with its epoch and version, or null before the first publication
+	 */
+	public Published<T> acquire() {
+		while (true) {
+			Published<T> current = published.get();
+			if (current == null || !(current.index() instanceof ReferenceCounted counted) || counted.retain()) {
+				return current;
+			}
+		}
+	}
+
+	/**
+	 * Gives back a reference taken with {@link #acquire()}.
+	 *
+	 * @param acquired the publication returned by {@link #acquire()}, may be null
+	 */
+	public void release(Published<T> acquired) {
+		if (acquired != null && acquired.index() instanceof ReferenceCounted counted) {
+			counted.release();
+		}
+	}
+
+	/**
+	 * Publishes a new index in place of the current one, and releases the replaced one.
+	 *
+	 * @param index the new index, which must not change afterwards; the holder takes over the reference of the caller
+	 * @param version the content version of the index
+	 * @return the publication, with an epoch one above the replaced one
+	 */
+	public Published<T> publish(T index, long version) {
+		Published<T> previous;
+		Published<T> next;
+		do {
+			previous = published.get();
+			next = new Published<>(index, previous == null ? 1 : previous.epoch() + 1, version);
+		} while (!published.compareAndSet(previous, next));
+		release(previous);
+		return next;
+	}
+
+	/**
+	 * Index published by a holder.
+	 *
+	 * @param index the index
+	 * @param epoch the publication number, starting at 1 and growing with every rebuild of this process
+	 * @param version the content version of the index, equal on every node that loaded the same prices
+	 */
+	public record Published<T>(T index, long epoch, long version) {
+	}
+}
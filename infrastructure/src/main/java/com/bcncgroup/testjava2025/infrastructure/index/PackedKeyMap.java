@@ -0,0 +1,147 @@
+package com.bcncgroup.testjava2025.infrastructure.index;
+
+import java.util.Arrays;
+
+/**
+ * Immutable open-addressing hash map from a brand and product pair, packed in one long, to a value.
+ * Keys live in a long array probed linearly, so a lookup neither boxes the identifiers nor follows a node or a
+ * key object: it hashes the packed key and compares longs. The table is kept at most half full.
+ * Only pairs accepted by {@link #pack(long, long)} can be stored; callers keep the rest elsewhere.
+ *
+ * @param <V> the type of the values
+ */
+final class PackedKeyMap<V> {
+
+	/**
+	 * Bits of the packed key taken by the product; the brand takes the remaining 23 bits, the sign bit stays clear.
+	 */
+	static final int PRODUCT_BITS = 40;
+
+	static final long NOT_PACKABLE = -1;
+
+	private static final long MAX_PRODUCT = (1L << PRODUCT_BITS) - 1;
+	private static final long MAX_BRAND = (1L << (Long.SIZE - 1 - PRODUCT_BITS)) - 1;
+
+	// marks a free slot; packed keys are never negative
+	private static final long FREE = -1;
+
+	private final long[] keys;
+	private final Object[] values;
+	private final int mask;
+	private final int size;
+
+	private PackedKeyMap(long[] keys, Object[] values, int mask, int size) {
+		this.keys = keys;
+		this.values = values;
+		this.mask = mask;
+		this.size = size;
+	}
+
+	/**
+	 * Packs a brand and product pair into one key.
+	 *
+	 * @param brandId the brand identifier
+	 * @param productId the product identifier
+	 * @return the packed key, or {@link #NOT_PACKABLE} when an identifier is negative or too large
+	 */
+	static long pack(long brandId, long productId) {
+		if (brandId < 0 || brandId > MAX_BRAND || productId < 0 || productId > MAX_PRODUCT) {
+			return NOT_PACKABLE;
+		}
+		return brandId << PRODUCT_BITS | productId;
+	}
+
+	static long brandOf(long key) {
+		return key >>> PRODUCT_BITS;
+	}
+
+	static long productOf(long key) {
+		return key & MAX_PRODUCT;
+	}
+
+	/**
+	 * Builds a map from parallel arrays of distinct packed keys and their values.
+	 *
+	 * @param packedKeys the keys, every one accepted by {@link #pack(long, long)}
+	 * @param entries the value of every key
+	 * @param size the number of entries to take from the arrays
+	 * @return the map
+	 */
+	static <V> PackedKeyMap<V> of(long[] packedKeys, V[] entries, int size) {
+		int capacity = Integer.highestOneBit(Math.max(2, size) * 2 - 1) << 1;
+		long[] keys = new long[capacity];
+		Object[] values = new Object[capacity];
+		Arrays.fill(keys, FREE);
+		int mask = capacity - 1;
+		for (int i = 0; i < size; i++) {
+			long key = packedKeys[i];
+			int slot = slot(key, mask);
+			while (keys[slot] != FREE) {
+				if (keys[slot] == key) {
+					throw new IllegalArgumentException("duplicate key " + key);
+				}
+				slot = (slot + 1) & mask;
+			}
+			keys[slot] = key;
+			values[slot] = entries[i];
+		}
+		return new PackedKeyMap<>(keys, values, mask, size);
+	}
+
+	/**
+	 * Gets the value of a packed key.
+	 *
+	 * @param key the packed key
+	 * @return the value, or null when the key is not in the map
+	 */
+	@SuppressWarnings("unchecked")
+	V get(long key) {
+		if (key < 0) {
+			return null;
+		}
+		for (int slot = slot(key, mask); ; slot = (slot + 1) & mask) {
+			long found = keys[slot];
+			if (found == key) {
+				return (V) values[slot];
+			}
+			if (found == FREE) {
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * Sends every entry to the action, in no particular order.
+	 *
+	 * @param action the action that receives every packed key and its value
+	 */
+	@SuppressWarnings("unchecked")
+	void forEach(EntryConsumer<V> action) {
+		for (int slot = 0; slot < keys.length; slot++) {
+			if (keys[slot] != FREE) {
+				action.accept(keys[slot], (V) values[slot]);
+			}
+		}
+	}
+
+	int size() {
+		return size;
+	}
+
+	// finalizer of MurmurHash3: consecutive products land far apart
+	private static int slot(long key, int mask) {
+		key ^= key >>> 33;
+		key *= 0xFF51AFD7ED558CCDL;
+		key ^= key >>> 33;
+		return (int) key & mask;
+	}
+
+	/**
+	 * Receiver of map entries, without boxing the key.
+	 */
+	@FunctionalInterface
+	interface EntryConsumer<V> {
+
+		void accept(long key, V value);
+	}
+}
@@ -0,0 +1,318 @@
+package com.bcncgroup.testjava2025.infrastructure.index;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.LongFunction;
+import java.util.zip.CRC32;
+
+import com.bcncgroup.testjava2025.domain.model.Brand;
+import com.bcncgroup.testjava2025.infrastructure.index.ColumnarPriceIndex.Column;
+
+/**
+ * Binary snapshot file of a columnar price index.
+ * The file holds a fixed header, the CRC32 of every chunk of every column, the currency dictionary and then every
+ * column of the index as it is laid out in memory, each region padded to 8 bytes:
+ * <pre>
+ * magic (8) | version (4) | rows (4) | catalog fingerprint (8) | written at, epoch millis (8) | metadata CRC32 (8) |
+ * dictionary bytes (4) | chunks (4) | content version (8) | chunk CRC32s (8 each) | dictionary | column 0 | ... | column 9
+ * </pre>
+ * The metadata checksum covers the chunk checksums and the dictionary. Reading checks the length of the file and the
+ * metadata checksum and maps the columns read-only, so an index of any size is available in a time that does not grow
+ * with its rows, and its pages are loaded by the operating system on first use. The chunks are verified afterwards by
+ * {@link #verify(ColumnarPriceIndex, Checksums)}, one at a time, against the mapped buffers themselves.
+ * A snapshot is written to a temporary file next to the target and moved over it, so a reader never sees a
+ * half-written file and an index mapped from the previous file keeps working.
+ */
+public final class PriceIndexSnapshot {
+
+	static final long MAGIC = 0x5052494345494458L; // PRICEIDX
+
+	/**
+	 * Format version; files of any other version are not read.
+	 */
+	public static final int VERSION = 3;
+
+	static final int HEADER_BYTES = 56;
+
+	private PriceIndexSnapshot() {
+	}
+
+	/**
+	 * Header of a snapshot file.
+	 */
+	public record Header(int version, int rows, long fingerprint, long writtenAt, long checksum, int dictionaryBytes,
+			int chunks, long contentVersion) {
+	}
+
+	/**
+	 * Checksums of the chunks of a mapped snapshot, in the order of the columns and then of the rows.
+	 *
+	 * @param file the snapshot file, named in the error of a mismatch
+	 * @param chunks the CRC32 of every chunk
+	 */
+	public record Checksums(Path file, long[] chunks) {
+	}
+
+	/**
+	 * Index mapped from a snapshot file, not verified yet.
+	 *
+	 * @param index the mapped index, whose reference goes to the caller
+	 * @param checksums the checksums to verify it against
+	 */
+	public record Mapped(ColumnarPriceIndex index, Checksums checksums) {
+	}
+
+	/**
+	 * Writes the index to the given file, replacing it.
+	 *
+	 * @param index the index to write
+	 * @param fingerprint the fingerprint of the catalog the index was read from
+	 * @param file the snapshot file
+	 * @return the size of the written file in bytes
+	 * @throws IOException if the file cannot be written
+	 */
+	public static long write(ColumnarPriceIndex index, long fingerprint, Path file) throws IOException {
+		Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+		long size;
+		try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			int rows = index.size();
+			int chunks = chunks(rows);
+			ByteBuffer checksums = ByteBuffer.allocate(chunks * Long.BYTES).order(ColumnarPriceIndex.ORDER);
+			ByteBuffer dictionary = encodeDictionary(index.currencyCodes());
+			int dictionaryBytes = dictionary.remaining();
+			channel.position(HEADER_BYTES + (long) chunks * Long.BYTES + dictionaryBytes);
+
+			CRC32 crc = new CRC32();
+			for (Column column : index.columns()) {
+				long written = 0;
+				for (int row = 0; row < rows; row += ColumnarPriceIndex.ROWS_PER_CHUNK) {
+					int chunkRows = Math.min(ColumnarPriceIndex.ROWS_PER_CHUNK, rows - row);
+					ByteBuffer chunk = column.chunkOf(row).limit(chunkRows * column.width());
+					written += chunk.remaining();
+					crc.reset();
+					write(channel, chunk, crc);
+					checksums.putLong(crc.getValue());
+				}
+				write(channel, ByteBuffer.allocate(padding(written)), crc);
+			}
+			size = channel.position();
+
+			ByteBuffer metadata = ByteBuffer.allocate(HEADER_BYTES + checksums.capacity() + dictionaryBytes)
+					.order(ColumnarPriceIndex.ORDER)
+					.putLong(MAGIC).putInt(VERSION).putInt(rows).putLong(fingerprint).putLong(System.currentTimeMillis())
+					.putLong(checksum(checksums.flip(), dictionary)).putInt(dictionaryBytes).putInt(chunks)
+					.putLong(index.contentVersion()).put(checksums.rewind()).put(dictionary.rewind())
+					.flip();
+			while (metadata.hasRemaining()) {
+				channel.write(metadata, metadata.position());
+			}
+			channel.force(true);
+		}
+		Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		return size;
+	}
+
+	/**
+	 * Reads the header of a snapshot file without verifying the rest of it.
+	 *
+	 * @param file the snapshot file
+	 * @return the header
+	 * @throws IOException if the file cannot be read or is not a snapshot
+	 */
+	public static Header readHeader(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			return readHeader(channel);
+		}
+	}
+
+	/**
+	 * Maps a snapshot file read-only as an index, after checking its version, length and metadata checksum.
+	 * The chunks are not read: a corrupt chunk is only found by {@link #verify(ColumnarPriceIndex, Checksums)}.
+	 *
+	 * @param file the snapshot file
+	 * @param brands the function that gives the brand of an identifier when a price is built
+	 * @return the mapped index with the checksums of its chunks
+	 * @throws IOException if the file cannot be read, is not a snapshot of this version or its metadata is corrupt
+	 */
+	public static Mapped map(Path file, LongFunction<Brand> brands) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			Header header = readHeader(channel);
+			if (header.version() != VERSION) {
+				throw new IOException("unsupported price snapshot version " + header.version());
+			}
+			if (header.chunks() != chunks(header.rows())) {
+				throw new IOException("price snapshot header is corrupt");
+			}
+			long columnsOffset = HEADER_BYTES + (long) header.chunks() * Long.BYTES + header.dictionaryBytes();
+			long expected = columnsOffset;
+			for (int width : ColumnarPriceIndex.COLUMN_WIDTHS) {
+				long bytes = (long) header.rows() * width;
+				expected += bytes + padding(bytes);
+			}
+			if (channel.size() != expected) {
+				throw new IOException("price snapshot of " + channel.size() + " bytes, expected " + expected);
+			}
+
+			ByteBuffer checksums = read(channel, HEADER_BYTES, header.chunks() * Long.BYTES);
+			ByteBuffer dictionary = read(channel, HEADER_BYTES + (long) header.chunks() * Long.BYTES, header.dictionaryBytes());
+			if (checksum(checksums, dictionary) != header.checksum()) {
+				throw new IOException("price snapshot checksum mismatch");
+			}
+			String[] currencyCodes = decodeDictionary(dictionary);
+			long[] chunks = new long[header.chunks()];
+			checksums.asLongBuffer().get(chunks);
+
+			Column[] columns = new Column[ColumnarPriceIndex.COLUMN_WIDTHS.length];
+			long offset = columnsOffset;
+			for (int i = 0; i < columns.length; i++) {
+				int width = ColumnarPriceIndex.COLUMN_WIDTHS[i];
+				columns[i] = mapColumn(channel, offset, header.rows(), width);
+				long bytes = (long) header.rows() * width;
+				offset += bytes + padding(bytes);
+			}
+			return new Mapped(new ColumnarPriceIndex(header.rows(), columns, currencyCodes, brands, header.contentVersion()),
+					new Checksums(file, chunks));
+		}
+	}
+
+	/**
+	 * Verifies the chunks of a mapped index against the checksums of its file, one chunk at a time.
+	 * This method reads the mapped buffers, so it checks the pages that lookups read and loads them on the way; the
+	 * caller must hold a reference on the index.
+	 *
+	 * @param index the index returned by {@link #map(Path, LongFunction)}
+	 * @param checksums the checksums returned with it
+	 * @throws IOException if a chunk does not match its checksum, named in the message
+	 */
+	public static void verify(ColumnarPriceIndex index, Checksums checksums) throws IOException {
+		int rows = index.size();
+		Column[] columns = index.columns();
+		CRC32 crc = new CRC32();
+		int chunk = 0;
+		for (int i = 0; i < columns.length; i++) {
+			for (int row = 0; row < rows; row += ColumnarPriceIndex.ROWS_PER_CHUNK) {
+				int chunkRows = Math.min(ColumnarPriceIndex.ROWS_PER_CHUNK, rows - row);
+				crc.reset();
+				crc.update(columns[i].chunkOf(row).limit(chunkRows * columns[i].width()));
+				if (crc.getValue() != checksums.chunks()[chunk++]) {
+					throw new IOException("price snapshot " + checksums.file() + " checksum mismatch in column " + i
+							+ " at row " + row);
+				}
+			}
+		}
+	}
+
+	private static Header readHeader(FileChannel channel) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ColumnarPriceIndex.ORDER);
+		while (header.hasRemaining()) {
+			if (channel.read(header, header.position()) < 0) {
+				throw new IOException("price snapshot shorter than its header");
+			}
+		}
+		header.flip();
+		if (header.getLong() != MAGIC) {
+			throw new IOException("not a price snapshot");
+		}
+		int version = header.getInt();
+		int rows = header.getInt();
+		long fingerprint = header.getLong();
+		long writtenAt = header.getLong();
+		long checksum = header.getLong();
+		int dictionaryBytes = header.getInt();
+		int chunks = header.getInt();
+		Header read = new Header(version, rows, fingerprint, writtenAt, checksum, dictionaryBytes, chunks, header.getLong());
+		if (read.rows() < 0 || read.dictionaryBytes() < 0 || read.chunks() < 0) {
+			throw new IOException("price snapshot header is corrupt");
+		}
+		return read;
+	}
+
+	private static Column mapColumn(FileChannel channel, long offset, int rows, int width) throws IOException {
+		int count = Math.max(1, (rows + ColumnarPriceIndex.ROWS_PER_CHUNK - 1) / ColumnarPriceIndex.ROWS_PER_CHUNK);
+		ByteBuffer[] chunks = new ByteBuffer[count];
+		for (int i = 0; i < count; i++) {
+			int chunkRows = Math.max(0, Math.min(ColumnarPriceIndex.ROWS_PER_CHUNK, rows - i * ColumnarPriceIndex.ROWS_PER_CHUNK));
+			chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset + (long) i * ColumnarPriceIndex.ROWS_PER_CHUNK * width,
+					(long) chunkRows * width).order(ColumnarPriceIndex.ORDER);
+		}
+		return new Column(chunks, width);
+	}
+
+	private static ByteBuffer read(FileChannel channel, long position, int bytes) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(bytes).order(ColumnarPriceIndex.ORDER);
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0) {
+				throw new IOException("price snapshot shorter than its header");
+			}
+		}
+		return buffer.flip();
+	}
+
+	/**
+	 * Checksums the chunk checksums and the dictionary, leaving both buffers as they are.
+	 */
+	private static long checksum(ByteBuffer checksums, ByteBuffer dictionary) {
+		CRC32 crc = new CRC32();
+		crc.update(checksums.duplicate());
+		crc.update(dictionary.duplicate());
+		return crc.getValue();
+	}
+
+	/**
+	 * Counts the chunks of all the columns of an index of the given rows.
+	 */
+	private static int chunks(int rows) {
+		return ColumnarPriceIndex.COLUMN_WIDTHS.length
+				* ((rows + ColumnarPriceIndex.ROWS_PER_CHUNK - 1) / ColumnarPriceIndex.ROWS_PER_CHUNK);
+	}
+
+	/**
+	 * Encodes the currencies as a count and then the length and UTF-8 bytes of each one, padded to 8 bytes.
+	 */
+	private static ByteBuffer encodeDictionary(String[] currencyCodes) {
+		byte[][] encoded = new byte[currencyCodes.length][];
+		long bytes = Integer.BYTES;
+		for (int i = 0; i < currencyCodes.length; i++) {
+			encoded[i] = currencyCodes[i].getBytes(StandardCharsets.UTF_8);
+			bytes += Short.BYTES + encoded[i].length;
+		}
+		ByteBuffer dictionary = ByteBuffer.allocate((int) (bytes + padding(bytes))).order(ColumnarPriceIndex.ORDER);
+		dictionary.putInt(encoded.length);
+		for (byte[] code : encoded) {
+			dictionary.putShort((short) code.length).put(code);
+		}
+		return dictionary.clear();
+	}
+
+	private static String[] decodeDictionary(ByteBuffer dictionary) throws IOException {
+		int count = dictionary.getInt();
+		if (count < 0 || count > Short.MAX_VALUE + 1) {
+			throw new IOException("price snapshot dictionary is corrupt");
+		}
+		String[] currencyCodes = new String[count];
+		for (int i = 0; i < count; i++) {
+			byte[] code = new byte[dictionary.getShort()];
+			dictionary.get(code);
+			currencyCodes[i] = new String(code, StandardCharsets.UTF_8);
+		}
+		return currencyCodes;
+	}
+
+	private static void write(FileChannel channel, ByteBuffer buffer, CRC32 crc) throws IOException {
+		crc.update(buffer.duplicate());
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+	private static int padding(long bytes) {
+		return (int) (-bytes & 7);
+	}
+}
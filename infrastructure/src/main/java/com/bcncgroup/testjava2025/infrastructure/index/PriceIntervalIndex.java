@@ -0,0 +1,469 @@
+package com.bcncgroup.testjava2025.infrastructure.index;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.domain.model.PriceRemoval;
+
+/**
+ * Immutable in-memory index of price windows grouped by brand and product.
+ * Groups are found through a {@link PackedKeyMap} keyed on the packed brand and product, so neither identifier is
+ * boxed; the few pairs that cannot be packed are kept in an ordinary map. Each group keeps its windows sorted by
+ * start date with their start, end and running maximum end as epoch seconds, so a lookup is a binary search over a
+ * long array plus a short backwards scan, and allocates nothing but the returned list.
+ * Dates are compared with second precision, as in the PRICES table.
+ * The index carries the {@link #contentVersion() version} of its rows, the same as the columnar index of the same rows.
+ * Changed rows are applied {@link #withChanges(Collection, Collection) copy-on-write}: the rebuilt groups go to a small overlay map
+ * read before the base map, which is merged into a new base once it grows, so applying a change costs its groups and
+ * not the whole index.
+ */
+public final class PriceIntervalIndex {
+
+	/**
+	 * Same ordering as the JPA query: priority first, identifier as tie breaker.
+	 */
+	public static final Comparator<Price> PRIORITY_ORDER = Comparator
+			.comparing(Price::priority)
+			.thenComparing(Price::id, Comparator.nullsLast(Comparator.naturalOrder()));
+
+	private static final Comparator<Price> START_ORDER = Comparator
+			.comparing(Price::startDate)
+			.thenComparing(Price::id, Comparator.nullsLast(Comparator.naturalOrder()));
+
+	// groups of the overlay that trigger a merge into the base, at least this many or an eighth of the base
+	private static final int MIN_OVERLAY_MERGE = 1024;
+
+	private static final PackedKeyMap<Intervals> NO_GROUPS = PackedKeyMap.of(new long[0], new Intervals[0], 0);
+
+	private static final PriceIntervalIndex EMPTY = new PriceIntervalIndex(NO_GROUPS, NO_GROUPS, Map.of(), 0, 0, 0);
+
+	private final PackedKeyMap<Intervals> groups;
+	// groups rebuilt by changes since the base was built, read before the base
+	private final PackedKeyMap<Intervals> overlay;
+	// pairs with an identifier that does not fit in a packed key
+	private final Map<PriceKey, Intervals> unpacked;
+	private final int size;
+	private final int groupCount;
+	// sum of the row hashes, folded into the content version on read
+	private final long versionSum;
+
+	private PriceIntervalIndex(PackedKeyMap<Intervals> groups, PackedKeyMap<Intervals> overlay,
+			Map<PriceKey, Intervals> unpacked, int size, int groupCount, long versionSum) {
+		this.groups = groups;
+		this.overlay = overlay;
+		this.unpacked = unpacked;
+		this.size = size;
+		this.groupCount = groupCount;
+		this.versionSum = versionSum;
+	}
+
+	/**
+	 * Returns an index without prices.
+	 *
+	 * @return the empty index
+	 */
+	public static PriceIntervalIndex empty() {
+		return EMPTY;
+	}
+
+	/**
+	 * Builds an index from the given prices.
+	 * This method groups prices by brand and product and sorts every group by start date.
+	 *
+	 * @param prices the prices to index, each one with brand, product and dates informed
+	 * @return the built index
+	 */
+	public static PriceIntervalIndex of(Collection<Price> prices) {
+		Map<PriceKey, List<Price>> grouped = new HashMap<>();
+		long versionSum = 0;
+		for (Price price : prices) {
+			grouped.computeIfAbsent(PriceKey.of(price), key -> new ArrayList<>()).add(price);
+			versionSum += rowVersion(price);
+		}
+
+		long[] keys = new long[grouped.size()];
+		Intervals[] packed = new Intervals[grouped.size()];
+		int count = 0;
+		Map<PriceKey, Intervals> unpacked = new HashMap<>();
+		for (Map.Entry<PriceKey, List<Price>> group : grouped.entrySet()) {
+			long key = PackedKeyMap.pack(group.getKey().brandId(), group.getKey().productId());
+			if (key == PackedKeyMap.NOT_PACKABLE) {
+				unpacked.put(group.getKey(), Intervals.of(group.getValue()));
+			} else {
+				keys[count] = key;
+				packed[count++] = Intervals.of(group.getValue());
+			}
+		}
+		return new PriceIntervalIndex(PackedKeyMap.of(keys, packed, count), NO_GROUPS, Map.copyOf(unpacked), prices.size(),
+				grouped.size(), versionSum);
+	}
+
+	/**
+	 * Builds an index with the given prices inserted, updated or removed, leaving this one untouched.
+	 * A changed price replaces the price with the same identifier in its brand and product group, and a removal takes
+	 * the price with its identifier out of the named group, for a deleted row or a row moved to another group; the
+	 * other groups are shared with this index. A group left without prices is dropped.
+	 *
+	 * @param changed the inserted or updated prices; when an identifier repeats, the last one wins
+	 * @param removed the rows to take out of a group, applied before the changed prices
+	 * @return the new index
+	 */
+	public PriceIntervalIndex withChanges(Collection<Price> changed, Collection<PriceRemoval> removed) {
+		if (changed.isEmpty() && removed.isEmpty()) {
+			return this;
+		}
+		Map<PriceKey, Map<Long, Price>> grouped = new HashMap<>();
+		for (PriceRemoval removal : removed) {
+			grouped.computeIfAbsent(new PriceKey(removal.brandId(), removal.productId()), key -> new LinkedHashMap<>())
+					.put(removal.priceId(), null);
+		}
+		for (Price price : changed) {
+			grouped.computeIfAbsent(PriceKey.of(price), key -> new LinkedHashMap<>())
+					.put(price.id(), price);
+		}
+
+		int newSize = size;
+		int newGroupCount = groupCount;
+		long newVersionSum = versionSum;
+		Map<Long, Intervals> rebuilt = new HashMap<>();
+		Map<PriceKey, Intervals> newUnpacked = null;
+		for (Map.Entry<PriceKey, Map<Long, Price>> entry : grouped.entrySet()) {
+			PriceKey key = entry.getKey();
+			// identifiers to replace, mapped to their new price or to null when removed
+			Map<Long, Price> byId = entry.getValue();
+			Intervals previous = group(key.brandId(), key.productId());
+			if (previous != null && previous.byStart.length == 0) {
+				previous = null;
+			}
+			List<Price> prices = new ArrayList<>();
+			for (Price price : byId.values()) {
+				if (price != null) {
+					prices.add(price);
+					newVersionSum += rowVersion(price);
+				}
+			}
+			if (previous == null) {
+				if (prices.isEmpty()) {
+					continue;
+				}
+				newGroupCount++;
+			} else {
+				for (Price price : previous.byStart) {
+					if (price.id() != null && byId.containsKey(price.id())) {
+						newVersionSum -= rowVersion(price);
+					} else {
+						prices.add(price);
+					}
+				}
+				if (prices.isEmpty()) {
+					newGroupCount--;
+				}
+			}
+			newSize += prices.size() - (previous == null ? 0 : previous.byStart.length);
+
+			long packed = PackedKeyMap.pack(key.brandId(), key.productId());
+			if (packed == PackedKeyMap.NOT_PACKABLE) {
+				if (newUnpacked == null) {
+					newUnpacked = new HashMap<>(unpacked);
+				}
+				if (prices.isEmpty()) {
+					newUnpacked.remove(key);
+				} else {
+					newUnpacked.put(key, Intervals.of(prices));
+				}
+			} else {
+				// an emptied group stays in the overlay as an empty one, so it hides the group of the base
+				rebuilt.put(packed, Intervals.of(prices));
+			}
+		}
+
+		overlay.forEach((key, intervals) -> rebuilt.putIfAbsent(key, intervals));
+		PackedKeyMap<Intervals> newGroups = groups;
+		PackedKeyMap<Intervals> newOverlay;
+		if (rebuilt.size() > Math.max(MIN_OVERLAY_MERGE, groups.size() / 8)) {
+			newGroups = merge(groups, rebuilt);
+			newOverlay = NO_GROUPS;
+		} else {
+			newOverlay = toPackedKeyMap(rebuilt);
+		}
+		return new PriceIntervalIndex(newGroups, newOverlay, newUnpacked == null ? unpacked : Map.copyOf(newUnpacked),
+				newSize, newGroupCount, newVersionSum);
+	}
+
+	/**
+	 * Finds the prices whose window covers the given date.
+	 * Both window limits are inclusive, as in the database query.
+	 *
+	 * @param applicationDate the date when the price should be valid
+	 * @param productId the product identifier
+	 * @param brandId the brand identifier
+	 * @return the covering prices ordered by priority
+	 */
+	public List<Price> findCovering(LocalDateTime applicationDate, Long productId, Long brandId) {
+		if (productId == null || brandId == null) {
+			return List.of();
+		}
+		return findCovering(toEpochSecond(applicationDate), productId, brandId);
+	}
+
+	/**
+	 * Finds the prices whose window covers the given instant, without boxing.
+	 * Both window limits are inclusive, as in the database query.
+	 *
+	 * @param applicationEpochSecond the instant when the price should be valid, in epoch seconds read as UTC
+	 * @param productId the product identifier
+	 * @param brandId the brand identifier
+	 * @return the covering prices ordered by priority
+	 */
+	public List<Price> findCovering(long applicationEpochSecond, long productId, long brandId) {
+		Intervals intervals = group(brandId, productId);
+		if (intervals == null) {
+			return List.of();
+		}
+		return intervals.covering(applicationEpochSecond);
+	}
+
+	/**
+	 * Returns every indexed window of a brand and product.
+	 *
+	 * @param productId the product identifier
+	 * @param brandId the brand identifier
+	 * @return the windows ordered by start date
+	 */
+	public List<Price> findAll(Long productId, Long brandId) {
+		Intervals intervals = productId == null || brandId == null ? null : group(brandId, productId);
+		return intervals == null ? List.of() : List.of(intervals.byStart);
+	}
+
+	/**
+	 * Sends every indexed price of a brand whose window overlaps the given dates to the action.
+	 * Prices are sent ordered by product and start date, as the database stream does.
+	 *
+	 * @param brandId the brand identifier
+	 * @param fromDate the start of the date window, or null for no lower limit
+	 * @param toDate the end of the date window, or null for no upper limit
+	 * @param action the action that receives every price
+	 */
+	public void forEachByBrand(Long brandId, LocalDateTime fromDate, LocalDateTime toDate, Consumer<Price> action) {
+		if (brandId == null) {
+			return;
+		}
+		List<PriceKey> keys = new ArrayList<>();
+		groups.forEach((key, intervals) -> {
+			if (PackedKeyMap.brandOf(key) == brandId) {
+				keys.add(new PriceKey(brandId, PackedKeyMap.productOf(key)));
+			}
+		});
+		overlay.forEach((key, intervals) -> {
+			if (PackedKeyMap.brandOf(key) == brandId && groups.get(key) == null) {
+				keys.add(new PriceKey(brandId, PackedKeyMap.productOf(key)));
+			}
+		});
+		for (PriceKey key : unpacked.keySet()) {
+			if (key.brandId().equals(brandId)) {
+				keys.add(key);
+			}
+		}
+		keys.sort(Comparator.comparing(PriceKey::productId));
+
+		for (PriceKey key : keys) {
+			for (Price price : group(key.brandId(), key.productId()).byStart) {
+				if ((toDate == null || !price.startDate().isAfter(toDate))
+						&& (fromDate == null || !price.endDate().isBefore(fromDate))) {
+					action.accept(price);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the number of indexed prices.
+	 *
+	 * @return the number of prices
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the version of the indexed rows: a 48-bit digest that only depends on their content, not on their order.
+	 *
+	 * @return the content version, 0 for the empty index
+	 */
+	public long contentVersion() {
+		return ContentVersion.fold(versionSum);
+	}
+
+	/**
+	 * Gets the number of distinct brand and product pairs.
+	 *
+	 * @return the number of groups
+	 */
+	public int groups() {
+		return groupCount;
+	}
+
+	private Intervals group(long brandId, long productId) {
+		long key = PackedKeyMap.pack(brandId, productId);
+		if (key == PackedKeyMap.NOT_PACKABLE) {
+			return unpacked.isEmpty() ? null : unpacked.get(new PriceKey(brandId, productId));
+		}
+		if (overlay.size() > 0) {
+			Intervals changed = overlay.get(key);
+			if (changed != null) {
+				return changed;
+			}
+		}
+		return groups.get(key);
+	}
+
+	/**
+	 * Builds a base map with the groups of the given base, replaced or completed by the changed groups.
+	 */
+	private static PackedKeyMap<Intervals> merge(PackedKeyMap<Intervals> base, Map<Long, Intervals> changed) {
+		long[] keys = new long[base.size() + changed.size()];
+		Intervals[] values = new Intervals[keys.length];
+		int[] count = { 0 };
+		base.forEach((key, intervals) -> {
+			if (!changed.containsKey(key)) {
+				keys[count[0]] = key;
+				values[count[0]++] = intervals;
+			}
+		});
+		for (Map.Entry<Long, Intervals> entry : changed.entrySet()) {
+			if (entry.getValue().byStart.length > 0) {
+				keys[count[0]] = entry.getKey();
+				values[count[0]++] = entry.getValue();
+			}
+		}
+		return PackedKeyMap.of(keys, values, count[0]);
+	}
+
+	private static PackedKeyMap<Intervals> toPackedKeyMap(Map<Long, Intervals> groups) {
+		long[] keys = new long[groups.size()];
+		Intervals[] values = new Intervals[groups.size()];
+		int count = 0;
+		for (Map.Entry<Long, Intervals> entry : groups.entrySet()) {
+			keys[count] = entry.getKey();
+			values[count++] = entry.getValue();
+		}
+		return PackedKeyMap.of(keys, values, count);
+	}
+
+	/**
+	 * Hashes a price as the columnar index hashes its row; missing optional fields count as zero.
+	 */
+	private static long rowVersion(Price price) {
+		return ContentVersion.row(price.id() == null ? 0 : price.id(), price.brand().id(), price.productId(),
+				toEpochSecond(price.startDate()), toEpochSecond(price.endDate()),
+				price.priceList() == null ? 0 : price.priceList(), price.priority() == null ? 0 : price.priority(),
+				price.price() == null ? 0 : price.price().movePointRight(2).longValue(), price.currency());
+	}
+
+	private static long toEpochSecond(LocalDateTime date) {
+		return date.toEpochSecond(ZoneOffset.UTC);
+	}
+
+	/**
+	 * Key of a price group.
+	 */
+	record PriceKey(Long brandId, Long productId) {
+
+		static PriceKey of(Price price) {
+			return new PriceKey(price.brand().id(), price.productId());
+		}
+	}
+
+	/**
+	 * Windows of one brand and product sorted by start date.
+	 * maxEnd[i] holds the latest end among byStart[0..i]; every date is in epoch seconds.
+	 */
+	private static final class Intervals {
+
+		private final Price[] byStart;
+		private final long[] start;
+		private final long[] end;
+		private final long[] maxEnd;
+
+		private Intervals(Price[] byStart, long[] start, long[] end, long[] maxEnd) {
+			this.byStart = byStart;
+			this.start = start;
+			this.end = end;
+			this.maxEnd = maxEnd;
+		}
+
+		static Intervals of(List<Price> prices) {
+			Price[] byStart = prices.toArray(Price[]::new);
+			Arrays.sort(byStart, START_ORDER);
+
+			long[] start = new long[byStart.length];
+			long[] end = new long[byStart.length];
+			long[] maxEnd = new long[byStart.length];
+			long running = Long.MIN_VALUE;
+			for (int i = 0; i < byStart.length; i++) {
+				start[i] = toEpochSecond(byStart[i].startDate());
+				end[i] = toEpochSecond(byStart[i].endDate());
+				running = Math.max(running, end[i]);
+				maxEnd[i] = running;
+			}
+			return new Intervals(byStart, start, end, maxEnd);
+		}
+
+		/**
+		 * Counts the covering windows first, so the result is built at its final size.
+		 */
+		List<Price> covering(long date) {
+			int last = lastStartingAtOrBefore(date);
+			int matches = 0;
+			int first = -1;
+			for (int i = last; i >= 0 && maxEnd[i] >= date; i--) {
+				if (end[i] >= date) {
+					matches++;
+					first = i;
+				}
+			}
+			if (matches == 0) {
+				return List.of();
+			}
+			if (matches == 1) {
+				return List.of(byStart[first]);
+			}
+
+			Price[] result = new Price[matches];
+			int next = 0;
+			for (int i = last; next < matches; i--) {
+				if (end[i] >= date) {
+					result[next++] = byStart[i];
+				}
+			}
+			Arrays.sort(result, PRIORITY_ORDER);
+			return List.of(result);
+		}
+
+		private int lastStartingAtOrBefore(long date) {
+			int low = 0;
+			int high = start.length - 1;
+			int found = -1;
+			while (low <= high) {
+				int mid = (low + high) >>> 1;
+				if (start[mid] > date) {
+					high = mid - 1;
+				} else {
+					found = mid;
+					low = mid + 1;
+				}
+			}
+			return found;
+		}
+	}
+}
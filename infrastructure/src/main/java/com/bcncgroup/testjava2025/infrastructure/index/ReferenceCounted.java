@@ -0,0 +1,24 @@
+package com.bcncgroup.testjava2025.infrastructure.index;
+
+/**
+ * Index whose memory is freed explicitly once nothing references it.
+ * The index starts with one reference, owned by whoever created it; every reader that may outlive that owner takes
+ * its own with {@link #retain()} and gives it back with {@link #release()}. The last release frees the memory, after
+ * which the index must not be read and cannot be retained again.
+ */
+public interface ReferenceCounted {
+
+	/**
+	 * Takes a reference, unless the index was already freed.
+	 *
+	 * @return true when the reference was taken, false when the index is freed and must not be read
+	 */
+	boolean retain();
+
+	/**
+	 * Gives back a reference taken with {@link #retain()}, or the one of the creator; the last one frees the memory.
+	 *
+	 * @throws IllegalStateException if the index was released more often than retained
+	 */
+	void release();
+}
@@ -6,23 +6,25 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
 import com.bcncgroup.testjava2025.domain.model.Price;
+import com.bcncgroup.testjava2025.infrastructure.cache.BrandDictionary;
 import com.bcncgroup.testjava2025.infrastructure.entity.PriceEntity;
 
 /**
  * Mapper interface for converting between PriceEntity and Price domain objects.
  * This interface uses MapStruct to generate mapping code automatically.
  */
-@Mapper(componentModel = "spring", uses = { BrandMapper.class })
+@Mapper(componentModel = "spring", uses = { BrandMapper.class, BrandDictionary.class })
 public interface PriceMapper {
 
     /**
      * Converts a PriceEntity to a Price domain object.
+     * The brand is taken from the brand dictionary by its identifier, the brand association is not read.
      * 
      * @param entity the price entity from database
      * @return the price domain object
      */
     @BeanMapping(builder = @Builder(disableBuilder = true))
-    @Mapping(target = "brand", source = "brand")
+    @Mapping(target = "brand", source = "brandId")
     Price toDomain(PriceEntity entity);
     
     /**
@@ -33,6 +35,7 @@ public interface PriceMapper {
      */
     @BeanMapping(builder = @Builder(disableBuilder = true))
     @Mapping(target = "brand", source = "brand")
+    @Mapping(target = "brandId", source = "brand.id")
     PriceEntity toEntity(Price domain);
 }
 
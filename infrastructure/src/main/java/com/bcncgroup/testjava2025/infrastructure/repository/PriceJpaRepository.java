@@ -1,12 +1,19 @@
 package com.bcncgroup.testjava2025.infrastructure.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.QueryHint;
+
 import com.bcncgroup.testjava2025.infrastructure.entity.PriceEntity;
 
 /**
@@ -28,9 +35,9 @@ public interface PriceJpaRepository extends JpaRepository<PriceEntity, Long> {
 	        SELECT p
 	        FROM PriceEntity p
 	        WHERE p.productId = :productId
-	          AND p.brand.id = :brandId
+	          AND p.brandId = :brandId
 	          AND :applicationDate BETWEEN p.startDate AND p.endDate
-	        ORDER BY p.priority
+	        ORDER BY p.priority, p.id
 	    """)
 	    List<PriceEntity> findByDateProductIdentifierBrand(
 	    		// we can use the start date to application date
@@ -38,5 +45,93 @@ public interface PriceJpaRepository extends JpaRepository<PriceEntity, Long> {
 	        @Param("productId") Long productId,
 	        @Param("brandId") Long brandId
 	    );
+
+	/**
+     * Finds every price window of a product and brand.
+     * This method is used to precompute timelines and cache boundaries.
+     * 
+     * @param productId the product identifier
+     * @param brandId the brand identifier
+     * @return the price entities ordered by start date
+     */
+	@Query("""
+	        SELECT p
+	        FROM PriceEntity p
+	        WHERE p.productId = :productId
+	          AND p.brandId = :brandId
+	        ORDER BY p.startDate, p.id
+	    """)
+	List<PriceEntity> findByProductIdentifierBrand(
+	        @Param("productId") Long productId,
+	        @Param("brandId") Long brandId
+	    );
+
+	/**
+     * Finds the prices of several products and brands that overlap a date range.
+     * This method is the set-based query behind batch lookups; the result is a superset
+     * that callers filter per requested tuple.
+     * 
+     * @param fromDate the earliest requested date
+     * @param toDate the latest requested date
+     * @param productIds the requested product identifiers
+     * @param brandIds the requested brand identifiers
+     * @return the price entities ordered by priority
+     */
+	@Query("""
+	        SELECT p
+	        FROM PriceEntity p
+	        WHERE p.productId IN :productIds
+	          AND p.brandId IN :brandIds
+	          AND p.startDate <= :toDate
+	          AND p.endDate >= :fromDate
+	        ORDER BY p.priority, p.id
+	    """)
+	List<PriceEntity> findByDateRangeProductIdentifiersBrands(
+	        @Param("fromDate") LocalDateTime fromDate,
+	        @Param("toDate") LocalDateTime toDate,
+	        @Param("productIds") Collection<Long> productIds,
+	        @Param("brandIds") Collection<Long> brandIds
+	    );
+
+	/**
+     * Streams the prices of a brand that overlap a date window.
+     * This method reads the rows with a forward-only cursor; it must be called inside a
+     * transaction and the returned stream must be closed.
+     * 
+     * @param brandId the brand identifier
+     * @param fromDate the start of the date window
+     * @param toDate the end of the date window
+     * @return a stream of read-only price entities ordered by product and start date
+     */
+	@QueryHints({
+			@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+	})
+	@Query("""
+	        SELECT p
+	        FROM PriceEntity p
+	        WHERE p.brandId = :brandId
+	          AND p.startDate <= :toDate
+	          AND p.endDate >= :fromDate
+	        ORDER BY p.productId, p.startDate, p.id
+	    """)
+	Stream<PriceEntity> streamByBrandAndDateRange(
+	        @Param("brandId") Long brandId,
+	        @Param("fromDate") LocalDateTime fromDate,
+	        @Param("toDate") LocalDateTime toDate
+	    );
+
+	/**
+     * Finds every price.
+     * This method is used to warm in-memory indexes.
+     * 
+     * @return all price entities ordered by brand, product and start date
+     */
+	@Query("""
+	        SELECT p
+	        FROM PriceEntity p
+	        ORDER BY p.brandId, p.productId, p.startDate, p.id
+	    """)
+	List<PriceEntity> findAllOrdered();
 	
 }
@@ -1,6 +1,9 @@
 package com.bcncgroup.testjava2025.infrastructure.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.bcncgroup.testjava2025.infrastructure.entity.UserEntity;
 
@@ -10,4 +13,14 @@ import com.bcncgroup.testjava2025.infrastructure.entity.UserEntity;
  */
 public interface UserJpaRepository extends JpaRepository<UserEntity, String> {
 
+	/**
+	 * Replaces the password hash of a user without loading the entity.
+	 *
+	 * @param username the username of the user
+	 * @param password the new encoded password
+	 * @return the number of updated rows
+	 */
+	@Modifying
+	@Query("UPDATE UserEntity u SET u.password = :password WHERE u.username = :username")
+	int updatePassword(@Param("username") String username, @Param("password") String password);
 }
@@ -0,0 +1,94 @@
+package com.bcncgroup.testjava2025.infrastructure.trigger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Objects;
+
+import org.h2.api.Trigger;
+
+/**
+ * H2 trigger that logs every insert, update and delete of a PRICES row in the PRICE_CHANGES table.
+ * Each entry takes the next value of PRICE_CHANGE_LOG_SEQ as its version and holds the identifier of the row and the
+ * brand and product it had before the change, so a delete leaves a tombstone and a row moved to another brand or
+ * product names the group it left; the row itself is read from PRICES. It runs in the transaction of the write, so
+ * an entry commits or rolls back with it. An update of the identifier is logged as a delete and an insert.
+ * It is created by the schema script:
+ * {@code CREATE TRIGGER ... AFTER INSERT, UPDATE, DELETE ON PRICES FOR EACH ROW CALL '...PriceChangeLogTrigger'}.
+ */
+public class PriceChangeLogTrigger implements Trigger {
+
+	static final String LOG_CHANGE = "INSERT INTO PRICE_CHANGES (PRICE_ID, OPERATION, BRAND_ID, PRODUCT_ID) VALUES (?, ?, ?, ?)";
+
+	static final String INSERTED = "I";
+	static final String UPDATED = "U";
+	static final String DELETED = "D";
+
+	// positions of the logged columns in the rows handed to fire
+	private int id;
+	private int brandId;
+	private int productId;
+
+	/**
+	 * Finds the positions of the ID, BRAND_ID and PRODUCT_ID columns of the table.
+	 *
+	 * @throws SQLException if the table lacks one of them
+	 */
+	@Override
+	public void init(Connection conn, String schemaName, String triggerName, String tableName, boolean before, int type)
+			throws SQLException {
+		id = -1;
+		brandId = -1;
+		productId = -1;
+		try (ResultSet columns = conn.getMetaData().getColumns(null, schemaName, tableName, null)) {
+			while (columns.next()) {
+				int position = columns.getInt("ORDINAL_POSITION") - 1;
+				switch (columns.getString("COLUMN_NAME")) {
+					case "ID" -> id = position;
+					case "BRAND_ID" -> brandId = position;
+					case "PRODUCT_ID" -> productId = position;
+					default -> {
+						// not logged
+					}
+				}
+			}
+		}
+		if (id < 0 || brandId < 0 || productId < 0) {
+			throw new SQLException("trigger " + triggerName + " needs ID, BRAND_ID and PRODUCT_ID columns on " + tableName);
+		}
+	}
+
+	/**
+	 * Logs the change of one row.
+	 *
+	 * @param conn the connection of the write
+	 * @param oldRow the row before the change, null for an insert
+	 * @param newRow the row after the change, null for a delete
+	 * @throws SQLException if the entry cannot be written, which fails the write
+	 */
+	@Override
+	public void fire(Connection conn, Object[] oldRow, Object[] newRow) throws SQLException {
+		try (PreparedStatement statement = conn.prepareStatement(LOG_CHANGE)) {
+			if (oldRow == null) {
+				log(statement, newRow[id], INSERTED, null, null);
+			} else if (newRow == null) {
+				log(statement, oldRow[id], DELETED, oldRow[brandId], oldRow[productId]);
+			} else if (Objects.equals(oldRow[id], newRow[id])) {
+				log(statement, newRow[id], UPDATED, oldRow[brandId], oldRow[productId]);
+			} else {
+				log(statement, oldRow[id], DELETED, oldRow[brandId], oldRow[productId]);
+				log(statement, newRow[id], INSERTED, null, null);
+			}
+		}
+	}
+
+	private static void log(PreparedStatement statement, Object priceId, String operation, Object brandId, Object productId)
+			throws SQLException {
+		statement.setObject(1, priceId);
+		statement.setString(2, operation);
+		statement.setObject(3, brandId);
+		statement.setObject(4, productId);
+		statement.executeUpdate();
+	}
+}